@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.benchmarks;
+
+import com.intellij.lang.jsgraphql.ide.editor.GraphQLIntrospectionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts introspection results to SDL, which happens whenever a JSON introspection file is part of a schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphQLIntrospectionPrintBenchmark {
+
+    @Param({"1000", "10000"})
+    public int typeCount;
+
+    private String myIntrospectionJson;
+
+    @Setup
+    public void setUp() {
+        myIntrospectionJson = GraphQLSyntheticSchemas.generateIntrospectionJson(typeCount);
+    }
+
+    @Benchmark
+    public String printIntrospectionAsGraphQL() {
+        return GraphQLIntrospectionService.printIntrospectionSchemaAsGraphQL(GraphQLIntrospectionService.parseIntrospectionJson(myIntrospectionJson));
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.benchmarks;
+
+import com.intellij.lang.jsgraphql.utils.GraphQLUtil;
+import graphql.language.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses schema SDL using the same graphql-java parser setup as the plugin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphQLParseDocumentBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int typeCount;
+
+    private String mySchema;
+
+    @Setup
+    public void setUp() {
+        mySchema = GraphQLSyntheticSchemas.generateSchema(typeCount);
+    }
+
+    @Benchmark
+    public Document parseDocument() {
+        return GraphQLUtil.parseDocument(mySchema, 0, 0);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.benchmarks;
+
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds schemas from registries the same way the schema provider does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphQLSchemaGeneratorBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int typeCount;
+
+    private TypeDefinitionRegistry myRegistry;
+
+    @Setup
+    public void setUp() {
+        myRegistry = new SchemaParser().parse(GraphQLSyntheticSchemas.generateSchema(typeCount));
+    }
+
+    @Benchmark
+    public GraphQLSchema makeUnExecutableSchema() {
+        return UnExecutableSchemaGenerator.makeUnExecutableSchema(myRegistry);
+    }
+}
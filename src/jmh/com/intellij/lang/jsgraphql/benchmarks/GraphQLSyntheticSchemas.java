@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.benchmarks;
+
+import com.google.gson.Gson;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.introspection.IntrospectionQuery;
+import graphql.schema.*;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates schemas, introspection results and operations for the benchmarks.
+ * The output only depends on the arguments, so benchmark results can be reproduced offline.
+ */
+public final class GraphQLSyntheticSchemas {
+
+    private static final long SEED = 42;
+    private static final String[] SCALARS = {"String", "Int", "Float", "Boolean", "ID"};
+
+    private GraphQLSyntheticSchemas() {
+    }
+
+    /**
+     * Generates the type definitions of a schema with the specified number of types, one SDL string per type, followed by the Query type.
+     * Every tenth type is an interface which the following object types implement, and there are enums and input types in between.
+     */
+    public static List<String> generateTypeDefinitions(int typeCount) {
+        final Random random = new Random(SEED);
+        final String[] names = new String[typeCount];
+        final List<String> objectTypes = new ArrayList<>();
+        final List<String> enums = new ArrayList<>();
+        final List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < typeCount; i++) {
+            switch (i % 10) {
+                case 0:
+                    names[i] = "Node" + i;
+                    break;
+                case 1:
+                    names[i] = "Kind" + i;
+                    enums.add(names[i]);
+                    break;
+                case 2:
+                    names[i] = "Filter" + i;
+                    inputs.add(names[i]);
+                    break;
+                default:
+                    names[i] = "Type" + i;
+                    objectTypes.add(names[i]);
+            }
+        }
+
+        final List<String> definitions = new ArrayList<>(typeCount + 1);
+        for (int i = 0; i < typeCount; i++) {
+            final StringBuilder sb = new StringBuilder();
+            sb.append("\"\"\"\nGenerated type number ").append(i).append("\n\"\"\"\n");
+            switch (i % 10) {
+                case 0:
+                    sb.append("interface ").append(names[i]).append(" {\n  id: ID!\n  name: String\n}\n");
+                    break;
+                case 1:
+                    sb.append("enum ").append(names[i]).append(" {\n  FIRST\n  SECOND\n  THIRD\n  FOURTH\n}\n");
+                    break;
+                case 2:
+                    sb.append("input ").append(names[i]).append(" {\n");
+                    for (int f = 0; f < 4; f++) {
+                        sb.append("  field").append(f).append(": ").append(SCALARS[random.nextInt(SCALARS.length)]).append('\n');
+                    }
+                    if (!enums.isEmpty()) {
+                        sb.append("  kind: ").append(enums.get(random.nextInt(enums.size()))).append('\n');
+                    }
+                    sb.append("}\n");
+                    break;
+                default:
+                    sb.append("type ").append(names[i]).append(" implements ").append(names[i - i % 10]).append(" {\n");
+                    sb.append("  id: ID!\n  name: String\n");
+                    final int fieldCount = 4 + random.nextInt(6);
+                    for (int f = 0; f < fieldCount; f++) {
+                        sb.append("  field").append(f);
+                        final int kind = random.nextInt(10);
+                        if (kind < 4) {
+                            sb.append(": ").append(SCALARS[random.nextInt(SCALARS.length)]);
+                        } else if (kind < 5 && !enums.isEmpty()) {
+                            sb.append(": ").append(enums.get(random.nextInt(enums.size())));
+                        } else {
+                            final String target = objectTypes.get(random.nextInt(objectTypes.size()));
+                            if (kind < 8) {
+                                sb.append(": ").append(target);
+                            } else {
+                                sb.append("(first: Int, after: String");
+                                if (!inputs.isEmpty()) {
+                                    sb.append(", filter: ").append(inputs.get(random.nextInt(inputs.size())));
+                                }
+                                sb.append("): [").append(target).append("!]");
+                            }
+                        }
+                        sb.append('\n');
+                    }
+                    sb.append("}\n");
+            }
+            definitions.add(sb.toString());
+        }
+
+        final StringBuilder query = new StringBuilder("type Query {\n");
+        query.append("  node(id: ID!): ").append(names[0]).append('\n');
+        for (int i = 0; i < Math.min(50, objectTypes.size()); i++) {
+            query.append("  type").append(i).append(": ").append(objectTypes.get(i)).append('\n');
+        }
+        query.append("}\n");
+        definitions.add(query.toString());
+        return definitions;
+    }
+
+    /**
+     * Generates the SDL of a schema with the specified number of types
+     */
+    public static String generateSchema(int typeCount) {
+        return String.join("\n", generateTypeDefinitions(typeCount));
+    }
+
+    public static GraphQLSchema generateGraphQLSchema(int typeCount) {
+        return UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().parse(generateSchema(typeCount)));
+    }
+
+    /**
+     * Generates the introspection result of a schema with the specified number of types, i.e. the "data" of the introspection query
+     */
+    public static String generateIntrospectionJson(int typeCount) {
+        final ExecutionResult result = GraphQL.newGraphQL(generateGraphQLSchema(typeCount)).build().execute(IntrospectionQuery.INTROSPECTION_QUERY);
+        if (!result.getErrors().isEmpty()) {
+            throw new IllegalStateException("Introspection failed: " + result.getErrors());
+        }
+        return new Gson().toJson(result.getData());
+    }
+
+    /**
+     * Generates a query which selects up to the specified number of fields per selection set, nested to the specified depth
+     */
+    public static String generateOperation(GraphQLSchema schema, int depth, int fieldsPerSelection) {
+        final StringBuilder sb = new StringBuilder("query Generated {\n");
+        appendSelections(sb, schema.getQueryType(), depth, fieldsPerSelection, 1);
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static void appendSelections(StringBuilder sb, GraphQLFieldsContainer type, int depth, int fieldsPerSelection, int indent) {
+        int selected = 0;
+        for (GraphQLFieldDefinition field : type.getFieldDefinitions()) {
+            if (selected == fieldsPerSelection) {
+                break;
+            }
+            final GraphQLUnmodifiedType fieldType = GraphQLTypeUtil.unwrapAll(field.getType());
+            final boolean isLeaf = !(fieldType instanceof GraphQLFieldsContainer);
+            if (!isLeaf && depth <= 1) {
+                continue;
+            }
+            if (field.getArguments().stream().anyMatch(argument -> argument.getType() instanceof GraphQLNonNull)) {
+                continue;
+            }
+            for (int i = 0; i < indent; i++) {
+                sb.append("  ");
+            }
+            sb.append(field.getName());
+            if (isLeaf) {
+                sb.append('\n');
+            } else {
+                sb.append(" {\n");
+                appendSelections(sb, (GraphQLFieldsContainer) fieldType, depth - 1, fieldsPerSelection, indent + 1);
+                for (int i = 0; i < indent; i++) {
+                    sb.append("  ");
+                }
+                sb.append("}\n");
+            }
+            selected++;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.benchmarks;
+
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.ValidationError;
+import graphql.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates large operations against a schema with the graphql-java validator used by the schema validation annotator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphQLValidatorBenchmark {
+
+    @Param({"3", "5"})
+    public int depth;
+
+    @Param({"5", "10"})
+    public int fieldsPerSelection;
+
+    private GraphQLSchema mySchema;
+    private Document myOperation;
+
+    @Setup
+    public void setUp() {
+        mySchema = GraphQLSyntheticSchemas.generateGraphQLSchema(1000);
+        myOperation = new Parser().parseDocument(GraphQLSyntheticSchemas.generateOperation(mySchema, depth, fieldsPerSelection));
+        final List<ValidationError> errors = new Validator().validateDocument(mySchema, myOperation);
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("The generated operation should be valid: " + errors);
+        }
+    }
+
+    @Benchmark
+    public List<ValidationError> validateDocument() {
+        return new Validator().validateDocument(mySchema, myOperation);
+    }
+}
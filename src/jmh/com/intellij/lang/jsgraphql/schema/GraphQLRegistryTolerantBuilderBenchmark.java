@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import com.intellij.lang.jsgraphql.benchmarks.GraphQLSyntheticSchemas;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges per-file registries into a schema registry, both from scratch and with a reused builder where a single source changed.
+ * Each type is its own source, which is the worst case for the number of merges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphQLRegistryTolerantBuilderBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int typeCount;
+
+    private final List<List<TypeDefinitionRegistry>> mySources = new ArrayList<>();
+    private final List<List<TypeDefinitionRegistry>> myChangedSourceVersions = new ArrayList<>();
+    private GraphQLRegistryTolerantBuilder myReusedBuilder;
+    private int myBuildCount;
+
+    @Setup
+    public void setUp() {
+        final SchemaParser parser = new SchemaParser();
+        final List<String> definitions = GraphQLSyntheticSchemas.generateTypeDefinitions(typeCount);
+        for (String definition : definitions) {
+            mySources.add(Collections.singletonList(parser.parse(definition)));
+        }
+
+        // two distinct parses of the same type, so every build with the reused builder sees a changed source
+        final String changedDefinition = definitions.get(definitions.size() / 2);
+        myChangedSourceVersions.add(Collections.singletonList(parser.parse(changedDefinition)));
+        myChangedSourceVersions.add(Collections.singletonList(parser.parse(changedDefinition)));
+
+        myReusedBuilder = new GraphQLRegistryTolerantBuilder();
+        for (List<TypeDefinitionRegistry> source : mySources) {
+            myReusedBuilder.mergeSource(source, source);
+        }
+        myReusedBuilder.build();
+    }
+
+    @Benchmark
+    public TypeDefinitionRegistry mergeAndBuild() {
+        final GraphQLRegistryTolerantBuilder builder = new GraphQLRegistryTolerantBuilder();
+        for (List<TypeDefinitionRegistry> source : mySources) {
+            builder.mergeSource(source, source);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public TypeDefinitionRegistry rebuildWithOneChangedSource() {
+        final int changedIndex = mySources.size() / 2;
+        final List<TypeDefinitionRegistry> changedSource = myChangedSourceVersions.get(myBuildCount++ % 2);
+        for (int i = 0; i < mySources.size(); i++) {
+            final List<TypeDefinitionRegistry> source = mySources.get(i);
+            // the source key stays the same while its registries change, like a PSI file that was edited
+            myReusedBuilder.mergeSource(source, i == changedIndex ? changedSource : source);
+        }
+        return myReusedBuilder.build();
+    }
+}
@@ -62,6 +62,29 @@ public class GraphQLSettings implements PersistentStateComponent<GraphQLSettings
         myState.enableIntrospectionDefaultValues = enableIntrospectionDefaultValues;
     }
 
+    public boolean isEnableMinifiedQueryExecution() {
+        return myState.enableMinifiedQueryExecution;
+    }
+
+    public void setEnableMinifiedQueryExecution(boolean enableMinifiedQueryExecution) {
+        myState.enableMinifiedQueryExecution = enableMinifiedQueryExecution;
+    }
+
+    public boolean isEnableAutomaticPersistedQueries() {
+        return myState.enableAutomaticPersistedQueries;
+    }
+
+    public void setEnableAutomaticPersistedQueries(boolean enableAutomaticPersistedQueries) {
+        myState.enableAutomaticPersistedQueries = enableAutomaticPersistedQueries;
+    }
+
+    public boolean isEnableQueryResponseCache() {
+        return myState.enableQueryResponseCache;
+    }
+
+    public void setEnableQueryResponseCache(boolean enableQueryResponseCache) {
+        myState.enableQueryResponseCache = enableQueryResponseCache;
+    }
 
 
     /**
@@ -73,6 +96,9 @@ public class GraphQLSettings implements PersistentStateComponent<GraphQLSettings
         public String introspectionQuery = "";
         public boolean enableIntrospectionDefaultValues = true;
         public boolean enableRelayModernFrameworkSupport;
+        public boolean enableMinifiedQueryExecution;
+        public boolean enableAutomaticPersistedQueries;
+        public boolean enableQueryResponseCache;
     }
 }
 
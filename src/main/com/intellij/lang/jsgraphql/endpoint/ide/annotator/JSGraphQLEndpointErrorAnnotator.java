@@ -19,8 +19,6 @@ import com.intellij.lang.jsgraphql.endpoint.psi.*;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.jsgraphql.v1.JSGraphQLScalars;
@@ -44,7 +42,6 @@ import com.intellij.psi.util.PsiTreeUtil;
 
 public class JSGraphQLEndpointErrorAnnotator implements Annotator {
 
-	private static final Key<Multimap<String, JSGraphQLEndpointNamedTypeDefinition>> KNOWN_DEFINITIONS = Key.create("JSGraphQLEndpointErrorAnnotator.knownDefinitions");
 	private static final Key<List<JSGraphQLSchemaEndpointAnnotation>> ANNOTATIONS = Key.create(JSGraphQLSchemaEndpointAnnotation.class.getName());
 
 	@Override
@@ -256,31 +253,23 @@ public class JSGraphQLEndpointErrorAnnotator implements Annotator {
 			final JSGraphQLEndpointNamedTypeDef namedTypeDef = (JSGraphQLEndpointNamedTypeDef) element;
 
 			// current file
-			annotateRedeclarations(namedTypeDef, element.getContainingFile(), KNOWN_DEFINITIONS, holder);
+			annotateRedeclarations(namedTypeDef, element.getContainingFile(), holder);
 
 		}
 
 
 	}
 
-	private void annotateRedeclarations(@NotNull JSGraphQLEndpointNamedTypeDef element, PsiFile importingFile, Key<Multimap<String, JSGraphQLEndpointNamedTypeDefinition>> key, @NotNull AnnotationHolder holder) {
+	private void annotateRedeclarations(@NotNull JSGraphQLEndpointNamedTypeDef element, PsiFile importingFile, @NotNull AnnotationHolder holder) {
 		final Key<Boolean> annotationKey = Key.create(element.getContainingFile().getName() + ":" + element.getTextOffset());
 		if (holder.getCurrentAnnotationSession().getUserData(annotationKey) == Boolean.TRUE) {
 			// already annotated about redeclaration
 			return;
 		}
-		Multimap<String, JSGraphQLEndpointNamedTypeDefinition> knownDefinitionsByName = holder.getCurrentAnnotationSession().getUserData(key);
-		if (knownDefinitionsByName == null) {
-			knownDefinitionsByName = HashMultimap.create();
-			for (JSGraphQLEndpointNamedTypeDefinition definition : JSGraphQLEndpointPsiUtil.getKnownDefinitions(importingFile, JSGraphQLEndpointNamedTypeDefinition.class, true, null)) {
-				if (definition.getNamedTypeDef() != null) {
-					knownDefinitionsByName.put(definition.getNamedTypeDef().getText(), definition);
-				}
-			}
-		}
 		final String typeName = element.getText();
-		final Collection<JSGraphQLEndpointNamedTypeDefinition> typesWithSameName = knownDefinitionsByName.get(typeName);
-		if (typesWithSameName != null && typesWithSameName.size() > 1) {
+		// only the files that define the name are loaded, based on the definition name index
+		final Collection<JSGraphQLEndpointNamedTypeDefinition> typesWithSameName = JSGraphQLEndpointPsiUtil.getKnownDefinitionsByName(importingFile, typeName);
+		if (typesWithSameName.size() > 1) {
 			final Set<String> files = typesWithSameName.stream().map(t -> "'" + t.getContainingFile().getName() + "'").collect(Collectors.toSet());
 			holder.createErrorAnnotation(element, "'" + typeName + "' is redeclared in " + StringUtils.join(files, ", "));
 			holder.getCurrentAnnotationSession().putUserData(annotationKey, Boolean.TRUE);
@@ -15,6 +15,7 @@ import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManage
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLNamedScope;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeListener;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaEventListener;
+import com.intellij.lang.jsgraphql.schema.GraphQLStringInterner;
 import com.intellij.lang.jsgraphql.schema.GraphQLValidatedTypeDefinitionRegistry;
 import com.intellij.lang.jsgraphql.v1.ide.configuration.JSGraphQLConfigurationProvider;
 import com.intellij.lang.jsgraphql.v1.schema.ide.type.JSGraphQLNamedType;
@@ -24,6 +25,8 @@ import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import graphql.GraphQLException;
 import graphql.introspection.Introspection;
@@ -31,6 +34,7 @@ import graphql.language.*;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.Consumer;
@@ -42,12 +46,24 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
 
     private final JSGraphQLConfigurationProvider configurationProvider;
     private final GraphQLConfigManager graphQLConfigManager;
+    private final GraphQLStringInterner interner;
     private final Project project;
 
     private final Map<GraphQLNamedScope, Map<String, JSGraphQLNamedType>> endpointTypesByName = Maps.newConcurrentMap();
     private final Map<GraphQLNamedScope, PsiFile> endpointEntryPsiFile = Maps.newConcurrentMap();
     private final Map<GraphQLNamedScope, GraphQLValidatedTypeDefinitionRegistry> projectToRegistry = Maps.newConcurrentMap();
 
+    /**
+     * Endpoint definitions only have a file name as their location, so all the definitions of a file share one location
+     */
+    private final Map<String, SourceLocation> fileNameToSourceLocation = Maps.newConcurrentMap();
+
+    /**
+     * The endpoint modification count that the PSI based caches were computed at. Edits that don't affect the schema
+     * don't signal a schema change, but can still invalidate the cached PSI elements.
+     */
+    private volatile long endpointModificationCount = -1;
+
     public static JSGraphQLEndpointNamedTypeRegistry getService(@NotNull Project project) {
         return ServiceManager.getService(project, JSGraphQLEndpointNamedTypeRegistry.class);
     }
@@ -56,12 +72,14 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
         this.project = project;
         this.configurationProvider = JSGraphQLConfigurationProvider.getService(project);
         graphQLConfigManager = GraphQLConfigManager.getService(project);
+        interner = GraphQLStringInterner.getInstance(project);
         project.getMessageBus().connect().subscribe(GraphQLSchemaChangeListener.TOPIC, new GraphQLSchemaEventListener() {
             @Override
             public void onGraphQLSchemaChanged(Integer schemaVersion) {
                 endpointTypesByName.clear();
                 endpointEntryPsiFile.clear();
                 projectToRegistry.clear();
+                fileNameToSourceLocation.clear();
             }
         });
     }
@@ -70,7 +88,17 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
         return getEndpointEntryPsiFile(scopedPsiElement) != null;
     }
 
+    private void clearPsiCachesOnEndpointModification() {
+        final long modificationCount = GraphQLSchemaChangeListener.getService(project).getEndpointModificationTracker().getModificationCount();
+        if (modificationCount != endpointModificationCount) {
+            endpointTypesByName.clear();
+            endpointEntryPsiFile.clear();
+            endpointModificationCount = modificationCount;
+        }
+    }
+
     private PsiFile getEndpointEntryPsiFile(PsiElement scopedPsiElement) {
+        clearPsiCachesOnEndpointModification();
         final GraphQLNamedScope schemaScope = getSchemaScope(scopedPsiElement);
         if(schemaScope == null) {
             return null;
@@ -118,7 +146,61 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
 
         final Map<String, JSGraphQLNamedType> namedTypes = computeNamedTypes(scopedElement);
 
-        final PsiRecursiveElementVisitor errorsVisitor = new PsiRecursiveElementVisitor() {
+        namedTypes.forEach((name, endpointType) -> {
+            if (!(endpointType.definitionElement instanceof JSGraphQLEndpointNamedTypeDefinition)) {
+                return;
+            }
+            final JSGraphQLEndpointNamedTypeDefinition psiDefinition = (JSGraphQLEndpointNamedTypeDefinition) endpointType.definitionElement;
+            final ConvertedDefinition convertedDefinition = getConvertedDefinition(psiDefinition);
+            errors.addAll(convertedDefinition.errors);
+
+            SDLDefinition<?> definition = convertedDefinition.definition;
+            if (definition instanceof ObjectTypeDefinition && psiDefinition instanceof JSGraphQLEndpointObjectTypeDefinition) {
+                definition = addImplementedInterfaces(
+                        (ObjectTypeDefinition) definition,
+                        (JSGraphQLEndpointObjectTypeDefinition) psiDefinition,
+                        convertedDefinition,
+                        namedTypes,
+                        errors
+                );
+            }
+            if (definition != null) {
+                registry.add(definition);
+            }
+        });
+
+        return new GraphQLValidatedTypeDefinitionRegistry(registry, errors, !namedTypes.isEmpty());
+    }
+
+    /**
+     * Gets the conversion of the endpoint definition, which is memoized per file until the file is modified
+     */
+    @NotNull
+    private ConvertedDefinition getConvertedDefinition(@NotNull JSGraphQLEndpointNamedTypeDefinition psiDefinition) {
+        final PsiFile psiFile = psiDefinition.getContainingFile();
+        if (psiFile != null) {
+            final ConvertedDefinition convertedDefinition = CachedValuesManager.getCachedValue(psiFile, () -> {
+                final Map<JSGraphQLEndpointNamedTypeDefinition, ConvertedDefinition> convertedDefinitions = Maps.newHashMap();
+                for (JSGraphQLEndpointNamedTypeDefinition fileDefinition : PsiTreeUtil.findChildrenOfType(psiFile, JSGraphQLEndpointNamedTypeDefinition.class)) {
+                    convertedDefinitions.put(fileDefinition, convertDefinition(fileDefinition));
+                }
+                return CachedValueProvider.Result.create(convertedDefinitions, psiFile);
+            }).get(psiDefinition);
+            if (convertedDefinition != null) {
+                return convertedDefinition;
+            }
+        }
+        return convertDefinition(psiDefinition);
+    }
+
+    @NotNull
+    private ConvertedDefinition convertDefinition(@NotNull JSGraphQLEndpointNamedTypeDefinition psiDefinition) {
+        final List<GraphQLException> errors = Lists.newArrayList();
+        final List<FieldDefinition> fieldDefinitions = Lists.newArrayList();
+        SDLDefinition<?> definition = null;
+
+        // add syntax errors as schema errors
+        psiDefinition.accept(new PsiRecursiveElementVisitor() {
             @Override
             public void visitElement(PsiElement element) {
                 if(element instanceof PsiErrorElement) {
@@ -126,19 +208,11 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
                 }
                 super.visitElement(element);
             }
-        };
-
-        namedTypes.forEach((name, endpointType) -> {
-            final PsiElement psiDefinition = endpointType.definitionElement;
-
-            // add syntax errors as schema errors
-            if(psiDefinition != null) {
-                psiDefinition.accept(errorsVisitor);
-            }
+        });
 
-            if (psiDefinition instanceof JSGraphQLEndpointObjectTypeDefinition) {
-                final JSGraphQLEndpointObjectTypeDefinition typeDefinition = (JSGraphQLEndpointObjectTypeDefinition) psiDefinition;
-                final List<FieldDefinition> fieldDefinitions = Lists.newArrayList();
+        if (psiDefinition instanceof JSGraphQLEndpointObjectTypeDefinition) {
+            final JSGraphQLEndpointObjectTypeDefinition typeDefinition = (JSGraphQLEndpointObjectTypeDefinition) psiDefinition;
+            if (typeDefinition.getNamedTypeDef() != null) {
                 final Set<String> addedFieldNames = Sets.newHashSet();
                 if (typeDefinition.getFieldDefinitionSet() != null) {
                     final List<JSGraphQLEndpointFieldDefinition> fieldDefinitionList = typeDefinition.getFieldDefinitionSet().getFieldDefinitionList();
@@ -146,153 +220,165 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
                         addFieldDefinition(fieldDefinitions, addedFieldNames, endpointFieldDefinition, errors);
                     }
                 }
-                final List<Type> interfaces;
-                final JSGraphQLEndpointImplementsInterfaces interfacesPsi = typeDefinition.getImplementsInterfaces();
-                if (interfacesPsi != null) {
-                    final List<JSGraphQLEndpointNamedType> namedTypeList = interfacesPsi.getNamedTypeList();
-                    interfaces = Lists.newArrayListWithExpectedSize(namedTypeList.size());
-                    for (JSGraphQLEndpointNamedType endpointImplementedType : namedTypeList) {
-                        final JSGraphQLNamedType implementedType = namedTypes.get(endpointImplementedType.getName());
-                        if (implementedType != null) {
-                            interfaces.add(new TypeName(endpointImplementedType.getName()));
-                            if (implementedType.definitionElement instanceof JSGraphQLEndpointInterfaceTypeDefinition) {
-                                final JSGraphQLEndpointFieldDefinitionSet fieldDefinitionSet = ((JSGraphQLEndpointInterfaceTypeDefinition) implementedType.definitionElement).getFieldDefinitionSet();
-                                if (fieldDefinitionSet != null) {
-                                    for (JSGraphQLEndpointFieldDefinition interfaceFieldDefinition : fieldDefinitionSet.getFieldDefinitionList()) {
-                                        addFieldDefinition(fieldDefinitions, addedFieldNames, interfaceFieldDefinition, errors);
-                                    }
-                                }
-                            }
-                        } else {
-                            errors.add(new JSGraphQLEndpointSchemaError("Unable to resolve interface Type '" + endpointImplementedType.getName() + "'", psiDefinition));
-                        }
-                    }
-                } else {
-                    interfaces = Collections.emptyList();
-                }
 
+                // the implemented interfaces are added when the registry is assembled, since they can be defined in other files
                 final ObjectTypeDefinition.Builder builder = ObjectTypeDefinition.newObjectTypeDefinition();
                 final SourceLocation sourceLocation = getSourceLocation(typeDefinition);
                 final Description description = getDescription(typeDefinition, sourceLocation);
-                builder.name(endpointType.getName()).implementz(interfaces).fieldDefinitions(fieldDefinitions).sourceLocation(sourceLocation).description(description);
-
-                registry.add(builder.build());
+                builder.name(interner.intern(typeDefinition.getNamedTypeDef().getName())).fieldDefinitions(fieldDefinitions).sourceLocation(sourceLocation).description(description);
+                definition = builder.build();
+            }
 
-            } else if (psiDefinition instanceof JSGraphQLEndpointInterfaceTypeDefinition) {
+        } else if (psiDefinition instanceof JSGraphQLEndpointInterfaceTypeDefinition) {
 
-                final JSGraphQLEndpointInterfaceTypeDefinition psiInterfaceDefinition = (JSGraphQLEndpointInterfaceTypeDefinition) psiDefinition;
-                if (psiInterfaceDefinition.getNamedTypeDef() != null) {
-                    final List<FieldDefinition> fieldDefinitions = Lists.newArrayList();
-                    if (psiInterfaceDefinition.getFieldDefinitionSet() != null) {
-                        final List<JSGraphQLEndpointFieldDefinition> fieldDefinitionList = psiInterfaceDefinition.getFieldDefinitionSet().getFieldDefinitionList();
-                        final Set<String> addedFieldNames = Sets.newHashSet();
-                        for (JSGraphQLEndpointFieldDefinition endpointFieldDefinition : fieldDefinitionList) {
-                            addFieldDefinition(fieldDefinitions, addedFieldNames, endpointFieldDefinition, errors);
-                        }
+            final JSGraphQLEndpointInterfaceTypeDefinition psiInterfaceDefinition = (JSGraphQLEndpointInterfaceTypeDefinition) psiDefinition;
+            if (psiInterfaceDefinition.getNamedTypeDef() != null) {
+                if (psiInterfaceDefinition.getFieldDefinitionSet() != null) {
+                    final List<JSGraphQLEndpointFieldDefinition> fieldDefinitionList = psiInterfaceDefinition.getFieldDefinitionSet().getFieldDefinitionList();
+                    final Set<String> addedFieldNames = Sets.newHashSet();
+                    for (JSGraphQLEndpointFieldDefinition endpointFieldDefinition : fieldDefinitionList) {
+                        addFieldDefinition(fieldDefinitions, addedFieldNames, endpointFieldDefinition, errors);
                     }
-
-                    final InterfaceTypeDefinition.Builder builder = InterfaceTypeDefinition.newInterfaceTypeDefinition();
-                    final SourceLocation sourceLocation = getSourceLocation(psiDefinition);
-                    final Description description = getDescription(psiInterfaceDefinition, sourceLocation);
-                    builder.name(psiInterfaceDefinition.getNamedTypeDef().getName()).definitions(fieldDefinitions).sourceLocation(sourceLocation).description(description);
-                    registry.add(builder.build());
                 }
 
-            } else if (psiDefinition instanceof JSGraphQLEndpointInputObjectTypeDefinition) {
-
-                final JSGraphQLEndpointInputObjectTypeDefinition psiInputObjectDefinition = (JSGraphQLEndpointInputObjectTypeDefinition) psiDefinition;
-                if (psiInputObjectDefinition.getNamedTypeDef() != null) {
-                    final List<InputValueDefinition> inputValueDefinitions = Lists.newArrayList();
-                    if (psiInputObjectDefinition.getFieldDefinitionSet() != null) {
-                        for (JSGraphQLEndpointFieldDefinition fieldDefinition : psiInputObjectDefinition.getFieldDefinitionSet().getFieldDefinitionList()) {
-                            if (fieldDefinition.getCompositeType() != null) {
-                                final InputValueDefinition inputValueDefinition = InputValueDefinition.newInputValueDefinition()
-                                        .name(fieldDefinition.getProperty().getName())
-                                        .type(createType(fieldDefinition.getCompositeType()))
-                                        .build();
-                                inputValueDefinitions.add(inputValueDefinition);
-                            }
+                final InterfaceTypeDefinition.Builder builder = InterfaceTypeDefinition.newInterfaceTypeDefinition();
+                final SourceLocation sourceLocation = getSourceLocation(psiDefinition);
+                final Description description = getDescription(psiInterfaceDefinition, sourceLocation);
+                builder.name(interner.intern(psiInterfaceDefinition.getNamedTypeDef().getName())).definitions(fieldDefinitions).sourceLocation(sourceLocation).description(description);
+                definition = builder.build();
+            }
+
+        } else if (psiDefinition instanceof JSGraphQLEndpointInputObjectTypeDefinition) {
+
+            final JSGraphQLEndpointInputObjectTypeDefinition psiInputObjectDefinition = (JSGraphQLEndpointInputObjectTypeDefinition) psiDefinition;
+            if (psiInputObjectDefinition.getNamedTypeDef() != null) {
+                final List<InputValueDefinition> inputValueDefinitions = Lists.newArrayList();
+                if (psiInputObjectDefinition.getFieldDefinitionSet() != null) {
+                    for (JSGraphQLEndpointFieldDefinition fieldDefinition : psiInputObjectDefinition.getFieldDefinitionSet().getFieldDefinitionList()) {
+                        if (fieldDefinition.getCompositeType() != null) {
+                            final InputValueDefinition inputValueDefinition = InputValueDefinition.newInputValueDefinition()
+                                    .name(interner.intern(fieldDefinition.getProperty().getName()))
+                                    .type(createType(fieldDefinition.getCompositeType()))
+                                    .build();
+                            inputValueDefinitions.add(inputValueDefinition);
                         }
                     }
-                    final InputObjectTypeDefinition.Builder builder = InputObjectTypeDefinition.newInputObjectDefinition();
-                    final SourceLocation sourceLocation = getSourceLocation(psiDefinition);
-                    builder.name(psiInputObjectDefinition.getNamedTypeDef().getName()).inputValueDefinitions(inputValueDefinitions).sourceLocation(sourceLocation);
-                    registry.add(builder.build());
-
                 }
-            } else if (psiDefinition instanceof JSGraphQLEndpointEnumTypeDefinition) {
-
-                final JSGraphQLEndpointEnumTypeDefinition psiEnumTypeDefinition = (JSGraphQLEndpointEnumTypeDefinition) psiDefinition;
-                if (psiEnumTypeDefinition.getNamedTypeDef() != null) {
-                    final List<EnumValueDefinition> enumValueDefinitions = Lists.newArrayList();
-                    if (psiEnumTypeDefinition.getEnumValueDefinitionSet() != null) {
-                        for (JSGraphQLEndpointEnumValueDefinition psiEnumValueDefinition : psiEnumTypeDefinition.getEnumValueDefinitionSet().getEnumValueDefinitionList()) {
-                            enumValueDefinitions.add(new EnumValueDefinition(psiEnumValueDefinition.getIdentifier().getText()));
-                        }
+                final InputObjectTypeDefinition.Builder builder = InputObjectTypeDefinition.newInputObjectDefinition();
+                final SourceLocation sourceLocation = getSourceLocation(psiDefinition);
+                builder.name(interner.intern(psiInputObjectDefinition.getNamedTypeDef().getName())).inputValueDefinitions(inputValueDefinitions).sourceLocation(sourceLocation);
+                definition = builder.build();
+
+            }
+        } else if (psiDefinition instanceof JSGraphQLEndpointEnumTypeDefinition) {
+
+            final JSGraphQLEndpointEnumTypeDefinition psiEnumTypeDefinition = (JSGraphQLEndpointEnumTypeDefinition) psiDefinition;
+            if (psiEnumTypeDefinition.getNamedTypeDef() != null) {
+                final List<EnumValueDefinition> enumValueDefinitions = Lists.newArrayList();
+                if (psiEnumTypeDefinition.getEnumValueDefinitionSet() != null) {
+                    for (JSGraphQLEndpointEnumValueDefinition psiEnumValueDefinition : psiEnumTypeDefinition.getEnumValueDefinitionSet().getEnumValueDefinitionList()) {
+                        enumValueDefinitions.add(new EnumValueDefinition(interner.intern(psiEnumValueDefinition.getIdentifier().getText())));
                     }
-                    final EnumTypeDefinition.Builder enumTypeDefinition = EnumTypeDefinition.newEnumTypeDefinition()
-                            .name(psiEnumTypeDefinition.getNamedTypeDef().getName())
-                            .enumValueDefinitions(enumValueDefinitions)
-                            .sourceLocation(getSourceLocation(psiDefinition));
-                    registry.add(enumTypeDefinition.build());
                 }
+                final EnumTypeDefinition.Builder enumTypeDefinition = EnumTypeDefinition.newEnumTypeDefinition()
+                        .name(interner.intern(psiEnumTypeDefinition.getNamedTypeDef().getName()))
+                        .enumValueDefinitions(enumValueDefinitions)
+                        .sourceLocation(getSourceLocation(psiDefinition));
+                definition = enumTypeDefinition.build();
+            }
 
-            } else if (psiDefinition instanceof JSGraphQLEndpointUnionTypeDefinition) {
+        } else if (psiDefinition instanceof JSGraphQLEndpointUnionTypeDefinition) {
 
-                final JSGraphQLEndpointUnionTypeDefinition psiUnionTypeDefinition = (JSGraphQLEndpointUnionTypeDefinition) psiDefinition;
-                if (psiUnionTypeDefinition.getNamedTypeDef() != null) {
+            final JSGraphQLEndpointUnionTypeDefinition psiUnionTypeDefinition = (JSGraphQLEndpointUnionTypeDefinition) psiDefinition;
+            if (psiUnionTypeDefinition.getNamedTypeDef() != null) {
 
-                    final List<Type> memberTypes = Lists.newArrayList();
-                    if (psiUnionTypeDefinition.getUnionMemberSet() != null) {
-                        for (JSGraphQLEndpointUnionMember psiUnionMember : psiUnionTypeDefinition.getUnionMemberSet().getUnionMemberList()) {
-                            memberTypes.add(new TypeName(psiUnionMember.getIdentifier().getText()));
-                        }
+                final List<Type> memberTypes = Lists.newArrayList();
+                if (psiUnionTypeDefinition.getUnionMemberSet() != null) {
+                    for (JSGraphQLEndpointUnionMember psiUnionMember : psiUnionTypeDefinition.getUnionMemberSet().getUnionMemberList()) {
+                        memberTypes.add(new TypeName(interner.intern(psiUnionMember.getIdentifier().getText())));
                     }
-                    final UnionTypeDefinition.Builder builder = UnionTypeDefinition.newUnionTypeDefinition()
-                            .name(psiUnionTypeDefinition.getNamedTypeDef().getName())
-                            .memberTypes(memberTypes)
-                            .sourceLocation(getSourceLocation(psiDefinition));
-                    registry.add(builder.build());
-
                 }
+                final UnionTypeDefinition.Builder builder = UnionTypeDefinition.newUnionTypeDefinition()
+                        .name(interner.intern(psiUnionTypeDefinition.getNamedTypeDef().getName()))
+                        .memberTypes(memberTypes)
+                        .sourceLocation(getSourceLocation(psiDefinition));
+                definition = builder.build();
 
-            } else if (psiDefinition instanceof JSGraphQLEndpointAnnotationDefinition) {
+            }
 
-                final JSGraphQLEndpointAnnotationDefinition psiAnnotationDefinition = (JSGraphQLEndpointAnnotationDefinition) psiDefinition;
-                if (psiAnnotationDefinition.getNamedTypeDef() != null) {
-                    final List<InputValueDefinition> inputValueDefinitions = createInputValueDefinitions(psiAnnotationDefinition.getArgumentsDefinition(), errors);
-                    final List<DirectiveLocation> directiveLocations = Lists.newArrayList();
-                    // endpoint language currently doesn't have grammar support for valid locations, so allow all locations
-                    for (Introspection.DirectiveLocation directiveLocation : Introspection.DirectiveLocation.values()) {
-                        directiveLocations.add(new DirectiveLocation(directiveLocation.name()));
-                    }
-                    final DirectiveDefinition.Builder builder = DirectiveDefinition.newDirectiveDefinition()
-                            .name(psiAnnotationDefinition.getNamedTypeDef().getName())
-                            .inputValueDefinitions(inputValueDefinitions)
-                            .directiveLocations(directiveLocations)
-                            .sourceLocation(getSourceLocation(psiDefinition));
-                    registry.add(builder.build());
-                }
+        } else if (psiDefinition instanceof JSGraphQLEndpointAnnotationDefinition) {
 
-            } else if (psiDefinition instanceof JSGraphQLEndpointScalarTypeDefinition) {
-                final JSGraphQLEndpointScalarTypeDefinition scalarTypeDefinition = (JSGraphQLEndpointScalarTypeDefinition) psiDefinition;
-                final JSGraphQLEndpointNamedTypeDef scalarName = scalarTypeDefinition.getNamedTypeDef();
-                if (scalarName != null) {
-                    final SourceLocation sourceLocation = getSourceLocation(psiDefinition);
-                    final Description description = getDescription(scalarTypeDefinition, sourceLocation);
-                    registry.add(ScalarTypeDefinition.newScalarTypeDefinition().name(scalarName.getName()).description(description).sourceLocation(sourceLocation).build());
+            final JSGraphQLEndpointAnnotationDefinition psiAnnotationDefinition = (JSGraphQLEndpointAnnotationDefinition) psiDefinition;
+            if (psiAnnotationDefinition.getNamedTypeDef() != null) {
+                final List<InputValueDefinition> inputValueDefinitions = createInputValueDefinitions(psiAnnotationDefinition.getArgumentsDefinition(), errors);
+                final List<DirectiveLocation> directiveLocations = Lists.newArrayList();
+                // endpoint language currently doesn't have grammar support for valid locations, so allow all locations
+                for (Introspection.DirectiveLocation directiveLocation : Introspection.DirectiveLocation.values()) {
+                    directiveLocations.add(new DirectiveLocation(directiveLocation.name()));
                 }
+                final DirectiveDefinition.Builder builder = DirectiveDefinition.newDirectiveDefinition()
+                        .name(interner.intern(psiAnnotationDefinition.getNamedTypeDef().getName()))
+                        .inputValueDefinitions(inputValueDefinitions)
+                        .directiveLocations(directiveLocations)
+                        .sourceLocation(getSourceLocation(psiDefinition));
+                definition = builder.build();
             }
-        });
 
-        return new GraphQLValidatedTypeDefinitionRegistry(registry, errors, !namedTypes.isEmpty());
+        } else if (psiDefinition instanceof JSGraphQLEndpointScalarTypeDefinition) {
+            final JSGraphQLEndpointScalarTypeDefinition scalarTypeDefinition = (JSGraphQLEndpointScalarTypeDefinition) psiDefinition;
+            final JSGraphQLEndpointNamedTypeDef scalarName = scalarTypeDefinition.getNamedTypeDef();
+            if (scalarName != null) {
+                final SourceLocation sourceLocation = getSourceLocation(psiDefinition);
+                final Description description = getDescription(scalarTypeDefinition, sourceLocation);
+                definition = ScalarTypeDefinition.newScalarTypeDefinition().name(interner.intern(scalarName.getName())).description(description).sourceLocation(sourceLocation).build();
+            }
+        }
+
+        return new ConvertedDefinition(definition, fieldDefinitions, errors);
+    }
+
+    /**
+     * Adds the implemented interfaces to a converted object type, including the fields of those interfaces that the type doesn't declare
+     */
+    private ObjectTypeDefinition addImplementedInterfaces(ObjectTypeDefinition objectTypeDefinition,
+                                                          JSGraphQLEndpointObjectTypeDefinition typeDefinition,
+                                                          ConvertedDefinition convertedDefinition,
+                                                          Map<String, JSGraphQLNamedType> namedTypes,
+                                                          List<GraphQLException> errors) {
+        final JSGraphQLEndpointImplementsInterfaces interfacesPsi = typeDefinition.getImplementsInterfaces();
+        if (interfacesPsi == null) {
+            return objectTypeDefinition;
+        }
+        final List<FieldDefinition> fieldDefinitions = Lists.newArrayList(convertedDefinition.fieldDefinitions);
+        final Set<String> addedFieldNames = Sets.newHashSet();
+        fieldDefinitions.forEach(fieldDefinition -> addedFieldNames.add(fieldDefinition.getName()));
+
+        final List<JSGraphQLEndpointNamedType> namedTypeList = interfacesPsi.getNamedTypeList();
+        final List<Type> interfaces = Lists.newArrayListWithExpectedSize(namedTypeList.size());
+        for (JSGraphQLEndpointNamedType endpointImplementedType : namedTypeList) {
+            final JSGraphQLNamedType implementedType = namedTypes.get(endpointImplementedType.getName());
+            if (implementedType != null) {
+                interfaces.add(new TypeName(interner.intern(endpointImplementedType.getName())));
+                if (implementedType.definitionElement instanceof JSGraphQLEndpointInterfaceTypeDefinition) {
+                    final ConvertedDefinition convertedInterface = getConvertedDefinition((JSGraphQLEndpointInterfaceTypeDefinition) implementedType.definitionElement);
+                    for (FieldDefinition interfaceFieldDefinition : convertedInterface.fieldDefinitions) {
+                        if (addedFieldNames.add(interfaceFieldDefinition.getName())) {
+                            fieldDefinitions.add(interfaceFieldDefinition);
+                        }
+                    }
+                }
+            } else {
+                errors.add(new JSGraphQLEndpointSchemaError("Unable to resolve interface Type '" + endpointImplementedType.getName() + "'", typeDefinition));
+            }
+        }
+        return objectTypeDefinition.transform(builder -> builder.implementz(interfaces).fieldDefinitions(fieldDefinitions));
     }
 
     private Description getDescription(JSGraphQLEndpointNamedTypeDefinition typeDefinition, SourceLocation sourceLocation) {
         if (typeDefinition.getNamedTypeDef() instanceof JSGraphQLEndpointDocumentationAware) {
             final String documentation = ((JSGraphQLEndpointDocumentationAware) typeDefinition.getNamedTypeDef()).getDocumentation(false);
             if (StringUtils.isNotBlank(documentation)) {
-                return new Description(documentation, sourceLocation, true);
+                return new Description(interner.intern(documentation), sourceLocation, true);
             }
         }
         return null;
@@ -300,7 +386,7 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
 
     private void addFieldDefinition(List<FieldDefinition> fieldDefinitions, Set<String> addedFieldNames, JSGraphQLEndpointFieldDefinition endpointFieldDefinition, List<GraphQLException> errors) {
         final JSGraphQLEndpointProperty property = endpointFieldDefinition.getProperty();
-        final String fieldName = property.getName();
+        final String fieldName = interner.intern(property.getName());
         if (endpointFieldDefinition.getCompositeType() != null) {
             final Type fieldType = createType(endpointFieldDefinition.getCompositeType());
             if (fieldType != null) {
@@ -314,7 +400,7 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
                     if (property instanceof JSGraphQLEndpointDocumentationAware) {
                         final String documentation = ((JSGraphQLEndpointDocumentationAware) property).getDocumentation(false);
                         if (StringUtils.isNotBlank(documentation)) {
-                            builder.description(new Description(documentation, sourceLocation, true));
+                            builder.description(new Description(interner.intern(documentation), sourceLocation, true));
                         }
                     }
                     fieldDefinitions.add(builder.build());
@@ -331,7 +417,7 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
         if (argumentsDefinition != null && argumentsDefinition.getInputValueDefinitions() != null) {
             final List<InputValueDefinition> result = Lists.newArrayList();
             for (JSGraphQLEndpointInputValueDefinition psiArgument : argumentsDefinition.getInputValueDefinitions().getInputValueDefinitionList()) {
-                final String argumentName = psiArgument.getInputValueDefinitionIdentifier().getIdentifier().getText();
+                final String argumentName = interner.intern(psiArgument.getInputValueDefinitionIdentifier().getIdentifier().getText());
                 final JSGraphQLEndpointCompositeType psiCompositeType = psiArgument.getCompositeType();
                 if (psiCompositeType != null) {
                     final Type type = createType(psiCompositeType);
@@ -354,7 +440,7 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
         if (endpointCompositeType.getListType() != null) {
             final JSGraphQLEndpointNamedType listElementType = endpointCompositeType.getListType().getNamedType();
             if (listElementType != null) {
-                final String name = listElementType.getName();
+                final String name = interner.intern(listElementType.getName());
                 if (name != null) {
                     Type type = TypeName.newTypeName(name).sourceLocation(getSourceLocation(listElementType)).build();
                     type = ListType.newListType(type).sourceLocation(getSourceLocation(endpointCompositeType)).build();
@@ -365,7 +451,7 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
                 }
             }
         } else if (endpointCompositeType.getNamedType() != null) {
-            final String name = endpointCompositeType.getNamedType().getName();
+            final String name = interner.intern(endpointCompositeType.getNamedType().getName());
             if (name != null) {
                 Type type = TypeName.newTypeName(name).sourceLocation(getSourceLocation(endpointCompositeType.getNamedType())).build();
                 if (isNonNull) {
@@ -378,10 +464,12 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
     }
 
     private SourceLocation getSourceLocation(PsiElement psiSourceElement) {
-        return new SourceLocation(-1, -1, psiSourceElement.getContainingFile().getName());
+        final String fileName = psiSourceElement.getContainingFile().getName();
+        return fileNameToSourceLocation.computeIfAbsent(fileName, name -> new SourceLocation(-1, -1, interner.intern(name)));
     }
 
     private Map<String, JSGraphQLNamedType> computeNamedTypes(PsiElement scopedPsiElement) {
+        clearPsiCachesOnEndpointModification();
         final GraphQLNamedScope schemaScope = getSchemaScope(scopedPsiElement);
         if (schemaScope == null) {
             return Collections.emptyMap();
@@ -439,4 +527,24 @@ public class JSGraphQLEndpointNamedTypeRegistry implements JSGraphQLNamedTypeReg
 
         });
     }
+
+    /**
+     * The result of converting a single endpoint definition. Object types are converted without the interfaces they implement,
+     * since the interfaces can be defined in other files than the type.
+     */
+    private static final class ConvertedDefinition {
+        @Nullable
+        final SDLDefinition<?> definition;
+        /**
+         * The fields declared by an object or interface type
+         */
+        final List<FieldDefinition> fieldDefinitions;
+        final List<GraphQLException> errors;
+
+        ConvertedDefinition(@Nullable SDLDefinition<?> definition, List<FieldDefinition> fieldDefinitions, List<GraphQLException> errors) {
+            this.definition = definition;
+            this.fieldDefinitions = fieldDefinitions;
+            this.errors = errors;
+        }
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2015-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.endpoint.ide.project.indexing;
+
+import com.google.common.collect.Maps;
+import com.intellij.lang.jsgraphql.endpoint.JSGraphQLEndpointFileType;
+import com.intellij.lang.jsgraphql.endpoint.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumDataDescriptor;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+
+/**
+ * Indexes the names of the type and annotation definitions in GraphQL Endpoint files, along with the kind of each definition.
+ * This lets completion and auto-import find the definitions in files that aren't imported without loading their PSI.
+ */
+public class JSGraphQLEndpointDefinitionNameIndex extends FileBasedIndexExtension<String, JSGraphQLEndpointDefinitionNameIndex.DefinitionKind> {
+
+    public static final ID<String, DefinitionKind> NAME = ID.create("JSGraphQLEndpointDefinitionNameIndex");
+
+    public enum DefinitionKind {
+
+        OBJECT_TYPE(JSGraphQLEndpointObjectTypeDefinition.class),
+        INTERFACE_TYPE(JSGraphQLEndpointInterfaceTypeDefinition.class),
+        INPUT_OBJECT_TYPE(JSGraphQLEndpointInputObjectTypeDefinition.class),
+        ENUM_TYPE(JSGraphQLEndpointEnumTypeDefinition.class),
+        UNION_TYPE(JSGraphQLEndpointUnionTypeDefinition.class),
+        SCALAR_TYPE(JSGraphQLEndpointScalarTypeDefinition.class),
+        ANNOTATION(JSGraphQLEndpointAnnotationDefinition.class);
+
+        private final Class<? extends JSGraphQLEndpointNamedTypeDefinition> myDefinitionClass;
+
+        DefinitionKind(Class<? extends JSGraphQLEndpointNamedTypeDefinition> definitionClass) {
+            myDefinitionClass = definitionClass;
+        }
+
+        /**
+         * Whether definitions of this kind are instances of the specified PSI class, e.g. to find all the kinds
+         * that match {@link JSGraphQLEndpointNamedTypeDefinition}
+         */
+        public boolean isKindOf(@NotNull Class<? extends JSGraphQLEndpointNamedTypeDefinition> psiDefinitionClass) {
+            return psiDefinitionClass.isAssignableFrom(myDefinitionClass);
+        }
+
+        @Nullable
+        public static DefinitionKind of(@NotNull JSGraphQLEndpointNamedTypeDefinition definition) {
+            for (DefinitionKind kind : values()) {
+                if (kind.myDefinitionClass.isInstance(definition)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final DataIndexer<String, DefinitionKind, FileContent> myDataIndexer = inputData -> {
+        final HashMap<String, DefinitionKind> definitions = Maps.newHashMap();
+        for (JSGraphQLEndpointNamedTypeDefinition definition : PsiTreeUtil.findChildrenOfType(inputData.getPsiFile(), JSGraphQLEndpointNamedTypeDefinition.class)) {
+            final JSGraphQLEndpointNamedTypeDef namedTypeDef = definition.getNamedTypeDef();
+            final DefinitionKind kind = DefinitionKind.of(definition);
+            if (namedTypeDef != null && kind != null) {
+                // a redeclaration in the same file keeps the kind of the first definition
+                definitions.putIfAbsent(namedTypeDef.getText(), kind);
+            }
+        }
+        return definitions;
+    };
+
+    @NotNull
+    @Override
+    public ID<String, DefinitionKind> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, DefinitionKind, FileContent> getIndexer() {
+        return myDataIndexer;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return new EnumeratorStringDescriptor();
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<DefinitionKind> getValueExternalizer() {
+        return new EnumDataDescriptor<>(DefinitionKind.class);
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JSGraphQLEndpointFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+}
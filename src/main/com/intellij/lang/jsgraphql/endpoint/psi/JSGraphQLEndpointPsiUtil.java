@@ -8,25 +8,32 @@
 package com.intellij.lang.jsgraphql.endpoint.psi;
 
 import com.google.common.collect.Sets;
-import com.intellij.lang.jsgraphql.endpoint.JSGraphQLEndpointFileType;
 import com.intellij.lang.jsgraphql.endpoint.JSGraphQLEndpointTokenTypes;
+import com.intellij.lang.jsgraphql.endpoint.ide.project.indexing.JSGraphQLEndpointDefinitionNameIndex;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
 import com.intellij.lang.jsgraphql.v1.ide.configuration.JSGraphQLConfigurationProvider;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.source.SourceTreeToPsiMap;
 import com.intellij.psi.impl.source.tree.Factory;
 import com.intellij.psi.impl.source.tree.LeafElement;
-import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.IncorrectOperationException;
+import com.intellij.util.indexing.FileBasedIndex;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -58,7 +65,8 @@ public class JSGraphQLEndpointPsiUtil {
 	 *
 	 * @param file               the file to use as starting point
 	 * @param psiDefinitionClass class of definitions to get, e.g. object type definitions
-	 * @param includeAutoImportTypes whether to include types that are not currently imported, but can be made available using an auto-import
+	 * @param includeAutoImportTypes whether to include types that are not currently imported, but can be made available using an auto-import.
+	 *                               The files that define such types are looked up in the definition name index
      * @param importedFiles ref to add currently imported files to
 	 */
 	public static <T extends JSGraphQLEndpointNamedTypeDefinition> Collection<T> getKnownDefinitions(
@@ -70,30 +78,26 @@ public class JSGraphQLEndpointPsiUtil {
 		final Set<T> definitions = Sets.newHashSet();
 
 		final Set<PsiFile> files = Sets.newHashSet(file);
-		final JSGraphQLEndpointImportDeclaration[] importDeclarations = PsiTreeUtil.getChildrenOfType(file, JSGraphQLEndpointImportDeclaration.class);
-		if (importDeclarations != null) {
-			for (JSGraphQLEndpointImportDeclaration importDeclaration : importDeclarations) {
-				final JSGraphQLEndpointImportFileReference[] importFileReferences = PsiTreeUtil.getChildrenOfType(importDeclaration, JSGraphQLEndpointImportFileReference.class);
-				if (importFileReferences != null) {
-					for (JSGraphQLEndpointImportFileReference importFileReference : importFileReferences) {
-						final PsiReference reference = importFileReference.getReference();
-						if (reference != null) {
-							final PsiElement importedFile = reference.resolve();
-							if (importedFile instanceof JSGraphQLEndpointFile) {
-								files.add((PsiFile) importedFile);
-							}
-						}
-					}
-				}
-			}
-		}
+		files.addAll(getImportedFiles(file));
 
 		if(importedFiles != null) {
             importedFiles.set(Sets.newHashSet(files));
         }
 
 		if(includeAutoImportTypes) {
-			final Collection<VirtualFile> knownFiles = FileTypeIndex.getFiles(JSGraphQLEndpointFileType.INSTANCE, getImportScopeFromEntryFile(file.getProject(), null, file));
+			// only the files that define types of the requested kind are loaded, based on the definition name index
+			final Set<VirtualFile> knownFiles = Sets.newHashSet();
+			final GlobalSearchScope scope = getImportScopeFromEntryFile(file.getProject(), null, file);
+			final FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+			fileBasedIndex.processAllKeys(JSGraphQLEndpointDefinitionNameIndex.NAME, name -> {
+				fileBasedIndex.processValues(JSGraphQLEndpointDefinitionNameIndex.NAME, name, null, (virtualFile, kind) -> {
+					if(kind.isKindOf(psiDefinitionClass)) {
+						knownFiles.add(virtualFile);
+					}
+					return true;
+				}, scope);
+				return true;
+			}, scope, null);
 			final PsiManager psiManager = PsiManager.getInstance(file.getProject());
 			knownFiles.forEach(virtualFile ->{
 				final PsiFile psiFile = psiManager.findFile(virtualFile);
@@ -117,20 +121,106 @@ public class JSGraphQLEndpointPsiUtil {
 	}
 
 	/**
-	 * Maps getKnownDefinitions to their corresponding names
+	 * Gets the endpoint files that are imported by the specified file.
+	 * The resolved imports are cached on the file until it changes, a file is added, moved or deleted, or the configuration changes,
+	 * so they outlive the caches that are cleared on every schema change.
+	 */
+	public static Collection<PsiFile> getImportedFiles(PsiFile file) {
+		return CachedValuesManager.getCachedValue(file, () -> {
+			final Set<PsiFile> importedFiles = Sets.newLinkedHashSet();
+			final JSGraphQLEndpointImportDeclaration[] importDeclarations = PsiTreeUtil.getChildrenOfType(file, JSGraphQLEndpointImportDeclaration.class);
+			if (importDeclarations != null) {
+				for (JSGraphQLEndpointImportDeclaration importDeclaration : importDeclarations) {
+					final JSGraphQLEndpointImportFileReference[] importFileReferences = PsiTreeUtil.getChildrenOfType(importDeclaration, JSGraphQLEndpointImportFileReference.class);
+					if (importFileReferences != null) {
+						for (JSGraphQLEndpointImportFileReference importFileReference : importFileReferences) {
+							final PsiReference reference = importFileReference.getReference();
+							if (reference != null) {
+								final PsiElement importedFile = reference.resolve();
+								if (importedFile instanceof JSGraphQLEndpointFile) {
+									importedFiles.add((PsiFile) importedFile);
+								}
+							}
+						}
+					}
+				}
+			}
+			return CachedValueProvider.Result.create(
+					Collections.unmodifiableSet(importedFiles),
+					file,
+					VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS,
+					GraphQLConfigManager.getService(file.getProject()).getModificationTracker()
+			);
+		});
+	}
+
+	/**
+	 * Maps getKnownDefinitions to their corresponding names.
+	 * The names of types that can be auto-imported are looked up in the definition name index, so the PSI of those files isn't loaded.
 	 */
 	public static <T extends JSGraphQLEndpointNamedTypeDefinition> Collection<JSGraphQLEndpointTypeResult<T>> getKnownDefinitionNames(PsiFile file, Class<T> psiDefinitionClass, boolean autoImport) {
         final Ref<Collection<PsiFile>> importedFiles = new Ref<>();
-        return getKnownDefinitions(file, psiDefinitionClass, autoImport, importedFiles).stream()
+        final List<JSGraphQLEndpointTypeResult<T>> result = getKnownDefinitions(file, psiDefinitionClass, false, importedFiles).stream()
 				.filter(d -> d.getNamedTypeDef() != null)
-				.map(d -> {
-                    PsiFile fileToImport = d.getContainingFile();
-                    if(importedFiles.get().contains(fileToImport)) {
-                        fileToImport = null;
-                    }
-                    return new JSGraphQLEndpointTypeResult<>(d.getNamedTypeDef().getText(), d, fileToImport);
-                })
+				.map(d -> new JSGraphQLEndpointTypeResult<>(d.getNamedTypeDef().getText(), d, null))
 				.collect(Collectors.toList());
+
+		if(autoImport) {
+			final Set<VirtualFile> importedVirtualFiles = importedFiles.get().stream()
+					.map(PsiFile::getVirtualFile)
+					.filter(Objects::nonNull)
+					.collect(Collectors.toSet());
+			final Project project = file.getProject();
+			final PsiManager psiManager = PsiManager.getInstance(project);
+			final GlobalSearchScope scope = getImportScopeFromEntryFile(project, null, file);
+			final FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+			fileBasedIndex.processAllKeys(JSGraphQLEndpointDefinitionNameIndex.NAME, name -> {
+				fileBasedIndex.processValues(JSGraphQLEndpointDefinitionNameIndex.NAME, name, null, (virtualFile, kind) -> {
+					if(kind.isKindOf(psiDefinitionClass) && !importedVirtualFiles.contains(virtualFile)) {
+						final PsiFile fileToImport = psiManager.findFile(virtualFile);
+						if(fileToImport != null) {
+							result.add(new JSGraphQLEndpointTypeResult<>(name, null, fileToImport));
+						}
+					}
+					return true;
+				}, scope);
+				return true;
+			}, scope, null);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Gets the definitions with the specified name that are known to the file, either by being imported or by being available for an auto-import.
+	 * Only the files that contain a definition with the name are loaded, based on the definition name index.
+	 */
+	public static Collection<JSGraphQLEndpointNamedTypeDefinition> getKnownDefinitionsByName(PsiFile file, String name) {
+		final Set<PsiFile> files = Sets.newHashSet();
+		final Ref<Collection<PsiFile>> importedFiles = new Ref<>();
+		getKnownDefinitions(file, JSGraphQLEndpointNamedTypeDefinition.class, false, importedFiles);
+		files.addAll(importedFiles.get());
+
+		final Project project = file.getProject();
+		final PsiManager psiManager = PsiManager.getInstance(project);
+		final GlobalSearchScope scope = getImportScopeFromEntryFile(project, null, file);
+		for (VirtualFile virtualFile : FileBasedIndex.getInstance().getContainingFiles(JSGraphQLEndpointDefinitionNameIndex.NAME, name, scope)) {
+			final PsiFile psiFile = psiManager.findFile(virtualFile);
+			if(psiFile != null) {
+				files.add(psiFile);
+			}
+		}
+
+		final Set<JSGraphQLEndpointNamedTypeDefinition> definitions = Sets.newHashSet();
+		for (PsiFile psiFile : files) {
+			for (JSGraphQLEndpointNamedTypeDefinition definition : PsiTreeUtil.findChildrenOfType(psiFile, JSGraphQLEndpointNamedTypeDefinition.class)) {
+				final JSGraphQLEndpointNamedTypeDef namedTypeDef = definition.getNamedTypeDef();
+				if (namedTypeDef != null && name.equals(namedTypeDef.getText())) {
+					definitions.add(definition);
+				}
+			}
+		}
+		return definitions;
 	}
 
 	/**
@@ -14,12 +14,16 @@ public class JSGraphQLEndpointTypeResult<T extends JSGraphQLEndpointNamedTypeDef
 
     public final String name;
 
+    /**
+     * The definition, or null for a type that is available through an auto-import, since the PSI of those files isn't loaded
+     */
+    @Nullable
     public final T element;
 
     @Nullable
     public final PsiFile fileToImport;
 
-    public JSGraphQLEndpointTypeResult(String name, T element, @Nullable PsiFile fileToImport) {
+    public JSGraphQLEndpointTypeResult(String name, @Nullable T element, @Nullable PsiFile fileToImport) {
         this.name = name;
         this.element = element;
         this.fileToImport = fileToImport;
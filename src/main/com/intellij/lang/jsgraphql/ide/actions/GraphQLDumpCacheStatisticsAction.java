@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.actions;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCaches;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.fileTypes.PlainTextLanguage;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+
+/**
+ * Writes the statistics of the GraphQL caches to the IDE log and opens them in an editor.
+ */
+public class GraphQLDumpCacheStatisticsAction extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(GraphQLDumpCacheStatisticsAction.class);
+
+    public GraphQLDumpCacheStatisticsAction() {
+        super("Dump GraphQL Cache Statistics", "Shows the hit rate, size and evictions of the caches used by the GraphQL plugin", AllIcons.General.Information);
+    }
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        if (e.getProject() != null) {
+            final String statistics = GraphQLCaches.formatStatistics();
+            LOG.info("GraphQL cache statistics:\n" + statistics);
+            final PsiFile file = PsiFileFactory.getInstance(e.getProject()).createFileFromText("graphql-cache-statistics.txt", PlainTextLanguage.INSTANCE, statistics);
+            new OpenFileDescriptor(e.getProject(), file.getVirtualFile()).navigate(true);
+        }
+    }
+}
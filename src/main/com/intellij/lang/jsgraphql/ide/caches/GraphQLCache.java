@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.caches;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Size bounded cache which evicts the least recently used entries and records hit, miss, eviction and load time statistics.
+ * Instances are created using {@link GraphQLCaches#create(String, long)} which makes their statistics available to the
+ * schemas tool window and the dump cache statistics action.
+ */
+public final class GraphQLCache<K, V> {
+
+    private final String myName;
+    private final long myMaximumSize;
+    private final Cache<K, V> myCache;
+
+    GraphQLCache(@NotNull String name, long maximumSize) {
+        myName = name;
+        myMaximumSize = maximumSize;
+        myCache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Gets the cached value for the key, or uses the loader to compute and cache it.
+     * Exceptions thrown by the loader, including {@link com.intellij.openapi.progress.ProcessCanceledException}, are rethrown as is and nothing is cached.
+     */
+    @NotNull
+    public V computeIfAbsent(@NotNull K key, @NotNull Function<? super K, ? extends V> loader) {
+        try {
+            return myCache.get(key, () -> loader.apply(key));
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    public void invalidate(@NotNull K key) {
+        myCache.invalidate(key);
+    }
+
+    public void clear() {
+        myCache.invalidateAll();
+    }
+
+    @NotNull
+    public String getName() {
+        return myName;
+    }
+
+    public long getMaximumSize() {
+        return myMaximumSize;
+    }
+
+    public long size() {
+        return myCache.size();
+    }
+
+    @NotNull
+    public CacheStats getStats() {
+        return myCache.stats();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.caches;
+
+import com.google.common.cache.CacheStats;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the statistics of one or more caches with the same name.
+ */
+public final class GraphQLCacheStatistics {
+
+    private final String myName;
+    private final int myInstances;
+    private final long mySize;
+    private final long myMaximumSize;
+    private final CacheStats myStats;
+
+    private GraphQLCacheStatistics(@NotNull String name, int instances, long size, long maximumSize, @NotNull CacheStats stats) {
+        myName = name;
+        myInstances = instances;
+        mySize = size;
+        myMaximumSize = maximumSize;
+        myStats = stats;
+    }
+
+    @NotNull
+    static GraphQLCacheStatistics of(@NotNull GraphQLCache<?, ?> cache) {
+        return new GraphQLCacheStatistics(cache.getName(), 1, cache.size(), cache.getMaximumSize(), cache.getStats());
+    }
+
+    @NotNull
+    GraphQLCacheStatistics plus(@NotNull GraphQLCacheStatistics other) {
+        return new GraphQLCacheStatistics(myName, myInstances + other.myInstances, mySize + other.mySize,
+            myMaximumSize + other.myMaximumSize, myStats.plus(other.myStats));
+    }
+
+    @NotNull
+    public String getName() {
+        return myName;
+    }
+
+    public int getInstances() {
+        return myInstances;
+    }
+
+    public long getSize() {
+        return mySize;
+    }
+
+    public long getMaximumSize() {
+        return myMaximumSize;
+    }
+
+    @NotNull
+    public CacheStats getStats() {
+        return myStats;
+    }
+
+    /**
+     * Gets a one line summary, e.g. "hit rate 97.5% (39 hits, 1 miss, 0 evictions), 1/1000 entries, average load 12.3 ms"
+     */
+    @NotNull
+    public String getDescription() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("hit rate %.1f%%", myStats.hitRate() * 100));
+        sb.append(" (").append(myStats.hitCount()).append(myStats.hitCount() == 1 ? " hit, " : " hits, ");
+        sb.append(myStats.missCount()).append(myStats.missCount() == 1 ? " miss, " : " misses, ");
+        sb.append(myStats.evictionCount()).append(myStats.evictionCount() == 1 ? " eviction), " : " evictions), ");
+        sb.append(mySize).append('/').append(myMaximumSize).append(" entries");
+        if (myInstances > 1) {
+            sb.append(" in ").append(myInstances).append(" caches");
+        }
+        sb.append(String.format(", average load %.1f ms", myStats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1)));
+        return sb.toString();
+    }
+}
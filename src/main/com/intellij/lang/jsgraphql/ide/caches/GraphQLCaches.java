@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.caches;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates the bounded caches used by the GraphQL services and keeps track of them for telemetry.
+ * <p>
+ * Caches are only weakly referenced, so a cache goes away along with the service or package set that owns it.
+ * Caches with the same name, e.g. one per open project, are reported as a single entry.
+ */
+public final class GraphQLCaches {
+
+    // guarded by itself
+    private static final Set<GraphQLCache<?, ?>> ourCaches = ContainerUtil.createWeakSet();
+
+    private GraphQLCaches() {
+    }
+
+    @NotNull
+    public static <K, V> GraphQLCache<K, V> create(@NotNull String name, long maximumSize) {
+        final GraphQLCache<K, V> cache = new GraphQLCache<>(name, maximumSize);
+        synchronized (ourCaches) {
+            ourCaches.add(cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Gets the statistics of the live caches, combined by cache name and sorted by name.
+     */
+    @NotNull
+    public static List<GraphQLCacheStatistics> getStatistics() {
+        final Map<String, GraphQLCacheStatistics> nameToStatistics = Maps.newHashMap();
+        synchronized (ourCaches) {
+            for (GraphQLCache<?, ?> cache : ourCaches) {
+                nameToStatistics.merge(cache.getName(), GraphQLCacheStatistics.of(cache), GraphQLCacheStatistics::plus);
+            }
+        }
+        final List<GraphQLCacheStatistics> statistics = Lists.newArrayList(nameToStatistics.values());
+        statistics.sort(Comparator.comparing(GraphQLCacheStatistics::getName));
+        return statistics;
+    }
+
+    @NotNull
+    public static String formatStatistics() {
+        final StringBuilder sb = new StringBuilder();
+        for (GraphQLCacheStatistics statistics : getStatistics()) {
+            sb.append(statistics.getName()).append(": ").append(statistics.getDescription()).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -25,6 +25,7 @@ import com.intellij.lang.jsgraphql.psi.GraphQLInputValueDefinition;
 import com.intellij.lang.jsgraphql.psi.*;
 import com.intellij.lang.jsgraphql.psi.impl.GraphQLDirectivesAware;
 import com.intellij.lang.jsgraphql.psi.impl.GraphQLObjectValueImpl;
+import com.intellij.lang.jsgraphql.schema.GraphQLPossibleTypes;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaUtil;
 import com.intellij.lang.jsgraphql.psi.GraphQLTypeScopeProvider;
@@ -715,14 +716,14 @@ public class GraphQLCompletionContributor extends CompletionContributor {
                         typeScope = GraphQLUtil.getUnmodifiedType(typeScope);
 
                         // fragment must be compatible with the type in scope
-                        final TypeDefinitionRegistry typeDefinitionRegistry = GraphQLSchemaProvider.getInstance(completionElement.getProject()).getTolerantRegistry(parameters.getOriginalFile());
+                        final GraphQLPossibleTypes possibleTypes = GraphQLSchemaProvider.getInstance(completionElement.getProject()).getPossibleTypes(parameters.getOriginalFile());
 
                         final List<GraphQLFragmentDefinition> knownFragmentDefinitions = GraphQLPsiSearchHelper.getInstance(completionElement.getProject()).getKnownFragmentDefinitions(parameters.getOriginalFile());
                         for (GraphQLFragmentDefinition fragmentDefinition : knownFragmentDefinitions) {
                             final String name = fragmentDefinition.getName();
                             if (name != null) {
                                 // suggest compatible fragments based on type type conditions
-                                if (isFragmentApplicableInTypeScope(typeDefinitionRegistry, fragmentDefinition, typeScope)) {
+                                if (isFragmentApplicableInTypeScope(possibleTypes, fragmentDefinition, typeScope)) {
                                     result.addElement(LookupElementBuilder.create(name));
                                 }
                             }
@@ -763,6 +764,7 @@ public class GraphQLCompletionContributor extends CompletionContributor {
 
                 final GraphQLSchemaProvider typeDefinitionRegistryService = GraphQLSchemaProvider.getInstance(completionElement.getProject());
                 final TypeDefinitionRegistry typeDefinitionRegistry = typeDefinitionRegistryService.getTolerantRegistry(parameters.getOriginalFile());
+                final GraphQLPossibleTypes possibleTypes = typeDefinitionRegistryService.getPossibleTypes(parameters.getOriginalFile());
 
                 final List<Pair<TypeDefinition, Description>> fragmentTypes = Lists.newArrayList();
 
@@ -794,19 +796,20 @@ public class GraphQLCompletionContributor extends CompletionContributor {
                             final Consumer<TypeDefinition<?>> addTypes = (typeToFragmentOn) -> {
                                 if (typeToFragmentOn instanceof ObjectTypeDefinition) {
                                     fragmentTypes.add(Pair.create(typeToFragmentOn, GraphQLSchemaUtil.getTypeDefinitionDescription(typeToFragmentOn)));
-                                    final List<Type> anImplements = ((ObjectTypeDefinition) typeToFragmentOn).getImplements();
-                                    if (anImplements != null) {
-                                        anImplements.forEach(type -> {
-                                            final TypeDefinition typeDefinition = typeDefinitionRegistry.getType(type).orElse(null);
-                                            if (typeDefinition instanceof InterfaceTypeDefinition) {
-                                                fragmentTypes.add(Pair.create(typeDefinition, GraphQLSchemaUtil.getTypeDefinitionDescription(typeDefinition)));
-                                            }
-                                        });
-                                    }
+                                    possibleTypes.getSupertypes(typeToFragmentOn.getName()).forEach(supertype -> {
+                                        final TypeDefinition typeDefinition = typeDefinitionRegistry.getType(supertype).orElse(null);
+                                        if (typeDefinition instanceof InterfaceTypeDefinition) {
+                                            fragmentTypes.add(Pair.create(typeDefinition, GraphQLSchemaUtil.getTypeDefinitionDescription(typeDefinition)));
+                                        }
+                                    });
                                 } else if (typeToFragmentOn instanceof InterfaceTypeDefinition) {
                                     fragmentTypes.add(Pair.create(typeToFragmentOn, GraphQLSchemaUtil.getTypeDefinitionDescription(typeToFragmentOn)));
-                                    final List<ObjectTypeDefinition> implementationsOf = typeDefinitionRegistry.getImplementationsOf((InterfaceTypeDefinition) typeToFragmentOn);
-                                    implementationsOf.forEach(impl -> fragmentTypes.add(Pair.create(impl, GraphQLSchemaUtil.getTypeDefinitionDescription(impl))));
+                                    possibleTypes.getPossibleTypes(typeToFragmentOn.getName()).forEach(implementation -> {
+                                        final TypeDefinition typeDefinition = typeDefinitionRegistry.getType(implementation).orElse(null);
+                                        if (typeDefinition instanceof ObjectTypeDefinition) {
+                                            fragmentTypes.add(Pair.create(typeDefinition, GraphQLSchemaUtil.getTypeDefinitionDescription(typeDefinition)));
+                                        }
+                                    });
                                 } else if (typeToFragmentOn instanceof UnionTypeDefinition) {
                                     final List<Type> memberTypes = ((UnionTypeDefinition) typeToFragmentOn).getMemberTypes();
                                     if (memberTypes != null) {
@@ -1170,12 +1173,12 @@ public class GraphQLCompletionContributor extends CompletionContributor {
     /**
      * Gets whether the specified fragment candidate is valid to spread inside the specified required type scope
      *
-     * @param typeDefinitionRegistry registry with available schema types, used to resolve union members and interface implementations
-     * @param fragmentCandidate      the fragment to check for being able to validly spread under the required type scope
-     * @param requiredTypeScope      the type scope in which the fragment is a candidate to spread
+     * @param possibleTypes     the possible types of the schema, used to resolve union members and interface implementations
+     * @param fragmentCandidate the fragment to check for being able to validly spread under the required type scope
+     * @param requiredTypeScope the type scope in which the fragment is a candidate to spread
      * @return true if the fragment candidate is valid to be spread inside the type scope
      */
-    private boolean isFragmentApplicableInTypeScope(TypeDefinitionRegistry typeDefinitionRegistry,
+    private boolean isFragmentApplicableInTypeScope(GraphQLPossibleTypes possibleTypes,
                                                     GraphQLFragmentDefinition fragmentCandidate,
                                                     GraphQLType requiredTypeScope) {
 
@@ -1187,59 +1190,9 @@ public class GraphQLCompletionContributor extends CompletionContributor {
             return false;
         }
 
+        // direct match, e.g. User scope, fragment on User, or compatible based on interfaces and unions
         final String fragmentTypeName = Optional.ofNullable(typeCondition.getTypeName().getName()).orElse("");
-        if (fragmentTypeName.equals(GraphQLUtil.getName(requiredTypeScope))) {
-            // direct match, e.g. User scope, fragment on User
-            return true;
-        }
-
-        // check whether compatible based on interfaces and unions
-        return isCompatibleFragment(typeDefinitionRegistry, requiredTypeScope, fragmentTypeName);
-
-    }
-
-    /**
-     * Gets whether a fragment type condition name is compatible with the required type scope
-     *
-     * @param typeDefinitionRegistry registry with available schema types, used to resolve union members and interface implementations
-     * @param rawRequiredTypeScope   the type scope in which the fragment is a candidate to spread
-     * @param fragmentTypeName       the name of the type that a candidate fragment applies to
-     * @return true if the candidate type condtion name is compatible inside the required type scope
-     */
-    private boolean isCompatibleFragment(TypeDefinitionRegistry typeDefinitionRegistry,
-                                         GraphQLType rawRequiredTypeScope,
-                                         String fragmentTypeName) {
-
-        // unwrap non-nullable and list types
-        GraphQLUnmodifiedType requiredTypeScope = GraphQLUtil.getUnmodifiedType(rawRequiredTypeScope);
-
-        if (requiredTypeScope instanceof GraphQLInterfaceType) {
-            // also include fragments on types implementing the interface scope
-            final TypeDefinition typeScopeDefinition = typeDefinitionRegistry.types().get(requiredTypeScope.getName());
-            if (typeScopeDefinition != null) {
-                final List<ObjectTypeDefinition> implementations = typeDefinitionRegistry.getImplementationsOf((InterfaceTypeDefinition) typeScopeDefinition);
-                for (ObjectTypeDefinition implementation : implementations) {
-                    if (implementation.getName().equals(fragmentTypeName)) {
-                        return true;
-                    }
-                }
-            }
-        } else if (requiredTypeScope instanceof GraphQLObjectType) {
-            // include fragments on the interfaces implemented by the object type
-            for (GraphQLNamedOutputType graphQLOutputType : ((GraphQLObjectType) requiredTypeScope).getInterfaces()) {
-                if (graphQLOutputType.getName().equals(fragmentTypeName)) {
-                    return true;
-                }
-            }
-        } else if (requiredTypeScope instanceof GraphQLUnionType) {
-            for (GraphQLNamedOutputType graphQLOutputType : ((GraphQLUnionType) requiredTypeScope).getTypes()) {
-                // check each type in the union for compatibility
-                if (graphQLOutputType.getName().equals(fragmentTypeName) || isCompatibleFragment(typeDefinitionRegistry, graphQLOutputType, fragmentTypeName)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return possibleTypes.isPossibleSpread(fragmentTypeName, GraphQLUtil.getName(requiredTypeScope));
     }
 
     @NotNull
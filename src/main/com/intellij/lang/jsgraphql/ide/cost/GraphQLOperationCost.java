@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.cost;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The statically estimated depth, breadth and cost of an operation, including the fragments it spreads.
+ *
+ * @see GraphQLOperationCostAnalyzer
+ */
+public final class GraphQLOperationCost {
+
+    private final int myDepth;
+    private final int myBreadth;
+    private final long myCost;
+
+    GraphQLOperationCost(int depth, int breadth, long cost) {
+        myDepth = depth;
+        myBreadth = breadth;
+        myCost = cost;
+    }
+
+    /**
+     * The deepest nesting of fields, where the root fields of the operation have depth 1
+     */
+    public int getDepth() {
+        return myDepth;
+    }
+
+    /**
+     * The largest number of fields selected on a single object, including fields selected in fragments
+     */
+    public int getBreadth() {
+        return myBreadth;
+    }
+
+    /**
+     * The estimated cost, where each field costs its declared or default cost, multiplied by the expected list sizes
+     */
+    public long getCost() {
+        return myCost;
+    }
+
+    @NotNull
+    public String getDescription() {
+        return "depth " + myDepth + ", breadth " + myBreadth + ", cost " + (myCost == Long.MAX_VALUE ? "unbounded" : String.valueOf(myCost));
+    }
+}
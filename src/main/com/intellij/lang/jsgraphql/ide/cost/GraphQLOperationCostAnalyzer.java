@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.cost;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.intellij.lang.jsgraphql.GraphQLConstants;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLConfigCost;
+import com.intellij.lang.jsgraphql.psi.*;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
+import com.intellij.lang.jsgraphql.utils.GraphQLUtil;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import graphql.language.*;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Statically estimates the depth, breadth and cost of operations using the tolerant schema, similar to the cost analysis
+ * done by GraphQL gateways before executing an operation.
+ * <p>
+ * Each field costs the value of its cost directive in the schema, or the configured default field cost.
+ * The cost of a field and its selections is multiplied by the list size, which is taken from the multiplier arguments
+ * of the cost directive, or the configured list size arguments such as "first" and "last".
+ * Lists without a size argument are assumed to contain the configured default list size.
+ *
+ * @see GraphQLConfigCost
+ */
+public final class GraphQLOperationCostAnalyzer {
+
+    private final GraphQLSchema mySchema;
+    private final GraphQLConfigCost myConfiguration;
+    private final Map<String, GraphQLValue> myVariableDefaultValues = Maps.newHashMap();
+    private final Map<GraphQLFragmentDefinition, Totals> myFragmentTotals = Maps.newHashMap();
+    private final Set<GraphQLFragmentDefinition> myFragmentsInProgress = Sets.newHashSet();
+    private int myMaxBreadth;
+
+    private GraphQLOperationCostAnalyzer(@NotNull GraphQLSchema schema, @NotNull GraphQLConfigCost configuration) {
+        mySchema = schema;
+        myConfiguration = configuration;
+    }
+
+    /**
+     * Gets the cost of an operation, which is cached until PSI or graphql-config changes
+     *
+     * @return the cost, or null if the root type of the operation isn't known
+     */
+    @Nullable
+    public static GraphQLOperationCost getCost(@NotNull GraphQLOperationDefinition operation) {
+        return CachedValuesManager.getCachedValue(operation, () -> CachedValueProvider.Result.create(
+            analyze(operation),
+            PsiModificationTracker.MODIFICATION_COUNT,
+            GraphQLConfigManager.getService(operation.getProject()).getModificationTracker()
+        ));
+    }
+
+    @Nullable
+    private static GraphQLOperationCost analyze(@NotNull GraphQLOperationDefinition operation) {
+        final GraphQLSelectionSet selectionSet = PsiTreeUtil.getChildOfType(operation, GraphQLSelectionSet.class);
+        if (selectionSet == null || !(operation instanceof GraphQLTypeScopeProvider)) {
+            return null;
+        }
+        final GraphQLType rootType = ((GraphQLTypeScopeProvider) operation).getTypeScope();
+        if (rootType == null) {
+            return null;
+        }
+
+        final Project project = operation.getProject();
+        final GraphQLSchema schema = GraphQLSchemaProvider.getInstance(project).getTolerantSchema(operation);
+        final GraphQLConfigCost configuration = GraphQLConfigManager.getService(project).getCostConfiguration(
+            GraphQLPsiUtil.getVirtualFileFromPsiFile(operation.getContainingFile()));
+
+        final GraphQLOperationCostAnalyzer analyzer = new GraphQLOperationCostAnalyzer(schema, configuration);
+        if (operation instanceof GraphQLTypedOperationDefinition) {
+            final GraphQLVariableDefinitions variableDefinitions = ((GraphQLTypedOperationDefinition) operation).getVariableDefinitions();
+            if (variableDefinitions != null) {
+                for (GraphQLVariableDefinition variableDefinition : variableDefinitions.getVariableDefinitions()) {
+                    if (variableDefinition.getDefaultValue() != null) {
+                        analyzer.myVariableDefaultValues.put(variableDefinition.getVariable().getText(), variableDefinition.getDefaultValue().getValue());
+                    }
+                }
+            }
+        }
+
+        final Totals totals = analyzer.analyzeSelectionSet(selectionSet, rootType);
+        analyzer.myMaxBreadth = Math.max(analyzer.myMaxBreadth, totals.myFields);
+        return new GraphQLOperationCost(totals.myDepth, analyzer.myMaxBreadth, totals.myCost);
+    }
+
+    @NotNull
+    private Totals analyzeSelectionSet(@Nullable GraphQLSelectionSet selectionSet, @Nullable GraphQLType parentType) {
+        final Totals totals = new Totals();
+        if (selectionSet == null) {
+            return totals;
+        }
+        for (GraphQLSelection selection : selectionSet.getSelectionList()) {
+            final GraphQLField field = selection.getField();
+            if (field != null) {
+                totals.addField(analyzeField(field, parentType));
+                continue;
+            }
+            final GraphQLFragmentSelection fragmentSelection = selection.getFragmentSelection();
+            if (fragmentSelection != null) {
+                if (fragmentSelection.getInlineFragment() != null) {
+                    final GraphQLInlineFragment inlineFragment = fragmentSelection.getInlineFragment();
+                    final GraphQLType typeConditionType = getTypeConditionType(inlineFragment.getTypeCondition());
+                    totals.addFragment(analyzeSelectionSet(inlineFragment.getSelectionSet(), typeConditionType != null ? typeConditionType : parentType));
+                } else if (fragmentSelection.getFragmentSpread() != null) {
+                    final GraphQLFragmentDefinition fragment = resolveFragment(fragmentSelection.getFragmentSpread());
+                    if (fragment != null) {
+                        totals.addFragment(analyzeFragment(fragment, parentType));
+                    }
+                }
+            }
+        }
+        return totals;
+    }
+
+    @NotNull
+    private Totals analyzeFragment(@NotNull GraphQLFragmentDefinition fragment, @Nullable GraphQLType parentType) {
+        final Totals cached = myFragmentTotals.get(fragment);
+        if (cached != null) {
+            return cached;
+        }
+        if (!myFragmentsInProgress.add(fragment)) {
+            // fragment cycles are reported by validation, so just stop here
+            return new Totals();
+        }
+        try {
+            final GraphQLType typeConditionType = getTypeConditionType(fragment.getTypeCondition());
+            final Totals totals = analyzeSelectionSet(fragment.getSelectionSet(), typeConditionType != null ? typeConditionType : parentType);
+            myFragmentTotals.put(fragment, totals);
+            return totals;
+        } finally {
+            myFragmentsInProgress.remove(fragment);
+        }
+    }
+
+    @NotNull
+    private Totals analyzeField(@NotNull GraphQLField field, @Nullable GraphQLType parentType) {
+        final Totals totals = new Totals();
+        final String fieldName = field.getName();
+        if (GraphQLConstants.__TYPENAME.equals(fieldName)) {
+            return totals;
+        }
+
+        GraphQLFieldDefinition fieldDefinition = null;
+        final GraphQLType unmodifiedParentType = parentType != null ? GraphQLUtil.getUnmodifiedType(parentType) : null;
+        if (unmodifiedParentType instanceof GraphQLFieldsContainer && fieldName != null) {
+            fieldDefinition = ((GraphQLFieldsContainer) unmodifiedParentType).getFieldDefinition(fieldName);
+        }
+        final Directive costDirective = getCostDirective(fieldDefinition);
+
+        final Totals selections = analyzeSelectionSet(field.getSelectionSet(), fieldDefinition != null ? fieldDefinition.getType() : null);
+        if (field.getSelectionSet() != null) {
+            myMaxBreadth = Math.max(myMaxBreadth, selections.myFields);
+        }
+
+        final long fieldCost = getDeclaredCost(costDirective);
+        totals.myCost = multiply(add(fieldCost, selections.myCost), getListSize(field, fieldDefinition, costDirective));
+        totals.myDepth = selections.myDepth;
+        return totals;
+    }
+
+    /**
+     * Gets the number of items expected from a field, using the arguments that limit the number of items if present
+     */
+    private long getListSize(@NotNull GraphQLField field, @Nullable GraphQLFieldDefinition fieldDefinition, @Nullable Directive costDirective) {
+        List<String> sizeArgumentNames = getMultiplierArgumentNames(costDirective);
+        if (sizeArgumentNames == null) {
+            sizeArgumentNames = myConfiguration.listSizeArguments;
+        }
+        Long listSize = null;
+        if (field.getArguments() != null && sizeArgumentNames != null) {
+            for (GraphQLArgument argument : field.getArguments().getArgumentList()) {
+                if (sizeArgumentNames.contains(argument.getName())) {
+                    final long size = getIntValue(argument.getValue());
+                    listSize = listSize != null ? Math.max(listSize, size) : size;
+                }
+            }
+        }
+        if (listSize != null) {
+            return listSize;
+        }
+        if (fieldDefinition != null && isList(fieldDefinition.getType())) {
+            return myConfiguration.defaultListSize;
+        }
+        return 1;
+    }
+
+    /**
+     * Gets the value of a list size argument, or the default list size for variables without a default value etc.
+     */
+    private long getIntValue(@Nullable GraphQLValue value) {
+        if (value instanceof GraphQLVariable) {
+            value = myVariableDefaultValues.get(value.getText());
+        }
+        if (value instanceof GraphQLIntValue) {
+            try {
+                return Math.max(0, Long.parseLong(value.getText()));
+            } catch (NumberFormatException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return myConfiguration.defaultListSize;
+    }
+
+    @Nullable
+    private Directive getCostDirective(@Nullable GraphQLFieldDefinition fieldDefinition) {
+        final FieldDefinition definition = fieldDefinition != null ? fieldDefinition.getDefinition() : null;
+        if (definition == null || myConfiguration.costDirectives == null) {
+            return null;
+        }
+        for (Directive directive : definition.getDirectives()) {
+            if (myConfiguration.costDirectives.contains(directive.getName())) {
+                return directive;
+            }
+        }
+        return null;
+    }
+
+    private long getDeclaredCost(@Nullable Directive costDirective) {
+        if (costDirective != null && myConfiguration.costArguments != null) {
+            for (String argumentName : myConfiguration.costArguments) {
+                final Argument argument = costDirective.getArgument(argumentName);
+                final Value value = argument != null ? argument.getValue() : null;
+                if (value instanceof IntValue) {
+                    return clamp(((IntValue) value).getValue());
+                }
+                if (value instanceof FloatValue) {
+                    return clamp(((FloatValue) value).getValue().setScale(0, RoundingMode.CEILING).toBigInteger());
+                }
+            }
+        }
+        return myConfiguration.defaultFieldCost;
+    }
+
+    @Nullable
+    private List<String> getMultiplierArgumentNames(@Nullable Directive costDirective) {
+        if (costDirective == null || StringUtil.isEmpty(myConfiguration.multipliersArgument)) {
+            return null;
+        }
+        final Argument argument = costDirective.getArgument(myConfiguration.multipliersArgument);
+        if (argument == null) {
+            return null;
+        }
+        final List<String> names = new ArrayList<>();
+        final Value value = argument.getValue();
+        if (value instanceof ArrayValue) {
+            for (Value element : ((ArrayValue) value).getValues()) {
+                if (element instanceof StringValue) {
+                    names.add(((StringValue) element).getValue());
+                }
+            }
+        } else if (value instanceof StringValue) {
+            names.add(((StringValue) value).getValue());
+        }
+        return names;
+    }
+
+    @Nullable
+    private GraphQLType getTypeConditionType(@Nullable GraphQLTypeCondition typeCondition) {
+        final GraphQLTypeName typeName = typeCondition != null ? typeCondition.getTypeName() : null;
+        return typeName != null ? mySchema.getType(typeName.getText()) : null;
+    }
+
+    @Nullable
+    private static GraphQLFragmentDefinition resolveFragment(@NotNull GraphQLFragmentSpread fragmentSpread) {
+        final GraphQLIdentifier nameIdentifier = fragmentSpread.getNameIdentifier();
+        final PsiReference reference = nameIdentifier != null ? nameIdentifier.getReference() : null;
+        final PsiElement resolved = reference != null ? reference.resolve() : null;
+        return resolved != null ? PsiTreeUtil.getParentOfType(resolved, GraphQLFragmentDefinition.class) : null;
+    }
+
+    private static boolean isList(@NotNull GraphQLType type) {
+        if (type instanceof GraphQLNonNull) {
+            type = ((GraphQLNonNull) type).getWrappedType();
+        }
+        return type instanceof GraphQLList;
+    }
+
+    private static long clamp(@NotNull BigInteger value) {
+        if (value.signum() < 0) {
+            return 0;
+        }
+        return value.bitLength() < 64 ? value.longValue() : Long.MAX_VALUE;
+    }
+
+    private static long add(long a, long b) {
+        final long result = a + b;
+        return result < 0 ? Long.MAX_VALUE : result;
+    }
+
+    private static long multiply(long a, long b) {
+        if (a == 0 || b == 0) {
+            return 0;
+        }
+        return a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+    }
+
+    /**
+     * The cost, depth and number of fields of a selection set, or of a single field and its selections
+     */
+    private static final class Totals {
+
+        private long myCost;
+        private int myDepth;
+        private int myFields;
+
+        void addField(@NotNull Totals field) {
+            myCost = add(myCost, field.myCost);
+            myDepth = Math.max(myDepth, field.myDepth + 1);
+            myFields++;
+        }
+
+        void addFragment(@NotNull Totals fragment) {
+            myCost = add(myCost, fragment.myCost);
+            myDepth = Math.max(myDepth, fragment.myDepth);
+            myFields += fragment.myFields;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.cost;
+
+import com.intellij.codeInsight.hints.HintInfo;
+import com.intellij.codeInsight.hints.InlayInfo;
+import com.intellij.codeInsight.hints.InlayParameterHintsProvider;
+import com.intellij.lang.jsgraphql.psi.GraphQLOperationDefinition;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shows the estimated depth, breadth and cost of each operation as an inlay hint after the operation name.
+ * The hints can be turned off in Settings | Editor | Inlay Hints | GraphQL.
+ *
+ * @see GraphQLOperationCostAnalyzer
+ */
+public class GraphQLOperationCostHintsProvider implements InlayParameterHintsProvider {
+
+    @NotNull
+    @Override
+    public List<InlayInfo> getParameterHints(PsiElement element) {
+        if (element instanceof GraphQLOperationDefinition) {
+            final GraphQLOperationDefinition operation = (GraphQLOperationDefinition) element;
+            final PsiElement anchor = GraphQLOperationCostInspection.getAnchor(operation);
+            final GraphQLOperationCost cost = anchor != null ? GraphQLOperationCostAnalyzer.getCost(operation) : null;
+            if (cost != null) {
+                return Collections.singletonList(new InlayInfo(cost.getDescription(), anchor.getTextRange().getEndOffset(), false, false, true));
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    @Nullable
+    @Override
+    public HintInfo getHintInfo(PsiElement element) {
+        return null;
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getDefaultBlackList() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public boolean isBlackListSupported() {
+        return false;
+    }
+
+    @NotNull
+    @Override
+    public String getInlayPresentation(@NotNull String inlayText) {
+        return inlayText;
+    }
+
+    @NotNull
+    @Override
+    public String getMainCheckboxText() {
+        return "Show operation depth, breadth and cost hints";
+    }
+}
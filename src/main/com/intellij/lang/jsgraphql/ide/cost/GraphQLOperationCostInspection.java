@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.cost;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLConfigCost;
+import com.intellij.lang.jsgraphql.psi.GraphQLOperationDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLPsiUtil;
+import com.intellij.lang.jsgraphql.psi.GraphQLSelectionSet;
+import com.intellij.lang.jsgraphql.psi.GraphQLTypedOperationDefinition;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reports operations which exceed the depth, breadth or cost budgets configured in the "cost" extension of graphql-config.
+ *
+ * @see GraphQLOperationCostAnalyzer
+ */
+public class GraphQLOperationCostInspection extends LocalInspectionTool {
+
+    @NotNull
+    @Override
+    public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        final GraphQLConfigCost configuration = GraphQLConfigManager.getService(holder.getProject()).getCostConfiguration(
+            GraphQLPsiUtil.getVirtualFileFromPsiFile(holder.getFile()));
+        if (!configuration.hasBudgets()) {
+            return PsiElementVisitor.EMPTY_VISITOR;
+        }
+        return new PsiElementVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (element instanceof GraphQLOperationDefinition) {
+                    checkOperation((GraphQLOperationDefinition) element, configuration, holder);
+                }
+            }
+        };
+    }
+
+    private static void checkOperation(@NotNull GraphQLOperationDefinition operation, @NotNull GraphQLConfigCost configuration, @NotNull ProblemsHolder holder) {
+        final GraphQLOperationCost cost = GraphQLOperationCostAnalyzer.getCost(operation);
+        final PsiElement anchor = getAnchor(operation);
+        if (cost == null || anchor == null) {
+            return;
+        }
+        if (configuration.maxDepth != null && cost.getDepth() > configuration.maxDepth) {
+            holder.registerProblem(anchor, "Operation depth " + cost.getDepth() + " exceeds the budget of " + configuration.maxDepth);
+        }
+        if (configuration.maxBreadth != null && cost.getBreadth() > configuration.maxBreadth) {
+            holder.registerProblem(anchor, "Operation selects " + cost.getBreadth() + " fields on a single object, which exceeds the budget of " + configuration.maxBreadth);
+        }
+        if (configuration.maxCost != null && cost.getCost() > configuration.maxCost) {
+            holder.registerProblem(anchor, "Estimated operation cost " + (cost.getCost() == Long.MAX_VALUE ? "is unbounded and" : cost.getCost()) + " exceeds the budget of " + configuration.maxCost);
+        }
+    }
+
+    /**
+     * Gets the element to show operation problems and hints at, i.e. the operation name, the operation keyword or the opening brace
+     */
+    @Nullable
+    static PsiElement getAnchor(@NotNull GraphQLOperationDefinition operation) {
+        if (operation instanceof GraphQLTypedOperationDefinition) {
+            final GraphQLTypedOperationDefinition typedOperation = (GraphQLTypedOperationDefinition) operation;
+            return typedOperation.getNameIdentifier() != null ? typedOperation.getNameIdentifier() : typedOperation.getOperationType();
+        }
+        final GraphQLSelectionSet selectionSet = PsiTreeUtil.getChildOfType(operation, GraphQLSelectionSet.class);
+        return selectionSet != null ? selectionSet.getFirstChild() : null;
+    }
+}
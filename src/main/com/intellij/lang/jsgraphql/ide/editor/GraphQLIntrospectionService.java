@@ -19,6 +19,8 @@ import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManage
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLConfigEndpoint;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLConfigVariableAwareEndpoint;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaKeys;
+import com.intellij.lang.jsgraphql.schema.diff.GraphQLSchemaChange;
+import com.intellij.lang.jsgraphql.schema.diff.GraphQLSchemaDiff;
 import com.intellij.lang.jsgraphql.v1.ide.project.JSGraphQLLanguageUIProjectService;
 import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationAction;
@@ -28,10 +30,12 @@ import com.intellij.openapi.Disposable;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.application.WriteAction;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.fileEditor.FileEditor;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.fileEditor.OpenFileDescriptor;
@@ -45,6 +49,7 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiDocumentManager;
@@ -95,6 +100,7 @@ public class GraphQLIntrospectionService implements Disposable {
     private static final Logger LOG = Logger.getInstance(GraphQLIntrospectionService.class);
 
     private static final Set<String> DEFAULT_DIRECTIVES = Sets.newHashSet("deprecated", "skip", "include", "specifiedBy");
+    private static final int MAX_NOTIFICATION_SCHEMA_CHANGES = 10;
     private static final String DISABLE_EMPTY_ERRORS_WARNING_KEY = "graphql.empty.errors.warning.disabled";
     public static final String GRAPHQL_TRUST_ALL_HOSTS = "graphql.trust.all.hosts";
 
@@ -249,6 +255,16 @@ public class GraphQLIntrospectionService implements Disposable {
             defaultValueVisitJson.get().consume(introspection);
         }
 
+        return printIntrospectionSchemaAsGraphQL(introspection);
+    }
+
+    /**
+     * Prints the schema of an introspection result as SDL.
+     *
+     * @param introspection the introspection result which has the "__schema" at the root
+     */
+    @NotNull
+    public static String printIntrospectionSchemaAsGraphQL(@NotNull Map<String, Object> introspection) {
         final Document schemaDefinition = new GraphQLIntrospectionResultToSchema().createSchemaDefinition(introspection);
         final SchemaPrinter.Options options = SchemaPrinter.Options
             .defaultOptions()
@@ -330,7 +346,7 @@ public class GraphQLIntrospectionService implements Disposable {
         }
     }
 
-    private GraphQLSchema buildIntrospectionSchema(TypeDefinitionRegistry registry) {
+    private static GraphQLSchema buildIntrospectionSchema(TypeDefinitionRegistry registry) {
         final RuntimeWiring runtimeWiring = EchoingWiringFactory.newEchoingWiring(wiring -> {
             Map<String, ScalarTypeDefinition> scalars = registry.scalars();
             scalars.forEach((name, v) -> {
@@ -343,7 +359,7 @@ public class GraphQLIntrospectionService implements Disposable {
         return new SchemaGenerator().makeExecutableSchema(registry, runtimeWiring);
     }
 
-    private GraphQLScalarType createCustomIntrospectionScalar(String name) {
+    private static GraphQLScalarType createCustomIntrospectionScalar(String name) {
         return new GraphQLScalarType(name, name, new Coercing() {
             @Override
             public Object serialize(Object dataFetcherResult) {
@@ -435,6 +451,77 @@ public class GraphQLIntrospectionService implements Disposable {
         }
     }
 
+    /**
+     * Compares the introspected schema with the schema file it replaces
+     *
+     * @return the changes, or null if there's no previous schema file or it isn't a valid schema
+     */
+    @Nullable
+    private List<GraphQLSchemaChange> diffWithPreviousSchema(@NotNull VirtualFile introspectionSourceFile,
+                                                             @NotNull String schemaPath,
+                                                             @NotNull IntrospectionOutputFormat format,
+                                                             @NotNull String schemaAsSDL) {
+        final VirtualFile previousFile = introspectionSourceFile.getParent().findFileByRelativePath(FileUtil.toSystemIndependentName(schemaPath));
+        if (previousFile == null) {
+            return null;
+        }
+        try {
+            final String previousText = ReadAction.compute(() -> {
+                final com.intellij.openapi.editor.Document document = FileDocumentManager.getInstance().getCachedDocument(previousFile);
+                return document != null ? document.getText() : VfsUtilCore.loadText(previousFile);
+            });
+            if (StringUtil.isEmptyOrSpaces(previousText)) {
+                return null;
+            }
+            final String previousSchemaAsSDL = format == IntrospectionOutputFormat.JSON ? printIntrospectionAsGraphQL(previousText) : previousText;
+            final SchemaParser schemaParser = new SchemaParser();
+            return GraphQLSchemaDiff.diff(schemaParser.parse(previousSchemaAsSDL), schemaParser.parse(schemaAsSDL));
+        } catch (ProcessCanceledException exception) {
+            throw exception;
+        } catch (Exception exception) {
+            // e.g. the previous schema was edited by hand and is no longer valid
+            LOG.info("Unable to compare the introspection result with " + previousFile.getPath(), exception);
+            return null;
+        }
+    }
+
+    private void showSchemaChangesNotification(@NotNull List<GraphQLSchemaChange> changes, @NotNull String schemaPath) {
+        final StringBuilder content = new StringBuilder(GraphQLBundle.message("graphql.notification.schema.changes.body",
+            GraphQLSchemaDiff.getSummary(changes), StringEscapeUtils.escapeHtml(schemaPath)));
+        boolean hasBreakingChanges = false;
+        int listed = 0;
+        for (GraphQLSchemaChange change : changes) {
+            if (change.getCriticality() == GraphQLSchemaChange.Criticality.SAFE) {
+                break;
+            }
+            hasBreakingChanges |= change.getCriticality() == GraphQLSchemaChange.Criticality.BREAKING;
+            if (listed++ == MAX_NOTIFICATION_SCHEMA_CHANGES) {
+                content.append("<br/>...");
+                break;
+            }
+            content.append("<br/>").append(StringEscapeUtils.escapeHtml(change.toString()));
+        }
+
+        final Notification notification = new Notification(
+            GraphQLNotificationUtil.NOTIFICATION_GROUP_ID,
+            GraphQLBundle.message("graphql.notification.schema.changes.title"),
+            content.toString(),
+            hasBreakingChanges ? NotificationType.WARNING : NotificationType.INFORMATION
+        );
+        notification.addAction(new NotificationAction(GraphQLBundle.message("graphql.notification.schema.changes.show.all")) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e, @NotNull Notification notification) {
+                final StringBuilder report = new StringBuilder(GraphQLSchemaDiff.getSummary(changes)).append(" in ").append(schemaPath).append("\n\n");
+                for (GraphQLSchemaChange change : changes) {
+                    report.append(change).append('\n');
+                }
+                final PsiFile file = PsiFileFactory.getInstance(myProject).createFileFromText("graphql-schema-changes.txt", PlainTextLanguage.INSTANCE, report);
+                new OpenFileDescriptor(myProject, file.getVirtualFile()).navigate(true);
+            }
+        });
+        Notifications.Bus.notify(notification, myProject);
+    }
+
     private void showUnableToOpenEditorNotification(@NotNull VirtualFile outputFile) {
         Notifications.Bus.notify(new Notification(GraphQLNotificationUtil.NOTIFICATION_GROUP_ID, GraphQLBundle.message("graphql.notification.error.title"),
             GraphQLBundle.message("graphql.notification.unable.to.open.editor", outputFile.getPath()), NotificationType.ERROR));
@@ -511,9 +598,10 @@ public class GraphQLIntrospectionService implements Disposable {
 
             IntrospectionOutputFormat format = schemaPath.endsWith(".json") ? IntrospectionOutputFormat.JSON : IntrospectionOutputFormat.SDL;
             String schemaText;
+            String schemaAsSDL;
             try {
                 // always try to print the schema to validate it since that will be done in schema discovery of the JSON anyway
-                final String schemaAsSDL = printIntrospectionAsGraphQL(introspection);
+                schemaAsSDL = printIntrospectionAsGraphQL(introspection);
                 schemaText = format == IntrospectionOutputFormat.SDL ? schemaAsSDL : responseJson;
             } catch (ProcessCanceledException exception) {
                 throw exception;
@@ -522,9 +610,14 @@ public class GraphQLIntrospectionService implements Disposable {
                 return;
             }
 
+            final List<GraphQLSchemaChange> schemaChanges = diffWithPreviousSchema(introspectionSourceFile, schemaPath, format, schemaAsSDL);
+
             ApplicationManager.getApplication().invokeLater(() -> {
                 try {
                     createOrUpdateIntrospectionOutputFile(schemaText, format, introspectionSourceFile, schemaPath);
+                    if (schemaChanges != null && !schemaChanges.isEmpty()) {
+                        showSchemaChangesNotification(schemaChanges, schemaPath);
+                    }
                 } catch (ProcessCanceledException exception) {
                     throw exception;
                 } catch (Exception e) {
@@ -8,22 +8,20 @@
 package com.intellij.lang.jsgraphql.ide.notifications;
 
 import com.intellij.ide.impl.DataManagerImpl;
-import com.intellij.lang.injection.InjectedLanguageManager;
 import com.intellij.lang.jsgraphql.GraphQLFileType;
 import com.intellij.lang.jsgraphql.ide.actions.GraphQLEditConfigAction;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLInjectionSearchHelper;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
 import com.intellij.lang.jsgraphql.ide.references.GraphQLFindUsagesUtil;
-import com.intellij.lang.jsgraphql.psi.GraphQLFile;
 import com.intellij.openapi.actionSystem.ActionPlaces;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.fileEditor.FileEditor;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Key;
-import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.ui.EditorNotificationPanel;
 import com.intellij.ui.EditorNotifications;
@@ -60,7 +58,7 @@ public class GraphQLScopeEditorNotificationProvider extends Provider {
 
     private boolean showNotification(@NotNull VirtualFile file) {
         if (ApplicationManager.getApplication().isUnitTestMode()) {
-            // injection enumerate below causes missing JSON schemas in 2019.2 for eslint
+            // the notification is only relevant to users, and injection lookups caused missing JSON schemas in 2019.2 for eslint tests
             return false;
         }
         if (!isGraphQLRelatedFile(file) || DumbService.getInstance(myProject).isDumb()) {
@@ -72,29 +70,9 @@ public class GraphQLScopeEditorNotificationProvider extends Provider {
         }
         if (file.getFileType() != GraphQLFileType.INSTANCE) {
             // for injected files, must contain graphql before the warning is shown
-            final PsiFile psiFile = PsiManager.getInstance(myProject).findFile(file);
-            final Ref<Boolean> hasGraphQL = new Ref<>(false);
-            if (psiFile != null) {
-                final InjectedLanguageManager injectedLanguageManager = InjectedLanguageManager.getInstance(myProject);
-                psiFile.accept(new PsiRecursiveElementVisitor() {
-                    @Override
-                    public void visitElement(PsiElement element) {
-                        if (hasGraphQL.get()) {
-                            return;
-                        }
-                        if (element instanceof PsiLanguageInjectionHost) {
-                            injectedLanguageManager.enumerate(element, (injectedPsi, places) -> {
-                                if (injectedPsi instanceof GraphQLFile) {
-                                    hasGraphQL.set(true);
-                                }
-                            });
-                        } else {
-                            super.visitElement(element);
-                        }
-                    }
-                });
-            }
-            if (!hasGraphQL.get()) {
+            // the injection index answers this without visiting the PSI of the file, which is costly for many open editors
+            final GraphQLInjectionSearchHelper graphQLInjectionSearchHelper = ServiceManager.getService(GraphQLInjectionSearchHelper.class);
+            if (graphQLInjectionSearchHelper == null || !graphQLInjectionSearchHelper.hasGraphQLInjections(myProject, file)) {
                 return false;
             }
         }
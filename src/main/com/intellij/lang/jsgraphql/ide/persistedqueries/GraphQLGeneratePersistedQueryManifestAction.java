@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.persistedqueries;
+
+import com.google.common.collect.Lists;
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.jsgraphql.ide.notifications.GraphQLNotificationUtil;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.apache.commons.lang.StringEscapeUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a persisted query manifest for each graphql-config project, next to its config file.
+ *
+ * @see GraphQLPersistedQueryManifestStarter for generating the manifests from the command line
+ */
+public class GraphQLGeneratePersistedQueryManifestAction extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(GraphQLGeneratePersistedQueryManifestAction.class);
+
+    public GraphQLGeneratePersistedQueryManifestAction() {
+        super("Generate Persisted Query Manifests", "Writes the hashed operations of each graphql-config project to a persisted query manifest", AllIcons.Actions.Lightning);
+    }
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        final Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        final GraphQLPersistedQueryManifestService service = GraphQLPersistedQueryManifestService.getInstance(project);
+        final List<GraphQLConfigProjectHelper.ConfigProject> configProjects = ReadAction.compute(
+            () -> GraphQLConfigProjectHelper.getInstance(project).getConfigProjects());
+        final List<GraphQLPersistedQueryManifest> manifests = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+            () -> ReadAction.compute(() -> {
+                final List<GraphQLPersistedQueryManifest> result = Lists.newArrayList();
+                for (GraphQLConfigProjectHelper.ConfigProject configProject : configProjects) {
+                    ProgressManager.checkCanceled();
+                    result.add(service.generate(configProject));
+                }
+                return result;
+            }),
+            "Generating Persisted Query Manifests", true, project);
+
+        final StringBuilder content = new StringBuilder();
+        boolean hasProblems = false;
+        for (int i = 0; i < configProjects.size(); i++) {
+            final GraphQLPersistedQueryManifest manifest = manifests.get(i);
+            try {
+                final VirtualFile file = service.write(configProjects.get(i), manifest);
+                content.append(manifest.getOperations().size()).append(" operations in ").append(file.getPresentableUrl());
+            } catch (IOException ex) {
+                LOG.warn(ex);
+                content.append("Unable to write the manifest of ").append(manifest.getName()).append(": ").append(ex.getMessage());
+                hasProblems = true;
+            }
+            content.append("<br>");
+            for (String problem : manifest.getProblems()) {
+                LOG.info(manifest.getName() + ": " + problem);
+                content.append("&nbsp;&nbsp;").append(StringEscapeUtils.escapeHtml(problem)).append("<br>");
+                hasProblems = true;
+            }
+        }
+        Notifications.Bus.notify(new Notification(
+            GraphQLNotificationUtil.NOTIFICATION_GROUP_ID,
+            "Generated persisted query manifests",
+            content.toString(),
+            hasProblems ? NotificationType.WARNING : NotificationType.INFORMATION
+        ), project);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.persistedqueries;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The persisted queries of a graphql-config project, in the format of the Apollo persisted query manifest.
+ * Operations are sorted by name so the manifest only changes when an operation changes.
+ */
+public class GraphQLPersistedQueryManifest {
+
+    private final String myName;
+    private final List<Operation> myOperations;
+    private final List<String> myProblems;
+
+    GraphQLPersistedQueryManifest(@NotNull String name, @NotNull List<Operation> operations, @NotNull List<String> problems) {
+        myName = name;
+        myOperations = operations;
+        myProblems = problems;
+    }
+
+    /**
+     * Gets the name of the graphql-config project the manifest was generated for
+     */
+    @NotNull
+    public String getName() {
+        return myName;
+    }
+
+    @NotNull
+    public List<Operation> getOperations() {
+        return myOperations;
+    }
+
+    /**
+     * Gets the reasons operations were left out of the manifest, e.g. anonymous operations or missing fragments
+     */
+    @NotNull
+    public List<String> getProblems() {
+        return myProblems;
+    }
+
+    @NotNull
+    public String toJson() {
+        final JsonObject root = new JsonObject();
+        root.addProperty("format", "apollo-persisted-query-manifest");
+        root.addProperty("version", 1);
+        final JsonArray operations = new JsonArray();
+        for (Operation operation : myOperations) {
+            final JsonObject json = new JsonObject();
+            json.addProperty("id", operation.getSha256());
+            json.addProperty("name", operation.getName());
+            json.addProperty("type", operation.getType());
+            json.addProperty("body", operation.getDocument());
+            operations.add(json);
+        }
+        root.add("operations", operations);
+        return new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create().toJson(root) + "\n";
+    }
+
+    public static final class Operation {
+
+        private final String myName;
+        private final String myType;
+        private final String myDocument;
+        private final String mySha256;
+
+        Operation(@NotNull String name, @NotNull String type, @NotNull String document, @NotNull String sha256) {
+            myName = name;
+            myType = type;
+            myDocument = document;
+            mySha256 = sha256;
+        }
+
+        @NotNull
+        public String getName() {
+            return myName;
+        }
+
+        /**
+         * Gets the operation type, i.e. "query", "mutation" or "subscription"
+         */
+        @NotNull
+        public String getType() {
+            return myType;
+        }
+
+        /**
+         * Gets the minified operation followed by the minified fragments it uses, sorted by name
+         */
+        @NotNull
+        public String getDocument() {
+            return myDocument;
+        }
+
+        @NotNull
+        public String getSha256() {
+            return mySha256;
+        }
+    }
+}
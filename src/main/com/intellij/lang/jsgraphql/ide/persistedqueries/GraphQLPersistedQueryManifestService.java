@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.persistedqueries;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper.ConfigProject;
+import com.intellij.lang.jsgraphql.psi.*;
+import com.intellij.lang.jsgraphql.utils.GraphQLMinifyUtil;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Generates persisted query manifests for the operations in each graphql-config project.
+ * <p>
+ * Each operation is minified and followed by the minified fragments it uses, directly or through other fragments, sorted by name.
+ * The minified definitions of each file are cached until the file changes, so regenerating a manifest after a small change
+ * only re-reads the changed files and rehashes the documents.
+ */
+public class GraphQLPersistedQueryManifestService {
+
+    public static final String MANIFEST_FILE_NAME = "persisted-query-manifest";
+
+    private final Project myProject;
+
+    public static GraphQLPersistedQueryManifestService getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, GraphQLPersistedQueryManifestService.class);
+    }
+
+    public GraphQLPersistedQueryManifestService(@NotNull Project project) {
+        myProject = project;
+    }
+
+    /**
+     * Gets the name of the manifest file of a config project, which is written next to its config file
+     */
+    @NotNull
+    public static String getManifestFileName(@NotNull ConfigProject configProject) {
+        return configProject.getProjectName() != null
+            ? MANIFEST_FILE_NAME + "." + configProject.getProjectName() + ".json"
+            : MANIFEST_FILE_NAME + ".json";
+    }
+
+    /**
+     * Generates the manifest of the operations in the schema scope of the config project. Must be called in a read action.
+     */
+    @NotNull
+    public GraphQLPersistedQueryManifest generate(@NotNull ConfigProject configProject) {
+        final List<String> problems = Lists.newArrayList();
+        final Map<String, Definition> operations = Maps.newTreeMap();
+        final Map<String, Definition> fragments = Maps.newHashMap();
+        for (PsiFile file : GraphQLConfigProjectHelper.getInstance(myProject).getFiles(configProject.getEntryFile())) {
+            final FileDefinitions fileDefinitions = getFileDefinitions(file);
+            for (String anonymousOperation : fileDefinitions.myAnonymousOperations) {
+                problems.add("Skipped anonymous " + anonymousOperation + " in " + fileDefinitions.myFileName);
+            }
+            for (Definition operation : fileDefinitions.myOperations) {
+                final Definition existing = operations.putIfAbsent(operation.myName, operation);
+                if (existing != null) {
+                    problems.add("Skipped duplicate operation '" + operation.myName + "' in " + fileDefinitions.myFileName + ", first declared in " + existing.myFileName);
+                }
+            }
+            for (Definition fragment : fileDefinitions.myFragments) {
+                final Definition existing = fragments.putIfAbsent(fragment.myName, fragment);
+                if (existing != null) {
+                    problems.add("Ignored duplicate fragment '" + fragment.myName + "' in " + fileDefinitions.myFileName + ", first declared in " + existing.myFileName);
+                }
+            }
+        }
+
+        final List<GraphQLPersistedQueryManifest.Operation> manifestOperations = Lists.newArrayList();
+        for (Definition operation : operations.values()) {
+            final Set<String> usedFragments = Sets.newTreeSet();
+            final String missingFragment = collectFragments(operation, fragments, usedFragments);
+            if (missingFragment != null) {
+                problems.add("Skipped operation '" + operation.myName + "' in " + operation.myFileName + " which uses the unknown fragment '" + missingFragment + "'");
+                continue;
+            }
+            final StringBuilder document = new StringBuilder(operation.myText);
+            for (String fragmentName : usedFragments) {
+                document.append('\n').append(fragments.get(fragmentName).myText);
+            }
+            final String documentText = document.toString();
+            manifestOperations.add(new GraphQLPersistedQueryManifest.Operation(operation.myName, operation.myType, documentText, DigestUtils.sha256Hex(documentText)));
+        }
+        return new GraphQLPersistedQueryManifest(configProject.getName(), manifestOperations, problems);
+    }
+
+    /**
+     * Writes the manifest next to the config file of the config project
+     *
+     * @return the written manifest file
+     */
+    @NotNull
+    public VirtualFile write(@NotNull ConfigProject configProject, @NotNull GraphQLPersistedQueryManifest manifest) throws IOException {
+        final String json = manifest.toJson();
+        return WriteAction.computeAndWait(() -> {
+            final VirtualFile file = configProject.getConfigBaseDir().findOrCreateChildData(this, getManifestFileName(configProject));
+            if (!json.equals(VfsUtil.loadText(file))) {
+                // only touch the file when the manifest changed to avoid needless rebuilds of clients that bundle it
+                VfsUtil.saveText(file, json);
+            }
+            return file;
+        });
+    }
+
+    /**
+     * Adds the names of the fragments that are used by the definition, directly or through other fragments
+     *
+     * @return the name of the first unknown fragment, or null if all fragments are known
+     */
+    @Nullable
+    private static String collectFragments(@NotNull Definition definition, @NotNull Map<String, Definition> fragments, @NotNull Set<String> usedFragments) {
+        for (String fragmentName : definition.myFragmentSpreads) {
+            if (usedFragments.contains(fragmentName)) {
+                continue;
+            }
+            final Definition fragment = fragments.get(fragmentName);
+            if (fragment == null) {
+                return fragmentName;
+            }
+            usedFragments.add(fragmentName);
+            final String missingFragment = collectFragments(fragment, fragments, usedFragments);
+            if (missingFragment != null) {
+                return missingFragment;
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    private static FileDefinitions getFileDefinitions(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(new FileDefinitions(file), file));
+    }
+
+    /**
+     * The minified operations and fragments of a single file
+     */
+    private static final class FileDefinitions {
+
+        private final String myFileName;
+        private final List<Definition> myOperations = Lists.newArrayList();
+        private final List<Definition> myFragments = Lists.newArrayList();
+        private final List<String> myAnonymousOperations = Lists.newArrayList();
+
+        FileDefinitions(@NotNull PsiFile file) {
+            myFileName = GraphQLPsiUtil.getFileName(file);
+            for (PsiElement child : file.getChildren()) {
+                if (child instanceof GraphQLTypedOperationDefinition) {
+                    final GraphQLTypedOperationDefinition operation = (GraphQLTypedOperationDefinition) child;
+                    final String type = operation.getOperationType().getText();
+                    if (operation.getNameIdentifier() != null) {
+                        myOperations.add(new Definition(operation.getNameIdentifier().getText(), type, operation, myFileName));
+                    } else {
+                        myAnonymousOperations.add(type);
+                    }
+                } else if (child instanceof GraphQLSelectionSetOperationDefinition) {
+                    myAnonymousOperations.add("query");
+                } else if (child instanceof GraphQLFragmentDefinition) {
+                    final GraphQLFragmentDefinition fragment = (GraphQLFragmentDefinition) child;
+                    if (fragment.getNameIdentifier() != null) {
+                        myFragments.add(new Definition(fragment.getNameIdentifier().getText(), "fragment", fragment, myFileName));
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Definition {
+
+        private final String myName;
+        private final String myType;
+        private final String myText;
+        private final Set<String> myFragmentSpreads = Sets.newLinkedHashSet();
+        private final String myFileName;
+
+        Definition(@NotNull String name, @NotNull String type, @NotNull PsiElement definition, @NotNull String fileName) {
+            myName = name;
+            myType = type;
+            myText = GraphQLMinifyUtil.minify(definition);
+            myFileName = fileName;
+            for (GraphQLFragmentSpread fragmentSpread : PsiTreeUtil.findChildrenOfType(definition, GraphQLFragmentSpread.class)) {
+                if (fragmentSpread.getNameIdentifier() != null) {
+                    myFragmentSpreads.add(fragmentSpread.getNameIdentifier().getText());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.persistedqueries;
+
+import com.google.common.collect.Maps;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper.ConfigProject;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectStarter;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the persisted query manifests of a project from the command line, e.g. on a build server:
+ * <pre>
+ * idea graphql-persisted-queries &lt;project path&gt; [output directory]
+ * </pre>
+ * The manifests are written next to the graphql-config files, or to the output directory if specified.
+ * Exits with status 1 if operations were left out of a manifest, and without writing any manifest if the manifests of two
+ * config projects would be written to the same file.
+ */
+public class GraphQLPersistedQueryManifestStarter extends GraphQLConfigProjectStarter {
+
+    private Path myOutputDir;
+
+    @Override
+    public String getCommandName() {
+        return "graphql-persisted-queries";
+    }
+
+    @NotNull
+    @Override
+    protected String getOptionsUsage() {
+        return " [output directory]";
+    }
+
+    @Override
+    protected boolean parseOptions(@NotNull String[] options) {
+        if (options.length > 1) {
+            return false;
+        }
+        myOutputDir = options.length == 1 ? Paths.get(options[0]).toAbsolutePath() : null;
+        return true;
+    }
+
+    @Override
+    protected int run(@NotNull Project project) throws Exception {
+        final GraphQLPersistedQueryManifestService service = GraphQLPersistedQueryManifestService.getInstance(project);
+        final List<ConfigProject> configProjects = ReadAction.compute(() -> GraphQLConfigProjectHelper.getInstance(project).getConfigProjects());
+        final Map<ConfigProject, String> outputFiles = getOutputFiles(configProjects, myOutputDir);
+        if (outputFiles == null) {
+            return EXIT_FAILURE;
+        }
+        int exitCode = 0;
+        for (ConfigProject configProject : configProjects) {
+            final GraphQLPersistedQueryManifest manifest = ReadAction.compute(() -> service.generate(configProject));
+            final String outputPath;
+            if (myOutputDir != null) {
+                final Path outputFile = Paths.get(outputFiles.get(configProject));
+                Files.createDirectories(myOutputDir);
+                Files.write(outputFile, manifest.toJson().getBytes(StandardCharsets.UTF_8));
+                outputPath = outputFile.toString();
+            } else {
+                final VirtualFile outputFile = service.write(configProject, manifest);
+                outputPath = outputFile.getPresentableUrl();
+            }
+            System.out.println(manifest.getName() + ": " + manifest.getOperations().size() + " operations written to " + outputPath);
+            for (String problem : manifest.getProblems()) {
+                System.err.println(manifest.getName() + ": " + problem);
+                exitCode = 1;
+            }
+        }
+        return exitCode;
+    }
+
+    /**
+     * Gets the path of the manifest file of each config project, i.e. next to its config file, or in the output directory
+     * if specified
+     *
+     * @return the paths, or null if the manifests of two config projects would be written to the same file
+     */
+    @Nullable
+    static Map<ConfigProject, String> getOutputFiles(@NotNull List<ConfigProject> configProjects, @Nullable Path outputDir) {
+        final Map<ConfigProject, String> outputFiles = Maps.newLinkedHashMap();
+        final Map<String, ConfigProject> configProjectsByOutputFile = Maps.newHashMap();
+        for (ConfigProject configProject : configProjects) {
+            final String outputFile;
+            if (outputDir != null) {
+                // the manifests of different configs share file names, so qualify them when they end up in the same directory
+                final String fileName = configProjects.size() > 1
+                    ? GraphQLPersistedQueryManifestService.MANIFEST_FILE_NAME + "." + configProject.getName().replace('/', '.') + ".json"
+                    : GraphQLPersistedQueryManifestService.getManifestFileName(configProject);
+                outputFile = outputDir.resolve(fileName).toString();
+            } else {
+                outputFile = configProject.getConfigBaseDir().getPath() + "/" + GraphQLPersistedQueryManifestService.getManifestFileName(configProject);
+            }
+            final ConfigProject existing = configProjectsByOutputFile.putIfAbsent(outputFile, configProject);
+            if (existing != null) {
+                System.err.println("The manifests of '" + existing.getName() + "' and '" + configProject.getName() + "' would both be written to " + outputFile);
+                return null;
+            }
+            outputFiles.put(configProject, outputFile);
+        }
+        return outputFiles;
+    }
+}
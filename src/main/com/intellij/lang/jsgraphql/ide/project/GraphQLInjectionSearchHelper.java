@@ -7,6 +7,8 @@
  */
 package com.intellij.lang.jsgraphql.ide.project;
 
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiLanguageInjectionHost;
@@ -21,6 +23,11 @@ public interface GraphQLInjectionSearchHelper {
      */
     boolean isJSGraphQLLanguageInjectionTarget(PsiElement host);
 
+    /**
+     * Gets whether the specified file contains GraphQL injections, based on an index rather than by visiting the PSI of the file
+     */
+    boolean hasGraphQLInjections(Project project, VirtualFile file);
+
     /**
      * Process injected GraphQL PsiFiles
      *
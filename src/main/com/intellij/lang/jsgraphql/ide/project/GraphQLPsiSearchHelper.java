@@ -9,22 +9,25 @@ package com.intellij.lang.jsgraphql.ide.project;
 
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import com.intellij.ide.plugins.PluginManager;
-import com.intellij.json.psi.JsonStringLiteral;
+import com.intellij.json.JsonFileType;
+import com.intellij.json.psi.JsonFile;
 import com.intellij.lang.injection.InjectedLanguageManager;
 import com.intellij.lang.jsgraphql.GraphQLFileType;
 import com.intellij.lang.jsgraphql.GraphQLLanguage;
 import com.intellij.lang.jsgraphql.GraphQLSettings;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCache;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCaches;
 import com.intellij.lang.jsgraphql.ide.notifications.GraphQLNotificationUtil;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper;
 import com.intellij.lang.jsgraphql.ide.project.indexing.GraphQLFragmentNameIndex;
 import com.intellij.lang.jsgraphql.ide.project.indexing.GraphQLIdentifierIndex;
 import com.intellij.lang.jsgraphql.ide.project.scopes.ConditionalGlobalSearchScope;
 import com.intellij.lang.jsgraphql.ide.references.GraphQLFindUsagesUtil;
 import com.intellij.lang.jsgraphql.psi.*;
-import com.intellij.lang.jsgraphql.schema.GraphQLSchemaKeys;
+import com.intellij.lang.jsgraphql.schema.GraphQLIntrospectionSchemaCache;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaMetrics;
 import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationType;
 import com.intellij.notification.Notifications;
@@ -56,7 +59,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -71,7 +73,8 @@ public class GraphQLPsiSearchHelper implements Disposable {
     private final static Logger LOG = Logger.getInstance(GraphQLPsiSearchHelper.class);
 
     private final Project myProject;
-    private final Map<String, GlobalSearchScope> fileNameToSchemaScope = Maps.newConcurrentMap();
+    private final GraphQLCache<String, GlobalSearchScope> fileNameToSchemaScope = GraphQLCaches.create("Schema scopes by file", 2000);
+    private final GraphQLCache<String, String> fileNameToSchemaScopeName = GraphQLCaches.create("Schema scope names by file", 2000);
     private final PluginDescriptor pluginDescriptor;
     private final GlobalSearchScope myGlobalScope;
     private final GlobalSearchScope allBuiltInSchemaScopes;
@@ -116,6 +119,7 @@ public class GraphQLPsiSearchHelper implements Disposable {
             public void beforePsiChanged(boolean isPhysical) {
                 // clear the cache on each PSI change
                 fileNameToSchemaScope.clear();
+                fileNameToSchemaScopeName.clear();
             }
 
             @Override
@@ -151,6 +155,19 @@ public class GraphQLPsiSearchHelper implements Disposable {
         });
     }
 
+    /**
+     * Gets the name of the schema scope which contains the element, i.e. the name of its graphql-config scope or
+     * {@link GraphQLConfigProjectHelper#DEFAULT_SCOPE_NAME} for the default project-wide schema
+     */
+    @NotNull
+    public String getSchemaScopeName(@NotNull PsiElement element) {
+        return fileNameToSchemaScopeName.computeIfAbsent(GraphQLPsiUtil.getFileName(element.getContainingFile()), fileName -> {
+            final VirtualFile virtualFile = GraphQLPsiUtil.getVirtualFileFromPsiFile(element.getContainingFile());
+            final NamedScope schemaScope = graphQLConfigManager.getSchemaScope(virtualFile);
+            return schemaScope != null ? schemaScope.getName() : GraphQLConfigProjectHelper.DEFAULT_SCOPE_NAME;
+        });
+    }
+
     /**
      * Provides a search scope that indicates from where usages can occur for the specified element.
      * The main use case is for injected GraphQL where Idea defaults to the current file only.
@@ -265,10 +282,13 @@ public class GraphQLPsiSearchHelper implements Disposable {
                                                              @NotNull String word,
                                                              @NotNull Processor<PsiNamedElement> processor) {
         FileBasedIndex.getInstance().getFilesWithKey(GraphQLIdentifierIndex.NAME, Collections.singleton(word), virtualFile -> {
+            if (JsonFileType.INSTANCE.equals(virtualFile.getFileType()) && !isConfiguredIntrospectionFile(virtualFile)) {
+                // any introspection result is indexed, but only the "schemaPath" of a configuration is part of a schema
+                return true;
+            }
             final PsiFile psiFile = psiManager.findFile(virtualFile);
             final Ref<Boolean> continueProcessing = Ref.create(true);
             if (psiFile != null) {
-                final Set<GraphQLFile> introspectionFiles = Sets.newHashSetWithExpectedSize(1);
                 final Ref<PsiRecursiveElementVisitor> identifierVisitor = Ref.create();
                 identifierVisitor.set(new PsiRecursiveElementVisitor() {
                     @Override
@@ -285,13 +305,6 @@ public class GraphQLPsiSearchHelper implements Disposable {
                             if (!continueProcessing.get()) {
                                 return; // no need to visit other elements
                             }
-                        } else if (element instanceof JsonStringLiteral) {
-                            final GraphQLFile graphQLFile = element.getContainingFile().getUserData(GraphQLSchemaKeys.GRAPHQL_INTROSPECTION_JSON_TO_SDL);
-                            if (graphQLFile != null && introspectionFiles.add(graphQLFile)) {
-                                // index the associated introspection SDL from a JSON introspection result file
-                                graphQLFile.accept(identifierVisitor.get());
-                            }
-                            return; // no need to visit deeper
                         } else if (element instanceof PsiLanguageInjectionHost) {
                             if (visitLanguageInjectionHost((PsiLanguageInjectionHost) element, identifierVisitor)) {
                                 return;
@@ -301,12 +314,28 @@ public class GraphQLPsiSearchHelper implements Disposable {
                     }
                 });
 
-                psiFile.accept(identifierVisitor.get());
+                if (psiFile instanceof JsonFile) {
+                    // visit the SDL of a JSON introspection result rather than building its JSON tree, the SDL is only created once it's searched
+                    final GraphQLFile introspectionSDLFile = GraphQLIntrospectionSchemaCache.getSDLFile(psiFile);
+                    if (introspectionSDLFile != null) {
+                        introspectionSDLFile.accept(identifierVisitor.get());
+                    }
+                } else {
+                    psiFile.accept(identifierVisitor.get());
+                }
             }
             return continueProcessing.get();
         }, schemaScope);
     }
 
+    /**
+     * Gets whether a JSON file is the introspection result that a graphql-config uses as its "schemaPath"
+     */
+    private boolean isConfiguredIntrospectionFile(@NotNull VirtualFile jsonFile) {
+        // the schema scope of a JSON file only exists when a configuration includes it, which it only does for its "schemaPath"
+        return graphQLConfigManager.getSchemaScope(jsonFile) != null;
+    }
+
     /**
      * Processes all named elements that match the specified word, e.g. the declaration of a type name
      */
@@ -315,8 +344,11 @@ public class GraphQLPsiSearchHelper implements Disposable {
                                         @NotNull Processor<PsiNamedElement> processor) {
         try {
             final GlobalSearchScope schemaScope = getSchemaScope(scopedElement);
+            final GraphQLSchemaMetrics.ScopeMetrics metrics = GraphQLSchemaMetrics.getInstance(myProject).getScopeMetrics(getSchemaScopeName(scopedElement));
 
+            final long indexQueryStart = System.nanoTime();
             processElementsWithWordUsingIdentifierIndex(schemaScope, word, processor);
+            metrics.record(GraphQLSchemaMetrics.Timer.INDEX_QUERY, indexQueryStart);
 
             // also include the built-in schemas
             final PsiRecursiveElementVisitor builtInFileVisitor = new PsiRecursiveElementVisitor() {
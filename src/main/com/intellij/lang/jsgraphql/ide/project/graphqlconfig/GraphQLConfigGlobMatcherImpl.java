@@ -7,19 +7,18 @@
  */
 package com.intellij.lang.jsgraphql.ide.project.graphqlconfig;
 
-import com.google.common.collect.Maps;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCache;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCaches;
 import com.intellij.openapi.util.Pair;
 import minimatch.Minimatch;
 import minimatch.Options;
 
-import java.util.Map;
-
 /**
  * Matcher which uses nashorn-minimatch to achieve same glob semantics as graphql-config.
  */
 public class GraphQLConfigGlobMatcherImpl implements GraphQLConfigGlobMatcher {
 
-    private final static Map<Pair<String, String>, Boolean> matches = Maps.newConcurrentMap();
+    private final static GraphQLCache<Pair<String, String>, Boolean> matches = GraphQLCaches.create("graphql-config glob matches", 10000);
     private final static Options OPTIONS = new Options().setMatchBase(true);
 
     @Override
@@ -21,8 +21,11 @@ import com.intellij.lang.jsgraphql.GraphQLBundle;
 import com.intellij.lang.jsgraphql.GraphQLFileType;
 import com.intellij.lang.jsgraphql.GraphQLLanguage;
 import com.intellij.lang.jsgraphql.endpoint.JSGraphQLEndpointFileType;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCache;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCaches;
 import com.intellij.lang.jsgraphql.ide.editor.GraphQLIntrospectionService;
 import com.intellij.lang.jsgraphql.ide.notifications.GraphQLNotificationUtil;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLConfigCost;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLConfigData;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLConfigEndpoint;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLResolvedConfigData;
@@ -54,7 +57,9 @@ import com.intellij.openapi.roots.ModuleRootEvent;
 import com.intellij.openapi.roots.ModuleRootListener;
 import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.ModificationTracker;
 import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.util.SimpleModificationTracker;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
@@ -112,6 +117,7 @@ public class GraphQLConfigManager implements Disposable {
     public static final String GRAPHQLCONFIG = ".graphqlconfig";
     public static final String GRAPHQLCONFIG_COMMENT = ".graphqlconfig=";
     public static final String ENDPOINT_LANGUAGE_EXTENSION = "endpoint-language";
+    public static final String COST_EXTENSION = "cost";
 
     private static final String GRAPHQLCONFIG_YML = ".graphqlconfig.yml";
     private static final String GRAPHQLCONFIG_YAML = ".graphqlconfig.yaml";
@@ -133,11 +139,14 @@ public class GraphQLConfigManager implements Disposable {
 
     private volatile boolean initialized = false;
 
+    private final SimpleModificationTracker myModificationTracker = new SimpleModificationTracker();
+
     private volatile Map<VirtualFile, GraphQLConfigData> configFilesToConfigurations = Maps.newConcurrentMap();
     private final Map<GraphQLResolvedConfigData, GraphQLFile> configDataToEntryFiles = Maps.newConcurrentMap();
     private final Map<GraphQLResolvedConfigData, GraphQLConfigPackageSet> configDataToPackageSet = Maps.newConcurrentMap();
-    private final Map<String, GraphQLNamedScope> virtualFilePathToScopes = Maps.newConcurrentMap();
-    private final Map<GraphQLNamedScope, JSGraphQLSchemaEndpointConfiguration> scopeToSchemaEndpointLanguageConfiguration = Maps.newConcurrentMap();
+    private final GraphQLCache<String, GraphQLNamedScope> virtualFilePathToScopes = GraphQLCaches.create("graphql-config scopes by file", 5000);
+    private final GraphQLCache<GraphQLNamedScope, JSGraphQLSchemaEndpointConfiguration> scopeToSchemaEndpointLanguageConfiguration = GraphQLCaches.create("Endpoint language configurations by scope", 500);
+    private final GraphQLCache<GraphQLNamedScope, GraphQLConfigCost> scopeToCostConfiguration = GraphQLCaches.create("Cost configurations by scope", 500);
 
     private final ReadWriteLock cacheLock = new ReentrantReadWriteLock(true);
     private final Lock writeLock = cacheLock.writeLock();
@@ -157,6 +166,14 @@ public class GraphQLConfigManager implements Disposable {
         return ServiceManager.getService(project, GraphQLConfigManager.class);
     }
 
+    /**
+     * Tracks changes to the loaded configurations, e.g. for cached values that depend on schema scopes or entry files
+     */
+    @NotNull
+    public ModificationTracker getModificationTracker() {
+        return myModificationTracker;
+    }
+
     public boolean isInitialized() {
         try {
             readLock.lock();
@@ -343,7 +360,10 @@ public class GraphQLConfigManager implements Disposable {
                         if (extensions != null && extensions.containsKey(ENDPOINT_LANGUAGE_EXTENSION)) {
                             try {
                                 final Gson gson = new Gson();
-                                return gson.fromJson(gson.toJsonTree(extensions.get(ENDPOINT_LANGUAGE_EXTENSION)), JSGraphQLSchemaEndpointConfiguration.class);
+                                final JSGraphQLSchemaEndpointConfiguration configuration = gson.fromJson(gson.toJsonTree(extensions.get(ENDPOINT_LANGUAGE_EXTENSION)), JSGraphQLSchemaEndpointConfiguration.class);
+                                if (configuration != null) {
+                                    return configuration;
+                                }
                             } catch (JsonSyntaxException je) {
                                 LOG.warn("Invalid JSON in config file", je);
                             }
@@ -365,6 +385,41 @@ public class GraphQLConfigManager implements Disposable {
         }
     }
 
+    /**
+     * Gets the cost model and budgets of the operations in the specified file from the "cost" extension of its graphql-config,
+     * or the default cost model without budgets if the extension isn't present.
+     */
+    @NotNull
+    public GraphQLConfigCost getCostConfiguration(@Nullable VirtualFile virtualFile) {
+        try {
+            readLock.lock();
+            final GraphQLNamedScope schemaScope = getSchemaScope(virtualFile);
+            if (schemaScope == null) {
+                // the configuration is mutable like the rest of the config model, so callers each get their own default
+                return new GraphQLConfigCost();
+            }
+            return scopeToCostConfiguration.computeIfAbsent(schemaScope, scope -> {
+                if (scope.getConfigData() != null) {
+                    final Map<String, Object> extensions = scope.getConfigData().extensions;
+                    if (extensions != null && extensions.containsKey(COST_EXTENSION)) {
+                        try {
+                            final Gson gson = new Gson();
+                            final GraphQLConfigCost configuration = gson.fromJson(gson.toJsonTree(extensions.get(COST_EXTENSION)), GraphQLConfigCost.class);
+                            if (configuration != null) {
+                                return configuration;
+                            }
+                        } catch (JsonSyntaxException je) {
+                            LOG.warn("Invalid JSON in config file", je);
+                        }
+                    }
+                }
+                return new GraphQLConfigCost();
+            });
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     /**
      * Gets the endpoints that are within scope for the specified GraphQL virtual file.
      */
@@ -506,7 +561,7 @@ public class GraphQLConfigManager implements Disposable {
                     if (hasGraphQLConfigComment(event.getNewChild()) || hasGraphQLConfigComment(event.getOldChild())) {
                         // updated the .graphqlconfig comment in a scratch comment which associates the scratch with a scope
                         // so clear the cached path to scope entry in virtualFilePathToScopes
-                        virtualFilePathToScopes.keySet().remove(event.getFile().getVirtualFile().getPath());
+                        virtualFilePathToScopes.invalidate(event.getFile().getVirtualFile().getPath());
                     }
                 }
             }
@@ -695,12 +750,15 @@ public class GraphQLConfigManager implements Disposable {
             this.configDataToEntryFiles.clear();
             this.configDataToPackageSet.clear();
             this.scopeToSchemaEndpointLanguageConfiguration.clear();
+            this.scopeToCostConfiguration.clear();
             // finally mark as initialized
             initialized = true;
         } finally {
             writeLock.unlock();
         }
 
+        myModificationTracker.incModificationCount();
+
         myProject.getMessageBus().syncPublisher(TOPIC).onGraphQLConfigurationFileChanged();
         myProject.getMessageBus().syncPublisher(JSGraphQLConfigurationListener.TOPIC).onEndpointsChanged();
 
@@ -7,9 +7,10 @@
  */
 package com.intellij.lang.jsgraphql.ide.project.graphqlconfig;
 
-import com.google.common.collect.Maps;
 import com.intellij.ide.scratch.ScratchUtil;
 import com.intellij.json.JsonFileType;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCache;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCaches;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLResolvedConfigData;
 import com.intellij.lang.jsgraphql.psi.GraphQLFile;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaKeys;
@@ -38,7 +39,7 @@ public class GraphQLConfigPackageSet implements PackageSet {
 
     private String schemaFilePath;
 
-    private final Map<String, Boolean> includesFilePath = Maps.newConcurrentMap();
+    private final GraphQLCache<String, Boolean> includesFilePath = GraphQLCaches.create("graphql-config included files", 5000);
 
     GraphQLConfigPackageSet(VirtualFile configBaseDir, GraphQLFile configEntryFile, GraphQLResolvedConfigData configData, GraphQLConfigGlobMatcher globMatcher) {
 
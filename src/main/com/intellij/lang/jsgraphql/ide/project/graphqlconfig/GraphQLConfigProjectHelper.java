@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project.graphqlconfig;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.intellij.lang.injection.InjectedLanguageManager;
+import com.intellij.lang.jsgraphql.GraphQLFileType;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLConfigData;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLResolvedConfigData;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.psi.GraphQLPsiUtil;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiLanguageInjectionHost;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Enumerates the graphql-config projects of a project and the GraphQL in their schema scopes, for features that process
+ * every config project at once rather than the scope of a single file, e.g. generating manifests or validating outside the editor.
+ */
+public class GraphQLConfigProjectHelper {
+
+    public static final String DEFAULT_SCOPE_NAME = "Default project-wide schema";
+
+    private final Project myProject;
+
+    public static GraphQLConfigProjectHelper getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, GraphQLConfigProjectHelper.class);
+    }
+
+    public GraphQLConfigProjectHelper(@NotNull Project project) {
+        myProject = project;
+    }
+
+    /**
+     * Gets the config projects ordered by the path of their config file and their name, or a single config project for the
+     * default project-wide schema if there are no configurations. Must be called in a read action.
+     */
+    @NotNull
+    public List<ConfigProject> getConfigProjects() {
+        final GraphQLConfigManager configManager = GraphQLConfigManager.getService(myProject);
+        final List<ConfigProject> configProjects = Lists.newArrayList();
+        final Map<VirtualFile, GraphQLConfigData> configurations = Maps.newTreeMap(Comparator.comparing(VirtualFile::getPath));
+        configurations.putAll(configManager.getConfigurationsByPath());
+        final VirtualFile projectDir = ProjectUtil.guessProjectDir(myProject);
+        for (Map.Entry<VirtualFile, GraphQLConfigData> entry : configurations.entrySet()) {
+            final VirtualFile configBaseDir = entry.getKey();
+            final GraphQLConfigData configData = entry.getValue();
+            final String configName = getConfigName(configBaseDir, projectDir);
+            if (configData.projects != null && !configData.projects.isEmpty()) {
+                for (Map.Entry<String, GraphQLResolvedConfigData> project : new TreeMap<>(configData.projects).entrySet()) {
+                    configProjects.add(new ConfigProject(
+                        configName + "/" + project.getKey(),
+                        project.getKey(),
+                        configManager.getConfigurationEntryFile(project.getValue()),
+                        configBaseDir
+                    ));
+                }
+            } else {
+                configProjects.add(new ConfigProject(configName, null, configManager.getConfigurationEntryFile(configData), configBaseDir));
+            }
+        }
+        if (configProjects.isEmpty()) {
+            if (projectDir != null) {
+                configProjects.add(new ConfigProject(myProject.getName(), null, GraphQLPsiSearchHelper.getInstance(myProject).getDefaultProjectFile(), projectDir));
+            }
+        }
+        return configProjects;
+    }
+
+    /**
+     * Gets the path of the config directory relative to the project directory, the project name for a config in the
+     * project directory, or the full path for a config outside the project directory
+     */
+    @NotNull
+    private String getConfigName(@NotNull VirtualFile configBaseDir, @Nullable VirtualFile projectDir) {
+        final String relativePath = projectDir != null ? VfsUtilCore.getRelativePath(configBaseDir, projectDir, '/') : null;
+        if (relativePath == null) {
+            return configBaseDir.getPath();
+        }
+        return relativePath.isEmpty() ? myProject.getName() : relativePath;
+    }
+
+    /**
+     * Gets the name of the schema scope which contains the element, i.e. the name of its graphql-config scope or
+     * {@link #DEFAULT_SCOPE_NAME} for the default project-wide schema
+     */
+    @NotNull
+    public String getSchemaScopeName(@NotNull PsiElement scopedElement) {
+        return GraphQLPsiSearchHelper.getInstance(myProject).getSchemaScopeName(scopedElement);
+    }
+
+    /**
+     * Gets the GraphQL files and injected GraphQL in the schema scope of the entry file, ordered by path and offset so
+     * the first declaration of a duplicate name is the same on every run. Must be called in a read action.
+     */
+    @NotNull
+    public List<PsiFile> getFiles(@NotNull GraphQLFile entryFile) {
+        final GraphQLPsiSearchHelper searchHelper = GraphQLPsiSearchHelper.getInstance(myProject);
+        final GlobalSearchScope schemaScope = searchHelper.getSchemaScope(entryFile);
+        final Map<String, PsiFile> files = Maps.newTreeMap();
+        try {
+            final PsiManager psiManager = PsiManager.getInstance(myProject);
+            FileTypeIndex.processFiles(GraphQLFileType.INSTANCE, file -> {
+                final PsiFile psiFile = psiManager.findFile(file);
+                if (psiFile != null) {
+                    files.put(getSortKey(psiFile), psiFile);
+                }
+                return true;
+            }, GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.projectScope(myProject), GraphQLFileType.INSTANCE).intersectWith(schemaScope));
+        } catch (IndexNotReadyException e) {
+            // can't search yet (e.g. during project startup)
+            return Collections.emptyList();
+        }
+        searchHelper.processInjectedGraphQLPsiFiles(entryFile, schemaScope, injectedFile -> files.put(getSortKey(injectedFile), injectedFile));
+        return Lists.newArrayList(files.values());
+    }
+
+    @NotNull
+    private String getSortKey(@NotNull PsiFile file) {
+        final InjectedLanguageManager injectedLanguageManager = InjectedLanguageManager.getInstance(myProject);
+        final PsiLanguageInjectionHost host = injectedLanguageManager.getInjectionHost(file);
+        if (host != null) {
+            return GraphQLPsiUtil.getFileName(host.getContainingFile()) + String.format(":%010d", host.getTextRange().getStartOffset());
+        }
+        return GraphQLPsiUtil.getFileName(file);
+    }
+
+    /**
+     * A project in a graphql-config file, or the whole config file if it doesn't declare projects
+     */
+    public static final class ConfigProject {
+
+        private final String myName;
+        private final String myProjectName;
+        private final GraphQLFile myEntryFile;
+        private final VirtualFile myConfigBaseDir;
+
+        ConfigProject(@NotNull String name, @Nullable String projectName, @NotNull GraphQLFile entryFile, @NotNull VirtualFile configBaseDir) {
+            myName = name;
+            myProjectName = projectName;
+            myEntryFile = entryFile;
+            myConfigBaseDir = configBaseDir;
+        }
+
+        /**
+         * Gets the path of the config directory relative to the project directory followed by the project name if any,
+         * e.g. "apps/web/graphql/admin". A config in the project directory is named after the project.
+         */
+        @NotNull
+        public String getName() {
+            return myName;
+        }
+
+        /**
+         * Gets the name of the project in the "projects" of the config file, or null if the config file doesn't declare projects
+         */
+        @Nullable
+        public String getProjectName() {
+            return myProjectName;
+        }
+
+        /**
+         * Gets a file that is included in the schema scope of the project
+         */
+        @NotNull
+        public GraphQLFile getEntryFile() {
+            return myEntryFile;
+        }
+
+        /**
+         * Gets the directory of the config file, or the project directory for the default project-wide schema
+         */
+        @NotNull
+        public VirtualFile getConfigBaseDir() {
+            return myConfigBaseDir;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project.graphqlconfig;
+
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Base class of the headless commands which process the graphql-config projects of a project, e.g. on a build server:
+ * <pre>
+ * idea &lt;command&gt; &lt;project path&gt; [options]
+ * </pre>
+ * The project is opened and the command runs once its indexes and config model are built. The application exits with the
+ * status returned by the command, or {@link #EXIT_FAILURE} if the arguments are invalid or the command couldn't run.
+ */
+public abstract class GraphQLConfigProjectStarter implements ApplicationStarter {
+
+    private static final Logger LOG = Logger.getInstance(GraphQLConfigProjectStarter.class);
+
+    protected static final int EXIT_FAILURE = 2;
+
+    @Override
+    public boolean isHeadless() {
+        return true;
+    }
+
+    @Override
+    public void main(@NotNull String[] args) {
+        if (args.length < 2 || !parseOptions(Arrays.copyOfRange(args, 2, args.length))) {
+            System.err.println("Usage: " + getCommandName() + " <project path>" + getOptionsUsage());
+            System.exit(EXIT_FAILURE);
+        }
+        // the config model and the indexes are built in the background, so wait for them off the UI thread
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            int exitCode;
+            try {
+                final Project project = openProject(args[1]);
+                exitCode = project != null ? run(project) : EXIT_FAILURE;
+            } catch (Exception e) {
+                LOG.error("Unable to run " + getCommandName(), e);
+                exitCode = EXIT_FAILURE;
+            }
+            System.exit(exitCode);
+        });
+    }
+
+    /**
+     * Gets the usage of the options that follow the project path, e.g. " [output directory]"
+     */
+    @NotNull
+    protected abstract String getOptionsUsage();
+
+    /**
+     * Parses the options that follow the project path
+     *
+     * @return false if the options are invalid
+     */
+    protected abstract boolean parseOptions(@NotNull String[] options);
+
+    /**
+     * Runs the command on a pooled thread once the project is ready
+     *
+     * @return the exit status
+     */
+    protected abstract int run(@NotNull Project project) throws Exception;
+
+    @Nullable
+    private static Project openProject(@NotNull String path) throws InterruptedException {
+        final String projectPath = new File(path).getAbsolutePath();
+        final Project project = ProjectUtil.openOrImport(projectPath, null, false);
+        if (project == null) {
+            System.err.println("Unable to open project " + projectPath);
+            return null;
+        }
+        DumbService.getInstance(project).waitForSmartMode();
+        final CountDownLatch configModelBuilt = new CountDownLatch(1);
+        GraphQLConfigManager.getService(project).buildConfigurationModel(null, configModelBuilt::countDown);
+        configModelBuilt.await();
+        return project;
+    }
+}
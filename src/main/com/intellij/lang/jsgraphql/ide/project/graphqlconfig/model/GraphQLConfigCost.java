@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * graphql-config "cost" extension which configures the static cost model and the budgets of the operations in a project, e.g.
+ * <pre>
+ * "extensions": {
+ *   "cost": {
+ *     "maxDepth": 10,
+ *     "maxBreadth": 50,
+ *     "maxCost": 5000,
+ *     "defaultListSize": 10,
+ *     "costDirectives": ["cost", "complexity"]
+ *   }
+ * }
+ * </pre>
+ */
+public class GraphQLConfigCost {
+
+    /**
+     * The maximum nesting of fields in an operation, or null for no limit
+     */
+    public Integer maxDepth;
+
+    /**
+     * The maximum number of fields selected on a single object, or null for no limit
+     */
+    public Integer maxBreadth;
+
+    /**
+     * The maximum estimated cost of an operation, or null for no limit
+     */
+    public Integer maxCost;
+
+    /**
+     * The cost of a field which doesn't declare its cost using one of the cost directives
+     */
+    public int defaultFieldCost = 1;
+
+    /**
+     * The number of items assumed for list fields when the size can't be determined from the list size arguments
+     */
+    public int defaultListSize = 1;
+
+    /**
+     * Arguments which limit the number of items returned by a field, and so multiply the cost of its selections
+     */
+    public List<String> listSizeArguments = Lists.newArrayList("first", "last", "limit");
+
+    /**
+     * Directives in the schema which declare the cost of a field definition, e.g. <code>@cost(complexity: 5, multipliers: ["first"])</code>
+     */
+    public List<String> costDirectives = Lists.newArrayList("cost", "complexity");
+
+    /**
+     * The cost directive arguments which hold the cost of the field, the first one found is used
+     */
+    public List<String> costArguments = Lists.newArrayList("complexity", "value", "cost", "weight");
+
+    /**
+     * The cost directive argument which lists the field arguments that multiply the cost, instead of the list size arguments
+     */
+    public String multipliersArgument = "multipliers";
+
+    public boolean hasBudgets() {
+        return maxDepth != null || maxBreadth != null || maxCost != null;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project.indexing;
+
+import com.google.common.collect.Maps;
+import com.intellij.json.JsonFileType;
+import com.intellij.lang.jsgraphql.GraphQLFileType;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLInjectionSearchHelper;
+import com.intellij.lang.jsgraphql.ide.references.GraphQLFindUsagesUtil;
+import com.intellij.lang.jsgraphql.psi.GraphQLField;
+import com.intellij.lang.jsgraphql.psi.GraphQLTypeSystemDefinition;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.util.Ref;
+import com.intellij.psi.*;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the names of the fields selected by operations and fragments in GraphQL files and GraphQL injections, along with
+ * the number of selections per file.
+ * <p>
+ * The type that declares a selected field depends on the schema, so it can't be part of the index. The files found using the
+ * index are resolved against the schema on demand by {@link com.intellij.lang.jsgraphql.ide.usages.GraphQLFieldUsageService}.
+ */
+public class GraphQLFieldUsageIndex extends FileBasedIndexExtension<String, Integer> {
+
+    public static final ID<String, Integer> NAME = ID.create("GraphQLFieldUsageIndex");
+
+    private final GraphQLInjectionSearchHelper graphQLInjectionSearchHelper;
+
+    private final Set<FileType> includedFileTypes;
+
+    private final DataIndexer<String, Integer, FileContent> myDataIndexer;
+
+    public GraphQLFieldUsageIndex() {
+        myDataIndexer = inputData -> {
+
+            if (inputData.getFileType() instanceof JsonFileType) {
+                // JSON files are only included for introspection results, which don't select fields
+                return Collections.emptyMap();
+            }
+
+            final Map<String, Integer> fieldNameToCount = Maps.newHashMap();
+
+            final Ref<PsiRecursiveElementVisitor> fieldVisitor = Ref.create();
+            fieldVisitor.set(new PsiRecursiveElementVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    if (element instanceof GraphQLTypeSystemDefinition) {
+                        // fields are only selected in executable definitions
+                        return;
+                    }
+                    if (element instanceof GraphQLField) {
+                        final String fieldName = ((GraphQLField) element).getName();
+                        if (fieldName != null) {
+                            fieldNameToCount.merge(fieldName, 1, Integer::sum);
+                        }
+                    } else if (element instanceof PsiLanguageInjectionHost && graphQLInjectionSearchHelper != null) {
+                        if (graphQLInjectionSearchHelper.isJSGraphQLLanguageInjectionTarget(element)) {
+                            final PsiFileFactory psiFileFactory = PsiFileFactory.getInstance(element.getProject());
+                            final String graphqlBuffer = StringUtils.strip(element.getText(), "` \t\n");
+                            final PsiFile graphqlInjectedPsiFile = psiFileFactory.createFileFromText("", GraphQLFileType.INSTANCE, graphqlBuffer, 0, false, false);
+                            graphqlInjectedPsiFile.accept(fieldVisitor.get());
+                            return;
+                        }
+                    }
+                    super.visitElement(element);
+                }
+            });
+
+            inputData.getPsiFile().accept(fieldVisitor.get());
+
+            return fieldNameToCount;
+        };
+        includedFileTypes = GraphQLFindUsagesUtil.getService().getIncludedFileTypes();
+        graphQLInjectionSearchHelper = ServiceManager.getService(GraphQLInjectionSearchHelper.class);
+    }
+
+    @NotNull
+    @Override
+    public ID<String, Integer> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Integer, FileContent> getIndexer() {
+        return myDataIndexer;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return new EnumeratorStringDescriptor();
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Integer> getValueExternalizer() {
+        return EnumeratorIntegerDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> includedFileTypes.contains(file.getFileType());
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+}
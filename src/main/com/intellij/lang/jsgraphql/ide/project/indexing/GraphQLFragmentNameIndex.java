@@ -7,6 +7,7 @@
  */
 package com.intellij.lang.jsgraphql.ide.project.indexing;
 
+import com.intellij.json.JsonFileType;
 import com.intellij.lang.jsgraphql.GraphQLFileType;
 import com.intellij.lang.jsgraphql.ide.project.GraphQLInjectionSearchHelper;
 import com.intellij.lang.jsgraphql.ide.references.GraphQLFindUsagesUtil;
@@ -46,6 +47,11 @@ public class GraphQLFragmentNameIndex extends FileBasedIndexExtension<String, Bo
     public GraphQLFragmentNameIndex() {
         myDataIndexer = inputData -> {
 
+            if (inputData.getFileType() instanceof JsonFileType) {
+                // JSON files are only included for introspection results, which can't contain fragment definitions
+                return Collections.emptyMap();
+            }
+
             final Ref<Boolean> hasFragments = Ref.create(false);
 
             final Ref<PsiRecursiveElementVisitor> identifierVisitor = Ref.create();
@@ -113,7 +119,7 @@ public class GraphQLFragmentNameIndex extends FileBasedIndexExtension<String, Bo
 
     @Override
     public int getVersion() {
-        return 1;
+        return 2;
     }
 
     @NotNull
@@ -8,7 +8,9 @@
 package com.intellij.lang.jsgraphql.ide.project.indexing;
 
 import com.google.common.collect.Maps;
-import com.intellij.json.psi.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.intellij.json.JsonFileType;
 import com.intellij.lang.jsgraphql.GraphQLFileType;
 import com.intellij.lang.jsgraphql.ide.project.GraphQLInjectionSearchHelper;
 import com.intellij.lang.jsgraphql.ide.references.GraphQLFindUsagesUtil;
@@ -22,11 +24,13 @@ import com.intellij.util.io.DataExternalizer;
 import com.intellij.util.io.EnumDataDescriptor;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
+import com.intellij.util.text.CharSequenceReader;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.Set;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 
 /**
  * Indexes GraphQL identifiers in GraphQL files, GraphQL injections, and JSON GraphQL introspection query result files.
@@ -35,6 +39,14 @@ public class GraphQLIdentifierIndex extends FileBasedIndexExtension<String, Grap
 
     public static final ID<String, IdentifierKind> NAME = ID.create("GraphQLIdentifierIndex");
 
+    /**
+     * The "__schema" property of an introspection result is expected within this many bytes from the start of the file,
+     * since it either is a top-level property or is nested in the top-level "data" property, and it contains the schema itself
+     */
+    private static final int INTROSPECTION_SCHEMA_PREFIX_LENGTH = 64 * 1024;
+
+    private static final byte[] INTROSPECTION_SCHEMA_PROPERTY = "\"__schema\"".getBytes(StandardCharsets.UTF_8);
+
     private final GraphQLInjectionSearchHelper graphQLInjectionSearchHelper;
 
     private final Set<FileType> includedFileTypes;
@@ -62,6 +74,14 @@ public class GraphQLIdentifierIndex extends FileBasedIndexExtension<String, Grap
     public GraphQLIdentifierIndex() {
         myDataIndexer = inputData -> {
 
+            if (inputData.getFileType() instanceof JsonFileType) {
+                if (!hasIntrospectionSchemaProperty(inputData.getContent())) {
+                    // skip the many JSON files that aren't introspection results, e.g. package-lock.json
+                    return Collections.emptyMap();
+                }
+                return getIntrospectionIdentifiers(inputData.getContentAsText());
+            }
+
             final HashMap<String, IdentifierKind> identifiers = Maps.newHashMap();
 
             final Ref<PsiRecursiveElementVisitor> identifierVisitor = Ref.create();
@@ -71,23 +91,6 @@ public class GraphQLIdentifierIndex extends FileBasedIndexExtension<String, Grap
                     if (element instanceof GraphQLIdentifier) {
                         identifiers.put(element.getText(), IdentifierKind.IDENTIFIER_NAME);
                         return; // no need to visit deeper
-                    } else if (element instanceof JsonElement) {
-                        if (element instanceof JsonFile) {
-                            if (!isIntrospectionJsonFile((JsonFile) element)) {
-                                // no need to visit this JSON file as it's not an introspection file
-                                return;
-                            }
-                        }
-                        if (element instanceof JsonProperty) {
-                            final JsonProperty jsonProperty = (JsonProperty) element;
-                            // GraphQL identifiers in an introspection result are defined using "name" properties:
-                            // https://graphql.github.io/graphql-spec/June2018/#sec-Schema-Introspection
-                            if ("name".equals(jsonProperty.getName())) {
-                                if (jsonProperty.getValue() instanceof JsonStringLiteral) {
-                                    identifiers.put(((JsonStringLiteral) jsonProperty.getValue()).getValue(), IdentifierKind.IDENTIFIER_NAME);
-                                }
-                            }
-                        }
                     } else if (element instanceof PsiLanguageInjectionHost && graphQLInjectionSearchHelper != null) {
                         if (graphQLInjectionSearchHelper.isJSGraphQLLanguageInjectionTarget(element)) {
                             final PsiFileFactory psiFileFactory = PsiFileFactory.getInstance(element.getProject());
@@ -109,24 +112,115 @@ public class GraphQLIdentifierIndex extends FileBasedIndexExtension<String, Grap
         graphQLInjectionSearchHelper = ServiceManager.getService(GraphQLInjectionSearchHelper.class);
     }
 
-    private boolean isIntrospectionJsonFile(JsonFile jsonFile) {
-        for (PsiElement child : jsonFile.getChildren()) {
-            if (child instanceof JsonObject) {
-                JsonProperty dataProperty = ((JsonObject) child).findProperty("data");
-                if (dataProperty != null) {
-                    if (dataProperty.getValue() instanceof JsonObject) {
-                        return ((JsonObject) dataProperty.getValue()).findProperty("__schema") != null;
-                    }
-                }
-                final JsonProperty schemaProperty = ((JsonObject) child).findProperty("__schema");
-                if(schemaProperty != null) {
-                    return true;
+    /**
+     * Scans the raw file content for the "__schema" property name, as a cheap check before the JSON PSI is built.
+     */
+    private static boolean hasIntrospectionSchemaProperty(@NotNull byte[] content) {
+        final int end = Math.min(content.length, INTROSPECTION_SCHEMA_PREFIX_LENGTH) - INTROSPECTION_SCHEMA_PROPERTY.length;
+        outer:
+        for (int i = 0; i <= end; i++) {
+            for (int j = 0; j < INTROSPECTION_SCHEMA_PROPERTY.length; j++) {
+                if (content[i + j] != INTROSPECTION_SCHEMA_PROPERTY[j]) {
+                    continue outer;
                 }
             }
+            return true;
         }
         return false;
     }
 
+    /**
+     * Reads the identifiers of an introspection result using a streaming JSON reader, such that large introspection files
+     * don't become a JSON PSI tree during indexing.
+     * GraphQL identifiers in an introspection result are defined using "name" properties:
+     * https://graphql.github.io/graphql-spec/June2018/#sec-Schema-Introspection
+     */
+    @NotNull
+    static Map<String, IdentifierKind> getIntrospectionIdentifiers(@NotNull CharSequence text) {
+        final IntrospectionJsonNames names = new IntrospectionJsonNames();
+        try (JsonReader reader = new JsonReader(new CharSequenceReader(text))) {
+            reader.setLenient(true);
+            readIntrospectionJson(reader, names);
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            // malformed JSON, so keep the names that were read up to the error
+        }
+
+        if (!names.isIntrospectionResult()) {
+            return Collections.emptyMap();
+        }
+        final HashMap<String, IdentifierKind> identifiers = Maps.newHashMap();
+        names.names.forEach(name -> identifiers.put(name, IdentifierKind.IDENTIFIER_NAME));
+        return identifiers;
+    }
+
+    /**
+     * Reads the top-level JSON value without recursion, since the nesting depth of an indexed file is unbounded
+     */
+    private static void readIntrospectionJson(@NotNull JsonReader reader, @NotNull IntrospectionJsonNames names) throws IOException {
+        // the open objects and arrays, and whether each is the object of the top-level "data" property
+        final Deque<Boolean> containers = new ArrayDeque<>();
+        boolean isDataObject = false;
+        do {
+            final JsonToken token = reader.peek();
+            switch (token) {
+                case BEGIN_OBJECT:
+                    reader.beginObject();
+                    containers.push(isDataObject);
+                    isDataObject = false;
+                    break;
+                case BEGIN_ARRAY:
+                    reader.beginArray();
+                    containers.push(false);
+                    break;
+                case END_OBJECT:
+                    reader.endObject();
+                    containers.pop();
+                    break;
+                case END_ARRAY:
+                    reader.endArray();
+                    containers.pop();
+                    break;
+                case NAME:
+                    final String propertyName = reader.nextName();
+                    final JsonToken valueToken = reader.peek();
+                    final int depth = containers.size() - 1;
+                    if (depth == 0) {
+                        if ("__schema".equals(propertyName)) {
+                            names.hasSchema = true;
+                        } else if ("data".equals(propertyName) && valueToken == JsonToken.BEGIN_OBJECT) {
+                            names.hasDataObject = true;
+                            isDataObject = true;
+                        }
+                    } else if (depth == 1 && containers.peek() && "__schema".equals(propertyName)) {
+                        names.hasDataSchema = true;
+                    }
+                    if ("name".equals(propertyName) && valueToken == JsonToken.STRING) {
+                        names.names.add(reader.nextString());
+                    }
+                    break;
+                case END_DOCUMENT:
+                    return;
+                default:
+                    reader.skipValue();
+            }
+        } while (!containers.isEmpty());
+    }
+
+    /**
+     * The "name" values of a JSON file, and whether its structure is that of an introspection result,
+     * i.e. a top-level "__schema" property, or a "__schema" property in the top-level "data" object
+     */
+    private static final class IntrospectionJsonNames {
+        final Set<String> names = new HashSet<>();
+        boolean hasSchema;
+        boolean hasDataObject;
+        boolean hasDataSchema;
+
+        boolean isIntrospectionResult() {
+            return hasDataObject ? hasDataSchema : hasSchema;
+        }
+    }
+
     @NotNull
     @Override
     public ID<String, IdentifierKind> getName() {
@@ -153,7 +247,7 @@ public class GraphQLIdentifierIndex extends FileBasedIndexExtension<String, Grap
 
     @Override
     public int getVersion() {
-        return 2;
+        return 4;
     }
 
     @NotNull
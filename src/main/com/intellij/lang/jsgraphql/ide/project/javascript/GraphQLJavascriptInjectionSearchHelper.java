@@ -11,6 +11,8 @@ import com.intellij.lang.injection.InjectedLanguageManager;
 import com.intellij.lang.jsgraphql.ide.injection.javascript.GraphQLLanguageInjectionUtil;
 import com.intellij.lang.jsgraphql.ide.project.GraphQLInjectionSearchHelper;
 import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
@@ -29,6 +31,19 @@ public class GraphQLJavascriptInjectionSearchHelper implements GraphQLInjectionS
         return GraphQLLanguageInjectionUtil.isJSGraphQLLanguageInjectionTarget(host);
     }
 
+    /**
+     * Uses the {@link GraphQLInjectionIndex} to determine whether the file contains GraphQL injections
+     */
+    @Override
+    public boolean hasGraphQLInjections(Project project, VirtualFile file) {
+        try {
+            return !FileBasedIndex.getInstance().getValues(GraphQLInjectionIndex.NAME, GraphQLInjectionIndex.DATA_KEY, GlobalSearchScope.fileScope(project, file)).isEmpty();
+        } catch (IndexNotReadyException e) {
+            // can't search yet (e.g. during project startup)
+            return false;
+        }
+    }
+
     /**
      * Uses the {@link GraphQLInjectionIndex} to process injected GraphQL PsiFiles
      *
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project.schemastatus;
+
+import com.google.common.collect.Lists;
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCacheStatistics;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCaches;
+import com.intellij.ui.treeStructure.CachingSimpleNode;
+import com.intellij.ui.treeStructure.SimpleNode;
+
+import java.util.List;
+
+/**
+ * Tree node with a child for each of the caches used by the GraphQL services, showing hit rate, size and evictions.
+ */
+public class GraphQLCacheStatisticsNode extends CachingSimpleNode {
+
+    public GraphQLCacheStatisticsNode(SimpleNode parent) {
+        super(parent);
+        myName = "Cache statistics";
+        setIcon(AllIcons.Nodes.Folder);
+    }
+
+    @Override
+    public SimpleNode[] buildChildren() {
+        final List<SimpleNode> children = Lists.newArrayList();
+        for (GraphQLCacheStatistics statistics : GraphQLCaches.getStatistics()) {
+            final SimpleNode cacheNode = new SimpleNode(this) {
+                @Override
+                public SimpleNode[] getChildren() {
+                    return NO_CHILDREN;
+                }
+
+                @Override
+                public String getName() {
+                    return statistics.getName();
+                }
+            };
+            cacheNode.getTemplatePresentation().setLocationString(" - " + statistics.getDescription());
+            cacheNode.setIcon(AllIcons.Nodes.DataTables);
+            children.add(cacheNode);
+        }
+        return children.toArray(SimpleNode.NO_CHILDREN);
+    }
+}
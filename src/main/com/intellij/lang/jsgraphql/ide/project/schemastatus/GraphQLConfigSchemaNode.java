@@ -12,12 +12,14 @@ import com.intellij.icons.AllIcons;
 import com.intellij.ide.projectView.PresentationData;
 import com.intellij.lang.jsgraphql.GraphQLFileType;
 import com.intellij.lang.jsgraphql.icons.JSGraphQLIcons;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLNamedScope;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLConfigData;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLConfigEndpoint;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLResolvedConfigData;
 import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaMetrics;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
 import com.intellij.lang.jsgraphql.schema.GraphQLValidatedSchema;
 import com.intellij.openapi.fileEditor.ex.FileEditorManagerEx;
@@ -134,6 +136,7 @@ public class GraphQLConfigSchemaNode extends CachingSimpleNode {
             if (myValidatedSchema.getRegistry().isProcessedGraphQL()) {
                 children.add(new GraphQLSchemaErrorsListNode(this, myValidatedSchema));
             }
+            children.add(new GraphQLSchemaMetricsNode(this, myProject, GraphQLSchemaMetrics.getInstance(myProject).getScopeMetrics(GraphQLPsiSearchHelper.getInstance(myProject).getSchemaScopeName(configurationEntryFile))));
         }
         if (projectsConfigData != null && !projectsConfigData.isEmpty()) {
             children.add(new GraphQLConfigProjectsNode(this));
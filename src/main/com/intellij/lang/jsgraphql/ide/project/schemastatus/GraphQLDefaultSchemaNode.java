@@ -11,6 +11,7 @@ import com.google.common.collect.Lists;
 import com.intellij.lang.jsgraphql.icons.JSGraphQLIcons;
 import com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper;
 import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaMetrics;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
 import com.intellij.lang.jsgraphql.schema.GraphQLValidatedSchema;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProviderImpl;
@@ -27,15 +28,16 @@ import java.util.List;
 public class GraphQLDefaultSchemaNode extends CachingSimpleNode {
 
     private final GraphQLValidatedSchema myValidatedSchema;
+    private final GraphQLFile myDefaultProjectFile;
 
     protected GraphQLDefaultSchemaNode(Project project, GraphQLSchemasRootNode graphQLSchemasRootNode) {
         super(project, graphQLSchemasRootNode);
         myName = "Default project-wide schema";
         getPresentation().setLocationString(project.getPresentableUrl());
         getPresentation().setIcon(JSGraphQLIcons.Files.GraphQLSchema);
-        final GraphQLFile defaultProjectFile = GraphQLPsiSearchHelper.getInstance(myProject).getDefaultProjectFile();
+        myDefaultProjectFile = GraphQLPsiSearchHelper.getInstance(myProject).getDefaultProjectFile();
         final GraphQLSchemaProvider registry = GraphQLSchemaProvider.getInstance(myProject);
-        myValidatedSchema = registry.getValidatedSchema(defaultProjectFile);
+        myValidatedSchema = registry.getValidatedSchema(myDefaultProjectFile);
     }
 
     @Override
@@ -44,6 +46,7 @@ public class GraphQLDefaultSchemaNode extends CachingSimpleNode {
         if (myValidatedSchema.getRegistry().isProcessedGraphQL()) {
             children.add(new GraphQLSchemaErrorsListNode(this, myValidatedSchema));
         }
+        children.add(new GraphQLSchemaMetricsNode(this, myProject, GraphQLSchemaMetrics.getInstance(myProject).getScopeMetrics(GraphQLPsiSearchHelper.getInstance(myProject).getSchemaScopeName(myDefaultProjectFile))));
         children.add(new GraphQLSchemaEndpointsListNode(this, null, null));
         return children.toArray(SimpleNode.NO_CHILDREN);
     }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project.schemastatus;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.injection.InjectedLanguageManager;
+import com.intellij.lang.jsgraphql.ide.validation.GraphQLSchemaImpactService;
+import com.intellij.lang.jsgraphql.schema.diff.GraphQLSchemaChange;
+import com.intellij.lang.jsgraphql.schema.diff.GraphQLSchemaDiff;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.treeStructure.Tree;
+import com.intellij.util.ui.tree.TreeUtil;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreeSelectionModel;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+/**
+ * Tool window panel that shows the operations and fragments which were broken by the latest schema changes.
+ * The panel listens for new results until it's disposed together with its tool window content.
+ *
+ * @see GraphQLSchemaImpactService
+ */
+public class GraphQLSchemaImpactPanel extends JPanel implements Disposable {
+
+    private final Project myProject;
+    private final Tree myTree;
+    private final DefaultTreeModel myTreeModel;
+
+    public GraphQLSchemaImpactPanel(@NotNull Project project) {
+        super(new BorderLayout());
+        myProject = project;
+        myTreeModel = new DefaultTreeModel(new DefaultMutableTreeNode());
+        myTree = new Tree(myTreeModel);
+        myTree.getEmptyText().setText("No operations or fragments have been broken by schema changes.");
+        myTree.getSelectionModel().setSelectionMode(TreeSelectionModel.SINGLE_TREE_SELECTION);
+        myTree.setRootVisible(false);
+        myTree.setShowsRootHandles(true);
+        myTree.setCellRenderer(new ImpactCellRenderer());
+        TreeUtil.installActions(myTree);
+        new DoubleClickListener() {
+            @Override
+            protected boolean onDoubleClick(MouseEvent event) {
+                return navigateToSelection();
+            }
+        }.installOn(myTree);
+        add(new JBScrollPane(myTree), BorderLayout.CENTER);
+
+        final GraphQLSchemaImpactService impactService = GraphQLSchemaImpactService.getInstance(project);
+        project.getMessageBus().connect(this).subscribe(GraphQLSchemaImpactService.TOPIC,
+            impacts -> ApplicationManager.getApplication().invokeLater(() -> showImpacts(impacts), project.getDisposed()));
+        showImpacts(impactService.getImpacts());
+
+        // take the snapshot of the current schemas that later changes are compared with
+        impactService.analyzeLater();
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    private void showImpacts(@NotNull List<GraphQLSchemaImpactService.Impact> impacts) {
+        final DefaultMutableTreeNode root = new DefaultMutableTreeNode();
+        for (GraphQLSchemaImpactService.Impact impact : impacts) {
+            final DefaultMutableTreeNode impactNode = new DefaultMutableTreeNode(impact);
+            for (GraphQLSchemaChange change : impact.getChanges()) {
+                impactNode.add(new DefaultMutableTreeNode(change));
+            }
+            for (GraphQLSchemaImpactService.BrokenDefinition brokenDefinition : impact.getBrokenDefinitions()) {
+                final DefaultMutableTreeNode definitionNode = new DefaultMutableTreeNode(brokenDefinition);
+                for (GraphQLSchemaImpactService.BrokenDefinition.Error error : brokenDefinition.getErrors()) {
+                    definitionNode.add(new DefaultMutableTreeNode(error));
+                }
+                impactNode.add(definitionNode);
+            }
+            root.add(impactNode);
+        }
+        myTreeModel.setRoot(root);
+        TreeUtil.expand(myTree, 2);
+    }
+
+    private boolean navigateToSelection() {
+        final DefaultMutableTreeNode node = (DefaultMutableTreeNode) myTree.getLastSelectedPathComponent();
+        final Object userObject = node != null ? node.getUserObject() : null;
+        if (userObject instanceof GraphQLSchemaImpactService.BrokenDefinition) {
+            return navigate(((GraphQLSchemaImpactService.BrokenDefinition) userObject).getDefinition());
+        }
+        if (userObject instanceof GraphQLSchemaImpactService.BrokenDefinition.Error) {
+            return navigate(((GraphQLSchemaImpactService.BrokenDefinition.Error) userObject).getElement());
+        }
+        return false;
+    }
+
+    private boolean navigate(@NotNull SmartPsiElementPointer<? extends PsiElement> pointer) {
+        final PsiElement element = pointer.getElement();
+        if (element == null) {
+            return false;
+        }
+        // injected GraphQL has to be opened in the file that hosts it
+        final InjectedLanguageManager injectedLanguageManager = InjectedLanguageManager.getInstance(myProject);
+        final PsiFile file = injectedLanguageManager.getTopLevelFile(element);
+        if (file == null || file.getVirtualFile() == null) {
+            return false;
+        }
+        final int offset = injectedLanguageManager.injectedToHost(element, element.getTextOffset());
+        new OpenFileDescriptor(myProject, file.getVirtualFile(), offset).navigate(true);
+        return true;
+    }
+
+    private static class ImpactCellRenderer extends ColoredTreeCellRenderer {
+
+        @Override
+        public void customizeCellRenderer(@NotNull JTree tree, Object value, boolean selected, boolean expanded, boolean leaf, int row, boolean hasFocus) {
+            final Object userObject = ((DefaultMutableTreeNode) value).getUserObject();
+            if (userObject instanceof GraphQLSchemaImpactService.Impact) {
+                final GraphQLSchemaImpactService.Impact impact = (GraphQLSchemaImpactService.Impact) userObject;
+                setIcon(AllIcons.Nodes.ModuleGroup);
+                append(impact.getScopeName(), SimpleTextAttributes.REGULAR_BOLD_ATTRIBUTES);
+                append("  " + GraphQLSchemaDiff.getSummary(impact.getChanges()) + ", "
+                    + impact.getBrokenDefinitions().size() + " of " + impact.getAffectedDefinitionCount()
+                    + " affected operations and fragments broken", SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            } else if (userObject instanceof GraphQLSchemaChange) {
+                final GraphQLSchemaChange change = (GraphQLSchemaChange) userObject;
+                setIcon(change.getCriticality() == GraphQLSchemaChange.Criticality.BREAKING ? AllIcons.General.Warning : AllIcons.General.Information);
+                append(change.toString());
+            } else if (userObject instanceof GraphQLSchemaImpactService.BrokenDefinition) {
+                final GraphQLSchemaImpactService.BrokenDefinition brokenDefinition = (GraphQLSchemaImpactService.BrokenDefinition) userObject;
+                setIcon(AllIcons.General.Error);
+                append(brokenDefinition.getName());
+                append("  " + brokenDefinition.getFileName() + ":" + (brokenDefinition.getLine() + 1), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            } else if (userObject instanceof GraphQLSchemaImpactService.BrokenDefinition.Error) {
+                append(((GraphQLSchemaImpactService.BrokenDefinition.Error) userObject).getMessage(), SimpleTextAttributes.ERROR_ATTRIBUTES);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project.schemastatus;
+
+import com.google.common.collect.Lists;
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaMetrics;
+import com.intellij.lang.jsgraphql.schema.GraphQLStringInterner;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.treeStructure.CachingSimpleNode;
+import com.intellij.ui.treeStructure.SimpleNode;
+
+import java.util.List;
+
+/**
+ * Tree node with the schema build, validation and index query metrics of a schema, and the strings shared between all schemas
+ */
+public class GraphQLSchemaMetricsNode extends CachingSimpleNode {
+
+    private final GraphQLSchemaMetrics.ScopeMetrics myMetrics;
+    private final GraphQLStringInterner myInterner;
+
+    public GraphQLSchemaMetricsNode(SimpleNode parent, Project project, GraphQLSchemaMetrics.ScopeMetrics metrics) {
+        super(parent);
+        myMetrics = metrics;
+        myInterner = GraphQLStringInterner.getInstance(project);
+        myName = "Performance metrics";
+        getTemplatePresentation().setLocationString("- " + metrics.getFileCount() + " files, " + metrics.getDefinitionCount() + " definitions");
+        getTemplatePresentation().setTooltip("Use the export action in the toolbar to save the metrics of all schemas as JSON");
+        setIcon(AllIcons.Nodes.Folder);
+    }
+
+    @Override
+    public SimpleNode[] buildChildren() {
+        final List<SimpleNode> children = Lists.newArrayList();
+        for (GraphQLSchemaMetrics.Timer timer : GraphQLSchemaMetrics.Timer.values()) {
+            final String description = myMetrics.getTimer(timer).getDescription();
+            final SimpleNode timerNode = new SimpleNode(this) {
+                @Override
+                public SimpleNode[] getChildren() {
+                    return NO_CHILDREN;
+                }
+
+                @Override
+                public String getName() {
+                    return timer.getDisplayName();
+                }
+            };
+            timerNode.getTemplatePresentation().setLocationString("- " + (description != null ? description : "not run yet"));
+            timerNode.setIcon(AllIcons.General.Information);
+            children.add(timerNode);
+        }
+        children.add(createInternerNode());
+        return children.toArray(SimpleNode.NO_CHILDREN);
+    }
+
+    private SimpleNode createInternerNode() {
+        final SimpleNode internerNode = new SimpleNode(this) {
+            @Override
+            public SimpleNode[] getChildren() {
+                return NO_CHILDREN;
+            }
+
+            @Override
+            public String getName() {
+                return "Shared names and descriptions";
+            }
+        };
+        internerNode.getTemplatePresentation().setLocationString("- ~" + StringUtil.formatFileSize(myMetrics.getSavedStringBytes()) + " saved by "
+            + myMetrics.getReplacedStringCount() + " replaced copies (" + myInterner.getSharedCount() + " strings shared by all schemas)");
+        internerNode.getTemplatePresentation().setTooltip(
+            "Equal strings are shared by the schemas of all config projects. The savings are the copies in the sources of the latest build of this schema.");
+        internerNode.setIcon(AllIcons.General.Information);
+        return internerNode;
+    }
+}
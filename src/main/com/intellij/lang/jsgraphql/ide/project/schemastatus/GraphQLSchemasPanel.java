@@ -11,12 +11,18 @@ import com.intellij.icons.AllIcons;
 import com.intellij.ide.BrowserUtil;
 import com.intellij.ide.IdeEventQueue;
 import com.intellij.ide.util.treeView.IndexComparator;
+import com.intellij.lang.jsgraphql.ide.actions.GraphQLDumpCacheStatisticsAction;
 import com.intellij.lang.jsgraphql.ide.editor.GraphQLRerunLatestIntrospectionAction;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.ide.persistedqueries.GraphQLGeneratePersistedQueryManifestAction;
+import com.intellij.lang.jsgraphql.ide.usages.GraphQLShowFieldUsageAction;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeListener;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaMetrics;
 import com.intellij.openapi.actionSystem.*;
 import com.intellij.openapi.application.Application;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.fileEditor.FileEditorManagerEvent;
 import com.intellij.openapi.fileEditor.FileEditorManagerListener;
@@ -25,7 +31,11 @@ import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.IndexNotReadyException;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Condition;
+import com.intellij.openapi.ui.Messages;
 import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
 import com.intellij.ui.IdeBorderFactory;
 import com.intellij.ui.SideBorder;
 import com.intellij.ui.components.JBScrollPane;
@@ -44,6 +54,7 @@ import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreePath;
 import javax.swing.tree.TreeSelectionModel;
 import java.awt.*;
+import java.io.IOException;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -232,6 +243,21 @@ public class GraphQLSchemasPanel extends JPanel {
             leftActionGroup.add(reRunAction);
         }
 
+        final AnAction showFieldUsageAction = ActionManager.getInstance().getAction(GraphQLShowFieldUsageAction.class.getName());
+        if (showFieldUsageAction != null) {
+            leftActionGroup.add(showFieldUsageAction);
+        }
+
+        final AnAction generateManifestAction = ActionManager.getInstance().getAction(GraphQLGeneratePersistedQueryManifestAction.class.getName());
+        if (generateManifestAction != null) {
+            leftActionGroup.add(generateManifestAction);
+        }
+
+        final AnAction dumpCacheStatisticsAction = ActionManager.getInstance().getAction(GraphQLDumpCacheStatisticsAction.class.getName());
+        if (dumpCacheStatisticsAction != null) {
+            leftActionGroup.add(dumpCacheStatisticsAction);
+        }
+
         leftActionGroup.add(new AnAction("Edit selected schema configuration", "Opens the .graphqlconfig file for the selected schema", AllIcons.General.Settings) {
             @Override
             public void actionPerformed(AnActionEvent e) {
@@ -264,6 +290,21 @@ public class GraphQLSchemasPanel extends JPanel {
                 GraphQLConfigManager.getService(myProject).buildConfigurationModel(null, null);
             }
         });
+        leftActionGroup.add(new AnAction("Export schema metrics", "Saves the schema build, validation and cache metrics as JSON, e.g. to attach to a bug report", AllIcons.ToolbarDecorator.Export) {
+            @Override
+            public void actionPerformed(AnActionEvent e) {
+                final FileSaverDescriptor descriptor = new FileSaverDescriptor("Export GraphQL Schema Metrics", "Select the file to save the metrics to", "json");
+                final VirtualFileWrapper fileWrapper = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, myProject)
+                    .save((VirtualFile) null, "graphql-schema-metrics.json");
+                if (fileWrapper != null) {
+                    try {
+                        FileUtil.writeToFile(fileWrapper.getFile(), GraphQLSchemaMetrics.getInstance(myProject).toJson());
+                    } catch (IOException ex) {
+                        Messages.showErrorDialog(myProject, ex.getMessage(), "Unable to Export GraphQL Schema Metrics");
+                    }
+                }
+            }
+        });
         leftActionGroup.add(new AnAction("Help", "Open the JS GraphQL Plugin Documentation", AllIcons.Actions.Help) {
             @Override
             public void actionPerformed(AnActionEvent e) {
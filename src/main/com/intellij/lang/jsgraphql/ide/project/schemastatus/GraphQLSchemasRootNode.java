@@ -51,6 +51,7 @@ public class GraphQLSchemasRootNode extends SimpleNode {
                 children.add(new GraphQLDefaultSchemaNode(myProject, this));
             }
             children.sort(Comparator.comparing(PresentableNodeDescriptor::getName));
+            children.add(new GraphQLCacheStatisticsNode(this));
             return children.toArray(SimpleNode.NO_CHILDREN);
         } catch (IndexNotReadyException e) {
             return SimpleNode.NO_CHILDREN;
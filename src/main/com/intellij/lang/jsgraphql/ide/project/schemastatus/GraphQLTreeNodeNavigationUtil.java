@@ -9,7 +9,7 @@ package com.intellij.lang.jsgraphql.ide.project.schemastatus;
 
 import com.intellij.json.psi.JsonFile;
 import com.intellij.lang.jsgraphql.psi.GraphQLFile;
-import com.intellij.lang.jsgraphql.schema.GraphQLSchemaKeys;
+import com.intellij.lang.jsgraphql.schema.GraphQLIntrospectionSchemaCache;
 import com.intellij.openapi.fileEditor.OpenFileDescriptor;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.StandardFileSystems;
@@ -26,7 +26,7 @@ public final class GraphQLTreeNodeNavigationUtil {
             PsiFile file = PsiManager.getInstance(myProject).findFile(sourceFile);
             if (file != null) {
                 if (file instanceof JsonFile && resolveSDLFromJSON) {
-                    GraphQLFile graphQLFile = file.getUserData(GraphQLSchemaKeys.GRAPHQL_INTROSPECTION_JSON_TO_SDL);
+                    GraphQLFile graphQLFile = GraphQLIntrospectionSchemaCache.getSDLFile(file);
                     if (graphQLFile != null) {
                         // open the SDL file and not the JSON introspection file it was based on
                         file = graphQLFile;
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.usages;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.intellij.lang.injection.InjectedLanguageManager;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLInjectionSearchHelper;
+import com.intellij.lang.jsgraphql.ide.project.indexing.GraphQLFieldUsageIndex;
+import com.intellij.lang.jsgraphql.psi.GraphQLField;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.psi.GraphQLTypeScopeProvider;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeListener;
+import com.intellij.lang.jsgraphql.utils.GraphQLUtil;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import graphql.schema.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Finds the fields that operations and fragments select, grouped by the type that declares them, e.g. "User.email".
+ * <p>
+ * Candidate files are found using the {@link GraphQLFieldUsageIndex}, and the selections in each file are resolved against the
+ * schema once and cached until the file or the schema changes.
+ */
+public class GraphQLFieldUsageService {
+
+    private final Project myProject;
+
+    public static GraphQLFieldUsageService getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, GraphQLFieldUsageService.class);
+    }
+
+    public GraphQLFieldUsageService(@NotNull Project project) {
+        myProject = project;
+    }
+
+    /**
+     * Gets the schema coordinate of a field, e.g. "User.email"
+     */
+    @NotNull
+    public static String getFieldCoordinate(@NotNull String typeName, @NotNull String fieldName) {
+        return typeName + "." + fieldName;
+    }
+
+    /**
+     * Gets the selections of the specified schema field, including selections of the same field on the interfaces that the type
+     * implements, or on the types that implement it if the type is an interface
+     *
+     * @param schema    the schema that declares the type
+     * @param typeName  the name of the object or interface type
+     * @param fieldName the name of the field
+     * @param scope     the scope to find selections in, typically the schema scope
+     */
+    @NotNull
+    public List<GraphQLField> findUsages(@NotNull GraphQLSchema schema, @NotNull String typeName, @NotNull String fieldName, @NotNull GlobalSearchScope scope) {
+        return getUsages(getFieldUsages(Collections.singleton(fieldName), scope), schema, typeName, fieldName);
+    }
+
+    /**
+     * Gets the selections of a schema field from previously found field usages, including the selections on related types
+     *
+     * @see #findUsages(GraphQLSchema, String, String, GlobalSearchScope)
+     */
+    @NotNull
+    public static List<GraphQLField> getUsages(@NotNull Map<String, List<GraphQLField>> fieldUsages,
+                                               @NotNull GraphQLSchema schema,
+                                               @NotNull String typeName,
+                                               @NotNull String fieldName) {
+        final List<GraphQLField> result = Lists.newArrayList();
+        for (String relatedTypeName : getRelatedTypeNames(schema, typeName)) {
+            result.addAll(fieldUsages.getOrDefault(getFieldCoordinate(relatedTypeName, fieldName), Collections.emptyList()));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the selections of the fields with the specified names, keyed by field coordinate
+     */
+    @NotNull
+    public Map<String, List<GraphQLField>> getFieldUsages(@NotNull Collection<String> fieldNames, @NotNull GlobalSearchScope scope) {
+        final Set<VirtualFile> files = Sets.newHashSet();
+        try {
+            final FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+            for (String fieldName : fieldNames) {
+                files.addAll(fileBasedIndex.getContainingFiles(GraphQLFieldUsageIndex.NAME, fieldName, scope));
+            }
+        } catch (IndexNotReadyException e) {
+            // can't search yet (e.g. during project startup)
+            return Collections.emptyMap();
+        }
+
+        final Map<String, List<GraphQLField>> result = Maps.newHashMap();
+        final PsiManager psiManager = PsiManager.getInstance(myProject);
+        for (VirtualFile file : files) {
+            final PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile == null) {
+                continue;
+            }
+            getFieldUsages(psiFile).forEach((coordinate, fields) -> {
+                final int dot = coordinate.lastIndexOf('.');
+                if (dot != -1 && fieldNames.contains(coordinate.substring(dot + 1))) {
+                    result.computeIfAbsent(coordinate, c -> Lists.newArrayList()).addAll(fields);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Gets all the field selections in a file, including injected GraphQL, keyed by field coordinate
+     */
+    @NotNull
+    public Map<String, List<GraphQLField>> getFieldUsages(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(
+            collectFieldUsages(file),
+            file,
+            GraphQLSchemaChangeListener.getService(myProject).getSchemaModificationTracker()
+        ));
+    }
+
+    @NotNull
+    private Map<String, List<GraphQLField>> collectFieldUsages(@NotNull PsiFile file) {
+        final Map<String, List<GraphQLField>> usages = Maps.newHashMap();
+        if (file instanceof GraphQLFile) {
+            collectFieldUsages(file, usages);
+            return usages;
+        }
+        final GraphQLInjectionSearchHelper injectionSearchHelper = ServiceManager.getService(GraphQLInjectionSearchHelper.class);
+        if (injectionSearchHelper == null) {
+            return usages;
+        }
+        final InjectedLanguageManager injectedLanguageManager = InjectedLanguageManager.getInstance(myProject);
+        file.accept(new PsiRecursiveElementVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (element instanceof PsiLanguageInjectionHost && injectionSearchHelper.isJSGraphQLLanguageInjectionTarget(element)) {
+                    injectedLanguageManager.enumerate(element, (injectedPsi, places) -> collectFieldUsages(injectedPsi, usages));
+                    return;
+                }
+                super.visitElement(element);
+            }
+        });
+        return usages;
+    }
+
+    private static void collectFieldUsages(@NotNull PsiFile graphQLFile, @NotNull Map<String, List<GraphQLField>> usages) {
+        for (GraphQLField field : PsiTreeUtil.findChildrenOfType(graphQLFile, GraphQLField.class)) {
+            final String fieldName = field.getName();
+            final String parentTypeName = fieldName != null ? getParentTypeName(field) : null;
+            if (parentTypeName != null) {
+                usages.computeIfAbsent(getFieldCoordinate(parentTypeName, fieldName), c -> Lists.newArrayList()).add(field);
+            }
+        }
+    }
+
+    @Nullable
+    private static String getParentTypeName(@NotNull GraphQLField field) {
+        final GraphQLTypeScopeProvider parentTypeScopeProvider = PsiTreeUtil.getParentOfType(field, GraphQLTypeScopeProvider.class);
+        final GraphQLType parentType = parentTypeScopeProvider != null ? parentTypeScopeProvider.getTypeScope() : null;
+        return parentType != null ? GraphQLUtil.getUnmodifiedType(parentType).getName() : null;
+    }
+
+    /**
+     * Gets the type and the types that a selection of its fields can be made on, i.e. its interfaces, or the implementations of an interface
+     */
+    @NotNull
+    private static Set<String> getRelatedTypeNames(@NotNull GraphQLSchema schema, @NotNull String typeName) {
+        final Set<String> typeNames = Sets.newLinkedHashSet();
+        typeNames.add(typeName);
+        final GraphQLType type = schema.getType(typeName);
+        if (type instanceof GraphQLObjectType) {
+            for (GraphQLNamedOutputType interfaceType : ((GraphQLObjectType) type).getInterfaces()) {
+                typeNames.add(interfaceType.getName());
+            }
+        } else if (type instanceof GraphQLInterfaceType) {
+            for (GraphQLObjectType implementation : schema.getImplementations((GraphQLInterfaceType) type)) {
+                typeNames.add(implementation.getName());
+            }
+        }
+        return typeNames;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.usages;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper;
+import com.intellij.lang.jsgraphql.psi.GraphQLField;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.fileTypes.PlainTextLanguage;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.search.GlobalSearchScope;
+import graphql.schema.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shows how many times each field of the object and interface types in the schema is selected by operations and fragments,
+ * with the most used fields first and the unused fields last.
+ * The schema is the one of the GraphQL file in the current editor, or the default project-wide schema.
+ */
+public class GraphQLShowFieldUsageAction extends AnAction {
+
+    public GraphQLShowFieldUsageAction() {
+        super("Show Schema Field Usage", "Shows how often each schema field is selected by operations and fragments, and which fields are unused", AllIcons.Actions.Find);
+    }
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        final Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        final PsiFile editorFile = e.getData(CommonDataKeys.PSI_FILE);
+        final PsiElement scopedElement = editorFile instanceof GraphQLFile ? editorFile : GraphQLPsiSearchHelper.getInstance(project).getDefaultProjectFile();
+
+        final String report = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+            () -> ReadAction.compute(() -> createReport(project, scopedElement)),
+            "Finding Schema Field Usages", true, project);
+
+        final PsiFile file = PsiFileFactory.getInstance(project).createFileFromText("graphql-field-usage.txt", PlainTextLanguage.INSTANCE, report);
+        new OpenFileDescriptor(project, file.getVirtualFile()).navigate(true);
+    }
+
+    @NotNull
+    private static String createReport(@NotNull Project project, @NotNull PsiElement scopedElement) {
+        final GraphQLSchema schema = GraphQLSchemaProvider.getInstance(project).getTolerantSchema(scopedElement);
+        final List<GraphQLFieldsContainer> types = Lists.newArrayList();
+        final Set<String> fieldNames = Sets.newHashSet();
+        for (GraphQLType type : schema.getAllTypesAsList()) {
+            if ((type instanceof GraphQLObjectType || type instanceof GraphQLInterfaceType) && !((GraphQLFieldsContainer) type).getName().startsWith("__")) {
+                types.add((GraphQLFieldsContainer) type);
+                for (GraphQLFieldDefinition fieldDefinition : ((GraphQLFieldsContainer) type).getFieldDefinitions()) {
+                    fieldNames.add(fieldDefinition.getName());
+                }
+            }
+        }
+
+        final GlobalSearchScope schemaScope = GraphQLPsiSearchHelper.getInstance(project).getSchemaScope(scopedElement);
+        final Map<String, List<GraphQLField>> fieldUsages = GraphQLFieldUsageService.getInstance(project).getFieldUsages(fieldNames, schemaScope);
+
+        final List<FieldUsage> usedFields = Lists.newArrayList();
+        final List<String> unusedFields = Lists.newArrayList();
+        for (GraphQLFieldsContainer type : types) {
+            for (GraphQLFieldDefinition fieldDefinition : type.getFieldDefinitions()) {
+                final String coordinate = GraphQLFieldUsageService.getFieldCoordinate(type.getName(), fieldDefinition.getName());
+                final List<GraphQLField> usages = GraphQLFieldUsageService.getUsages(fieldUsages, schema, type.getName(), fieldDefinition.getName());
+                if (usages.isEmpty()) {
+                    unusedFields.add(coordinate);
+                } else {
+                    final Set<PsiFile> files = Sets.newHashSet();
+                    for (GraphQLField usage : usages) {
+                        files.add(usage.getContainingFile());
+                    }
+                    usedFields.add(new FieldUsage(coordinate, usages.size(), files.size()));
+                }
+            }
+        }
+        usedFields.sort(Comparator.comparingInt((FieldUsage usage) -> usage.mySelections).reversed().thenComparing(usage -> usage.myCoordinate));
+        unusedFields.sort(Comparator.naturalOrder());
+
+        final StringBuilder report = new StringBuilder();
+        report.append("Schema field usage: ").append(usedFields.size()).append(" used, ").append(unusedFields.size()).append(" unused\n\n");
+        report.append("Used fields (selections, files):\n");
+        for (FieldUsage usage : usedFields) {
+            report.append(String.format("%8d %6d  %s\n", usage.mySelections, usage.myFiles, usage.myCoordinate));
+        }
+        report.append("\nUnused fields:\n");
+        for (String coordinate : unusedFields) {
+            report.append("  ").append(coordinate).append('\n');
+        }
+        return report.toString();
+    }
+
+    private static final class FieldUsage {
+
+        private final String myCoordinate;
+        private final int mySelections;
+        private final int myFiles;
+
+        FieldUsage(@NotNull String coordinate, int selections, int files) {
+            myCoordinate = coordinate;
+            mySelections = selections;
+            myFiles = files;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.usages;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper;
+import com.intellij.lang.jsgraphql.psi.GraphQLFieldDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLIdentifier;
+import com.intellij.lang.jsgraphql.psi.GraphQLNamedElement;
+import com.intellij.lang.jsgraphql.psi.impl.GraphQLTypeNameDefinitionOwnerPsiElement;
+import com.intellij.lang.jsgraphql.psi.impl.GraphQLTypeNameExtensionOwnerPsiElement;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.util.PsiTreeUtil;
+import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reports fields of object and interface types in the schema which aren't selected by any operation or fragment in the schema scope.
+ */
+public class GraphQLUnusedFieldInspection extends LocalInspectionTool {
+
+    @NotNull
+    @Override
+    public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        return new PsiElementVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (element instanceof GraphQLFieldDefinition) {
+                    checkFieldDefinition((GraphQLFieldDefinition) element, holder);
+                }
+            }
+        };
+    }
+
+    private static void checkFieldDefinition(@NotNull GraphQLFieldDefinition fieldDefinition, @NotNull ProblemsHolder holder) {
+        final GraphQLIdentifier nameIdentifier = fieldDefinition.getNameIdentifier();
+        final String typeName = getTypeName(fieldDefinition);
+        if (nameIdentifier == null || typeName == null) {
+            return;
+        }
+        final Project project = fieldDefinition.getProject();
+        final GraphQLSchema schema = GraphQLSchemaProvider.getInstance(project).getTolerantSchema(fieldDefinition);
+        final GraphQLType type = schema.getType(typeName);
+        if (!(type instanceof GraphQLObjectType) && !(type instanceof GraphQLInterfaceType)) {
+            return;
+        }
+        final String fieldName = nameIdentifier.getText();
+        final GraphQLFieldUsageService usageService = GraphQLFieldUsageService.getInstance(project);
+        if (usageService.findUsages(schema, typeName, fieldName, GraphQLPsiSearchHelper.getInstance(project).getSchemaScope(fieldDefinition)).isEmpty()) {
+            holder.registerProblem(nameIdentifier,
+                "Field '" + GraphQLFieldUsageService.getFieldCoordinate(typeName, fieldName) + "' is not selected by any operation or fragment",
+                ProblemHighlightType.LIKE_UNUSED_SYMBOL);
+        }
+    }
+
+    @Nullable
+    private static String getTypeName(@NotNull GraphQLFieldDefinition fieldDefinition) {
+        final PsiElement owner = PsiTreeUtil.getParentOfType(fieldDefinition, GraphQLTypeNameDefinitionOwnerPsiElement.class, GraphQLTypeNameExtensionOwnerPsiElement.class);
+        GraphQLNamedElement typeName = null;
+        if (owner instanceof GraphQLTypeNameDefinitionOwnerPsiElement) {
+            typeName = ((GraphQLTypeNameDefinitionOwnerPsiElement) owner).getTypeNameDefinition();
+        } else if (owner instanceof GraphQLTypeNameExtensionOwnerPsiElement) {
+            typeName = ((GraphQLTypeNameExtensionOwnerPsiElement) owner).getTypeName();
+        }
+        return typeName != null ? typeName.getName() : null;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.validation;
+
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectStarter;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * Validates the GraphQL of a project from the command line, e.g. on a build server:
+ * <pre>
+ * idea graphql-validate &lt;project path&gt; [--threads &lt;count&gt;]
+ * </pre>
+ * Problems are printed as "path:line:column: error: message" while the files are validated, followed by a summary with the throughput.
+ * Exits with status 1 if errors were found.
+ */
+public class GraphQLBatchValidationStarter extends GraphQLConfigProjectStarter {
+
+    private int myThreadCount = Runtime.getRuntime().availableProcessors();
+
+    @Override
+    public String getCommandName() {
+        return "graphql-validate";
+    }
+
+    @NotNull
+    @Override
+    protected String getOptionsUsage() {
+        return " [--threads <count>]";
+    }
+
+    @Override
+    protected boolean parseOptions(@NotNull String[] options) {
+        for (int i = 0; i < options.length; i++) {
+            if (!"--threads".equals(options[i]) || i + 1 == options.length) {
+                return false;
+            }
+            myThreadCount = StringUtil.parseInt(options[++i], -1);
+            if (myThreadCount < 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getThreadCount() {
+        return myThreadCount;
+    }
+
+    @Override
+    protected int run(@NotNull Project project) throws Exception {
+        final GraphQLBatchValidator.Summary summary = new GraphQLBatchValidator(project, myThreadCount).validate(result -> {
+            if (result.getProblems().isEmpty()) {
+                return;
+            }
+            // keep the lines of a file together when several workers finish at the same time
+            final StringBuilder lines = new StringBuilder();
+            for (GraphQLBatchValidator.Problem problem : result.getProblems()) {
+                lines.append(result.getPath()).append(':').append(problem.getLine()).append(':').append(problem.getColumn())
+                    .append(problem.isError() ? ": error: " : ": warning: ").append(problem.getMessage()).append('\n');
+            }
+            System.out.print(lines);
+            System.out.flush();
+        });
+
+        System.out.println(String.format(Locale.ROOT, "Validated %d files in %.1f s (%.0f files/sec) using %d threads: %d errors, %d warnings",
+            summary.getFileCount(),
+            summary.getElapsedNanos() / 1_000_000_000.0,
+            summary.getFilesPerSecond(),
+            myThreadCount,
+            summary.getErrorCount(),
+            summary.getWarningCount()));
+        return summary.getErrorCount() > 0 ? 1 : 0;
+    }
+}
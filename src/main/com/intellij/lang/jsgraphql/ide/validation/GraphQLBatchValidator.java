@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.validation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.intellij.lang.annotation.Annotation;
+import com.intellij.lang.annotation.Annotator;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.lang.injection.InjectedLanguageManager;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import graphql.AssertException;
+import graphql.schema.idl.errors.SchemaProblem;
+import graphql.schema.validation.InvalidSchemaException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Validates all the GraphQL in the graphql-config projects of a project outside the editor, e.g. on a build server.
+ * <p>
+ * Files are validated by the same annotators as the editor uses, i.e. the reference checks of {@link GraphQLValidationAnnotator} and
+ * the graphql-java rules of {@link GraphQLSchemaValidationAnnotator}, on a pool of worker threads. The schema of each config project is
+ * built once before its files are dispatched, so the workers share the cached schema. Results are passed on as soon as a file is validated.
+ */
+public class GraphQLBatchValidator {
+
+    private static final Logger LOG = Logger.getInstance(GraphQLBatchValidator.class);
+
+    private final Project myProject;
+    private final int myThreadCount;
+    private final List<Supplier<Annotator>> myAnnotators;
+
+    /**
+     * @param threadCount the number of files to validate in parallel
+     */
+    public GraphQLBatchValidator(@NotNull Project project, int threadCount) {
+        this(project, threadCount, Lists.<Supplier<Annotator>>newArrayList(GraphQLValidationAnnotator::new, GraphQLSchemaValidationAnnotator::new));
+    }
+
+    /**
+     * @param annotators creates the annotators that validate a file, once per file
+     */
+    GraphQLBatchValidator(@NotNull Project project, int threadCount, @NotNull List<Supplier<Annotator>> annotators) {
+        myProject = project;
+        myThreadCount = Math.max(1, threadCount);
+        myAnnotators = annotators;
+    }
+
+    /**
+     * Validates the files of every config project. Files that are part of several config projects are only validated once.
+     *
+     * @param consumer receives the result of each file as it's validated, called from the worker threads
+     */
+    @NotNull
+    public Summary validate(@NotNull Consumer<FileResult> consumer) throws InterruptedException {
+        final long start = System.nanoTime();
+        final GraphQLConfigProjectHelper configProjectHelper = GraphQLConfigProjectHelper.getInstance(myProject);
+        final GraphQLSchemaProvider schemaProvider = GraphQLSchemaProvider.getInstance(myProject);
+        final AtomicInteger fileCount = new AtomicInteger();
+        final AtomicInteger errorCount = new AtomicInteger();
+        final AtomicInteger warningCount = new AtomicInteger();
+        final Set<PsiFile> validatedFiles = Sets.newHashSet();
+        final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("GraphQL Batch Validation", myThreadCount);
+        try {
+            for (GraphQLConfigProjectHelper.ConfigProject configProject : ReadAction.compute(configProjectHelper::getConfigProjects)) {
+                final List<PsiFile> files = ReadAction.compute(() -> {
+                    try {
+                        // build the schema of the config project up front, rather than in every worker that starts on one of its files
+                        schemaProvider.getValidatedSchema(configProject.getEntryFile());
+                    } catch (SchemaProblem | InvalidSchemaException | AssertException e) {
+                        LOG.warn("Unable to build the schema of " + configProject.getName(), e);
+                    }
+                    return configProjectHelper.getFiles(configProject.getEntryFile());
+                });
+                final List<Future<?>> futures = Lists.newArrayList();
+                for (PsiFile file : files) {
+                    if (!validatedFiles.add(file)) {
+                        continue;
+                    }
+                    futures.add(executor.submit(() -> {
+                        final FileResult result = ReadAction.compute(() -> validateFile(file));
+                        fileCount.incrementAndGet();
+                        for (Problem problem : result.getProblems()) {
+                            (problem.isError() ? errorCount : warningCount).incrementAndGet();
+                        }
+                        consumer.accept(result);
+                    }));
+                }
+                // finish the files of a config project before building the next schema
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        LOG.error("Unable to validate GraphQL file", e.getCause());
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Summary(fileCount.get(), errorCount.get(), warningCount.get(), System.nanoTime() - start);
+    }
+
+    @NotNull
+    private FileResult validateFile(@NotNull PsiFile file) {
+        final GraphQLCollectingAnnotationHolder holder = new GraphQLCollectingAnnotationHolder(file);
+        final List<Annotator> annotators = Lists.newArrayList();
+        myAnnotators.forEach(annotator -> annotators.add(annotator.get()));
+        final List<PsiErrorElement> syntaxErrors = Lists.newArrayList();
+        PsiTreeUtil.processElements(file, element -> {
+            if (element instanceof PsiErrorElement) {
+                syntaxErrors.add((PsiErrorElement) element);
+            }
+            for (Annotator annotator : annotators) {
+                holder.annotate(annotator, element);
+            }
+            return true;
+        });
+
+        // report the locations in the file that hosts injected GraphQL
+        final InjectedLanguageManager injectedLanguageManager = InjectedLanguageManager.getInstance(myProject);
+        final PsiFile topLevelFile = injectedLanguageManager.getTopLevelFile(file);
+        final Document document = PsiDocumentManager.getInstance(myProject).getDocument(topLevelFile);
+        final List<Problem> problems = Lists.newArrayList();
+        for (PsiErrorElement syntaxError : syntaxErrors) {
+            final int offset = injectedLanguageManager.injectedToHost(file, syntaxError.getTextOffset());
+            problems.add(createProblem(document, offset, true, syntaxError.getErrorDescription()));
+        }
+        for (Annotation annotation : holder.getAnnotations()) {
+            final boolean error = annotation.getSeverity().compareTo(HighlightSeverity.ERROR) >= 0;
+            if ((!error && annotation.getSeverity().compareTo(HighlightSeverity.WARNING) < 0) || annotation.getMessage() == null) {
+                // silent annotations only highlight in the editor
+                continue;
+            }
+            final int offset = injectedLanguageManager.injectedToHost(file, annotation.getStartOffset());
+            problems.add(createProblem(document, offset, error, annotation.getMessage()));
+        }
+        problems.sort(Comparator.comparingInt(Problem::getLine).thenComparingInt(Problem::getColumn));
+
+        final String path = topLevelFile.getVirtualFile() != null ? topLevelFile.getVirtualFile().getPath() : topLevelFile.getName();
+        return new FileResult(path, problems);
+    }
+
+    @NotNull
+    private static Problem createProblem(@Nullable Document document, int offset, boolean error, @NotNull String message) {
+        if (document == null) {
+            return new Problem(0, 0, error, message);
+        }
+        final int line = document.getLineNumber(Math.min(offset, document.getTextLength()));
+        return new Problem(line + 1, offset - document.getLineStartOffset(line) + 1, error, message);
+    }
+
+    /**
+     * The problems in a GraphQL file, or in one injected GraphQL fragment of a host file
+     */
+    public static final class FileResult {
+
+        private final String myPath;
+        private final List<Problem> myProblems;
+
+        FileResult(@NotNull String path, @NotNull List<Problem> problems) {
+            myPath = path;
+            myProblems = problems;
+        }
+
+        @NotNull
+        public String getPath() {
+            return myPath;
+        }
+
+        @NotNull
+        public List<Problem> getProblems() {
+            return myProblems;
+        }
+    }
+
+    /**
+     * An error or warning at a 1-based line and column
+     */
+    public static final class Problem {
+
+        private final int myLine;
+        private final int myColumn;
+        private final boolean myError;
+        private final String myMessage;
+
+        Problem(int line, int column, boolean error, @NotNull String message) {
+            myLine = line;
+            myColumn = column;
+            myError = error;
+            myMessage = message;
+        }
+
+        public int getLine() {
+            return myLine;
+        }
+
+        public int getColumn() {
+            return myColumn;
+        }
+
+        public boolean isError() {
+            return myError;
+        }
+
+        @NotNull
+        public String getMessage() {
+            return myMessage;
+        }
+    }
+
+    public static final class Summary {
+
+        private final int myFileCount;
+        private final int myErrorCount;
+        private final int myWarningCount;
+        private final long myElapsedNanos;
+
+        Summary(int fileCount, int errorCount, int warningCount, long elapsedNanos) {
+            myFileCount = fileCount;
+            myErrorCount = errorCount;
+            myWarningCount = warningCount;
+            myElapsedNanos = elapsedNanos;
+        }
+
+        public int getFileCount() {
+            return myFileCount;
+        }
+
+        public int getErrorCount() {
+            return myErrorCount;
+        }
+
+        public int getWarningCount() {
+            return myWarningCount;
+        }
+
+        public long getElapsedNanos() {
+            return myElapsedNanos;
+        }
+
+        public double getFilesPerSecond() {
+            return myElapsedNanos > 0 ? myFileCount / (myElapsedNanos / 1_000_000_000.0) : 0;
+        }
+    }
+}
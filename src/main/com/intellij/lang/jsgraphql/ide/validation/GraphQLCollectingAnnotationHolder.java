@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.validation;
+
+import com.google.common.collect.Lists;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.annotation.Annotation;
+import com.intellij.lang.annotation.AnnotationBuilder;
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.AnnotationSession;
+import com.intellij.lang.annotation.Annotator;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the annotations of the GraphQL annotators when they run outside the editor, e.g. in {@link GraphQLBatchValidator}.
+ * <p>
+ * Both the createXXXAnnotation methods and the annotation builder are supported. Only the severity, range, message and tooltip
+ * are collected, since text attributes, gutter icons and quick fixes don't apply outside the editor.
+ */
+final class GraphQLCollectingAnnotationHolder implements AnnotationHolder {
+
+    private final AnnotationSession mySession;
+    private final List<Annotation> myAnnotations = Lists.newArrayList();
+    private PsiElement myCurrentElement;
+
+    GraphQLCollectingAnnotationHolder(@NotNull PsiFile file) {
+        mySession = new AnnotationSession(file);
+    }
+
+    /**
+     * Runs the annotator on an element, which is the default range of the annotations it builds
+     */
+    void annotate(@NotNull Annotator annotator, @NotNull PsiElement element) {
+        myCurrentElement = element;
+        try {
+            annotator.annotate(element, this);
+        } finally {
+            myCurrentElement = null;
+        }
+    }
+
+    /**
+     * Gets the annotations in the order they were created
+     */
+    @NotNull
+    List<Annotation> getAnnotations() {
+        return Collections.unmodifiableList(myAnnotations);
+    }
+
+    @Override
+    public Annotation createErrorAnnotation(@NotNull PsiElement element, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.ERROR, element.getTextRange(), message);
+    }
+
+    @Override
+    public Annotation createErrorAnnotation(@NotNull ASTNode node, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.ERROR, node.getTextRange(), message);
+    }
+
+    @Override
+    public Annotation createErrorAnnotation(@NotNull TextRange range, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.ERROR, range, message);
+    }
+
+    @Override
+    public Annotation createWarningAnnotation(@NotNull PsiElement element, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.WARNING, element.getTextRange(), message);
+    }
+
+    @Override
+    public Annotation createWarningAnnotation(@NotNull ASTNode node, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.WARNING, node.getTextRange(), message);
+    }
+
+    @Override
+    public Annotation createWarningAnnotation(@NotNull TextRange range, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.WARNING, range, message);
+    }
+
+    @Override
+    public Annotation createWeakWarningAnnotation(@NotNull PsiElement element, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.WEAK_WARNING, element.getTextRange(), message);
+    }
+
+    @Override
+    public Annotation createWeakWarningAnnotation(@NotNull ASTNode node, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.WEAK_WARNING, node.getTextRange(), message);
+    }
+
+    @Override
+    public Annotation createWeakWarningAnnotation(@NotNull TextRange range, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.WEAK_WARNING, range, message);
+    }
+
+    @Override
+    public Annotation createInfoAnnotation(@NotNull PsiElement element, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.INFORMATION, element.getTextRange(), message);
+    }
+
+    @Override
+    public Annotation createInfoAnnotation(@NotNull ASTNode node, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.INFORMATION, node.getTextRange(), message);
+    }
+
+    @Override
+    public Annotation createInfoAnnotation(@NotNull TextRange range, @Nullable String message) {
+        return createAnnotation(HighlightSeverity.INFORMATION, range, message);
+    }
+
+    @Override
+    public Annotation createAnnotation(@NotNull HighlightSeverity severity, @NotNull TextRange range, @Nullable String message) {
+        return createAnnotation(severity, range, message, message);
+    }
+
+    @Override
+    public Annotation createAnnotation(@NotNull HighlightSeverity severity,
+                                       @NotNull TextRange range,
+                                       @Nullable String message,
+                                       @Nullable String htmlTooltip) {
+        final Annotation annotation = new Annotation(range.getStartOffset(), range.getEndOffset(), severity, message, htmlTooltip);
+        myAnnotations.add(annotation);
+        return annotation;
+    }
+
+    @NotNull
+    @Override
+    public AnnotationBuilder newAnnotation(@NotNull HighlightSeverity severity, @NotNull String message) {
+        return new AnnotationBuilderHandler(severity, message).myBuilder;
+    }
+
+    @NotNull
+    @Override
+    public AnnotationBuilder newSilentAnnotation(@NotNull HighlightSeverity severity) {
+        return new AnnotationBuilderHandler(severity, null).myBuilder;
+    }
+
+    @NotNull
+    @Override
+    public AnnotationSession getCurrentAnnotationSession() {
+        return mySession;
+    }
+
+    @Override
+    public boolean isBatchMode() {
+        return true;
+    }
+
+    /**
+     * Implements the annotation builder of an annotation. The builder interfaces gain methods in each platform version, so they're
+     * implemented with proxies that keep the range and tooltip, and return the builder from the methods that only apply in the editor.
+     */
+    private final class AnnotationBuilderHandler implements InvocationHandler {
+
+        private final HighlightSeverity mySeverity;
+        private final String myMessage;
+        private final AnnotationBuilder myBuilder;
+        private TextRange myRange;
+        private String myTooltip;
+        private Annotation myAnnotation;
+
+        AnnotationBuilderHandler(@NotNull HighlightSeverity severity, @Nullable String message) {
+            mySeverity = severity;
+            myMessage = message;
+            myTooltip = message;
+            myRange = myCurrentElement != null ? myCurrentElement.getTextRange() : null;
+            myBuilder = (AnnotationBuilder) createProxy(AnnotationBuilder.class, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "range":
+                    myRange = getRange(args[0]);
+                    return proxy;
+                case "tooltip":
+                    myTooltip = (String) args[0];
+                    return proxy;
+                case "create":
+                    create();
+                    return null;
+                case "createAnnotation":
+                    return create();
+                default:
+                    return invokeOther(proxy, method, args, myBuilder);
+            }
+        }
+
+        @NotNull
+        private Annotation create() {
+            if (myAnnotation == null) {
+                if (myRange == null) {
+                    throw new IllegalStateException("The range of the annotation is required outside the annotator");
+                }
+                myAnnotation = createAnnotation(mySeverity, myRange, myMessage, myTooltip);
+            }
+            return myAnnotation;
+        }
+    }
+
+    /**
+     * Handles the methods that don't affect the collected annotation, e.g. text attributes or the quick fix builders
+     */
+    @Nullable
+    private static Object invokeOther(@NotNull Object proxy, @NotNull Method method, @Nullable Object[] args, @NotNull AnnotationBuilder builder) {
+        final Class<?> returnType = method.getReturnType();
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return proxy.getClass().getInterfaces()[0].getSimpleName();
+            }
+        }
+        if (returnType.isInstance(proxy)) {
+            return proxy;
+        }
+        if (returnType == AnnotationBuilder.class) {
+            return builder;
+        }
+        if (returnType.isInterface()) {
+            // e.g. the fix builder, which returns to the annotation builder when the fix is registered
+            return createProxy(returnType, (fixProxy, fixMethod, fixArgs) -> invokeOther(fixProxy, fixMethod, fixArgs, builder));
+        }
+        return returnType == boolean.class ? false : null;
+    }
+
+    @NotNull
+    private static Object createProxy(@NotNull Class<?> type, @NotNull InvocationHandler handler) {
+        return Proxy.newProxyInstance(GraphQLCollectingAnnotationHolder.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @NotNull
+    private static TextRange getRange(@NotNull Object rangeOwner) {
+        if (rangeOwner instanceof PsiElement) {
+            return ((PsiElement) rangeOwner).getTextRange();
+        }
+        if (rangeOwner instanceof ASTNode) {
+            return ((ASTNode) rangeOwner).getTextRange();
+        }
+        return (TextRange) rangeOwner;
+    }
+}
@@ -0,0 +1,585 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.validation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.intellij.lang.injection.InjectedLanguageManager;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper;
+import com.intellij.lang.jsgraphql.ide.usages.GraphQLFieldUsageService;
+import com.intellij.lang.jsgraphql.psi.GraphQLDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLField;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.psi.GraphQLFragmentDefinition;
+import com.intellij.lang.jsgraphql.psi.GraphQLOperationDefinition;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeListener;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
+import com.intellij.lang.jsgraphql.schema.diff.GraphQLSchemaChange;
+import com.intellij.lang.jsgraphql.schema.diff.GraphQLSchemaDiff;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.Alarm;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.messages.Topic;
+import graphql.AssertException;
+import graphql.language.*;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.errors.SchemaProblem;
+import graphql.schema.validation.InvalidSchemaException;
+import graphql.validation.ValidationError;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+
+import java.util.*;
+
+/**
+ * Finds the operations and fragments that are affected when a schema changes, and re-validates only those in the background to
+ * report the definitions which the change broke, including definitions in files that aren't open in an editor.
+ * <p>
+ * Each schema scope is compared with the snapshot taken by the previous analysis using {@link GraphQLSchemaDiff}. Only breaking
+ * and dangerous changes are considered, and the affected definitions are found using the field usage index and the identifier index.
+ * A definition is reported when it has validation errors against the new schema that it didn't have against the old schema.
+ * While a scope has broken definitions its snapshot isn't advanced, so the report stays until the breaking change is reverted or the
+ * definitions are fixed, rather than until the next unrelated schema edit.
+ */
+public class GraphQLSchemaImpactService implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(GraphQLSchemaImpactService.class);
+
+    public static final Topic<Listener> TOPIC = new Topic<>("GraphQL Schema Impact Analyzed", Listener.class);
+
+    /**
+     * Schema changes are typically made by typing in an SDL file, so wait for a pause before analyzing
+     */
+    private static final int ANALYSIS_DELAY_MILLIS = 1500;
+
+    private final Project myProject;
+    private final Alarm myAlarm;
+    private final Map<String, Snapshot> mySnapshots = Maps.newConcurrentMap();
+    private volatile List<Impact> myImpacts = Collections.emptyList();
+
+    public static GraphQLSchemaImpactService getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, GraphQLSchemaImpactService.class);
+    }
+
+    public GraphQLSchemaImpactService(@NotNull Project project) {
+        myProject = project;
+        myAlarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, this);
+        project.getMessageBus().connect(this).subscribe(GraphQLSchemaChangeListener.TOPIC, schemaVersion -> analyzeLater());
+    }
+
+    /**
+     * Gets the impact of the outstanding schema changes in each schema scope that has breaking or dangerous changes
+     */
+    @NotNull
+    public List<Impact> getImpacts() {
+        return myImpacts;
+    }
+
+    /**
+     * Schedules an analysis of the schema changes since the previous analysis. The first analysis of a scope only takes the snapshot
+     * that later changes are compared with.
+     */
+    public void analyzeLater() {
+        myAlarm.cancelAllRequests();
+        myAlarm.addRequest(() -> ReadAction.nonBlocking(this::analyze)
+            .inSmartMode(myProject)
+            .expireWith(this)
+            .submit(AppExecutorUtil.getAppExecutorService())
+            .onSuccess(this::update), ANALYSIS_DELAY_MILLIS);
+    }
+
+    /**
+     * Analyzes the schema changes since the previous analysis right away
+     */
+    @TestOnly
+    public void analyzeNow() {
+        myAlarm.cancelAllRequests();
+        update(ReadAction.compute(this::analyze));
+    }
+
+    private void update(@NotNull Analysis analysis) {
+        mySnapshots.keySet().retainAll(analysis.mySnapshots.keySet());
+        mySnapshots.putAll(analysis.mySnapshots);
+
+        // the impacts of scopes that weren't re-analyzed, e.g. because their schema didn't change or has errors, still apply
+        final List<Impact> impacts = Lists.newArrayList(analysis.myImpacts);
+        for (Impact impact : myImpacts) {
+            if (!analysis.myAnalyzedScopes.contains(impact.getScopeName()) && analysis.mySnapshots.containsKey(impact.getScopeName())) {
+                impacts.add(impact);
+            }
+        }
+        if (impacts.isEmpty() && myImpacts.isEmpty()) {
+            return;
+        }
+        impacts.sort(Comparator.comparing(Impact::getScopeName));
+        myImpacts = Collections.unmodifiableList(impacts);
+        if (!myProject.isDisposed()) {
+            // publish empty results too, so the report of changes that were reverted or fixed is cleared
+            myProject.getMessageBus().syncPublisher(TOPIC).onSchemaImpactAnalyzed(myImpacts);
+        }
+    }
+
+    @NotNull
+    private Analysis analyze() {
+        final Analysis analysis = new Analysis();
+        final GraphQLSchemaProvider schemaProvider = GraphQLSchemaProvider.getInstance(myProject);
+        final GraphQLConfigProjectHelper configProjectHelper = GraphQLConfigProjectHelper.getInstance(myProject);
+        for (GraphQLConfigProjectHelper.ConfigProject configProject : configProjectHelper.getConfigProjects()) {
+            final GraphQLFile entryFile = configProject.getEntryFile();
+            final String scopeName = configProjectHelper.getSchemaScopeName(entryFile);
+            final Snapshot snapshot;
+            try {
+                snapshot = new Snapshot(schemaProvider.getTolerantRegistry(entryFile), schemaProvider.getTolerantSchema(entryFile));
+            } catch (SchemaProblem | InvalidSchemaException | AssertException e) {
+                // keep comparing with the last usable schema until the errors are fixed
+                final Snapshot previous = mySnapshots.get(scopeName);
+                if (previous != null) {
+                    analysis.mySnapshots.putIfAbsent(scopeName, previous);
+                }
+                continue;
+            }
+            if (analysis.mySnapshots.putIfAbsent(scopeName, snapshot) != null) {
+                // several configurations can share a schema scope
+                continue;
+            }
+            final Snapshot previous = mySnapshots.get(scopeName);
+            if (previous == null || previous.myRegistry == snapshot.myRegistry) {
+                continue;
+            }
+            analysis.myAnalyzedScopes.add(scopeName);
+            final List<GraphQLSchemaChange> changes = ContainerUtil.filter(
+                GraphQLSchemaDiff.diff(previous.myRegistry, snapshot.myRegistry),
+                change -> change.getCriticality() != GraphQLSchemaChange.Criticality.SAFE
+            );
+            if (changes.isEmpty()) {
+                continue;
+            }
+            final Collection<GraphQLDefinition> affectedDefinitions = findAffectedDefinitions(entryFile, changes, previous, snapshot);
+            final List<BrokenDefinition> brokenDefinitions = Lists.newArrayList();
+            for (GraphQLDefinition definition : affectedDefinitions) {
+                ProgressManager.checkCanceled();
+                final BrokenDefinition brokenDefinition = validate(definition, previous.mySchema, snapshot.mySchema);
+                if (brokenDefinition != null) {
+                    brokenDefinitions.add(brokenDefinition);
+                }
+            }
+            brokenDefinitions.sort(Comparator.comparing((BrokenDefinition d) -> d.myFileName).thenComparingInt(d -> d.myLine));
+            analysis.myImpacts.add(new Impact(scopeName, changes, affectedDefinitions.size(), brokenDefinitions));
+            if (!brokenDefinitions.isEmpty()) {
+                // keep comparing with the schema before the breaking change until it's reverted or the definitions are fixed
+                analysis.mySnapshots.put(scopeName, previous);
+            }
+        }
+        return analysis;
+    }
+
+    // ---- affected definitions ----
+
+    /**
+     * Gets the operations and fragments that select the changed fields, or refer to the changed types or directives
+     */
+    @NotNull
+    private Collection<GraphQLDefinition> findAffectedDefinitions(@NotNull GraphQLFile entryFile,
+                                                                  @NotNull List<GraphQLSchemaChange> changes,
+                                                                  @NotNull Snapshot previous,
+                                                                  @NotNull Snapshot current) {
+        final Set<String> fieldCoordinates = Sets.newHashSet();
+        final Set<String> typeNames = Sets.newHashSet();
+        final Set<String> words = Sets.newHashSet();
+        for (GraphQLSchemaChange change : changes) {
+            // arguments are used through their field or directive
+            final String path = StringUtil.notNullize(StringUtil.substringBefore(change.getPath(), "("), change.getPath());
+            if (path.startsWith("@")) {
+                words.add(path.substring(1));
+            } else if (path.startsWith("schema.")) {
+                // every operation of the root kind is affected
+                final String rootOperation = path.substring("schema.".length());
+                for (TypeDefinitionRegistry registry : Arrays.asList(previous.myRegistry, current.myRegistry)) {
+                    registry.schemaDefinition().ifPresent(schema -> schema.getOperationTypeDefinitions().stream()
+                        .filter(operationType -> operationType.getName().equals(rootOperation))
+                        .forEach(operationType -> typeNames.add(operationType.getTypeName().getName())));
+                }
+                typeNames.add(StringUtil.capitalize(rootOperation));
+            } else if (path.contains(".")) {
+                final String typeName = StringUtil.substringBefore(path, ".");
+                if (getFields(previous.myRegistry).containsKey(typeName)) {
+                    fieldCoordinates.add(path);
+                } else {
+                    // input fields and enum values are used through the arguments and variables of that type
+                    typeNames.add(typeName);
+                }
+            } else {
+                typeNames.add(path);
+            }
+        }
+
+        // a changed type affects its own fields, and the fields which return it or accept it as input
+        final Set<String> inputTypeNames = getInputTypesContaining(previous.myRegistry, typeNames);
+        getFields(previous.myRegistry).forEach((typeName, fields) -> {
+            for (FieldDefinition field : fields) {
+                if (typeNames.contains(typeName)
+                    || typeNames.contains(getUnmodifiedTypeName(field.getType()))
+                    || field.getInputValueDefinitions().stream().anyMatch(argument -> inputTypeNames.contains(getUnmodifiedTypeName(argument.getType())))) {
+                    fieldCoordinates.add(GraphQLFieldUsageService.getFieldCoordinate(typeName, field.getName()));
+                }
+            }
+        });
+        words.addAll(inputTypeNames);
+
+        final Set<GraphQLDefinition> definitions = Sets.newLinkedHashSet();
+        final GlobalSearchScope scope = GraphQLPsiSearchHelper.getInstance(myProject).getSchemaScope(entryFile);
+        final Set<String> fieldNames = Sets.newHashSet();
+        for (String coordinate : fieldCoordinates) {
+            fieldNames.add(StringUtil.substringAfter(coordinate, "."));
+        }
+        final Map<String, List<GraphQLField>> fieldUsages = GraphQLFieldUsageService.getInstance(myProject).getFieldUsages(fieldNames, scope);
+        for (String coordinate : fieldCoordinates) {
+            final String typeName = StringUtil.substringBefore(coordinate, ".");
+            final String fieldName = StringUtil.substringAfter(coordinate, ".");
+            if (typeName == null || fieldName == null) {
+                continue;
+            }
+            for (GraphQLField usage : GraphQLFieldUsageService.getUsages(fieldUsages, current.mySchema, typeName, fieldName)) {
+                addExecutableDefinition(usage, definitions);
+            }
+        }
+
+        final GraphQLPsiSearchHelper searchHelper = GraphQLPsiSearchHelper.getInstance(myProject);
+        for (String word : words) {
+            searchHelper.processElementsWithWord(entryFile, word, element -> {
+                addExecutableDefinition(element, definitions);
+                return true;
+            });
+        }
+        return definitions;
+    }
+
+    private static void addExecutableDefinition(@NotNull PsiElement element, @NotNull Set<GraphQLDefinition> definitions) {
+        final GraphQLDefinition definition = PsiTreeUtil.getParentOfType(element, GraphQLOperationDefinition.class, GraphQLFragmentDefinition.class);
+        if (definition != null) {
+            definitions.add(definition);
+        }
+    }
+
+    /**
+     * Gets the fields of the object and interface types and their extensions, keyed by type name
+     */
+    @NotNull
+    private static Map<String, List<FieldDefinition>> getFields(@NotNull TypeDefinitionRegistry registry) {
+        final Map<String, List<FieldDefinition>> fields = Maps.newHashMap();
+        final List<TypeDefinition<?>> types = Lists.newArrayList(registry.types().values());
+        registry.objectTypeExtensions().values().forEach(types::addAll);
+        registry.interfaceTypeExtensions().values().forEach(types::addAll);
+        for (TypeDefinition<?> type : types) {
+            if (type instanceof ObjectTypeDefinition) {
+                fields.computeIfAbsent(type.getName(), name -> Lists.newArrayList()).addAll(((ObjectTypeDefinition) type).getFieldDefinitions());
+            } else if (type instanceof InterfaceTypeDefinition) {
+                fields.computeIfAbsent(type.getName(), name -> Lists.newArrayList()).addAll(((InterfaceTypeDefinition) type).getFieldDefinitions());
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Gets the specified type names and the input types that contain them, directly or through other input types
+     */
+    @NotNull
+    private static Set<String> getInputTypesContaining(@NotNull TypeDefinitionRegistry registry, @NotNull Set<String> typeNames) {
+        final Map<String, List<InputValueDefinition>> inputFields = Maps.newHashMap();
+        final List<TypeDefinition<?>> types = Lists.newArrayList(registry.types().values());
+        registry.inputObjectTypeExtensions().values().forEach(types::addAll);
+        for (TypeDefinition<?> type : types) {
+            if (type instanceof InputObjectTypeDefinition) {
+                inputFields.computeIfAbsent(type.getName(), name -> Lists.newArrayList()).addAll(((InputObjectTypeDefinition) type).getInputValueDefinitions());
+            }
+        }
+        final Set<String> result = Sets.newHashSet(typeNames);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Map.Entry<String, List<InputValueDefinition>> entry : inputFields.entrySet()) {
+                if (!result.contains(entry.getKey())
+                    && entry.getValue().stream().anyMatch(inputField -> result.contains(getUnmodifiedTypeName(inputField.getType())))) {
+                    changed |= result.add(entry.getKey());
+                }
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private static String getUnmodifiedTypeName(@Nullable Type<?> type) {
+        while (type instanceof ListType || type instanceof NonNullType) {
+            type = type instanceof ListType ? ((ListType) type).getType() : ((NonNullType) type).getType();
+        }
+        return type instanceof TypeName ? ((TypeName) type).getName() : null;
+    }
+
+    // ---- validation ----
+
+    /**
+     * Validates a definition against the old and the new schema
+     *
+     * @return the definition with the errors that only occur with the new schema, or null if the change didn't break it
+     */
+    @Nullable
+    private BrokenDefinition validate(@NotNull GraphQLDefinition definition, @NotNull GraphQLSchema oldSchema, @NotNull GraphQLSchema newSchema) {
+        final Map<String, GraphQLFragmentDefinition> fragmentsByName = Maps.newHashMap();
+        for (GraphQLFragmentDefinition fragment : PsiTreeUtil.getChildrenOfTypeAsList(definition.getContainingFile(), GraphQLFragmentDefinition.class)) {
+            if (fragment.getName() != null) {
+                fragmentsByName.putIfAbsent(fragment.getName(), fragment);
+            }
+        }
+        final List<GraphQLDefinition> unit = GraphQLSchemaValidationAnnotator.getValidationUnit(definition, fragmentsByName);
+        final Map<String, ValidationError> newErrors;
+        try {
+            newErrors = getReportedErrors(GraphQLSchemaValidationAnnotator.validateUnit(unit, newSchema));
+            if (newErrors.isEmpty()) {
+                return null;
+            }
+            newErrors.keySet().removeAll(getReportedErrors(GraphQLSchemaValidationAnnotator.validateUnit(unit, oldSchema)).keySet());
+        } catch (SchemaProblem | AssertException e) {
+            LOG.debug("Unable to validate definition affected by schema change", e);
+            return null;
+        }
+        if (newErrors.isEmpty()) {
+            return null;
+        }
+
+        final PsiFile file = definition.getContainingFile();
+        final InjectedLanguageManager injectedLanguageManager = InjectedLanguageManager.getInstance(myProject);
+        final PsiFile topLevelFile = injectedLanguageManager.getTopLevelFile(definition);
+        final Document document = topLevelFile != null ? PsiDocumentManager.getInstance(myProject).getDocument(topLevelFile) : null;
+        final SmartPointerManager pointerManager = SmartPointerManager.getInstance(myProject);
+        final List<BrokenDefinition.Error> errors = Lists.newArrayList();
+        for (ValidationError error : newErrors.values()) {
+            PsiElement errorElement = definition;
+            final SourceLocation location = ContainerUtil.getFirstItem(error.getLocations());
+            final int definitionIndex = location != null ? StringUtil.parseInt(location.getSourceName(), -1) : -1;
+            if (definitionIndex >= 0 && definitionIndex < unit.size()) {
+                final GraphQLDefinition errorDefinition = unit.get(definitionIndex);
+                final int offset = getOffset(errorDefinition.getText(), location);
+                final PsiElement element = file.findElementAt(errorDefinition.getTextRange().getStartOffset() + offset);
+                if (element != null) {
+                    errorElement = element;
+                }
+            }
+            final String message = Optional.ofNullable(error.getDescription()).orElse(error.getMessage());
+            errors.add(new BrokenDefinition.Error(message, pointerManager.createSmartPsiElementPointer(errorElement)));
+        }
+
+        final String name = definition instanceof GraphQLOperationDefinition
+            ? Optional.ofNullable(((GraphQLOperationDefinition) definition).getName()).orElse("<anonymous operation>")
+            : "fragment " + ((GraphQLFragmentDefinition) definition).getName();
+        final int hostOffset = injectedLanguageManager.injectedToHost(definition, definition.getTextOffset());
+        return new BrokenDefinition(
+            name,
+            topLevelFile != null ? topLevelFile.getName() : file.getName(),
+            document != null ? document.getLineNumber(Math.min(hostOffset, document.getTextLength())) : 0,
+            pointerManager.createSmartPsiElementPointer(definition),
+            errors
+        );
+    }
+
+    @NotNull
+    private static Map<String, ValidationError> getReportedErrors(@NotNull List<ValidationError> errors) {
+        final Map<String, ValidationError> reportedErrors = Maps.newLinkedHashMap();
+        for (ValidationError error : errors) {
+            if (error.getValidationErrorType() != null && GraphQLSchemaValidationAnnotator.isReportedError(error.getValidationErrorType())) {
+                final StringBuilder key = new StringBuilder().append(error.getValidationErrorType()).append(':').append(error.getDescription());
+                for (SourceLocation location : ContainerUtil.notNullize(error.getLocations())) {
+                    key.append(':').append(location.getSourceName()).append(',').append(location.getLine()).append(',').append(location.getColumn());
+                }
+                reportedErrors.putIfAbsent(key.toString(), error);
+            }
+        }
+        return reportedErrors;
+    }
+
+    /**
+     * Gets the offset in the definition text of a 1-based location relative to the start of the definition
+     */
+    private static int getOffset(@NotNull String text, @NotNull SourceLocation location) {
+        int offset = 0;
+        for (int line = 1; line < location.getLine() && offset < text.length(); line++) {
+            final int lineBreak = text.indexOf('\n', offset);
+            if (lineBreak == -1) {
+                return 0;
+            }
+            offset = lineBreak + 1;
+        }
+        return Math.min(offset + Math.max(location.getColumn() - 1, 0), text.length());
+    }
+
+    @Override
+    public void dispose() {
+        mySnapshots.clear();
+    }
+
+    // ---- results ----
+
+    public interface Listener extends EventListener {
+
+        /**
+         * The outstanding schema impacts changed, e.g. a schema change affected one or more operations or fragments which were
+         * re-validated, or the impacts were cleared because the changes were reverted
+         */
+        void onSchemaImpactAnalyzed(@NotNull List<Impact> impacts);
+    }
+
+    /**
+     * The breaking and dangerous changes to a schema scope, and the definitions that they broke
+     */
+    public static final class Impact {
+
+        private final String myScopeName;
+        private final List<GraphQLSchemaChange> myChanges;
+        private final int myAffectedDefinitionCount;
+        private final List<BrokenDefinition> myBrokenDefinitions;
+
+        Impact(@NotNull String scopeName, @NotNull List<GraphQLSchemaChange> changes, int affectedDefinitionCount, @NotNull List<BrokenDefinition> brokenDefinitions) {
+            myScopeName = scopeName;
+            myChanges = changes;
+            myAffectedDefinitionCount = affectedDefinitionCount;
+            myBrokenDefinitions = brokenDefinitions;
+        }
+
+        @NotNull
+        public String getScopeName() {
+            return myScopeName;
+        }
+
+        @NotNull
+        public List<GraphQLSchemaChange> getChanges() {
+            return myChanges;
+        }
+
+        /**
+         * Gets the number of operations and fragments that use the changed parts of the schema and were re-validated
+         */
+        public int getAffectedDefinitionCount() {
+            return myAffectedDefinitionCount;
+        }
+
+        @NotNull
+        public List<BrokenDefinition> getBrokenDefinitions() {
+            return myBrokenDefinitions;
+        }
+    }
+
+    /**
+     * An operation or fragment which has new validation errors after a schema change
+     */
+    public static final class BrokenDefinition {
+
+        private final String myName;
+        private final String myFileName;
+        private final int myLine;
+        private final SmartPsiElementPointer<GraphQLDefinition> myDefinition;
+        private final List<Error> myErrors;
+
+        BrokenDefinition(@NotNull String name,
+                         @NotNull String fileName,
+                         int line,
+                         @NotNull SmartPsiElementPointer<GraphQLDefinition> definition,
+                         @NotNull List<Error> errors) {
+            myName = name;
+            myFileName = fileName;
+            myLine = line;
+            myDefinition = definition;
+            myErrors = errors;
+        }
+
+        @NotNull
+        public String getName() {
+            return myName;
+        }
+
+        /**
+         * Gets the name of the file that contains the definition, i.e. the host file for injected GraphQL
+         */
+        @NotNull
+        public String getFileName() {
+            return myFileName;
+        }
+
+        /**
+         * Gets the 0-based line of the definition in its file at the time of the analysis
+         */
+        public int getLine() {
+            return myLine;
+        }
+
+        @NotNull
+        public SmartPsiElementPointer<GraphQLDefinition> getDefinition() {
+            return myDefinition;
+        }
+
+        @NotNull
+        public List<Error> getErrors() {
+            return myErrors;
+        }
+
+        public static final class Error {
+
+            private final String myMessage;
+            private final SmartPsiElementPointer<PsiElement> myElement;
+
+            Error(@NotNull String message, @NotNull SmartPsiElementPointer<PsiElement> element) {
+                myMessage = message;
+                myElement = element;
+            }
+
+            @NotNull
+            public String getMessage() {
+                return myMessage;
+            }
+
+            @NotNull
+            public SmartPsiElementPointer<PsiElement> getElement() {
+                return myElement;
+            }
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final TypeDefinitionRegistry myRegistry;
+        private final GraphQLSchema mySchema;
+
+        Snapshot(@NotNull TypeDefinitionRegistry registry, @NotNull GraphQLSchema schema) {
+            myRegistry = registry;
+            mySchema = schema;
+        }
+    }
+
+    private static final class Analysis {
+
+        private final Map<String, Snapshot> mySnapshots = Maps.newHashMap();
+        private final List<Impact> myImpacts = Lists.newArrayList();
+        /**
+         * The scopes whose schema changed since the previous analysis and were compared with their snapshot
+         */
+        private final Set<String> myAnalyzedScopes = Sets.newHashSet();
+    }
+}
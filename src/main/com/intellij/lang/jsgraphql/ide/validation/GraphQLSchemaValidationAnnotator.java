@@ -10,38 +10,39 @@ package com.intellij.lang.jsgraphql.ide.validation;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.jsgraphql.frameworks.relay.GraphQLRelayModernAnnotationFilter;
-import com.intellij.lang.jsgraphql.ide.project.GraphQLInjectionSearchHelper;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper;
 import com.intellij.lang.jsgraphql.psi.*;
 import com.intellij.lang.jsgraphql.psi.impl.GraphQLDescriptionAware;
 import com.intellij.lang.jsgraphql.psi.impl.GraphQLDirectivesAware;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeListener;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaMetrics;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
 import com.intellij.lang.jsgraphql.schema.GraphQLValidatedSchema;
-import com.intellij.lang.jsgraphql.utils.GraphQLUtil;
-import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.editor.LogicalPosition;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Ref;
-import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiLanguageInjectionHost;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.containers.ContainerUtil;
 import graphql.AssertException;
 import graphql.GraphQLError;
+import graphql.language.Definition;
 import graphql.language.Document;
 import graphql.language.SourceLocation;
+import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.errors.SchemaProblem;
 import graphql.schema.validation.InvalidSchemaException;
 import graphql.validation.ValidationError;
 import graphql.validation.ValidationErrorType;
 import graphql.validation.Validator;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.CancellationException;
 
 public class GraphQLSchemaValidationAnnotator implements Annotator {
@@ -52,12 +53,17 @@ public class GraphQLSchemaValidationAnnotator implements Annotator {
         final PsiFile containingFile = psiElement.getContainingFile();
         final Project project = psiElement.getProject();
 
+        final GraphQLSchemaMetrics.ScopeMetrics metrics = GraphQLSchemaMetrics.getInstance(project)
+            .getScopeMetrics(GraphQLPsiSearchHelper.getInstance(project).getSchemaScopeName(psiElement));
+
         List<? extends GraphQLError> userData;
+        final long validationStart = System.nanoTime();
         try {
             userData = runExternalValidator(psiElement, annotationHolder, containingFile, project);
         } catch (SchemaProblem | CancellationException | InvalidSchemaException | AssertException e) {
             return;
         }
+        metrics.record(GraphQLSchemaMetrics.Timer.VALIDATION, validationStart);
 
         for (GraphQLError userDatum : userData) {
             if (!(userDatum instanceof ValidationError)) {
@@ -70,57 +76,54 @@ public class GraphQLSchemaValidationAnnotator implements Annotator {
                 continue;
             }
 
-            switch (validationErrorType) {
-                case DefaultForNonNullArgument:
-                case WrongType:
-                case SubSelectionRequired:
-                case SubSelectionNotAllowed:
-                case BadValueForDefaultArg:
-                case InlineFragmentTypeConditionInvalid:
-                case FragmentTypeConditionInvalid:
-                case UnknownArgument:
-                case NonInputTypeOnVariable:
-                case MissingFieldArgument:
-                case MissingDirectiveArgument:
-                case VariableTypeMismatch:
-                case MisplacedDirective:
-                case UndefinedVariable:
-                case UnusedVariable:
-                case FragmentCycle:
-                case FieldsConflict:
-                case InvalidFragmentType:
-                case LoneAnonymousOperationViolation:
-                    processValidationError(annotationHolder, containingFile, validationError, validationErrorType);
-                    break;
-                default:
-                    // remaining rules are handled above using psi references
-                    break;
+            if (isReportedError(validationErrorType)) {
+                processValidationError(annotationHolder, containingFile, validationError, validationErrorType);
             }
         }
 
     }
 
+    /**
+     * Gets whether errors of the specified type are reported using graphql-java validation, as opposed to the errors which
+     * are reported by other annotators and inspections using psi references
+     */
+    static boolean isReportedError(@NotNull ValidationErrorType validationErrorType) {
+        switch (validationErrorType) {
+            case DefaultForNonNullArgument:
+            case WrongType:
+            case SubSelectionRequired:
+            case SubSelectionNotAllowed:
+            case BadValueForDefaultArg:
+            case InlineFragmentTypeConditionInvalid:
+            case FragmentTypeConditionInvalid:
+            case UnknownArgument:
+            case NonInputTypeOnVariable:
+            case MissingFieldArgument:
+            case MissingDirectiveArgument:
+            case VariableTypeMismatch:
+            case MisplacedDirective:
+            case UndefinedVariable:
+            case UnusedVariable:
+            case FragmentCycle:
+            case FieldsConflict:
+            case InvalidFragmentType:
+            case LoneAnonymousOperationViolation:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     private @NotNull List<? extends GraphQLError> runExternalValidator(@NotNull PsiElement psiElement,
                                                                        @NotNull AnnotationHolder annotationHolder,
                                                                        @NotNull PsiFile containingFile,
                                                                        @NotNull Project project) {
         List<? extends GraphQLError> userData;
 
+        final long schemaModificationCount = GraphQLSchemaChangeListener.getService(project).getSchemaModificationTracker().getModificationCount();
         final GraphQLValidatedSchema schema = GraphQLSchemaProvider.getInstance(project).getValidatedSchema(psiElement);
         if (!schema.isErrorsPresent()) {
-            // adjust source locations for injected GraphQL since the annotator works on the entire editor buffer (e.g. tsx with graphql tagged templates)
-            int lineDelta = 0;
-            int firstLineColumnDelta = 0;
-            if (containingFile.getContext() != null) {
-                final LogicalPosition logicalPosition = getLogicalPositionFromOffset(containingFile, containingFile.getContext().getTextOffset());
-                if (logicalPosition.line > 0 || logicalPosition.column > 0) {
-                    // logical positions can be used as deltas between graphql-java and intellij since graphql-java is 1-based and intellij is 0-based
-                    lineDelta = logicalPosition.line;
-                    firstLineColumnDelta = logicalPosition.column;
-                }
-            }
-            final Document document = GraphQLUtil.parseDocument(replacePlaceholdersWithValidGraphQL(containingFile), lineDelta, firstLineColumnDelta);
-            userData = new Validator().validateDocument(schema.getSchema(), document);
+            userData = validateDefinitions(containingFile, schema.getSchema(), schemaModificationCount);
         } else {
             final String currentFileName = GraphQLPsiUtil.getFileName(containingFile);
             final Ref<SourceLocation> firstSchemaError = new Ref<>();
@@ -158,6 +161,186 @@ public class GraphQLSchemaValidationAnnotator implements Annotator {
         return userData;
     }
 
+    /**
+     * Validates the operations and fragments of the file one unit at a time, where a unit is an operation and the fragments
+     * it transitively spreads, or a fragment which isn't used by any operation in the file.
+     * <p>
+     * Each definition is converted from the PSI on its own, so the validation results of a unit can be cached by its text and reused as long
+     * as the definitions in the unit and the schema are unchanged. Editing one operation thus only re-validates that operation
+     * and the units that include fragments which were edited.
+     */
+    @NotNull
+    private List<ValidationError> validateDefinitions(@NotNull PsiFile containingFile, @NotNull GraphQLSchema schema, long schemaModificationCount) {
+        // adjust source locations for injected GraphQL since the annotator works on the entire editor buffer (e.g. tsx with graphql tagged templates)
+        final int injectionOffset = containingFile.getContext() != null ? containingFile.getContext().getTextOffset() : 0;
+
+        final List<GraphQLOperationDefinition> operations = new ArrayList<>();
+        final List<GraphQLFragmentDefinition> fragments = new ArrayList<>();
+        final Map<String, GraphQLFragmentDefinition> fragmentsByName = new HashMap<>();
+        for (GraphQLDefinition definition : PsiTreeUtil.getChildrenOfTypeAsList(containingFile, GraphQLDefinition.class)) {
+            if (definition instanceof GraphQLOperationDefinition) {
+                operations.add((GraphQLOperationDefinition) definition);
+            } else if (definition instanceof GraphQLFragmentDefinition) {
+                final GraphQLFragmentDefinition fragment = (GraphQLFragmentDefinition) definition;
+                fragments.add(fragment);
+                if (fragment.getName() != null) {
+                    fragmentsByName.putIfAbsent(fragment.getName(), fragment);
+                }
+            }
+        }
+
+        final List<List<GraphQLDefinition>> units = new ArrayList<>();
+        final Set<GraphQLFragmentDefinition> usedFragments = new HashSet<>();
+        for (GraphQLOperationDefinition operation : operations) {
+            final List<GraphQLDefinition> unit = getValidationUnit(operation, fragmentsByName);
+            units.add(unit);
+            for (GraphQLDefinition definition : unit) {
+                if (definition instanceof GraphQLFragmentDefinition) {
+                    usedFragments.add((GraphQLFragmentDefinition) definition);
+                }
+            }
+        }
+        for (GraphQLFragmentDefinition fragment : fragments) {
+            if (!usedFragments.contains(fragment)) {
+                units.add(getValidationUnit(fragment, fragmentsByName));
+            }
+        }
+
+        final GraphQLValidationCache cache = GraphQLValidationCache.getInstance(containingFile, schemaModificationCount);
+        final Set<String> unitTexts = new HashSet<>();
+        final Map<String, ValidationError> errors = new LinkedHashMap<>();
+        for (List<GraphQLDefinition> unit : units) {
+            final String unitText = StringUtil.join(unit, PsiElement::getText, "\0");
+            unitTexts.add(unitText);
+
+            List<ValidationError> unitErrors = cache.get(unitText);
+            if (unitErrors == null) {
+                unitErrors = validateUnit(unit, schema);
+                cache.put(unitText, unitErrors);
+            }
+
+            for (ValidationError unitError : unitErrors) {
+                final ValidationError error = toDocumentValidationError(containingFile, unit, injectionOffset, unitError);
+                if (error != null) {
+                    // fragments can be part of several units, so only report their errors once
+                    errors.putIfAbsent(getErrorKey(error), error);
+                }
+            }
+        }
+        cache.retain(unitTexts);
+
+        if (operations.size() > 1) {
+            // the LoneAnonymousOperation rule needs to see all operations at once, so it can't be checked per unit
+            for (GraphQLOperationDefinition operation : operations) {
+                if (operation.getNameIdentifier() == null) {
+                    final SourceLocation location = toDocumentSourceLocation(containingFile, operation, injectionOffset, new SourceLocation(1, 1));
+                    if (location != null) {
+                        final ValidationError error = new ValidationError(ValidationErrorType.LoneAnonymousOperationViolation,
+                            Collections.singletonList(location), "Anonymous operation with other operations.");
+                        errors.putIfAbsent(getErrorKey(error), error);
+                    }
+                }
+            }
+        }
+
+        return new ArrayList<>(errors.values());
+    }
+
+    @NotNull
+    private static String getErrorKey(@NotNull ValidationError error) {
+        final StringBuilder key = new StringBuilder().append(error.getValidationErrorType()).append(':').append(error.getDescription());
+        for (SourceLocation location : ContainerUtil.notNullize(error.getLocations())) {
+            key.append(':').append(location.getLine()).append(',').append(location.getColumn());
+        }
+        return key.toString();
+    }
+
+    /**
+     * Gets the definition followed by the fragments it transitively spreads which are declared in the same file
+     */
+    @NotNull
+    static List<GraphQLDefinition> getValidationUnit(@NotNull GraphQLDefinition definition,
+                                                     @NotNull Map<String, GraphQLFragmentDefinition> fragmentsByName) {
+        final Set<GraphQLDefinition> unit = new LinkedHashSet<>();
+        final Deque<GraphQLDefinition> pending = new ArrayDeque<>();
+        pending.add(definition);
+        while (!pending.isEmpty()) {
+            final GraphQLDefinition current = pending.removeFirst();
+            if (!unit.add(current)) {
+                continue;
+            }
+            for (GraphQLFragmentSpread fragmentSpread : PsiTreeUtil.findChildrenOfType(current, GraphQLFragmentSpread.class)) {
+                final GraphQLFragmentDefinition fragment = fragmentSpread.getName() != null ? fragmentsByName.get(fragmentSpread.getName()) : null;
+                if (fragment != null && !unit.contains(fragment)) {
+                    pending.add(fragment);
+                }
+            }
+        }
+        return new ArrayList<>(unit);
+    }
+
+    /**
+     * Converts and validates the definitions of a unit. The source name of each error location is the index of
+     * the definition in the unit, and lines and columns are relative to the start of that definition.
+     */
+    @NotNull
+    static List<ValidationError> validateUnit(@NotNull List<GraphQLDefinition> unit, @NotNull GraphQLSchema schema) {
+        final List<Definition> definitions = new ArrayList<>();
+        try {
+            for (int i = 0; i < unit.size(); i++) {
+                final Definition<?> definition = GraphQLPsiToLanguage.relativeTo(unit.get(i), String.valueOf(i)).createDefinition(unit.get(i));
+                if (definition != null) {
+                    definitions.add(definition);
+                }
+            }
+        } catch (SchemaProblem e) {
+            // syntax errors are reported by the parser, and the unit can't be validated until they're fixed
+            return Collections.emptyList();
+        }
+        final Document document = Document.newDocument().definitions(definitions).build();
+        return new Validator().validateDocument(schema, document);
+    }
+
+    @Nullable
+    private ValidationError toDocumentValidationError(@NotNull PsiFile containingFile,
+                                                      @NotNull List<GraphQLDefinition> unit,
+                                                      int injectionOffset,
+                                                      @NotNull ValidationError unitError) {
+        final List<SourceLocation> locations = new ArrayList<>();
+        for (SourceLocation unitLocation : ContainerUtil.notNullize(unitError.getLocations())) {
+            final int definitionIndex = StringUtil.parseInt(unitLocation.getSourceName(), -1);
+            if (definitionIndex < 0 || definitionIndex >= unit.size()) {
+                continue;
+            }
+            final SourceLocation location = toDocumentSourceLocation(containingFile, unit.get(definitionIndex), injectionOffset, unitLocation);
+            if (location != null) {
+                locations.add(location);
+            }
+        }
+        if (locations.isEmpty()) {
+            return null;
+        }
+        return new ValidationError(unitError.getValidationErrorType(), locations, unitError.getDescription());
+    }
+
+    /**
+     * Shifts a location relative to the start of a definition to the corresponding location in the top-level document
+     */
+    @Nullable
+    private SourceLocation toDocumentSourceLocation(@NotNull PsiFile containingFile,
+                                                    @NotNull GraphQLDefinition definition,
+                                                    int injectionOffset,
+                                                    @NotNull SourceLocation definitionLocation) {
+        final LogicalPosition definitionStart = getLogicalPositionFromOffset(containingFile, injectionOffset + definition.getTextRange().getStartOffset());
+        if (definitionStart.line < 0) {
+            return null;
+        }
+        // logical positions can be used as deltas between graphql-java and intellij since graphql-java is 1-based and intellij is 0-based
+        final int line = definitionStart.line + definitionLocation.getLine();
+        final int column = definitionLocation.getLine() == 1 ? definitionStart.column + definitionLocation.getColumn() : definitionLocation.getColumn();
+        return new SourceLocation(line, column);
+    }
+
     private void processValidationError(@NotNull AnnotationHolder annotationHolder,
                                         @NotNull PsiFile containingFile,
                                         @NotNull ValidationError validationError,
@@ -246,84 +429,6 @@ public class GraphQLSchemaValidationAnnotator implements Annotator {
         ) != null;
     }
 
-    /**
-     * Replaces template placeholders in a GraphQL operation to produce valid GraphQL.
-     * <p>
-     * Positions of tokens are preserved by using replacements that fit within the ${} placeholder token.
-     * <p>
-     * Note that the replacement needs to be filtered for variables and selections, specifically:
-     * - Variables: '$__'
-     * - Selection '___'
-     *
-     * @param graphqlPsiFile the file to transform to valid GraphQL by replacing placeholders
-     * @return the transformed valid GraphQL as a string
-     */
-    private String replacePlaceholdersWithValidGraphQL(PsiFile graphqlPsiFile) {
-        String graphqlText = graphqlPsiFile.getText();
-        if (graphqlPsiFile.getContext() instanceof PsiLanguageInjectionHost) {
-            final GraphQLInjectionSearchHelper graphQLInjectionSearchHelper = ServiceManager.getService(GraphQLInjectionSearchHelper.class);
-            if (graphQLInjectionSearchHelper != null) {
-                graphqlText = graphQLInjectionSearchHelper.applyInjectionDelimitingQuotesEscape(graphqlText);
-            }
-        }
-        final StringBuilder buffer = new StringBuilder(graphqlText);
-        final GraphQLVisitor visitor = new GraphQLRecursiveVisitor() {
-            @Override
-            public void visitTemplateDefinition(@NotNull GraphQLTemplateDefinition templateDefinition) {
-                // top level template, e.g. the inclusion of an external fragment below a query
-                // in this case whitespace will produce a valid GraphQL document
-                final TextRange textRange = templateDefinition.getTextRange();
-                for (int bufferIndex = textRange.getStartOffset(); bufferIndex < textRange.getEndOffset(); bufferIndex++) {
-                    buffer.setCharAt(bufferIndex, ' ');
-                }
-
-                super.visitTemplateDefinition(templateDefinition);
-            }
-
-            @Override
-            public void visitTemplateSelection(@NotNull GraphQLTemplateSelection templateSelection) {
-                // template is a selection, e.g. where a field or fragment would be found
-                // in this case well add a '___'  selection that can fit within ${} and filter it out in the annotator
-                final TextRange textRange = templateSelection.getTextRange();
-                int charIndex = 0;
-                for (int bufferIndex = textRange.getStartOffset(); bufferIndex < textRange.getEndOffset(); bufferIndex++) {
-                    buffer.setCharAt(bufferIndex, charIndex <= 2 ? '_' : ' ');
-                    charIndex++;
-                }
-
-                super.visitTemplateSelection(templateSelection);
-            }
-
-            @Override
-            public void visitTemplateVariable(@NotNull GraphQLTemplateVariable templateVariable) {
-                // template is a variable, so replace it with '$__' that fits within ${} and filter it out in the annotator
-                final TextRange textRange = templateVariable.getTextRange();
-                int charIndex = 0;
-                for (int bufferIndex = textRange.getStartOffset(); bufferIndex < textRange.getEndOffset(); bufferIndex++) {
-                    char currentChar;
-                    switch (charIndex) {
-                        case 0:
-                            currentChar = '$';
-                            break;
-                        case 1:
-                        case 2:
-                            currentChar = '_';
-                            break;
-                        default:
-                            currentChar = ' ';
-                            break;
-                    }
-                    buffer.setCharAt(bufferIndex, currentChar);
-                    charIndex++;
-                }
-
-                super.visitTemplateVariable(templateVariable);
-            }
-        };
-        graphqlPsiFile.accept(visitor);
-        return buffer.toString();
-    }
-
     private void createErrorAnnotation(@NotNull AnnotationHolder annotationHolder,
                                        PsiElement errorPsiElement,
                                        String message) {
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.validation;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiFile;
+import graphql.validation.ValidationError;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-file cache of graphql-java validation results for the individual validation units of a document,
+ * i.e. an operation plus its transitive fragments, or a fragment that isn't used by any operation in the file.
+ * <p>
+ * Units are keyed by their source text, so the source locations of the cached errors are relative to the start of each
+ * definition in the unit and must be shifted to the current position of the definitions before use.
+ * The cache is discarded when the schema changes. It's keyed by the schema modification count rather than the schema itself, so
+ * files that aren't highlighted again don't keep a stale schema alive.
+ *
+ * @see com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeListener#getSchemaModificationTracker()
+ */
+final class GraphQLValidationCache {
+
+    private static final Key<GraphQLValidationCache> VALIDATION_CACHE = Key.create("JSGraphQL.ValidationCache");
+
+    private final long mySchemaModificationCount;
+    private final Map<String, List<ValidationError>> myUnitToErrors = new ConcurrentHashMap<>();
+
+    private GraphQLValidationCache(long schemaModificationCount) {
+        mySchemaModificationCount = schemaModificationCount;
+    }
+
+    /**
+     * @param schemaModificationCount the schema modification count read before the schema was retrieved, so a concurrent
+     *                                change discards the results rather than keeping them for the changed schema
+     */
+    @NotNull
+    static GraphQLValidationCache getInstance(@NotNull PsiFile psiFile, long schemaModificationCount) {
+        GraphQLValidationCache cache = psiFile.getUserData(VALIDATION_CACHE);
+        if (cache == null || cache.mySchemaModificationCount != schemaModificationCount) {
+            cache = new GraphQLValidationCache(schemaModificationCount);
+            psiFile.putUserData(VALIDATION_CACHE, cache);
+        }
+        return cache;
+    }
+
+    @Nullable
+    List<ValidationError> get(@NotNull String unitText) {
+        return myUnitToErrors.get(unitText);
+    }
+
+    void put(@NotNull String unitText, @NotNull List<ValidationError> errors) {
+        myUnitToErrors.put(unitText, errors);
+    }
+
+    /**
+     * Drops the results for units that are no longer present in the file.
+     */
+    void retain(@NotNull Collection<String> unitTexts) {
+        myUnitToErrors.keySet().retainAll(unitTexts);
+    }
+}
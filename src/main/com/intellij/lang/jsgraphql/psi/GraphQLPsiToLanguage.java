@@ -0,0 +1,801 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi;
+
+import com.intellij.lang.jsgraphql.ide.project.GraphQLInjectionSearchHelper;
+import com.intellij.lang.jsgraphql.psi.impl.GraphQLDescriptionAware;
+import com.intellij.lang.jsgraphql.psi.impl.GraphQLDirectivesAware;
+import com.intellij.lang.jsgraphql.schema.GraphQLStringInterner;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import graphql.InvalidSyntaxError;
+import graphql.language.*;
+import graphql.parser.StringValueParsing;
+import graphql.schema.idl.errors.SchemaProblem;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates graphql-java language nodes directly from the GraphQL PSI, such that the text of a file doesn't have to be
+ * parsed a second time using the graphql-java ANTLR parser.
+ * <p>
+ * Template placeholders in injected GraphQL are converted the same way as the text replacements used for validation,
+ * i.e. '___' selections and '$__' variables, and top level templates are left out. Strings in injected GraphQL have the escaped
+ * quotes that delimit the injection replaced first, e.g. '\`' in JavaScript template literals.
+ * Definitions with syntax errors can't be converted and cause a {@link SchemaProblem} with an {@link InvalidSyntaxError}, except
+ * for incomplete directives which are skipped since they're typically the result of typing '@' before the directive name.
+ */
+public class GraphQLPsiToLanguage {
+
+    private final String mySourceName;
+    private final CharSequence myText;
+    private final int myBaseOffset;
+    private final int myBaseLine;
+    private final int myBaseColumn;
+
+    private final GraphQLInjectionSearchHelper myInjectionSearchHelper;
+
+    private int[] myLineStarts;
+    private GraphQLStringInterner myInterner;
+
+    private GraphQLPsiToLanguage(@NotNull PsiFile psiFile, @Nullable String sourceName, int baseOffset, int baseLine, int baseColumn) {
+        mySourceName = sourceName;
+        myText = psiFile.getViewProvider().getContents();
+        myBaseOffset = baseOffset;
+        myBaseLine = baseLine;
+        myBaseColumn = baseColumn;
+        myInjectionSearchHelper = psiFile.getContext() instanceof PsiLanguageInjectionHost
+            ? ServiceManager.getService(GraphQLInjectionSearchHelper.class)
+            : null;
+    }
+
+    /**
+     * Creates a converter with source locations in the file, taking the position of the injection into account for injected GraphQL.
+     *
+     * @param psiFile    the file containing the PSI to convert
+     * @param sourceName the source name to use in the locations
+     */
+    @NotNull
+    public static GraphQLPsiToLanguage forFile(@NotNull PsiFile psiFile, @Nullable String sourceName) {
+        // for injected GraphQL we need to take the location of the injection into account, so count the lines plus first-line column delta
+        int injectionLineDelta = 0;
+        int injectedFirstLineColumnDelta = 0;
+        final PsiElement context = psiFile.getContext();
+        if (context != null) {
+            final int endOffset = context.getTextOffset();
+            final CharSequence injectionBuffer = context.getContainingFile().getViewProvider().getContents();
+            for (int i = 0; i < endOffset; i++) {
+                if (injectionBuffer.charAt(i) == '\n') {
+                    injectedFirstLineColumnDelta = 0;
+                    injectionLineDelta++;
+                } else {
+                    injectedFirstLineColumnDelta++;
+                }
+            }
+        }
+        return new GraphQLPsiToLanguage(psiFile, sourceName, 0, injectionLineDelta + 1, injectedFirstLineColumnDelta);
+    }
+
+    /**
+     * Creates a converter with source locations relative to the start of the specified element, which is at line 1 and column 1.
+     *
+     * @param origin     the element that all locations are relative to
+     * @param sourceName the source name to use in the locations
+     */
+    @NotNull
+    public static GraphQLPsiToLanguage relativeTo(@NotNull PsiElement origin, @Nullable String sourceName) {
+        return new GraphQLPsiToLanguage(origin.getContainingFile(), sourceName, origin.getTextRange().getStartOffset(), 1, 0);
+    }
+
+    /**
+     * Shares the names and descriptions of the created nodes with the registries of the other files in the project.
+     */
+    @NotNull
+    public GraphQLPsiToLanguage withInterner(@NotNull GraphQLStringInterner interner) {
+        myInterner = interner;
+        return this;
+    }
+
+    @NotNull
+    public Document createDocument(@NotNull List<? extends GraphQLDefinition> definitions) {
+        final List<Definition> result = new ArrayList<>(definitions.size());
+        for (GraphQLDefinition definition : definitions) {
+            final Definition<?> converted = createDefinition(definition);
+            if (converted != null) {
+                result.add(converted);
+            }
+        }
+        return Document.newDocument().definitions(result).build();
+    }
+
+    /**
+     * Converts a definition.
+     *
+     * @return the language node, or null for top level template placeholders
+     * @throws SchemaProblem if the definition contains syntax errors
+     */
+    @Nullable
+    public Definition<?> createDefinition(@NotNull GraphQLDefinition definition) {
+        checkSyntaxErrors(definition);
+
+        if (definition instanceof GraphQLTypedOperationDefinition) {
+            return createOperationDefinition((GraphQLTypedOperationDefinition) definition);
+        } else if (definition instanceof GraphQLSelectionSetOperationDefinition) {
+            return OperationDefinition.newOperationDefinition()
+                .operation(OperationDefinition.Operation.QUERY)
+                .selectionSet(createSelectionSet(((GraphQLSelectionSetOperationDefinition) definition).getSelectionSet()))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        } else if (definition instanceof GraphQLFragmentDefinition) {
+            return createFragmentDefinition((GraphQLFragmentDefinition) definition);
+        } else if (definition instanceof GraphQLSchemaDefinition) {
+            return createSchemaDefinition((GraphQLSchemaDefinition) definition);
+        } else if (definition instanceof GraphQLTypeDefinition) {
+            return createTypeDefinition((GraphQLTypeDefinition) definition);
+        } else if (definition instanceof GraphQLTypeExtension) {
+            return createTypeExtension((GraphQLTypeExtension) definition);
+        } else if (definition instanceof GraphQLDirectiveDefinition) {
+            return createDirectiveDefinition((GraphQLDirectiveDefinition) definition);
+        }
+        return null;
+    }
+
+    // ---- executable definitions ----
+
+    @NotNull
+    private OperationDefinition createOperationDefinition(@NotNull GraphQLTypedOperationDefinition definition) {
+        final List<VariableDefinition> variableDefinitions = new ArrayList<>();
+        if (definition.getVariableDefinitions() != null) {
+            for (GraphQLVariableDefinition variableDefinition : definition.getVariableDefinitions().getVariableDefinitions()) {
+                variableDefinitions.add(VariableDefinition.newVariableDefinition()
+                    .name(getVariableName(variableDefinition.getVariable()))
+                    .type(createType(variableDefinition.getType()))
+                    .defaultValue(createDefaultValue(variableDefinition.getDefaultValue()))
+                    .directives(createDirectives(variableDefinition))
+                    .sourceLocation(getSourceLocation(variableDefinition))
+                    .build());
+            }
+        }
+        return OperationDefinition.newOperationDefinition()
+            .name(definition.getNameIdentifier() != null ? getName(definition.getNameIdentifier()) : null)
+            .operation(getOperation(definition.getOperationType().getText()))
+            .variableDefinitions(variableDefinitions)
+            .directives(createDirectives(definition))
+            .selectionSet(createSelectionSet(definition.getSelectionSet()))
+            .sourceLocation(getSourceLocation(definition))
+            .comments(getComments(definition))
+            .build();
+    }
+
+    @NotNull
+    private FragmentDefinition createFragmentDefinition(@NotNull GraphQLFragmentDefinition definition) {
+        return FragmentDefinition.newFragmentDefinition()
+            .name(getName(definition.getNameIdentifier()))
+            .typeCondition(createTypeCondition(definition.getTypeCondition()))
+            .directives(createDirectives(definition))
+            .selectionSet(createSelectionSet(definition.getSelectionSet()))
+            .sourceLocation(getSourceLocation(definition))
+            .comments(getComments(definition))
+            .build();
+    }
+
+    @Nullable
+    private SelectionSet createSelectionSet(@Nullable GraphQLSelectionSet selectionSet) {
+        if (selectionSet == null) {
+            return null;
+        }
+        final List<Selection> selections = new ArrayList<>();
+        for (GraphQLSelection selection : selectionSet.getSelectionList()) {
+            final Selection<?> converted = createSelection(selection);
+            if (converted != null) {
+                selections.add(converted);
+            }
+        }
+        return SelectionSet.newSelectionSet()
+            .selections(selections)
+            .sourceLocation(getSourceLocation(selectionSet))
+            .build();
+    }
+
+    @Nullable
+    private Selection<?> createSelection(@NotNull GraphQLSelection selection) {
+        final GraphQLField field = selection.getField();
+        if (field != null) {
+            return Field.newField()
+                .name(getName(field.getNameIdentifier()))
+                .alias(field.getAlias() != null ? getName(field.getAlias().getIdentifier()) : null)
+                .arguments(createArguments(field.getArguments()))
+                .directives(createDirectives(field))
+                .selectionSet(createSelectionSet(field.getSelectionSet()))
+                .sourceLocation(getSourceLocation(field))
+                .comments(getComments(selection))
+                .build();
+        }
+
+        final GraphQLFragmentSelection fragmentSelection = selection.getFragmentSelection();
+        if (fragmentSelection != null) {
+            final GraphQLFragmentSpread fragmentSpread = fragmentSelection.getFragmentSpread();
+            if (fragmentSpread != null) {
+                return FragmentSpread.newFragmentSpread()
+                    .name(getName(fragmentSpread.getNameIdentifier()))
+                    .directives(createDirectives(fragmentSpread))
+                    .sourceLocation(getSourceLocation(fragmentSelection))
+                    .comments(getComments(selection))
+                    .build();
+            }
+            final GraphQLInlineFragment inlineFragment = fragmentSelection.getInlineFragment();
+            if (inlineFragment != null) {
+                return InlineFragment.newInlineFragment()
+                    .typeCondition(createTypeCondition(inlineFragment.getTypeCondition()))
+                    .directives(createDirectives(inlineFragment))
+                    .selectionSet(createSelectionSet(inlineFragment.getSelectionSet()))
+                    .sourceLocation(getSourceLocation(fragmentSelection))
+                    .comments(getComments(selection))
+                    .build();
+            }
+            return null;
+        }
+
+        final GraphQLTemplateSelection templateSelection = selection.getTemplateSelection();
+        if (templateSelection != null) {
+            // same as the '___' replacement used when validating injected GraphQL
+            return Field.newField().name("___").sourceLocation(getSourceLocation(templateSelection)).build();
+        }
+        return null;
+    }
+
+    @Nullable
+    private TypeName createTypeCondition(@Nullable GraphQLTypeCondition typeCondition) {
+        return typeCondition != null ? createTypeName(typeCondition.getTypeName()) : null;
+    }
+
+    @NotNull
+    private static OperationDefinition.Operation getOperation(@NotNull String operationType) {
+        switch (operationType) {
+            case "mutation":
+                return OperationDefinition.Operation.MUTATION;
+            case "subscription":
+                return OperationDefinition.Operation.SUBSCRIPTION;
+            default:
+                return OperationDefinition.Operation.QUERY;
+        }
+    }
+
+    // ---- type system definitions ----
+
+    @NotNull
+    private SchemaDefinition createSchemaDefinition(@NotNull GraphQLSchemaDefinition definition) {
+        final List<OperationTypeDefinition> operationTypeDefinitions = new ArrayList<>();
+        if (definition.getOperationTypeDefinitions() != null) {
+            for (GraphQLOperationTypeDefinition operationTypeDefinition : definition.getOperationTypeDefinitions().getOperationTypeDefinitionList()) {
+                final PsiElement operation = operationTypeDefinition.getFirstChild();
+                operationTypeDefinitions.add(OperationTypeDefinition.newOperationTypeDefinition()
+                    .name(operation != null ? intern(operation.getText()) : "")
+                    .typeName(createTypeName(operationTypeDefinition.getTypeName()))
+                    .sourceLocation(getSourceLocation(operationTypeDefinition))
+                    .build());
+            }
+        }
+        return SchemaDefinition.newSchemaDefinition()
+            .directives(createDirectives(definition))
+            .operationTypeDefinitions(operationTypeDefinitions)
+            .sourceLocation(getSourceLocation(definition))
+            .comments(getComments(definition))
+            .build();
+    }
+
+    @Nullable
+    private Definition<?> createTypeDefinition(@NotNull GraphQLTypeDefinition definition) {
+        if (definition instanceof GraphQLObjectTypeDefinition) {
+            final GraphQLObjectTypeDefinition objectTypeDefinition = (GraphQLObjectTypeDefinition) definition;
+            return ObjectTypeDefinition.newObjectTypeDefinition()
+                .name(getName(objectTypeDefinition.getTypeNameDefinition()))
+                .implementz(createImplements(objectTypeDefinition.getImplementsInterfaces()))
+                .directives(createDirectives(objectTypeDefinition))
+                .fieldDefinitions(createFieldDefinitions(objectTypeDefinition.getFieldsDefinition()))
+                .description(createDescription(objectTypeDefinition))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        } else if (definition instanceof GraphQLInterfaceTypeDefinition) {
+            final GraphQLInterfaceTypeDefinition interfaceTypeDefinition = (GraphQLInterfaceTypeDefinition) definition;
+            return InterfaceTypeDefinition.newInterfaceTypeDefinition()
+                .name(getName(interfaceTypeDefinition.getTypeNameDefinition()))
+                .implementz(createImplements(interfaceTypeDefinition.getImplementsInterfaces()))
+                .directives(createDirectives(interfaceTypeDefinition))
+                .definitions(createFieldDefinitions(interfaceTypeDefinition.getFieldsDefinition()))
+                .description(createDescription(interfaceTypeDefinition))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        } else if (definition instanceof GraphQLInputObjectTypeDefinition) {
+            final GraphQLInputObjectTypeDefinition inputObjectTypeDefinition = (GraphQLInputObjectTypeDefinition) definition;
+            final GraphQLInputObjectValueDefinitions valueDefinitions = inputObjectTypeDefinition.getInputObjectValueDefinitions();
+            return InputObjectTypeDefinition.newInputObjectDefinition()
+                .name(getName(inputObjectTypeDefinition.getTypeNameDefinition()))
+                .directives(createDirectives(inputObjectTypeDefinition))
+                .inputValueDefinitions(createInputValueDefinitions(valueDefinitions != null ? valueDefinitions.getInputValueDefinitionList() : null))
+                .description(createDescription(inputObjectTypeDefinition))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        } else if (definition instanceof GraphQLEnumTypeDefinition) {
+            final GraphQLEnumTypeDefinition enumTypeDefinition = (GraphQLEnumTypeDefinition) definition;
+            return EnumTypeDefinition.newEnumTypeDefinition()
+                .name(getName(enumTypeDefinition.getTypeNameDefinition()))
+                .directives(createDirectives(enumTypeDefinition))
+                .enumValueDefinitions(createEnumValueDefinitions(enumTypeDefinition.getEnumValueDefinitions()))
+                .description(createDescription(enumTypeDefinition))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        } else if (definition instanceof GraphQLUnionTypeDefinition) {
+            final GraphQLUnionTypeDefinition unionTypeDefinition = (GraphQLUnionTypeDefinition) definition;
+            return UnionTypeDefinition.newUnionTypeDefinition()
+                .name(getName(unionTypeDefinition.getTypeNameDefinition()))
+                .directives(createDirectives(unionTypeDefinition))
+                .memberTypes(createUnionMembers(unionTypeDefinition.getUnionMembership()))
+                .description(createDescription(unionTypeDefinition))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        } else if (definition instanceof GraphQLScalarTypeDefinition) {
+            final GraphQLScalarTypeDefinition scalarTypeDefinition = (GraphQLScalarTypeDefinition) definition;
+            return ScalarTypeDefinition.newScalarTypeDefinition()
+                .name(getName(scalarTypeDefinition.getTypeNameDefinition()))
+                .directives(createDirectives(scalarTypeDefinition))
+                .description(createDescription(scalarTypeDefinition))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        }
+        return null;
+    }
+
+    @Nullable
+    private Definition<?> createTypeExtension(@NotNull GraphQLTypeExtension definition) {
+        if (definition instanceof GraphQLObjectTypeExtensionDefinition) {
+            final GraphQLObjectTypeExtensionDefinition extension = (GraphQLObjectTypeExtensionDefinition) definition;
+            return ObjectTypeExtensionDefinition.newObjectTypeExtensionDefinition()
+                .name(getName(extension.getTypeName()))
+                .implementz(createImplements(extension.getImplementsInterfaces()))
+                .directives(createDirectives(extension))
+                .fieldDefinitions(createFieldDefinitions(extension.getFieldsDefinition()))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        } else if (definition instanceof GraphQLInterfaceTypeExtensionDefinition) {
+            final GraphQLInterfaceTypeExtensionDefinition extension = (GraphQLInterfaceTypeExtensionDefinition) definition;
+            return InterfaceTypeExtensionDefinition.newInterfaceTypeExtensionDefinition()
+                .name(getName(extension.getTypeName()))
+                .implementz(createImplements(extension.getImplementsInterfaces()))
+                .directives(createDirectives(extension))
+                .definitions(createFieldDefinitions(extension.getFieldsDefinition()))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        } else if (definition instanceof GraphQLInputObjectTypeExtensionDefinition) {
+            final GraphQLInputObjectTypeExtensionDefinition extension = (GraphQLInputObjectTypeExtensionDefinition) definition;
+            final GraphQLInputObjectValueDefinitions valueDefinitions = extension.getInputObjectValueDefinitions();
+            return InputObjectTypeExtensionDefinition.newInputObjectTypeExtensionDefinition()
+                .name(getName(extension.getTypeName()))
+                .directives(createDirectives(extension))
+                .inputValueDefinitions(createInputValueDefinitions(valueDefinitions != null ? valueDefinitions.getInputValueDefinitionList() : null))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        } else if (definition instanceof GraphQLEnumTypeExtensionDefinition) {
+            final GraphQLEnumTypeExtensionDefinition extension = (GraphQLEnumTypeExtensionDefinition) definition;
+            return EnumTypeExtensionDefinition.newEnumTypeExtensionDefinition()
+                .name(getName(extension.getTypeName()))
+                .directives(createDirectives(extension))
+                .enumValueDefinitions(createEnumValueDefinitions(extension.getEnumValueDefinitions()))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        } else if (definition instanceof GraphQLUnionTypeExtensionDefinition) {
+            final GraphQLUnionTypeExtensionDefinition extension = (GraphQLUnionTypeExtensionDefinition) definition;
+            return UnionTypeExtensionDefinition.newUnionTypeExtensionDefinition()
+                .name(getName(extension.getTypeName()))
+                .directives(createDirectives(extension))
+                .memberTypes(createUnionMembers(extension.getUnionMembership()))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        } else if (definition instanceof GraphQLScalarTypeExtensionDefinition) {
+            final GraphQLScalarTypeExtensionDefinition extension = (GraphQLScalarTypeExtensionDefinition) definition;
+            return ScalarTypeExtensionDefinition.newScalarTypeExtensionDefinition()
+                .name(getName(extension.getTypeName()))
+                .directives(createDirectives(extension))
+                .sourceLocation(getSourceLocation(definition))
+                .comments(getComments(definition))
+                .build();
+        }
+        return null;
+    }
+
+    @NotNull
+    private DirectiveDefinition createDirectiveDefinition(@NotNull GraphQLDirectiveDefinition definition) {
+        final List<DirectiveLocation> directiveLocations = new ArrayList<>();
+        if (definition.getDirectiveLocations() != null) {
+            for (GraphQLDirectiveLocation directiveLocation : definition.getDirectiveLocations().getDirectiveLocationList()) {
+                directiveLocations.add(DirectiveLocation.newDirectiveLocation()
+                    .name(intern(directiveLocation.getText()))
+                    .sourceLocation(getSourceLocation(directiveLocation))
+                    .build());
+            }
+        }
+        final GraphQLArgumentsDefinition argumentsDefinition = definition.getArgumentsDefinition();
+        return DirectiveDefinition.newDirectiveDefinition()
+            .name(getName(definition.getNameIdentifier()))
+            .inputValueDefinitions(createInputValueDefinitions(argumentsDefinition != null ? argumentsDefinition.getInputValueDefinitionList() : null))
+            .directiveLocations(directiveLocations)
+            .description(createDescription(definition))
+            .sourceLocation(getSourceLocation(definition))
+            .comments(getComments(definition))
+            .build();
+    }
+
+    @NotNull
+    private List<FieldDefinition> createFieldDefinitions(@Nullable GraphQLFieldsDefinition fieldsDefinition) {
+        if (fieldsDefinition == null) {
+            return Collections.emptyList();
+        }
+        final List<FieldDefinition> fieldDefinitions = new ArrayList<>();
+        for (GraphQLFieldDefinition fieldDefinition : fieldsDefinition.getFieldDefinitionList()) {
+            final GraphQLArgumentsDefinition argumentsDefinition = fieldDefinition.getArgumentsDefinition();
+            fieldDefinitions.add(FieldDefinition.newFieldDefinition()
+                .name(getName(fieldDefinition.getNameIdentifier()))
+                .type(createType(fieldDefinition.getType()))
+                .inputValueDefinitions(createInputValueDefinitions(argumentsDefinition != null ? argumentsDefinition.getInputValueDefinitionList() : null))
+                .directives(createDirectives(fieldDefinition))
+                .description(createDescription(fieldDefinition))
+                .sourceLocation(getSourceLocation(fieldDefinition))
+                .comments(getComments(fieldDefinition))
+                .build());
+        }
+        return fieldDefinitions;
+    }
+
+    @NotNull
+    private List<InputValueDefinition> createInputValueDefinitions(@Nullable List<GraphQLInputValueDefinition> inputValueDefinitions) {
+        if (inputValueDefinitions == null) {
+            return Collections.emptyList();
+        }
+        final List<InputValueDefinition> result = new ArrayList<>(inputValueDefinitions.size());
+        for (GraphQLInputValueDefinition inputValueDefinition : inputValueDefinitions) {
+            result.add(InputValueDefinition.newInputValueDefinition()
+                .name(getName(inputValueDefinition.getNameIdentifier()))
+                .type(createType(inputValueDefinition.getType()))
+                .defaultValue(createDefaultValue(inputValueDefinition.getDefaultValue()))
+                .directives(createDirectives(inputValueDefinition))
+                .description(createDescription(inputValueDefinition))
+                .sourceLocation(getSourceLocation(inputValueDefinition))
+                .comments(getComments(inputValueDefinition))
+                .build());
+        }
+        return result;
+    }
+
+    @NotNull
+    private List<EnumValueDefinition> createEnumValueDefinitions(@Nullable GraphQLEnumValueDefinitions enumValueDefinitions) {
+        if (enumValueDefinitions == null) {
+            return Collections.emptyList();
+        }
+        final List<EnumValueDefinition> result = new ArrayList<>();
+        for (GraphQLEnumValueDefinition enumValueDefinition : enumValueDefinitions.getEnumValueDefinitionList()) {
+            result.add(EnumValueDefinition.newEnumValueDefinition()
+                .name(getName(enumValueDefinition.getEnumValue().getNameIdentifier()))
+                .directives(createDirectives(enumValueDefinition))
+                .description(createDescription(enumValueDefinition))
+                .sourceLocation(getSourceLocation(enumValueDefinition))
+                .comments(getComments(enumValueDefinition))
+                .build());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @NotNull
+    private List<Type> createImplements(@Nullable GraphQLImplementsInterfaces implementsInterfaces) {
+        return implementsInterfaces != null ? createTypeNames(implementsInterfaces.getTypeNameList()) : new ArrayList<>();
+    }
+
+    @SuppressWarnings("rawtypes")
+    @NotNull
+    private List<Type> createUnionMembers(@Nullable GraphQLUnionMembership unionMembership) {
+        if (unionMembership == null || unionMembership.getUnionMembers() == null) {
+            return new ArrayList<>();
+        }
+        return createTypeNames(unionMembership.getUnionMembers().getTypeNameList());
+    }
+
+    @SuppressWarnings("rawtypes")
+    @NotNull
+    private List<Type> createTypeNames(@NotNull List<GraphQLTypeName> typeNames) {
+        final List<Type> result = new ArrayList<>(typeNames.size());
+        for (GraphQLTypeName typeName : typeNames) {
+            result.add(createTypeName(typeName));
+        }
+        return result;
+    }
+
+    @Nullable
+    private Description createDescription(@NotNull GraphQLDescriptionAware descriptionAware) {
+        final GraphQLQuotedString description = descriptionAware.getDescription();
+        if (description == null) {
+            return null;
+        }
+        final String text = description.getText();
+        return new Description(intern(parseString(description)), getSourceLocation(description), isBlockString(text));
+    }
+
+    // ---- shared nodes ----
+
+    @Nullable
+    private Type<?> createType(@Nullable GraphQLType type) {
+        if (type instanceof GraphQLNonNullType) {
+            return NonNullType.newNonNullType()
+                .type(createType(((GraphQLNonNullType) type).getType()))
+                .sourceLocation(getSourceLocation(type))
+                .build();
+        } else if (type instanceof GraphQLListType) {
+            return ListType.newListType()
+                .type(createType(((GraphQLListType) type).getType()))
+                .sourceLocation(getSourceLocation(type))
+                .build();
+        } else if (type instanceof GraphQLTypeName) {
+            return createTypeName((GraphQLTypeName) type);
+        }
+        return null;
+    }
+
+    @Nullable
+    private TypeName createTypeName(@Nullable GraphQLTypeName typeName) {
+        if (typeName == null) {
+            return null;
+        }
+        return TypeName.newTypeName()
+            .name(getName(typeName.getNameIdentifier()))
+            .sourceLocation(getSourceLocation(typeName))
+            .build();
+    }
+
+    @NotNull
+    private List<Directive> createDirectives(@NotNull GraphQLDirectivesAware directivesAware) {
+        final List<GraphQLDirective> directives = directivesAware.getDirectives();
+        if (directives.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final List<Directive> result = new ArrayList<>(directives.size());
+        for (GraphQLDirective directive : directives) {
+            if (directive.getNameIdentifier() == null || hasSyntaxError(directive)) {
+                // happens when typing '@' and the name of the directive is still missing
+                continue;
+            }
+            result.add(Directive.newDirective()
+                .name(getName(directive.getNameIdentifier()))
+                .arguments(createArguments(directive.getArguments()))
+                .sourceLocation(getSourceLocation(directive))
+                .build());
+        }
+        return result;
+    }
+
+    @NotNull
+    private List<Argument> createArguments(@Nullable GraphQLArguments arguments) {
+        if (arguments == null) {
+            return new ArrayList<>();
+        }
+        final List<Argument> result = new ArrayList<>();
+        for (GraphQLArgument argument : arguments.getArgumentList()) {
+            result.add(Argument.newArgument()
+                .name(getName(argument.getNameIdentifier()))
+                .value(createValue(argument.getValue()))
+                .sourceLocation(getSourceLocation(argument))
+                .build());
+        }
+        return result;
+    }
+
+    @Nullable
+    private Value<?> createDefaultValue(@Nullable GraphQLDefaultValue defaultValue) {
+        return defaultValue != null ? createValue(defaultValue.getValue()) : null;
+    }
+
+    @Nullable
+    private Value<?> createValue(@Nullable GraphQLValue value) {
+        if (value == null) {
+            return null;
+        }
+        final SourceLocation sourceLocation = getSourceLocation(value);
+        if (value instanceof GraphQLVariable) {
+            return VariableReference.newVariableReference().name(getVariableName((GraphQLVariable) value)).sourceLocation(sourceLocation).build();
+        } else if (value instanceof GraphQLTemplateVariable) {
+            // same as the '$__' replacement used when validating injected GraphQL
+            return VariableReference.newVariableReference().name("__").sourceLocation(sourceLocation).build();
+        } else if (value instanceof GraphQLIntValue) {
+            return IntValue.newIntValue().value(new BigInteger(value.getText())).sourceLocation(sourceLocation).build();
+        } else if (value instanceof GraphQLFloatValue) {
+            return FloatValue.newFloatValue().value(new BigDecimal(value.getText())).sourceLocation(sourceLocation).build();
+        } else if (value instanceof GraphQLBooleanValue) {
+            return BooleanValue.newBooleanValue().value("true".equals(value.getText())).sourceLocation(sourceLocation).build();
+        } else if (value instanceof GraphQLNullValue) {
+            return NullValue.newNullValue().sourceLocation(sourceLocation).build();
+        } else if (value instanceof GraphQLStringValue) {
+            return StringValue.newStringValue().value(parseString(((GraphQLStringValue) value).getQuotedString())).sourceLocation(sourceLocation).build();
+        } else if (value instanceof GraphQLEnumValue) {
+            return EnumValue.newEnumValue().name(getName(((GraphQLEnumValue) value).getNameIdentifier())).sourceLocation(sourceLocation).build();
+        } else if (value instanceof GraphQLArrayValue) {
+            final List<Value> values = new ArrayList<>();
+            for (GraphQLValue element : ((GraphQLArrayValue) value).getValueList()) {
+                final Value<?> converted = createValue(element);
+                if (converted != null) {
+                    values.add(converted);
+                }
+            }
+            return ArrayValue.newArrayValue().values(values).sourceLocation(sourceLocation).build();
+        } else if (value instanceof GraphQLObjectValue) {
+            final List<ObjectField> objectFields = new ArrayList<>();
+            for (GraphQLObjectField objectField : ((GraphQLObjectValue) value).getObjectFieldList()) {
+                objectFields.add(ObjectField.newObjectField()
+                    .name(getName(objectField.getNameIdentifier()))
+                    .value(createValue(objectField.getValue()))
+                    .sourceLocation(getSourceLocation(objectField))
+                    .build());
+            }
+            return ObjectValue.newObjectValue().objectFields(objectFields).sourceLocation(sourceLocation).build();
+        }
+        return null;
+    }
+
+    @NotNull
+    private String getName(@Nullable PsiElement nameElement) {
+        if (nameElement instanceof GraphQLNamedElement) {
+            nameElement = ((GraphQLNamedElement) nameElement).getNameIdentifier();
+        }
+        return nameElement != null ? intern(nameElement.getText()) : "";
+    }
+
+    @NotNull
+    private String intern(@NotNull String value) {
+        return myInterner != null ? myInterner.intern(value) : value;
+    }
+
+    private static boolean isBlockString(@NotNull String quotedText) {
+        return quotedText.startsWith("\"\"\"");
+    }
+
+    /**
+     * Gets the value of a string, failing with a syntax error for invalid escape sequences like the graphql-java lexer does
+     */
+    @NotNull
+    private String parseString(@NotNull GraphQLQuotedString quotedString) {
+        String quotedText = quotedString.getText();
+        if (myInjectionSearchHelper != null) {
+            quotedText = myInjectionSearchHelper.applyInjectionDelimitingQuotesEscape(quotedText);
+        }
+        try {
+            return isBlockString(quotedText)
+                ? StringValueParsing.parseTripleQuotedString(quotedText)
+                : StringValueParsing.parseSingleQuotedString(quotedText);
+        } catch (RuntimeException e) {
+            final InvalidSyntaxError syntaxError = new InvalidSyntaxError(
+                Collections.singletonList(getSourceLocation(quotedString)),
+                "Invalid string: " + quotedText);
+            throw new SchemaProblem(Collections.singletonList(syntaxError));
+        }
+    }
+
+    @NotNull
+    private String getVariableName(@Nullable GraphQLVariable variable) {
+        // the variable token includes the '$'
+        return variable != null ? intern(StringUtil.trimStart(variable.getText(), "$")) : "";
+    }
+
+    /**
+     * Gets the comment lines directly preceding the element, which graphql-java uses as a fallback for missing descriptions
+     */
+    @NotNull
+    private List<Comment> getComments(@NotNull PsiElement element) {
+        List<Comment> comments = null;
+        PsiElement prevSibling = element.getPrevSibling();
+        while (prevSibling instanceof PsiComment || prevSibling instanceof PsiWhiteSpace) {
+            if (prevSibling instanceof PsiComment) {
+                if (comments == null) {
+                    comments = new ArrayList<>();
+                }
+                comments.add(0, new Comment(StringUtil.trimStart(prevSibling.getText(), "#"), getSourceLocation(prevSibling)));
+            } else if (StringUtil.countNewLines(prevSibling.getText()) > 1) {
+                // a blank line separates the comments from the element
+                break;
+            }
+            prevSibling = prevSibling.getPrevSibling();
+        }
+        return comments != null ? comments : new ArrayList<>();
+    }
+
+    // ---- syntax errors ----
+
+    private static boolean hasSyntaxError(@NotNull PsiElement element) {
+        return PsiTreeUtil.findChildOfType(element, PsiErrorElement.class) != null;
+    }
+
+    private void checkSyntaxErrors(@NotNull GraphQLDefinition definition) {
+        for (PsiErrorElement error : PsiTreeUtil.findChildrenOfType(definition, PsiErrorElement.class)) {
+            if (PsiTreeUtil.getParentOfType(error, GraphQLDirective.class) != null) {
+                // incomplete directives are skipped during conversion
+                continue;
+            }
+            PsiElement offendingElement = error.getTextLength() > 0 ? error : PsiTreeUtil.nextVisibleLeaf(error);
+            if (offendingElement == null || !PsiTreeUtil.isAncestor(definition, offendingElement, false)) {
+                offendingElement = error;
+            }
+            final InvalidSyntaxError syntaxError = new InvalidSyntaxError(
+                Collections.singletonList(getSourceLocation(offendingElement)),
+                "Unexpected token: \"" + offendingElement.getText() + "\"");
+            throw new SchemaProblem(Collections.singletonList(syntaxError));
+        }
+    }
+
+    // ---- source locations ----
+
+    @NotNull
+    private SourceLocation getSourceLocation(@NotNull PsiElement element) {
+        final int offset = element.getTextRange().getStartOffset();
+        final int line = getLineIndex(offset);
+        final int baseLine = getLineIndex(myBaseOffset);
+        if (line == baseLine) {
+            return new SourceLocation(myBaseLine, myBaseColumn + offset - myBaseOffset + 1, mySourceName);
+        }
+        return new SourceLocation(myBaseLine + line - baseLine, offset - getLineStarts()[line] + 1, mySourceName);
+    }
+
+    private int getLineIndex(int offset) {
+        final int[] lineStarts = getLineStarts();
+        int low = 0;
+        int high = lineStarts.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (lineStarts[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @NotNull
+    private int[] getLineStarts() {
+        if (myLineStarts == null) {
+            int[] lineStarts = new int[16];
+            int count = 1;
+            for (int i = 0; i < myText.length(); i++) {
+                if (myText.charAt(i) == '\n') {
+                    if (count == lineStarts.length) {
+                        lineStarts = Arrays.copyOf(lineStarts, count * 2);
+                    }
+                    lineStarts[count++] = i + 1;
+                }
+            }
+            myLineStarts = Arrays.copyOf(lineStarts, count);
+        }
+        return myLineStarts;
+    }
+}
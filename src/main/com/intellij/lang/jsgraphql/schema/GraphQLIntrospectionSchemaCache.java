@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import com.intellij.lang.jsgraphql.GraphQLLanguage;
+import com.intellij.lang.jsgraphql.GraphQLSettings;
+import com.intellij.lang.jsgraphql.ide.editor.GraphQLIntrospectionService;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.utils.GraphQLUtil;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import graphql.GraphQLException;
+import graphql.InvalidSyntaxError;
+import graphql.language.SourceLocation;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.errors.SchemaProblem;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+
+import static com.intellij.lang.jsgraphql.schema.GraphQLSchemaKeys.GRAPHQL_INTROSPECTION_SDL_TO_JSON;
+import static com.intellij.lang.jsgraphql.schema.GraphQLSchemaKeys.IS_GRAPHQL_INTROSPECTION_SDL;
+
+/**
+ * Keeps the types of JSON introspection result files that are used as "schemaPath" in a .graphqlconfig.
+ * <p>
+ * The JSON is printed as SDL and parsed straight into a registry, without building the PSI of either the JSON or the SDL. The registry
+ * is kept until the JSON changes, so the registry builder can skip the file when other parts of the schema change. The GraphQL PSI of
+ * the SDL is only created when references are resolved into the schema or its source is navigated to, and is then cached until the JSON
+ * changes, so the elements that references resolve to stay valid between uses.
+ */
+public final class GraphQLIntrospectionSchemaCache {
+
+    private static final Logger LOG = Logger.getInstance(GraphQLIntrospectionSchemaCache.class);
+
+    private static final Key<IntrospectionSchema> INTROSPECTION_SCHEMA = Key.create("JSGraphQL.IntrospectionSchema");
+
+    private GraphQLIntrospectionSchemaCache() {
+    }
+
+    /**
+     * Gets whether the types of the JSON file have been added to a schema
+     */
+    public static boolean isIntrospectionFile(@Nullable VirtualFile file) {
+        return file != null && file.getUserData(INTROSPECTION_SCHEMA) != null;
+    }
+
+    /**
+     * Gets the types of a JSON introspection result file. The same registry is returned until the file changes.
+     *
+     * @throws GraphQLException if the JSON isn't a valid introspection result
+     */
+    @NotNull
+    public static TypeDefinitionRegistry getRegistry(@NotNull PsiFile jsonFile) {
+        final IntrospectionSchema schema = getSchema(jsonFile);
+        if (schema.myError != null) {
+            throw schema.myError;
+        }
+        return schema.myRegistry;
+    }
+
+    /**
+     * Gets the string copies that were replaced with shared strings while parsing the types of a JSON introspection result file
+     */
+    @NotNull
+    public static GraphQLStringInterner.Savings getStringSavings(@NotNull PsiFile jsonFile) {
+        return getSchema(jsonFile).myStringSavings;
+    }
+
+    /**
+     * Gets the GraphQL SDL file which the source locations of the introspection types point into.
+     *
+     * @return the SDL file, or <code>null</code> if the JSON isn't a valid introspection result
+     */
+    @Nullable
+    public static GraphQLFile getSDLFile(@NotNull PsiFile jsonFile) {
+        final IntrospectionSchema schema = getSchema(jsonFile);
+        if (schema.myError != null) {
+            return null;
+        }
+        synchronized (schema) {
+            if (schema.mySDLFile == null) {
+                // the schema is replaced when the JSON changes, and the cached value also depends on the JSON file in case it's still in use
+                schema.mySDLFile = CachedValuesManager.getManager(jsonFile.getProject()).createCachedValue(
+                    () -> CachedValueProvider.Result.create(printSDLFile(jsonFile), jsonFile), false);
+            }
+            return schema.mySDLFile.getValue();
+        }
+    }
+
+    @Nullable
+    private static GraphQLFile printSDLFile(@NotNull PsiFile jsonFile) {
+        final String sdl;
+        try {
+            sdl = printIntrospectionAsGraphQL(jsonFile);
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.warn("Unable to print introspection result as SDL: " + jsonFile.getName(), e);
+            return null;
+        }
+        return createSDLFile(jsonFile, sdl);
+    }
+
+    @NotNull
+    private static IntrospectionSchema getSchema(@NotNull PsiFile jsonFile) {
+        final VirtualFile file = jsonFile.getViewProvider().getVirtualFile();
+        final long modificationStamp = jsonFile.getViewProvider().getModificationStamp();
+        final boolean defaultValues = GraphQLSettings.getSettings(jsonFile.getProject()).isEnableIntrospectionDefaultValues();
+        IntrospectionSchema schema = file.getUserData(INTROSPECTION_SCHEMA);
+        if (schema != null && schema.isUpToDate(modificationStamp, defaultValues)) {
+            return schema;
+        }
+        synchronized (INTROSPECTION_SCHEMA) {
+            schema = file.getUserData(INTROSPECTION_SCHEMA);
+            if (schema == null || !schema.isUpToDate(modificationStamp, defaultValues)) {
+                schema = createSchema(jsonFile, modificationStamp, defaultValues);
+                file.putUserData(INTROSPECTION_SCHEMA, schema);
+            }
+            return schema;
+        }
+    }
+
+    @NotNull
+    private static IntrospectionSchema createSchema(@NotNull PsiFile jsonFile, long modificationStamp, boolean defaultValues) {
+        final GraphQLStringInterner.Savings stringSavings = new GraphQLStringInterner.Savings();
+        final GraphQLStringInterner interner = GraphQLStringInterner.getInstance(jsonFile.getProject()).withSavings(stringSavings);
+        final String fileName = interner.intern(jsonFile.getViewProvider().getVirtualFile().getPath());
+        try {
+            // parse the printed SDL as-is, since the source locations must match the lines of the SDL file that's created on demand
+            final String sdl = printIntrospectionAsGraphQL(jsonFile);
+            final TypeDefinitionRegistry registry = new SchemaParser().buildRegistry(GraphQLUtil.parseDocument(sdl, fileName, 0, 0, interner));
+            return new IntrospectionSchema(modificationStamp, defaultValues, registry, null, stringSavings);
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Exception e) {
+            final SourceLocation sourceLocation = new SourceLocation(1, 1, fileName);
+            final SchemaProblem error = new SchemaProblem(Collections.singletonList(new InvalidSyntaxError(sourceLocation, e.getMessage())));
+            return new IntrospectionSchema(modificationStamp, defaultValues, null, error, stringSavings);
+        }
+    }
+
+    @NotNull
+    private static String printIntrospectionAsGraphQL(@NotNull PsiFile jsonFile) {
+        // read the text from the document or file rather than the PSI, which would build the JSON tree of the whole result
+        final String json = jsonFile.getViewProvider().getContents().toString();
+        return GraphQLIntrospectionService.getInstance(jsonFile.getProject()).printIntrospectionAsGraphQL(json);
+    }
+
+    @NotNull
+    private static GraphQLFile createSDLFile(@NotNull PsiFile jsonFile, @NotNull String sdl) {
+        final Project project = jsonFile.getProject();
+        final String fileName = jsonFile.getViewProvider().getVirtualFile().getPath();
+        final GraphQLFile sdlFile = (GraphQLFile) PsiFileFactory.getInstance(project).createFileFromText(fileName, GraphQLLanguage.INSTANCE, sdl);
+        sdlFile.putUserData(IS_GRAPHQL_INTROSPECTION_SDL, true);
+        sdlFile.putUserData(GRAPHQL_INTROSPECTION_SDL_TO_JSON, jsonFile);
+        sdlFile.getVirtualFile().putUserData(IS_GRAPHQL_INTROSPECTION_SDL, true);
+        sdlFile.getVirtualFile().putUserData(GRAPHQL_INTROSPECTION_SDL_TO_JSON, jsonFile);
+        sdlFile.getVirtualFile().setWritable(false);
+        return sdlFile;
+    }
+
+    private static final class IntrospectionSchema {
+
+        private final long myModificationStamp;
+        private final boolean myDefaultValues;
+        private final TypeDefinitionRegistry myRegistry;
+        private final GraphQLException myError;
+        private final GraphQLStringInterner.Savings myStringSavings;
+        private CachedValue<GraphQLFile> mySDLFile;
+
+        IntrospectionSchema(long modificationStamp,
+                            boolean defaultValues,
+                            @Nullable TypeDefinitionRegistry registry,
+                            @Nullable GraphQLException error,
+                            @NotNull GraphQLStringInterner.Savings stringSavings) {
+            myModificationStamp = modificationStamp;
+            myDefaultValues = defaultValues;
+            myRegistry = registry;
+            myError = error;
+            myStringSavings = stringSavings;
+        }
+
+        boolean isUpToDate(long modificationStamp, boolean defaultValues) {
+            // the printed SDL depends on whether default values are included
+            return myModificationStamp == modificationStamp && myDefaultValues == defaultValues;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import graphql.language.*;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The possible object types of the object, interface and union types in a registry, i.e. the transitive implementations of interfaces
+ * and the object members of unions, and the interfaces that each type implements.
+ * <p>
+ * Types are numbered and the relations are kept as sorted id arrays, so checking whether a fragment can be spread in a type scope is a
+ * lookup or a merge of two arrays rather than a scan of all the types in the registry for every candidate fragment.
+ *
+ * @see GraphQLSchemaProvider#getPossibleTypes(com.intellij.psi.PsiElement)
+ */
+public final class GraphQLPossibleTypes {
+
+    private static final int[] NO_TYPES = new int[0];
+
+    private final Map<String, Integer> myTypeIds = Maps.newHashMap();
+    private final String[] myTypeNames;
+    private final boolean[] myObjectTypes;
+    private final int[][] myPossibleTypes;
+    private final int[][] mySupertypes;
+
+    public GraphQLPossibleTypes(@NotNull TypeDefinitionRegistry registry) {
+        // extensions can add interfaces and union members, so they're part of the relations too
+        final List<TypeDefinition<?>> definitions = Lists.newArrayList();
+        for (TypeDefinition<?> definition : registry.types().values()) {
+            if (definition instanceof ObjectTypeDefinition || definition instanceof InterfaceTypeDefinition || definition instanceof UnionTypeDefinition) {
+                definitions.add(definition);
+            }
+        }
+        registry.objectTypeExtensions().values().forEach(definitions::addAll);
+        registry.interfaceTypeExtensions().values().forEach(definitions::addAll);
+        registry.unionTypeExtensions().values().forEach(definitions::addAll);
+
+        for (TypeDefinition<?> definition : definitions) {
+            if (!myTypeIds.containsKey(definition.getName())) {
+                myTypeIds.put(definition.getName(), myTypeIds.size());
+            }
+        }
+        final int typeCount = myTypeIds.size();
+        myTypeNames = new String[typeCount];
+        myObjectTypes = new boolean[typeCount];
+        myTypeIds.forEach((name, id) -> myTypeNames[id] = name);
+
+        final BitSet[] directSupertypes = new BitSet[typeCount];
+        final BitSet[] members = new BitSet[typeCount];
+        for (TypeDefinition<?> definition : definitions) {
+            final int id = myTypeIds.get(definition.getName());
+            final List<Type> types;
+            if (definition instanceof ObjectTypeDefinition) {
+                myObjectTypes[id] = true;
+                types = ((ObjectTypeDefinition) definition).getImplements();
+                directSupertypes[id] = addTypeIds(directSupertypes[id], types);
+            } else if (definition instanceof InterfaceTypeDefinition) {
+                types = ((InterfaceTypeDefinition) definition).getImplements();
+                directSupertypes[id] = addTypeIds(directSupertypes[id], types);
+            } else {
+                types = ((UnionTypeDefinition) definition).getMemberTypes();
+                members[id] = addTypeIds(members[id], types);
+            }
+        }
+
+        // interfaces can implement interfaces, so the supertypes are the transitive closure of the implemented interfaces
+        mySupertypes = new int[typeCount][];
+        final BitSet[] possibleTypes = new BitSet[typeCount];
+        for (int id = 0; id < typeCount; id++) {
+            final BitSet supertypes = new BitSet();
+            collectSupertypes(id, directSupertypes, supertypes);
+            supertypes.clear(id);
+            mySupertypes[id] = toArray(supertypes);
+            if (myObjectTypes[id]) {
+                for (int supertype : mySupertypes[id]) {
+                    if (possibleTypes[supertype] == null) {
+                        possibleTypes[supertype] = new BitSet();
+                    }
+                    possibleTypes[supertype].set(id);
+                }
+            }
+        }
+        myPossibleTypes = new int[typeCount][];
+        for (int id = 0; id < typeCount; id++) {
+            if (myObjectTypes[id]) {
+                myPossibleTypes[id] = new int[]{id};
+            } else if (members[id] != null) {
+                // union members must be object types
+                final BitSet objectMembers = new BitSet();
+                members[id].stream().filter(member -> myObjectTypes[member]).forEach(objectMembers::set);
+                myPossibleTypes[id] = toArray(objectMembers);
+            } else {
+                myPossibleTypes[id] = toArray(possibleTypes[id]);
+            }
+        }
+    }
+
+    /**
+     * Gets whether a fragment on the specified type can be spread in a selection on the scope type, i.e. whether the types have
+     * a possible object type in common
+     */
+    public boolean isPossibleSpread(@NotNull String fragmentTypeName, @NotNull String scopeTypeName) {
+        if (fragmentTypeName.equals(scopeTypeName)) {
+            return true;
+        }
+        final Integer fragmentTypeId = myTypeIds.get(fragmentTypeName);
+        final Integer scopeTypeId = myTypeIds.get(scopeTypeName);
+        if (fragmentTypeId == null || scopeTypeId == null) {
+            return false;
+        }
+        final int[] fragmentPossibleTypes = myPossibleTypes[fragmentTypeId];
+        final int[] scopePossibleTypes = myPossibleTypes[scopeTypeId];
+        if (myObjectTypes[fragmentTypeId]) {
+            return Arrays.binarySearch(scopePossibleTypes, fragmentTypeId) >= 0;
+        }
+        if (myObjectTypes[scopeTypeId]) {
+            return Arrays.binarySearch(fragmentPossibleTypes, scopeTypeId) >= 0;
+        }
+        return intersects(fragmentPossibleTypes, scopePossibleTypes);
+    }
+
+    /**
+     * Gets the object types that a selection on the specified type can resolve to, e.g. the implementations of an interface
+     */
+    @NotNull
+    public List<String> getPossibleTypes(@NotNull String typeName) {
+        final Integer id = myTypeIds.get(typeName);
+        return id != null ? toNames(myPossibleTypes[id]) : Collections.emptyList();
+    }
+
+    /**
+     * Gets the interfaces that the specified object or interface type implements, including the interfaces implemented by those interfaces
+     */
+    @NotNull
+    public List<String> getSupertypes(@NotNull String typeName) {
+        final Integer id = myTypeIds.get(typeName);
+        return id != null ? toNames(mySupertypes[id]) : Collections.emptyList();
+    }
+
+    private BitSet addTypeIds(BitSet typeIds, List<Type> types) {
+        if (types == null) {
+            return typeIds;
+        }
+        for (Type type : types) {
+            final Integer id = type instanceof TypeName ? myTypeIds.get(((TypeName) type).getName()) : null;
+            if (id != null) {
+                if (typeIds == null) {
+                    typeIds = new BitSet();
+                }
+                typeIds.set(id);
+            }
+        }
+        return typeIds;
+    }
+
+    private static void collectSupertypes(int id, @NotNull BitSet[] directSupertypes, @NotNull BitSet result) {
+        // the result also serves as the visited set, which guards against cycles in invalid schemas
+        if (result.get(id)) {
+            return;
+        }
+        result.set(id);
+        if (directSupertypes[id] != null) {
+            directSupertypes[id].stream().forEach(supertype -> collectSupertypes(supertype, directSupertypes, result));
+        }
+    }
+
+    @NotNull
+    private List<String> toNames(@NotNull int[] typeIds) {
+        final List<String> names = Lists.newArrayListWithExpectedSize(typeIds.length);
+        for (int typeId : typeIds) {
+            names.add(myTypeNames[typeId]);
+        }
+        return names;
+    }
+
+    @NotNull
+    private static int[] toArray(BitSet typeIds) {
+        return typeIds != null && !typeIds.isEmpty() ? typeIds.stream().toArray() : NO_TYPES;
+    }
+
+    private static boolean intersects(@NotNull int[] sortedIds, @NotNull int[] otherSortedIds) {
+        int i = 0;
+        int j = 0;
+        while (i < sortedIds.length && j < otherSortedIds.length) {
+            if (sortedIds[i] == otherSortedIds[j]) {
+                return true;
+            }
+            if (sortedIds[i] < otherSortedIds[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return false;
+    }
+}
@@ -9,6 +9,14 @@ import java.util.List;
 interface GraphQLRegistryBuilder {
     void merge(@NotNull TypeDefinitionRegistry source);
 
+    /**
+     * Merges the registries of a single schema source, e.g. a file. Builders that are reused across schema builds
+     * can use the source to detect which contributions are unchanged since the previous build.
+     */
+    default void mergeSource(@NotNull Object source, @NotNull List<TypeDefinitionRegistry> registries) {
+        registries.forEach(this::merge);
+    }
+
     @NotNull
     TypeDefinitionRegistry build();
 
@@ -11,56 +11,57 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.intellij.json.JsonFileType;
 import com.intellij.lang.jsgraphql.GraphQLFileType;
-import com.intellij.lang.jsgraphql.GraphQLLanguage;
 import com.intellij.lang.jsgraphql.endpoint.ide.project.JSGraphQLEndpointNamedTypeRegistry;
-import com.intellij.lang.jsgraphql.ide.editor.GraphQLIntrospectionService;
-import com.intellij.lang.jsgraphql.ide.project.GraphQLInjectionSearchHelper;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCache;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCaches;
 import com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
-import com.intellij.lang.jsgraphql.psi.GraphQLDirective;
 import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.lang.jsgraphql.psi.GraphQLPsiToLanguage;
 import com.intellij.lang.jsgraphql.psi.GraphQLPsiUtil;
 import com.intellij.lang.jsgraphql.psi.GraphQLTypeSystemDefinition;
-import com.intellij.lang.jsgraphql.utils.GraphQLUtil;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.lang.injection.InjectedLanguageManager;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.diagnostic.Logger;
-import com.intellij.openapi.editor.LogicalPosition;
 import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.Ref;
-import com.intellij.openapi.util.TextRange;
-import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.SmartList;
+import com.intellij.util.containers.ContainerUtil;
 import graphql.GraphQLException;
-import graphql.InvalidSyntaxError;
+import graphql.language.Definition;
 import graphql.language.Document;
-import graphql.language.SourceLocation;
 import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
-import graphql.schema.idl.errors.SchemaProblem;
-import org.antlr.v4.runtime.RecognitionException;
-import org.antlr.v4.runtime.Token;
-import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import static com.intellij.lang.jsgraphql.schema.GraphQLSchemaKeys.*;
-
 public class GraphQLRegistryProvider implements Disposable {
 
     private static final Logger LOG = Logger.getInstance(GraphQLRegistryProvider.class);
 
+    /**
+     * Schemas with fewer files than this are parsed on the calling thread, since the overhead of forking isn't worth it
+     */
+    private static final int PARALLEL_PARSE_MIN_FILES = 8;
+
     private final GraphQLPsiSearchHelper graphQLPsiSearchHelper;
     private final Project project;
     private final GlobalSearchScope graphQLFilesScope;
@@ -68,10 +69,19 @@ public class GraphQLRegistryProvider implements Disposable {
     private final PsiManager psiManager;
     private final JSGraphQLEndpointNamedTypeRegistry graphQLEndpointNamedTypeRegistry;
     private final GraphQLConfigManager graphQLConfigManager;
-    private final GraphQLInjectionSearchHelper graphQLInjectionSearchHelper;
 
-    private final Map<GlobalSearchScope, GraphQLValidatedTypeDefinitionRegistry> scopeToTolerantRegistry = Maps.newConcurrentMap();
-    private final Map<GlobalSearchScope, GraphQLValidatedTypeDefinitionRegistry> scopeToValidatedRegistry = Maps.newConcurrentMap();
+    private static final long MAX_CACHED_SCOPES = 100;
+
+    private final GraphQLCache<GlobalSearchScope, GraphQLValidatedTypeDefinitionRegistry> scopeToTolerantRegistry = GraphQLCaches.create("Tolerant registries by scope", MAX_CACHED_SCOPES);
+    private final GraphQLCache<GlobalSearchScope, GraphQLValidatedTypeDefinitionRegistry> scopeToValidatedRegistry = GraphQLCaches.create("Validated registries by scope", MAX_CACHED_SCOPES);
+
+    /**
+     * Tolerant builders are kept across schema changes, such that only the types of the changed files are rebuilt.
+     * They're limited to the scopes used since the previous schema change rather than bounded by size, since evicting
+     * the builder of a scope that is being built would make its next build start over.
+     */
+    private final Map<GlobalSearchScope, GraphQLRegistryTolerantBuilder> scopeToTolerantBuilder = Maps.newConcurrentMap();
+    private final Set<GlobalSearchScope> usedTolerantBuilderScopes = ContainerUtil.newConcurrentSet();
 
     public static GraphQLRegistryProvider getInstance(@NotNull Project project) {
         return ServiceManager.getService(project, GraphQLRegistryProvider.class);
@@ -85,11 +95,17 @@ public class GraphQLRegistryProvider implements Disposable {
         graphQLEndpointNamedTypeRegistry = JSGraphQLEndpointNamedTypeRegistry.getService(project);
         graphQLPsiSearchHelper = GraphQLPsiSearchHelper.getInstance(project);
         graphQLConfigManager = GraphQLConfigManager.getService(project);
-        graphQLInjectionSearchHelper = ServiceManager.getService(GraphQLInjectionSearchHelper.class);
 
         project.getMessageBus().connect(this).subscribe(GraphQLSchemaChangeListener.TOPIC, schemaVersion -> {
             scopeToTolerantRegistry.clear();
             scopeToValidatedRegistry.clear();
+            // schema scopes are recreated on changes, so drop the builders of scopes that weren't used since the last change
+            scopeToTolerantBuilder.keySet().retainAll(usedTolerantBuilderScopes);
+            usedTolerantBuilderScopes.clear();
+        });
+        project.getMessageBus().connect(this).subscribe(GraphQLConfigManager.TOPIC, () -> {
+            scopeToTolerantBuilder.clear();
+            usedTolerantBuilderScopes.clear();
         });
     }
 
@@ -128,20 +144,36 @@ public class GraphQLRegistryProvider implements Disposable {
      */
     @NotNull
     public GraphQLValidatedTypeDefinitionRegistry getTolerantRegistry(@NotNull PsiElement scopedElement) {
-        return getRegistry(scopedElement, scopeToTolerantRegistry, new GraphQLRegistryTolerantBuilder());
+        GlobalSearchScope schemaScope = graphQLPsiSearchHelper.getSchemaScope(scopedElement);
+        usedTolerantBuilderScopes.add(schemaScope);
+        GraphQLRegistryTolerantBuilder builder = scopeToTolerantBuilder.computeIfAbsent(schemaScope, s -> new GraphQLRegistryTolerantBuilder());
+        // the builder keeps the contributions of the previous build, so concurrent builds for the same scope must not interleave
+        synchronized (builder) {
+            try {
+                return getRegistry(scopedElement, scopeToTolerantRegistry, builder);
+            } catch (RuntimeException e) {
+                // e.g. cancelled while merging, so the builder holds an incomplete set of sources
+                scopeToTolerantBuilder.remove(schemaScope, builder);
+                throw e;
+            }
+        }
     }
 
     @NotNull
     private GraphQLValidatedTypeDefinitionRegistry getRegistry(@NotNull PsiElement scopedElement,
-                                                               @NotNull Map<GlobalSearchScope, GraphQLValidatedTypeDefinitionRegistry> registryMap,
+                                                               @NotNull GraphQLCache<GlobalSearchScope, GraphQLValidatedTypeDefinitionRegistry> registryMap,
                                                                @NotNull GraphQLRegistryBuilder builder) {
         // Get the search scope that limits schema definition for the scoped element
         GlobalSearchScope schemaScope = graphQLPsiSearchHelper.getSchemaScope(scopedElement);
 
         return registryMap.computeIfAbsent(schemaScope, s -> {
+            GraphQLSchemaMetrics.ScopeMetrics metrics = GraphQLSchemaMetrics.getInstance(project).getScopeMetrics(graphQLPsiSearchHelper.getSchemaScopeName(scopedElement));
+            long buildStart = System.nanoTime();
+
             List<GraphQLException> errors = Lists.newArrayList();
-            Ref<Boolean> processedGraphQL = Ref.create(false);
-            Consumer<PsiFile> processFile = psiFile -> processFile(errors, processedGraphQL, psiFile, builder);
+            // collect the sources in a fixed order, parse them concurrently, and then merge them in that same order
+            List<GraphQLFileRegistry> fileRegistries = new ArrayList<>();
+            Consumer<PsiFile> processFile = psiFile -> fileRegistries.add(new GraphQLFileRegistry(psiFile));
 
             // GraphQL files
             FileTypeIndex.processFiles(GraphQLFileType.INSTANCE, file -> {
@@ -161,33 +193,17 @@ public class GraphQLRegistryProvider implements Disposable {
                     // considered within scope, so we can just go ahead and try to turn the JSON into GraphQL
                     final PsiFile psiFile = psiManager.findFile(file);
                     if (psiFile != null) {
+                        // the types are parsed from the printed SDL without creating PSI, and kept until the JSON changes
+                        final GraphQLFileRegistry fileRegistry = new GraphQLFileRegistry(psiFile);
+                        final GraphQLParsedFile parsedFile = new GraphQLParsedFile(true);
                         try {
-                            synchronized (GRAPHQL_INTROSPECTION_JSON_TO_SDL) {
-                                final String introspectionJsonAsGraphQL = GraphQLIntrospectionService.getInstance(project).printIntrospectionAsGraphQL(psiFile.getText());
-                                final GraphQLFile currentSDLPsiFile = psiFile.getUserData(GRAPHQL_INTROSPECTION_JSON_TO_SDL);
-                                if (currentSDLPsiFile != null && currentSDLPsiFile.getText().equals(introspectionJsonAsGraphQL)) {
-                                    // already have a PSI file that matches the introspection SDL
-                                    processFile.accept(currentSDLPsiFile);
-                                } else {
-                                    final PsiFileFactory psiFileFactory = PsiFileFactory.getInstance(project);
-                                    final String fileName = file.getPath();
-                                    final GraphQLFile newIntrospectionFile = (GraphQLFile) psiFileFactory.createFileFromText(fileName, GraphQLLanguage.INSTANCE, introspectionJsonAsGraphQL);
-                                    newIntrospectionFile.putUserData(IS_GRAPHQL_INTROSPECTION_SDL, true);
-                                    newIntrospectionFile.putUserData(GRAPHQL_INTROSPECTION_SDL_TO_JSON, psiFile);
-                                    newIntrospectionFile.getVirtualFile().putUserData(IS_GRAPHQL_INTROSPECTION_SDL, true);
-                                    newIntrospectionFile.getVirtualFile().putUserData(GRAPHQL_INTROSPECTION_SDL_TO_JSON, psiFile);
-                                    newIntrospectionFile.getVirtualFile().setWritable(false);
-                                    psiFile.putUserData(GRAPHQL_INTROSPECTION_JSON_TO_SDL, newIntrospectionFile);
-                                    file.putUserData(GRAPHQL_INTROSPECTION_JSON_TO_SDL, newIntrospectionFile);
-                                    processFile.accept(newIntrospectionFile);
-                                }
-                            }
-                        } catch (ProcessCanceledException e) {
-                            throw e;
-                        } catch (Exception e) {
-                            final List<SourceLocation> sourceLocation = Collections.singletonList(new SourceLocation(1, 1, GraphQLPsiUtil.getFileName(psiFile)));
-                            errors.add(new SchemaProblem(Collections.singletonList(new InvalidSyntaxError(sourceLocation, e.getMessage()))));
+                            parsedFile.registries.add(GraphQLIntrospectionSchemaCache.getRegistry(psiFile));
+                        } catch (GraphQLException e) {
+                            parsedFile.errors.add(e);
                         }
+                        parsedFile.stringSavings.add(GraphQLIntrospectionSchemaCache.getStringSavings(psiFile));
+                        fileRegistry.parsedFile = parsedFile;
+                        fileRegistries.add(fileRegistry);
                     }
                     return true;
                 }, jsonIntrospectionScope.intersectWith(schemaScope));
@@ -199,12 +215,39 @@ public class GraphQLRegistryProvider implements Disposable {
             // Built-in that are additions to a default registry which already has the GraphQL spec directives
             graphQLPsiSearchHelper.processAdditionalBuiltInPsiFiles(schemaScope, processFile);
 
+            long parseStart = System.nanoTime();
+            parseFiles(fileRegistries);
+            metrics.record(GraphQLSchemaMetrics.Timer.PARSE, parseStart);
+
+            long mergeStart = System.nanoTime();
+            boolean processedGraphQL = false;
+            int fileCount = 0;
+            int definitionCount = 0;
+            GraphQLStringInterner.Savings stringSavings = new GraphQLStringInterner.Savings();
+            for (GraphQLFileRegistry fileRegistry : fileRegistries) {
+                GraphQLParsedFile parsedFile = fileRegistry.parsedFile;
+                if (fileRegistry.psiFile != null && parsedFile != null) {
+                    processedGraphQL |= parsedFile.processedGraphQL;
+                    fileCount++;
+                    definitionCount += parsedFile.registries.size();
+                    stringSavings.add(parsedFile.stringSavings);
+                    try {
+                        // unchanged files yield the same cached registries, which lets a reused builder skip them
+                        builder.mergeSource(fileRegistry.psiFile, parsedFile.registries);
+                    } catch (GraphQLException e) {
+                        errors.add(e);
+                    }
+                    errors.addAll(parsedFile.errors);
+                }
+                errors.addAll(fileRegistry.errors);
+            }
+
             // Types defined using GraphQL Endpoint Language
             VirtualFile virtualFile = GraphQLPsiUtil.getVirtualFile(scopedElement.getContainingFile());
             if (virtualFile != null && graphQLConfigManager.getEndpointLanguageConfiguration(virtualFile, null) != null) {
                 final GraphQLValidatedTypeDefinitionRegistry endpointTypesAsRegistry = graphQLEndpointNamedTypeRegistry.getTypesAsRegistry(scopedElement);
                 try {
-                    builder.merge(endpointTypesAsRegistry.getRegistry());
+                    builder.mergeSource(graphQLEndpointNamedTypeRegistry, Collections.singletonList(endpointTypesAsRegistry.getRegistry()));
                     errors.addAll(endpointTypesAsRegistry.getErrors());
                 } catch (GraphQLException e) {
                     errors.add(e);
@@ -213,153 +256,119 @@ public class GraphQLRegistryProvider implements Disposable {
 
             TypeDefinitionRegistry registry = builder.build();
             errors.addAll(builder.getErrors());
+            metrics.record(GraphQLSchemaMetrics.Timer.MERGE, mergeStart);
+
+            metrics.recordSources(fileCount, definitionCount);
+            metrics.recordStringSavings(stringSavings);
+            metrics.record(GraphQLSchemaMetrics.Timer.REGISTRY_BUILD, buildStart);
 
             if (LOG.isDebugEnabled() && !errors.isEmpty()) {
                 LOG.debug("Registry build errors:\n", errors.stream()
                     .map(GraphQLException::toString).collect(Collectors.joining("\n")));
             }
 
-            return new GraphQLValidatedTypeDefinitionRegistry(registry, errors, processedGraphQL.get());
+            return new GraphQLValidatedTypeDefinitionRegistry(registry, errors, processedGraphQL);
         });
 
     }
 
-    private void processFile(@NotNull List<GraphQLException> errors,
-                             @NotNull Ref<Boolean> processedGraphQL,
-                             @NotNull PsiFile psiFile,
-                             @NotNull GraphQLRegistryBuilder builder) {
-        if (!(psiFile instanceof GraphQLFile)) {
+    /**
+     * Parses the files into per-file registries. Larger schemas are parsed concurrently under read action,
+     * while the order of the results is kept such that the merge is deterministic.
+     */
+    private static void parseFiles(@NotNull List<GraphQLFileRegistry> fileRegistries) {
+        List<GraphQLFileRegistry> toParse = ContainerUtil.filter(fileRegistries, fileRegistry -> fileRegistry.psiFile != null && fileRegistry.parsedFile == null);
+        if (toParse.size() < PARALLEL_PARSE_MIN_FILES) {
+            toParse.forEach(GraphQLRegistryProvider::parseFile);
             return;
         }
 
-        processedGraphQL.set(true);
-        GraphQLTypeSystemDefinition[] typeSystemDefinitions = PsiTreeUtil.getChildrenOfType(psiFile, GraphQLTypeSystemDefinition.class);
+        boolean completed = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(
+            toParse, ProgressManager.getInstance().getProgressIndicator(), fileRegistry -> {
+                parseFile(fileRegistry);
+                return true;
+            });
+        if (!completed) {
+            throw new ProcessCanceledException();
+        }
+    }
 
-        if (typeSystemDefinitions == null || typeSystemDefinitions.length == 0) {
+    private static void parseFile(@NotNull GraphQLFileRegistry fileRegistry) {
+        PsiFile psiFile = fileRegistry.psiFile;
+        if (psiFile == null) {
             return;
         }
 
-        String fileBuffer = psiFile.getText();
-        LogicalPosition injectedPosition = getInjectedPosition(psiFile);
-        Map<Integer, Integer> offsetToLine = getLineOffsetMappings(fileBuffer);
+        fileRegistry.parsedFile = CachedValuesManager.getCachedValue(psiFile, () -> {
+            // injected files must also be reparsed when the host moves them, since their source locations point into the host
+            PsiFile topLevelFile = InjectedLanguageManager.getInstance(psiFile.getProject()).getTopLevelFile(psiFile);
+            Object[] dependencies = topLevelFile != null && topLevelFile != psiFile ? new Object[]{psiFile, topLevelFile} : new Object[]{psiFile};
+            return CachedValueProvider.Result.create(parseFile(psiFile), dependencies);
+        });
+    }
 
-        for (GraphQLTypeSystemDefinition typeSystemDefinition : typeSystemDefinitions) {
-            // parse each definition separately since graphql-java has no error recovery, and it's likely there's errors in the editor
+    @NotNull
+    private static GraphQLParsedFile parseFile(@NotNull PsiFile psiFile) {
+        if (!(psiFile instanceof GraphQLFile)) {
+            return new GraphQLParsedFile(false);
+        }
 
-            // track where the definition starts, but also include white space and comments leading up to the definition
-            // since it can contain docs and affects line/col
-            int bufferStart = typeSystemDefinition.getTextOffset();
-            int prefixStart = bufferStart;
+        GraphQLParsedFile parsedFile = new GraphQLParsedFile(true);
+        GraphQLTypeSystemDefinition[] typeSystemDefinitions = PsiTreeUtil.getChildrenOfType(psiFile, GraphQLTypeSystemDefinition.class);
 
-            PsiElement prevSibling = typeSystemDefinition.getPrevSibling();
-            while (prevSibling instanceof PsiComment || prevSibling instanceof PsiWhiteSpace) {
-                prefixStart = prevSibling.getTextOffset();
-                prevSibling = prevSibling.getPrevSibling();
-            }
+        if (typeSystemDefinitions == null || typeSystemDefinitions.length == 0) {
+            return parsedFile;
+        }
 
-            String definitionPrefix;
-            if (prefixStart < bufferStart) {
-                definitionPrefix = fileBuffer.substring(prefixStart, bufferStart);
-            } else {
-                definitionPrefix = "";
-            }
+        // the PSI is converted directly to graphql-java nodes, so source locations point into the file or the injection host,
+        // and the names and descriptions are shared with the other files since config projects often include the same SDL
+        GraphQLStringInterner interner = GraphQLStringInterner.getInstance(psiFile.getProject()).withSavings(parsedFile.stringSavings);
+        GraphQLPsiToLanguage psiToLanguage = GraphQLPsiToLanguage.forFile(psiFile, interner.intern(GraphQLPsiUtil.getFileName(psiFile))).withInterner(interner);
 
-            Ref<Integer> lineDelta = new Ref<>(0);
-            for (int i = prefixStart; i > 0; i--) {
-                Integer lineAtOffset = offsetToLine.get(i);
-                if (lineAtOffset != null) {
-                    lineDelta.set(lineAtOffset - 1);
-                    break;
-                }
-            }
+        for (GraphQLTypeSystemDefinition typeSystemDefinition : typeSystemDefinitions) {
+            ProgressManager.checkCanceled();
 
+            // convert each definition separately, so a syntax error only excludes the definition that contains it
             try {
-                String definitionSourceText = typeSystemDefinition.getText();
-                if (graphQLInjectionSearchHelper != null && psiFile.getContext() instanceof PsiLanguageInjectionHost) {
-                    definitionSourceText = graphQLInjectionSearchHelper.applyInjectionDelimitingQuotesEscape(definitionSourceText);
-                }
-                StringBuilder typeSystemDefinitionBuffer = new StringBuilder(definitionPrefix.length() + definitionSourceText.length());
-                typeSystemDefinitionBuffer.append(definitionPrefix).append(definitionSourceText);
-                // if there are syntax errors on optional elements, replace them with whitespace
-                PsiTreeUtil.findChildrenOfType(typeSystemDefinition, PsiErrorElement.class).forEach(error -> {
-                    final PsiElement parent = error.getParent();
-                    if (parent instanceof GraphQLDirective) {
-                        // happens when typing '@' and the name of the directive is still missing
-                        final int delta = typeSystemDefinition.getTextRange().getStartOffset();
-                        final TextRange parentRange = parent.getTextRange();
-                        final TextRange textRange = new TextRange(parentRange.getStartOffset() - delta, parentRange.getEndOffset() - delta);
-                        if (!textRange.isEmpty()) {
-                            typeSystemDefinitionBuffer.replace(
-                                textRange.getStartOffset(), textRange.getEndOffset(), StringUtil.repeat(" ", textRange.getLength()));
-                        }
-                    }
-                });
-
-                Document document;
-                try {
-                    // adjust line numbers in source locations if there's a line delta compared to the original file buffer
-                    document = GraphQLUtil.parseDocument(
-                        typeSystemDefinitionBuffer.toString(),
-                        GraphQLPsiUtil.getFileName(psiFile),
-                        lineDelta.get() + injectedPosition.line,
-                        injectedPosition.column
-                    );
-                } catch (ParseCancellationException e) {
-                    if (e.getCause() instanceof RecognitionException) {
-                        final Token offendingToken = ((RecognitionException) e.getCause()).getOffendingToken();
-                        if (offendingToken != null) {
-                            final List<SourceLocation> sourceLocation = Collections.singletonList(
-                                GraphQLUtil.createSourceLocationFromDelta(offendingToken, lineDelta.get() + injectedPosition.line, injectedPosition.column)
-                            );
-                            InvalidSyntaxError error = new InvalidSyntaxError(sourceLocation, "Unexpected token: \"" + offendingToken.getText() + "\"");
-                            errors.add(new SchemaProblem(Collections.singletonList(error)));
-                        }
-                    }
-                    continue;
+                Definition<?> definition = psiToLanguage.createDefinition(typeSystemDefinition);
+                if (definition != null) {
+                    parsedFile.registries.add(new SchemaParser().buildRegistry(Document.newDocument().definition(definition).build()));
                 }
-
-                builder.merge(new SchemaParser().buildRegistry(document));
             } catch (GraphQLException e) {
-                errors.add(e);
+                parsedFile.errors.add(e);
             }
         }
+        return parsedFile;
     }
 
     /**
-     * Count out the new lines to be able to map from text offset in the buffer to line number (1-based).
+     * A single schema source, and the errors that prevented it from being parsed
      */
-    @NotNull
-    private static Map<Integer, Integer> getLineOffsetMappings(@NotNull String fileBuffer) {
-        final Map<Integer, Integer> offsetToLine = Maps.newHashMap();
-        int currentLine = 1; // GraphQL antlr parser is 1-based for line numbers
-        for (int i = 0; i < fileBuffer.length(); i++) {
-            if (fileBuffer.charAt(i) == '\n') {
-                currentLine++;
-                offsetToLine.put(i + 1, currentLine);
-            }
+    private static final class GraphQLFileRegistry {
+        @Nullable
+        final PsiFile psiFile;
+        final List<GraphQLException> errors = new SmartList<>();
+        @Nullable
+        GraphQLParsedFile parsedFile;
+
+        GraphQLFileRegistry(@Nullable PsiFile psiFile) {
+            this.psiFile = psiFile;
         }
-        return offsetToLine;
     }
 
-    @NotNull
-    private static LogicalPosition getInjectedPosition(@NotNull PsiFile psiFile) {
-        // for injected GraphQL we need to take the location of the injection into account, so count the lines plus first-line column delta
-        int injectedFirstLineColumnDelta = 0;
-        int injectionLineDelta = 0;
-        if (psiFile.getContext() != null) {
-            int endOffset = psiFile.getContext().getTextOffset();
-            final PsiFile fileWithInjection = psiFile.getContext().getContainingFile();
-            final CharSequence injectionBuffer = fileWithInjection.getViewProvider().getContents();
-            for (int i = 0; i < endOffset; i++) {
-                if (injectionBuffer.charAt(i) == '\n') {
-                    injectedFirstLineColumnDelta = 0;
-                    injectionLineDelta++;
-                } else {
-                    injectedFirstLineColumnDelta++;
-                }
-            }
+    /**
+     * The type definitions and errors of a parsed file, in the order of the definitions in the file, and the string copies
+     * that were replaced with shared strings while parsing it. Instances are cached on the file until it changes.
+     */
+    private static final class GraphQLParsedFile {
+        final List<TypeDefinitionRegistry> registries = new SmartList<>();
+        final List<GraphQLException> errors = new SmartList<>();
+        final GraphQLStringInterner.Savings stringSavings = new GraphQLStringInterner.Savings();
+        final boolean processedGraphQL;
+
+        GraphQLParsedFile(boolean processedGraphQL) {
+            this.processedGraphQL = processedGraphQL;
         }
-        return new LogicalPosition(injectionLineDelta, injectedFirstLineColumnDelta);
     }
 
     @Override
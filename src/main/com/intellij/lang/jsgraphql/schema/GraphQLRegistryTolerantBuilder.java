@@ -3,6 +3,7 @@ package com.intellij.lang.jsgraphql.schema;
 import com.intellij.lang.jsgraphql.schema.builder.*;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.util.ObjectUtils;
+import com.intellij.util.SmartList;
 import graphql.GraphQLError;
 import graphql.GraphQLException;
 import graphql.language.*;
@@ -11,40 +12,63 @@ import graphql.schema.idl.errors.SchemaProblem;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * The main purpose of this class is to avoid some possible errors during a schema build.
  * We should separate schema building process from its validation, because the user provided types aren't always valid
  * or could become valid after some processing like in graphql-modules library.
+ * <p>
+ * The builder can be reused across schema builds. Contributions are tracked per source, and only the types contributed by
+ * sources that were added, changed or removed since the previous {@link #build()} have their definition builders recreated.
  */
 class GraphQLRegistryTolerantBuilder implements GraphQLRegistryBuilder {
     private static final Logger LOG = Logger.getInstance(GraphQLRegistryTolerantBuilder.class);
 
+    /**
+     * Key for the contributions to the schema definition, which can't clash with type names since they can't start with a space
+     */
+    private static final String SCHEMA_DEFINITION_KEY = " schema";
+
     private final Map<String, GraphQLDefinitionBuilder<?>> myNamedDefinitionBuilders = new HashMap<>();
-    private final GraphQLSchemaTypeDefinitionBuilder mySchemaDefinitionBuilder = new GraphQLSchemaTypeDefinitionBuilder();
+    private GraphQLSchemaTypeDefinitionBuilder mySchemaDefinitionBuilder = new GraphQLSchemaTypeDefinitionBuilder();
     private final List<GraphQLException> myErrors = new ArrayList<>();
 
+    private final Map<Object, SourceContribution> mySources = new HashMap<>();
+    private List<Object> mySourceOrder = new ArrayList<>();
+    private final List<Object> myCurrentSourceOrder = new ArrayList<>();
+    private final Set<Object> myCurrentSources = new HashSet<>();
+    private final Map<Object, Integer> myCurrentOccurrences = new HashMap<>();
+    private final Set<String> myChangedKeys = new HashSet<>();
+
     @Override
     public void merge(@NotNull TypeDefinitionRegistry source) throws GraphQLException {
-        if (source.schemaDefinition().isPresent()) {
-            addTypeDefinition(source.schemaDefinition().get());
+        mergeSource(source, Collections.singletonList(source));
+    }
+
+    @Override
+    public void mergeSource(@NotNull Object source, @NotNull List<TypeDefinitionRegistry> registries) {
+        // the same source can be merged more than once during a build, so repeated merges are keyed by their occurrence
+        // which keeps them stable across builds
+        int occurrence = myCurrentOccurrences.merge(source, 1, Integer::sum) - 1;
+        if (occurrence > 0) {
+            source = new RepeatedSource(source, occurrence);
         }
+        myCurrentSources.add(source);
+        myCurrentSourceOrder.add(source);
 
-        source.types().values().forEach(this::addTypeDefinition);
-        source.getDirectiveDefinitions().values().forEach(this::addTypeDefinition);
-        source.scalars().values().forEach(this::addTypeDefinition);
+        SourceContribution previous = mySources.get(source);
+        if (previous != null && previous.isSameRegistries(registries)) {
+            return;
+        }
 
-        source.getSchemaExtensionDefinitions().forEach(this::addExtensionDefinition);
-        source.objectTypeExtensions().forEach((key, value) -> value.forEach(this::addExtensionDefinition));
-        source.interfaceTypeExtensions().forEach((key, value) -> value.forEach(this::addExtensionDefinition));
-        source.unionTypeExtensions().forEach((key, value) -> value.forEach(this::addExtensionDefinition));
-        source.enumTypeExtensions().forEach((key, value) -> value.forEach(this::addExtensionDefinition));
-        source.scalarTypeExtensions().forEach((key, value) -> value.forEach(this::addExtensionDefinition));
-        source.inputObjectTypeExtensions().forEach((key, value) -> value.forEach(this::addExtensionDefinition));
+        SourceContribution contribution = new SourceContribution(registries);
+        if (previous != null) {
+            myChangedKeys.addAll(previous.getKeys());
+        }
+        myChangedKeys.addAll(contribution.getKeys());
+        mySources.put(source, contribution);
     }
 
     @NotNull
@@ -70,6 +94,19 @@ class GraphQLRegistryTolerantBuilder implements GraphQLRegistryBuilder {
         }
     }
 
+    @Nullable
+    private static String getKey(@NotNull SDLDefinition<?> definition) {
+        if (definition instanceof SchemaDefinition) {
+            return SCHEMA_DEFINITION_KEY;
+        }
+
+        if (!(definition instanceof NamedNode)) {
+            return null;
+        }
+
+        return ((NamedNode<?>) definition).getName();
+    }
+
     @Nullable
     private GraphQLDefinitionBuilder<?> getBuilder(@NotNull SDLDefinition<?> definition) {
         if (definition instanceof SchemaDefinition) {
@@ -144,10 +181,59 @@ class GraphQLRegistryTolerantBuilder implements GraphQLRegistryBuilder {
         }
     }
 
+    /**
+     * Removes the sources that weren't merged since the previous build, and recreates the definition builders
+     * for the types that changed, replaying the contributions of all sources in the order they were merged.
+     */
+    private void updateBuilders() {
+        for (Iterator<Map.Entry<Object, SourceContribution>> it = mySources.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Object, SourceContribution> entry = it.next();
+            if (!myCurrentSources.contains(entry.getKey())) {
+                myChangedKeys.addAll(entry.getValue().getKeys());
+                it.remove();
+            }
+        }
+
+        if (!mySourceOrder.equals(myCurrentSourceOrder)) {
+            // the first definition of a type wins when merging, so a different source order can affect any type
+            for (SourceContribution contribution : mySources.values()) {
+                myChangedKeys.addAll(contribution.getKeys());
+            }
+            myChangedKeys.addAll(myNamedDefinitionBuilders.keySet());
+            myChangedKeys.add(SCHEMA_DEFINITION_KEY);
+        }
+
+        for (String key : myChangedKeys) {
+            if (SCHEMA_DEFINITION_KEY.equals(key)) {
+                mySchemaDefinitionBuilder = new GraphQLSchemaTypeDefinitionBuilder();
+            } else {
+                myNamedDefinitionBuilders.remove(key);
+            }
+        }
+
+        if (!myChangedKeys.isEmpty()) {
+            for (Object source : myCurrentSourceOrder) {
+                SourceContribution contribution = mySources.get(source);
+                if (contribution != null) {
+                    contribution.forEachDefinition(myChangedKeys, this::addTypeDefinition);
+                    contribution.forEachExtension(myChangedKeys, this::addExtensionDefinition);
+                }
+            }
+        }
+
+        mySourceOrder = new ArrayList<>(myCurrentSourceOrder);
+        myCurrentSourceOrder.clear();
+        myCurrentSources.clear();
+        myCurrentOccurrences.clear();
+        myChangedKeys.clear();
+    }
 
     @NotNull
     @Override
     public TypeDefinitionRegistry build() {
+        updateBuilders();
+        myErrors.clear();
+
         List<GraphQLError> errors = new ArrayList<>();
         TypeDefinitionRegistry registry = new TypeDefinitionRegistry();
 
@@ -181,4 +267,105 @@ class GraphQLRegistryTolerantBuilder implements GraphQLRegistryBuilder {
         return myErrors;
     }
 
+    /**
+     * The key of a source that was merged again during the same build
+     */
+    private static final class RepeatedSource {
+        private final Object mySource;
+        private final int myOccurrence;
+
+        RepeatedSource(@NotNull Object source, int occurrence) {
+            mySource = source;
+            myOccurrence = occurrence;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RepeatedSource that = (RepeatedSource) o;
+            return myOccurrence == that.myOccurrence && mySource.equals(that.mySource);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mySource.hashCode() + myOccurrence;
+        }
+    }
+
+    /**
+     * The definitions and extensions of a single source, grouped by the name of the type they define or extend
+     */
+    private static final class SourceContribution {
+        private final List<TypeDefinitionRegistry> myRegistries;
+        private final Map<String, List<SDLDefinition<?>>> myDefinitions = new LinkedHashMap<>();
+        private final Map<String, List<SDLDefinition<?>>> myExtensions = new LinkedHashMap<>();
+
+        SourceContribution(@NotNull List<TypeDefinitionRegistry> registries) {
+            myRegistries = registries;
+            for (TypeDefinitionRegistry source : registries) {
+                if (source.schemaDefinition().isPresent()) {
+                    add(myDefinitions, source.schemaDefinition().get());
+                }
+
+                source.types().values().forEach(definition -> add(myDefinitions, definition));
+                source.getDirectiveDefinitions().values().forEach(definition -> add(myDefinitions, definition));
+                source.scalars().values().forEach(definition -> add(myDefinitions, definition));
+
+                source.getSchemaExtensionDefinitions().forEach(extension -> add(myExtensions, extension));
+                source.objectTypeExtensions().forEach((key, value) -> value.forEach(extension -> add(myExtensions, extension)));
+                source.interfaceTypeExtensions().forEach((key, value) -> value.forEach(extension -> add(myExtensions, extension)));
+                source.unionTypeExtensions().forEach((key, value) -> value.forEach(extension -> add(myExtensions, extension)));
+                source.enumTypeExtensions().forEach((key, value) -> value.forEach(extension -> add(myExtensions, extension)));
+                source.scalarTypeExtensions().forEach((key, value) -> value.forEach(extension -> add(myExtensions, extension)));
+                source.inputObjectTypeExtensions().forEach((key, value) -> value.forEach(extension -> add(myExtensions, extension)));
+            }
+        }
+
+        private static void add(@NotNull Map<String, List<SDLDefinition<?>>> definitionsByKey, @NotNull SDLDefinition<?> definition) {
+            String key = getKey(definition);
+            if (key == null) {
+                LOG.warn("No suitable builder for " + definition.getClass().getName());
+                return;
+            }
+            definitionsByKey.computeIfAbsent(key, k -> new SmartList<>()).add(definition);
+        }
+
+        boolean isSameRegistries(@NotNull List<TypeDefinitionRegistry> registries) {
+            if (myRegistries.size() != registries.size()) {
+                return false;
+            }
+            for (int i = 0; i < registries.size(); i++) {
+                if (myRegistries.get(i) != registries.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @NotNull
+        Set<String> getKeys() {
+            Set<String> keys = new HashSet<>(myDefinitions.keySet());
+            keys.addAll(myExtensions.keySet());
+            return keys;
+        }
+
+        void forEachDefinition(@NotNull Set<String> keys, @NotNull Consumer<SDLDefinition<?>> consumer) {
+            forEach(myDefinitions, keys, consumer);
+        }
+
+        void forEachExtension(@NotNull Set<String> keys, @NotNull Consumer<SDLDefinition<?>> consumer) {
+            forEach(myExtensions, keys, consumer);
+        }
+
+        private static void forEach(@NotNull Map<String, List<SDLDefinition<?>>> definitionsByKey,
+                                    @NotNull Set<String> keys,
+                                    @NotNull Consumer<SDLDefinition<?>> consumer) {
+            definitionsByKey.forEach((key, definitions) -> {
+                if (keys.contains(key)) {
+                    definitions.forEach(consumer);
+                }
+            });
+        }
+    }
 }
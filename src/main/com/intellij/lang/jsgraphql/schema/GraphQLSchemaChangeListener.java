@@ -9,6 +9,7 @@ package com.intellij.lang.jsgraphql.schema;
 
 import com.google.common.collect.Lists;
 import com.intellij.json.psi.JsonFile;
+import com.intellij.lang.jsgraphql.endpoint.doc.psi.JSGraphQLEndpointDocPsiUtil;
 import com.intellij.lang.jsgraphql.endpoint.psi.JSGraphQLEndpointFile;
 import com.intellij.lang.jsgraphql.ide.project.GraphQLInjectionSearchHelper;
 import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
@@ -18,9 +19,14 @@ import com.intellij.lang.jsgraphql.psi.GraphQLOperationDefinition;
 import com.intellij.lang.jsgraphql.psi.GraphQLTemplateDefinition;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.PsiTreeChangeEventImpl;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.messages.MessageBusConnection;
 import com.intellij.util.messages.Topic;
@@ -51,6 +57,10 @@ public class GraphQLSchemaChangeListener {
 
     private AtomicInteger schemaVersion = new AtomicInteger(0);
 
+    private final SimpleModificationTracker endpointModificationTracker = new SimpleModificationTracker();
+
+    private static final Key<String> ENDPOINT_SCHEMA_SIGNATURE = Key.create("JSGraphQL.EndpointSchemaSignature");
+
     public GraphQLSchemaChangeListener(Project project) {
         myProject = project;
         psiManager = PsiManager.getInstance(myProject);
@@ -67,8 +77,10 @@ public class GraphQLSchemaChangeListener {
                     }
                 }
                 if (event.getFile() instanceof JSGraphQLEndpointFile) {
-                    // always consider the schema changed when editing an endpoint file
-                    signalSchemaChanged();
+                    endpointModificationTracker.incModificationCount();
+                    if (affectsEndpointSchema(event, (JSGraphQLEndpointFile) event.getFile())) {
+                        signalSchemaChanged();
+                    }
                 }
                 if (event.getParent() instanceof PsiLanguageInjectionHost) {
                     GraphQLInjectionSearchHelper graphQLInjectionSearchHelper = ServiceManager.getService(GraphQLInjectionSearchHelper.class);
@@ -79,13 +91,11 @@ public class GraphQLSchemaChangeListener {
                 }
                 if (event.getFile() instanceof JsonFile) {
                     boolean introspectionJsonUpdated = false;
-                    if (event.getFile().getUserData(GraphQLSchemaKeys.GRAPHQL_INTROSPECTION_JSON_TO_SDL) != null) {
+                    final VirtualFile virtualFile = event.getFile().getVirtualFile();
+                    if (GraphQLIntrospectionSchemaCache.isIntrospectionFile(virtualFile)) {
+                        introspectionJsonUpdated = true;
+                    } else if (virtualFile != null && Boolean.TRUE.equals(virtualFile.getUserData(GraphQLSchemaKeys.IS_GRAPHQL_INTROSPECTION_JSON))) {
                         introspectionJsonUpdated = true;
-                    } else {
-                        final VirtualFile virtualFile = event.getFile().getVirtualFile();
-                        if (virtualFile != null && Boolean.TRUE.equals(virtualFile.getUserData(GraphQLSchemaKeys.IS_GRAPHQL_INTROSPECTION_JSON))) {
-                            introspectionJsonUpdated = true;
-                        }
                     }
                     if(introspectionJsonUpdated) {
                         signalSchemaChanged();
@@ -136,6 +146,20 @@ public class GraphQLSchemaChangeListener {
         connection.subscribe(GraphQLConfigManager.TOPIC, this::signalSchemaChanged);
     }
 
+    /**
+     * Tracks all PSI changes in endpoint files, including the ones that don't affect the schema, e.g. for caches that hold endpoint PSI elements
+     */
+    public ModificationTracker getEndpointModificationTracker() {
+        return endpointModificationTracker;
+    }
+
+    /**
+     * Tracks changes to the GraphQL schema, e.g. for caches that hold values which depend on the types of fields
+     */
+    public ModificationTracker getSchemaModificationTracker() {
+        return schemaVersion::get;
+    }
+
     private void signalSchemaChanged() {
         final int nextVersion = this.schemaVersion.incrementAndGet();
         myProject.getMessageBus().syncPublisher(GraphQLSchemaChangeListener.TOPIC).onGraphQLSchemaChanged(nextVersion);
@@ -166,4 +190,45 @@ public class GraphQLSchemaChangeListener {
         return true;
     }
 
+    /**
+     * Evaluates whether an edit in an endpoint file changed any type-level construct, i.e. anything but whitespace and
+     * comments that aren't documentation for a type or a field
+     */
+    private boolean affectsEndpointSchema(PsiTreeChangeEvent event, JSGraphQLEndpointFile endpointFile) {
+        if (PsiTreeChangeEvent.PROP_FILE_NAME.equals(event.getPropertyName()) || PsiTreeChangeEvent.PROP_DIRECTORY_NAME.equals(event.getPropertyName())) {
+            // imports and source locations depend on the file name
+            return true;
+        }
+        final String signature = CachedValuesManager.getCachedValue(endpointFile, () ->
+            CachedValueProvider.Result.create(getEndpointSchemaSignature(endpointFile), endpointFile)
+        );
+        final String previousSignature = endpointFile.getUserData(ENDPOINT_SCHEMA_SIGNATURE);
+        endpointFile.putUserData(ENDPOINT_SCHEMA_SIGNATURE, signature);
+        return !signature.equals(previousSignature);
+    }
+
+    /**
+     * Gets the text of the tokens in an endpoint file with whitespace normalized and non-documentation comments left out.
+     * Whether a comment is documentation depends on the blank lines around it, so whitespace changes that matter are still detected.
+     */
+    @NotNull
+    private static String getEndpointSchemaSignature(@NotNull PsiFile endpointFile) {
+        final StringBuilder signature = new StringBuilder();
+        endpointFile.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (element.getFirstChild() == null) {
+                    if (element instanceof PsiWhiteSpace) {
+                        signature.append(' ');
+                    } else if (!(element instanceof PsiComment) || JSGraphQLEndpointDocPsiUtil.isDocumentationComment(element)) {
+                        signature.append(element.getText()).append(' ');
+                    }
+                    return;
+                }
+                super.visitElement(element);
+            }
+        });
+        return signature.toString();
+    }
+
 }
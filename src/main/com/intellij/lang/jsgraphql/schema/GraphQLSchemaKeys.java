@@ -7,7 +7,6 @@
  */
 package com.intellij.lang.jsgraphql.schema;
 
-import com.intellij.lang.jsgraphql.psi.GraphQLFile;
 import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiFile;
 
@@ -18,11 +17,6 @@ public class GraphQLSchemaKeys {
      */
     public static final Key<Boolean> IS_GRAPHQL_INTROSPECTION_JSON = Key.create("JSGraphQL.IsIntrospectionJSON");
 
-    /**
-     * Set on a JSON introspection file (PSI and Virtual) to get the derived GraphQL SDL file
-     */
-    public static final Key<GraphQLFile> GRAPHQL_INTROSPECTION_JSON_TO_SDL = Key.create("JSGraphQL.IntrospectionJSONToSDL");
-
     /**
      * Set on a SDL introspection file (PSI and Virtual) to get the JSON file that the SDL file is derived from
      */
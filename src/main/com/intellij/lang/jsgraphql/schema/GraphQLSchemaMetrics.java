@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCacheStatistics;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCaches;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records timings and counts of schema discovery, schema builds, validation and index queries per schema scope.
+ * The metrics are shown in the schemas tool window and can be exported as JSON, e.g. to attach to bug reports about slow highlighting.
+ */
+public class GraphQLSchemaMetrics implements Disposable {
+
+    public enum Timer {
+        REGISTRY_BUILD("Registry builds", "registryBuild"),
+        PARSE("Parsing", "parse"),
+        MERGE("Merging", "merge"),
+        SCHEMA_BUILD("Schema builds (makeUnExecutableSchema)", "schemaBuild"),
+        VALIDATION("Schema validation annotator", "validation"),
+        INDEX_QUERY("Identifier index queries", "indexQuery");
+
+        private final String myDisplayName;
+        private final String myJsonName;
+
+        Timer(String displayName, String jsonName) {
+            myDisplayName = displayName;
+            myJsonName = jsonName;
+        }
+
+        @NotNull
+        public String getDisplayName() {
+            return myDisplayName;
+        }
+    }
+
+    private final Project myProject;
+    private final Map<String, ScopeMetrics> myScopeNameToMetrics = Maps.newConcurrentMap();
+
+    public static GraphQLSchemaMetrics getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, GraphQLSchemaMetrics.class);
+    }
+
+    public GraphQLSchemaMetrics(@NotNull Project project) {
+        myProject = project;
+        // scopes are named after the configurations, so start over when they change
+        project.getMessageBus().connect(this).subscribe(GraphQLConfigManager.TOPIC, myScopeNameToMetrics::clear);
+    }
+
+    /**
+     * Gets the metrics of the named schema scope. Callers resolve the scope name once per operation, e.g. using
+     * {@link com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper#getSchemaScopeName(PsiElement)}
+     */
+    @NotNull
+    public ScopeMetrics getScopeMetrics(@NotNull String scopeName) {
+        return myScopeNameToMetrics.computeIfAbsent(scopeName, ScopeMetrics::new);
+    }
+
+    @NotNull
+    public List<ScopeMetrics> getAllScopeMetrics() {
+        final List<ScopeMetrics> metrics = Lists.newArrayList(myScopeNameToMetrics.values());
+        metrics.sort(Comparator.comparing(ScopeMetrics::getScopeName));
+        return metrics;
+    }
+
+    /**
+     * Gets the metrics of all scopes, the statistics of the GraphQL caches and the number of shared strings as pretty printed JSON
+     */
+    @NotNull
+    public String toJson() {
+        final JsonObject root = new JsonObject();
+        final JsonArray scopes = new JsonArray();
+        for (ScopeMetrics scopeMetrics : getAllScopeMetrics()) {
+            scopes.add(scopeMetrics.toJson());
+        }
+        root.add("scopes", scopes);
+
+        final JsonArray caches = new JsonArray();
+        for (GraphQLCacheStatistics statistics : GraphQLCaches.getStatistics()) {
+            final JsonObject cache = new JsonObject();
+            cache.addProperty("name", statistics.getName());
+            cache.addProperty("size", statistics.getSize());
+            cache.addProperty("maximumSize", statistics.getMaximumSize());
+            cache.addProperty("hits", statistics.getStats().hitCount());
+            cache.addProperty("misses", statistics.getStats().missCount());
+            cache.addProperty("evictions", statistics.getStats().evictionCount());
+            cache.addProperty("totalLoadMs", toMillis(statistics.getStats().totalLoadTime()));
+            caches.add(cache);
+        }
+        root.add("caches", caches);
+
+        final JsonObject strings = new JsonObject();
+        strings.addProperty("shared", GraphQLStringInterner.getInstance(myProject).getSharedCount());
+        root.add("strings", strings);
+
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * The metrics of a single schema scope
+     */
+    public static final class ScopeMetrics {
+
+        private final String myScopeName;
+        private final Map<Timer, TimerMetric> myTimers = new EnumMap<>(Timer.class);
+        private volatile int myFileCount;
+        private volatile int myDefinitionCount;
+        private volatile int myReplacedStringCount;
+        private volatile long mySavedStringBytes;
+
+        private ScopeMetrics(@NotNull String scopeName) {
+            myScopeName = scopeName;
+            for (Timer timer : Timer.values()) {
+                myTimers.put(timer, new TimerMetric());
+            }
+        }
+
+        @NotNull
+        public String getScopeName() {
+            return myScopeName;
+        }
+
+        public void record(@NotNull Timer timer, long startNanos) {
+            myTimers.get(timer).record(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * Records the number of schema files and type system definitions that went into the latest registry build
+         */
+        public void recordSources(int fileCount, int definitionCount) {
+            myFileCount = fileCount;
+            myDefinitionCount = definitionCount;
+        }
+
+        /**
+         * Records the string copies that the sources of the latest registry build replaced with shared strings
+         */
+        public void recordStringSavings(@NotNull GraphQLStringInterner.Savings savings) {
+            myReplacedStringCount = savings.getReplacedCount();
+            mySavedStringBytes = savings.getSavedBytes();
+        }
+
+        /**
+         * Gets the number of string copies in the sources of the latest registry build that were replaced with shared strings
+         */
+        public int getReplacedStringCount() {
+            return myReplacedStringCount;
+        }
+
+        /**
+         * Gets the estimated number of bytes the replaced string copies of the latest registry build would take
+         */
+        public long getSavedStringBytes() {
+            return mySavedStringBytes;
+        }
+
+        public int getFileCount() {
+            return myFileCount;
+        }
+
+        public int getDefinitionCount() {
+            return myDefinitionCount;
+        }
+
+        @NotNull
+        public TimerMetric getTimer(@NotNull Timer timer) {
+            return myTimers.get(timer);
+        }
+
+        @NotNull
+        private JsonObject toJson() {
+            final JsonObject scope = new JsonObject();
+            scope.addProperty("name", myScopeName);
+            scope.addProperty("files", myFileCount);
+            scope.addProperty("definitions", myDefinitionCount);
+            final JsonObject strings = new JsonObject();
+            strings.addProperty("replaced", myReplacedStringCount);
+            strings.addProperty("savedBytes", mySavedStringBytes);
+            scope.add("strings", strings);
+            for (Map.Entry<Timer, TimerMetric> entry : myTimers.entrySet()) {
+                final TimerMetric metric = entry.getValue();
+                final JsonObject timer = new JsonObject();
+                timer.addProperty("count", metric.getCount());
+                timer.addProperty("totalMs", toMillis(metric.getTotalNanos()));
+                timer.addProperty("lastMs", toMillis(metric.getLastNanos()));
+                timer.addProperty("maxMs", toMillis(metric.getMaxNanos()));
+                scope.add(entry.getKey().myJsonName, timer);
+            }
+            return scope;
+        }
+    }
+
+    /**
+     * Number of times an operation ran, and its total, latest and maximum duration
+     */
+    public static final class TimerMetric {
+
+        private final AtomicLong myCount = new AtomicLong();
+        private final AtomicLong myTotalNanos = new AtomicLong();
+        private final AtomicLong myMaxNanos = new AtomicLong();
+        private volatile long myLastNanos;
+
+        private void record(long nanos) {
+            myCount.incrementAndGet();
+            myTotalNanos.addAndGet(nanos);
+            myMaxNanos.accumulateAndGet(nanos, Math::max);
+            myLastNanos = nanos;
+        }
+
+        public long getCount() {
+            return myCount.get();
+        }
+
+        public long getTotalNanos() {
+            return myTotalNanos.get();
+        }
+
+        public long getMaxNanos() {
+            return myMaxNanos.get();
+        }
+
+        public long getLastNanos() {
+            return myLastNanos;
+        }
+
+        /**
+         * Gets a summary such as "12 times, last 45.2 ms, average 30.1 ms, max 80.0 ms", or null if the operation hasn't run yet
+         */
+        @Nullable
+        public String getDescription() {
+            final long count = getCount();
+            if (count == 0) {
+                return null;
+            }
+            return String.format("%d %s, last %.1f ms, average %.1f ms, max %.1f ms", count, count == 1 ? "time" : "times",
+                toMillis(getLastNanos()), toMillis(getTotalNanos()) / count, toMillis(getMaxNanos()));
+        }
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
@@ -39,6 +39,15 @@ public interface GraphQLSchemaProvider {
     @NotNull
     GraphQLValidatedSchema getValidatedSchema(@NotNull PsiElement psiElement);
 
+    /**
+     * Gets the possible types of the interfaces and unions in the tolerant registry, which are computed once per registry build.
+     *
+     * @param psiElement the element from which the possible types are needed, serving as a scope restriction
+     * @see GraphQLSchemaProvider#getTolerantRegistry(PsiElement)
+     */
+    @NotNull
+    GraphQLPossibleTypes getPossibleTypes(@NotNull PsiElement psiElement);
+
     @NotNull
     static GraphQLSchemaProvider getInstance(@NotNull Project project) {
         return ServiceManager.getService(project, GraphQLSchemaProvider.class);
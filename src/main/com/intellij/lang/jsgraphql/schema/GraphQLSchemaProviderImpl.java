@@ -8,13 +8,16 @@
 package com.intellij.lang.jsgraphql.schema;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCache;
+import com.intellij.lang.jsgraphql.ide.caches.GraphQLCaches;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper;
 import com.intellij.lang.jsgraphql.psi.GraphQLPsiUtil;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
+import com.intellij.util.containers.ContainerUtil;
 import graphql.GraphQLException;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
@@ -31,15 +34,24 @@ public class GraphQLSchemaProviderImpl implements GraphQLSchemaProvider, Disposa
 
     public static final GraphQLSchema EMPTY_SCHEMA = GraphQLSchema.newSchema().query(GraphQLObjectType.newObject().name("Query").build()).build();
 
-    private final Map<String, GraphQLValidatedTypeDefinitionRegistry> fileNameToValidatedRegistry = Maps.newConcurrentMap();
-    private final Map<String, GraphQLValidatedSchema> fileNameToValidatedSchema = Maps.newConcurrentMap();
+    private static final long MAX_CACHED_FILES = 1000;
 
-    private final Map<String, TypeDefinitionRegistry> fileNameToTolerantRegistry = Maps.newConcurrentMap();
-    private final Map<String, GraphQLSchema> fileNameToTolerantSchema = Maps.newConcurrentMap();
+    private final GraphQLCache<String, GraphQLValidatedTypeDefinitionRegistry> fileNameToValidatedRegistry = GraphQLCaches.create("Validated registries by file", MAX_CACHED_FILES);
+    private final GraphQLCache<String, GraphQLValidatedSchema> fileNameToValidatedSchema = GraphQLCaches.create("Validated schemas by file", MAX_CACHED_FILES);
+
+    private final GraphQLCache<String, TypeDefinitionRegistry> fileNameToTolerantRegistry = GraphQLCaches.create("Tolerant registries by file", MAX_CACHED_FILES);
+    private final GraphQLCache<String, GraphQLSchema> fileNameToTolerantSchema = GraphQLCaches.create("Tolerant schemas by file", MAX_CACHED_FILES);
+
+    // the files of a schema scope share the same tolerant registry, so the possible types are computed once per scope
+    private final Map<TypeDefinitionRegistry, GraphQLPossibleTypes> registryToPossibleTypes = ContainerUtil.createConcurrentWeakMap();
     private final GraphQLRegistryProvider myRegistryProvider;
+    private final GraphQLSchemaMetrics myMetrics;
+    private final GraphQLPsiSearchHelper mySearchHelper;
 
     public GraphQLSchemaProviderImpl(@NotNull Project project) {
         myRegistryProvider = GraphQLRegistryProvider.getInstance(project);
+        myMetrics = GraphQLSchemaMetrics.getInstance(project);
+        mySearchHelper = GraphQLPsiSearchHelper.getInstance(project);
 
         project.getMessageBus().connect(this).subscribe(GraphQLSchemaChangeListener.TOPIC, schemaVersion -> {
             // clear the cache on each PSI change
@@ -48,6 +60,7 @@ public class GraphQLSchemaProviderImpl implements GraphQLSchemaProvider, Disposa
 
             fileNameToTolerantRegistry.clear();
             fileNameToTolerantSchema.clear();
+            registryToPossibleTypes.clear();
         });
     }
 
@@ -67,8 +80,10 @@ public class GraphQLSchemaProviderImpl implements GraphQLSchemaProvider, Disposa
             final GraphQLValidatedTypeDefinitionRegistry registryWithErrors = fileNameToValidatedRegistry.computeIfAbsent(containingFileName,
                 fileName1 -> myRegistryProvider.getValidatedRegistry(psiElement));
 
+            final long schemaBuildStart = System.nanoTime();
             try {
                 final GraphQLSchema schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(registryWithErrors.getRegistry());
+                myMetrics.getScopeMetrics(mySearchHelper.getSchemaScopeName(psiElement)).record(GraphQLSchemaMetrics.Timer.SCHEMA_BUILD, schemaBuildStart);
                 return new GraphQLValidatedSchema(schema, Collections.emptyList(), registryWithErrors);
             } catch (ProcessCanceledException e) {
                 throw e;
@@ -91,7 +106,11 @@ public class GraphQLSchemaProviderImpl implements GraphQLSchemaProvider, Disposa
     public GraphQLSchema getTolerantSchema(@NotNull PsiElement psiElement) {
         return fileNameToTolerantSchema.computeIfAbsent(GraphQLPsiUtil.getFileName(psiElement.getContainingFile()), fileName -> {
             try {
-                return UnExecutableSchemaGenerator.makeUnExecutableSchema(getTolerantRegistry(psiElement));
+                final TypeDefinitionRegistry registry = getTolerantRegistry(psiElement);
+                final long schemaBuildStart = System.nanoTime();
+                final GraphQLSchema schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(registry);
+                myMetrics.getScopeMetrics(mySearchHelper.getSchemaScopeName(psiElement)).record(GraphQLSchemaMetrics.Timer.SCHEMA_BUILD, schemaBuildStart);
+                return schema;
             } catch (ProcessCanceledException e) {
                 throw e;
             } catch (Exception e) {
@@ -103,6 +122,12 @@ public class GraphQLSchemaProviderImpl implements GraphQLSchemaProvider, Disposa
         });
     }
 
+    @NotNull
+    @Override
+    public GraphQLPossibleTypes getPossibleTypes(@NotNull PsiElement psiElement) {
+        return registryToPossibleTypes.computeIfAbsent(getTolerantRegistry(psiElement), GraphQLPossibleTypes::new);
+    }
+
     @Override
     public void dispose() {
     }
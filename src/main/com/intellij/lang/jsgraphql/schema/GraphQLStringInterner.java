@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares equal strings of the schema, i.e. type, field, argument and directive names, descriptions and source names, between the
+ * registries of all the files and schema scopes in a project. Config projects often include copies of the same base SDL, and every
+ * reference to a type otherwise keeps its own copy of the type name.
+ * <p>
+ * Strings are weakly referenced, so they're released once no registry or schema uses them anymore. The copies that were replaced
+ * while parsing a file are counted by {@link #withSavings(Savings)}, and summed per schema when its registry is built.
+ */
+public class GraphQLStringInterner {
+
+    private final ConcurrentMap<String, String> myStrings;
+
+    @Nullable
+    private final Savings mySavings;
+
+    public static GraphQLStringInterner getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, GraphQLStringInterner.class);
+    }
+
+    public GraphQLStringInterner() {
+        this(ContainerUtil.createConcurrentWeakKeyWeakValueMap(), null);
+    }
+
+    private GraphQLStringInterner(@NotNull ConcurrentMap<String, String> strings, @Nullable Savings savings) {
+        myStrings = strings;
+        mySavings = savings;
+    }
+
+    /**
+     * Gets an interner that shares the strings of this interner, and adds the copies it replaces to the savings
+     */
+    @NotNull
+    public GraphQLStringInterner withSavings(@NotNull Savings savings) {
+        return new GraphQLStringInterner(myStrings, savings);
+    }
+
+    /**
+     * Gets the shared instance of a string, which is the string itself the first time it's interned
+     */
+    @Contract("null -> null; !null -> !null")
+    public String intern(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        final String shared = myStrings.putIfAbsent(value, value);
+        if (shared == null) {
+            return value;
+        }
+        if (shared != value && mySavings != null) {
+            mySavings.add(value);
+        }
+        return shared;
+    }
+
+    /**
+     * Gets the number of distinct strings that are currently shared
+     */
+    public int getSharedCount() {
+        return myStrings.size();
+    }
+
+    /**
+     * Estimates the retained size of a string with compact strings on a 64-bit JVM with compressed references,
+     * i.e. the 24 byte string plus its byte array with a 16 byte header, padded to 8 bytes
+     */
+    static long estimateSize(@NotNull String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return 24 + ((16L + (long) value.length() * bytesPerChar + 7) & ~7L);
+    }
+
+    /**
+     * The copies of strings that were replaced by their shared instance, e.g. while parsing a file
+     */
+    public static final class Savings {
+
+        private final AtomicInteger myReplacedCount = new AtomicInteger();
+        private final AtomicLong mySavedBytes = new AtomicLong();
+
+        void add(@NotNull String copy) {
+            myReplacedCount.incrementAndGet();
+            mySavedBytes.addAndGet(estimateSize(copy));
+        }
+
+        /**
+         * Adds the copies that were replaced by other savings, e.g. to sum the savings of the files of a schema
+         */
+        public void add(@NotNull Savings savings) {
+            myReplacedCount.addAndGet(savings.getReplacedCount());
+            mySavedBytes.addAndGet(savings.getSavedBytes());
+        }
+
+        public int getReplacedCount() {
+            return myReplacedCount.get();
+        }
+
+        /**
+         * Gets the estimated number of bytes that the replaced copies would take
+         */
+        public long getSavedBytes() {
+            return mySavedBytes.get();
+        }
+    }
+}
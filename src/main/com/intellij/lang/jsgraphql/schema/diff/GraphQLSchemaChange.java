@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema.diff;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A change between two versions of a schema, e.g. a removed field or an added enum value
+ *
+ * @see GraphQLSchemaDiff
+ */
+public class GraphQLSchemaChange {
+
+    public enum Criticality {
+        /**
+         * Fails existing operations, e.g. a removed field or a new required argument
+         */
+        BREAKING("Breaking"),
+        /**
+         * Valid for existing operations, but may change what clients see at runtime, e.g. a new enum value or a changed default value
+         */
+        DANGEROUS("Dangerous"),
+        SAFE("Safe");
+
+        private final String myDisplayName;
+
+        Criticality(String displayName) {
+            myDisplayName = displayName;
+        }
+
+        @NotNull
+        public String getDisplayName() {
+            return myDisplayName;
+        }
+    }
+
+    private final Criticality myCriticality;
+    private final String myPath;
+    private final String myMessage;
+
+    GraphQLSchemaChange(@NotNull Criticality criticality, @NotNull String path, @NotNull String message) {
+        myCriticality = criticality;
+        myPath = path;
+        myMessage = message;
+    }
+
+    @NotNull
+    public Criticality getCriticality() {
+        return myCriticality;
+    }
+
+    /**
+     * Gets the schema coordinate of the changed element, e.g. "User.email" or "Query.users(first:)"
+     */
+    @NotNull
+    public String getPath() {
+        return myPath;
+    }
+
+    @NotNull
+    public String getMessage() {
+        return myMessage;
+    }
+
+    @Override
+    public String toString() {
+        return myCriticality.getDisplayName() + ": " + myMessage;
+    }
+}
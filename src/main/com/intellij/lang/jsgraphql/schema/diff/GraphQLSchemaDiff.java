@@ -0,0 +1,496 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema.diff;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.intellij.lang.jsgraphql.schema.diff.GraphQLSchemaChange.Criticality;
+import graphql.language.*;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Finds the changes between two versions of a schema and classifies them as breaking, dangerous or safe for existing operations.
+ * <p>
+ * Types are compared by their printed definitions including extensions first, so only the types that changed are compared
+ * member by member, and a diff takes time linear in the size of the schemas.
+ */
+public class GraphQLSchemaDiff {
+
+    private static final String DEPRECATED = "deprecated";
+
+    private final TypeDefinitionRegistry myOldRegistry;
+    private final TypeDefinitionRegistry myNewRegistry;
+    private final List<GraphQLSchemaChange> myChanges = Lists.newArrayList();
+
+    private GraphQLSchemaDiff(@NotNull TypeDefinitionRegistry oldRegistry, @NotNull TypeDefinitionRegistry newRegistry) {
+        myOldRegistry = oldRegistry;
+        myNewRegistry = newRegistry;
+    }
+
+    /**
+     * Gets the changes from the old to the new schema, ordered by criticality and path
+     */
+    @NotNull
+    public static List<GraphQLSchemaChange> diff(@NotNull TypeDefinitionRegistry oldRegistry, @NotNull TypeDefinitionRegistry newRegistry) {
+        final GraphQLSchemaDiff diff = new GraphQLSchemaDiff(oldRegistry, newRegistry);
+        diff.diffRootTypes();
+        diff.diffTypes();
+        diff.diffDirectives();
+        diff.myChanges.sort(Comparator.comparing(GraphQLSchemaChange::getCriticality).thenComparing(GraphQLSchemaChange::getPath));
+        return diff.myChanges;
+    }
+
+    /**
+     * Gets a summary such as "2 breaking, 1 dangerous and 14 safe changes"
+     */
+    @NotNull
+    public static String getSummary(@NotNull List<GraphQLSchemaChange> changes) {
+        if (changes.isEmpty()) {
+            return "No changes";
+        }
+        final Map<Criticality, Integer> counts = new EnumMap<>(Criticality.class);
+        for (GraphQLSchemaChange change : changes) {
+            counts.merge(change.getCriticality(), 1, Integer::sum);
+        }
+        final List<String> parts = Lists.newArrayList();
+        counts.forEach((criticality, count) -> parts.add(count + " " + criticality.getDisplayName().toLowerCase(Locale.ROOT)));
+        final String summary = parts.size() > 1
+            ? String.join(", ", parts.subList(0, parts.size() - 1)) + " and " + parts.get(parts.size() - 1)
+            : parts.get(0);
+        return summary + (changes.size() == 1 ? " change" : " changes");
+    }
+
+    // ---- root types ----
+
+    private void diffRootTypes() {
+        final Map<String, String> oldRootTypes = getRootTypes(myOldRegistry);
+        final Map<String, String> newRootTypes = getRootTypes(myNewRegistry);
+        for (String operation : Arrays.asList("query", "mutation", "subscription")) {
+            final String oldType = oldRootTypes.get(operation);
+            final String newType = newRootTypes.get(operation);
+            if (Objects.equals(oldType, newType)) {
+                continue;
+            }
+            if (oldType == null) {
+                add(Criticality.SAFE, "schema." + operation, "Schema " + operation + " root type '" + newType + "' was added");
+            } else if (newType == null) {
+                add(Criticality.BREAKING, "schema." + operation, "Schema " + operation + " root type '" + oldType + "' was removed");
+            } else {
+                add(Criticality.BREAKING, "schema." + operation, "Schema " + operation + " root type changed from '" + oldType + "' to '" + newType + "'");
+            }
+        }
+    }
+
+    @NotNull
+    private static Map<String, String> getRootTypes(@NotNull TypeDefinitionRegistry registry) {
+        final Map<String, String> rootTypes = Maps.newHashMap();
+        final Optional<SchemaDefinition> schemaDefinition = registry.schemaDefinition();
+        if (schemaDefinition.isPresent()) {
+            for (OperationTypeDefinition operationType : schemaDefinition.get().getOperationTypeDefinitions()) {
+                rootTypes.put(operationType.getName(), operationType.getTypeName().getName());
+            }
+        } else {
+            // the root types are implied by the type names
+            for (String rootType : Arrays.asList("Query", "Mutation", "Subscription")) {
+                if (registry.getType(rootType).isPresent()) {
+                    rootTypes.put(rootType.toLowerCase(Locale.ROOT), rootType);
+                }
+            }
+        }
+        return rootTypes;
+    }
+
+    // ---- types ----
+
+    private void diffTypes() {
+        final Map<String, TypeDefinition> oldTypes = getTypes(myOldRegistry);
+        final Map<String, TypeDefinition> newTypes = getTypes(myNewRegistry);
+        for (Map.Entry<String, TypeDefinition> entry : oldTypes.entrySet()) {
+            final String typeName = entry.getKey();
+            final TypeDefinition oldType = entry.getValue();
+            final TypeDefinition newType = newTypes.get(typeName);
+            if (newType == null) {
+                add(Criticality.BREAKING, typeName, getKind(oldType) + " '" + typeName + "' was removed");
+            } else if (oldType.getClass() != newType.getClass()) {
+                add(Criticality.BREAKING, typeName, "'" + typeName + "' changed from " + getKind(oldType).toLowerCase(Locale.ROOT) + " to " + getKind(newType).toLowerCase(Locale.ROOT));
+            } else if (!getFingerprint(myOldRegistry, oldType).equals(getFingerprint(myNewRegistry, newType))) {
+                diffType(typeName, oldType, newType);
+            }
+        }
+        for (Map.Entry<String, TypeDefinition> entry : newTypes.entrySet()) {
+            if (!oldTypes.containsKey(entry.getKey())) {
+                add(Criticality.SAFE, entry.getKey(), getKind(entry.getValue()) + " '" + entry.getKey() + "' was added");
+            }
+        }
+    }
+
+    @NotNull
+    private static Map<String, TypeDefinition> getTypes(@NotNull TypeDefinitionRegistry registry) {
+        final Map<String, TypeDefinition> types = Maps.newHashMap(registry.types());
+        // the registry keeps scalars apart from the other types, and includes the built-in scalars
+        types.putAll(registry.scalars());
+        return types;
+    }
+
+    /**
+     * Gets the printed definition of a type and its extensions, which is equal for two versions of a type if and only if the type didn't change
+     */
+    @NotNull
+    private static String getFingerprint(@NotNull TypeDefinitionRegistry registry, @NotNull TypeDefinition type) {
+        final StringBuilder fingerprint = new StringBuilder(AstPrinter.printAst(type));
+        for (TypeDefinition extension : getExtensions(registry, type)) {
+            fingerprint.append('\n').append(AstPrinter.printAst(extension));
+        }
+        return fingerprint.toString();
+    }
+
+    @NotNull
+    private static List<? extends TypeDefinition> getExtensions(@NotNull TypeDefinitionRegistry registry, @NotNull TypeDefinition type) {
+        final Map<String, ? extends List<? extends TypeDefinition>> extensions;
+        if (type instanceof ObjectTypeDefinition) {
+            extensions = registry.objectTypeExtensions();
+        } else if (type instanceof InterfaceTypeDefinition) {
+            extensions = registry.interfaceTypeExtensions();
+        } else if (type instanceof UnionTypeDefinition) {
+            extensions = registry.unionTypeExtensions();
+        } else if (type instanceof EnumTypeDefinition) {
+            extensions = registry.enumTypeExtensions();
+        } else if (type instanceof InputObjectTypeDefinition) {
+            extensions = registry.inputObjectTypeExtensions();
+        } else if (type instanceof ScalarTypeDefinition) {
+            extensions = registry.scalarTypeExtensions();
+        } else {
+            return Collections.emptyList();
+        }
+        final List<? extends TypeDefinition> typeExtensions = extensions.get(type.getName());
+        return typeExtensions != null ? typeExtensions : Collections.emptyList();
+    }
+
+    private void diffType(@NotNull String typeName, @NotNull TypeDefinition oldType, @NotNull TypeDefinition newType) {
+        if (oldType instanceof ObjectTypeDefinition) {
+            diffImplements(typeName, (ObjectTypeDefinition) oldType, (ObjectTypeDefinition) newType);
+            diffFields(typeName, (ObjectTypeDefinition) oldType, (ObjectTypeDefinition) newType, ObjectTypeDefinition::getFieldDefinitions);
+        } else if (oldType instanceof InterfaceTypeDefinition) {
+            diffFields(typeName, (InterfaceTypeDefinition) oldType, (InterfaceTypeDefinition) newType, InterfaceTypeDefinition::getFieldDefinitions);
+        } else if (oldType instanceof UnionTypeDefinition) {
+            diffUnionMembers(typeName, (UnionTypeDefinition) oldType, (UnionTypeDefinition) newType);
+        } else if (oldType instanceof EnumTypeDefinition) {
+            diffEnumValues(typeName, (EnumTypeDefinition) oldType, (EnumTypeDefinition) newType);
+        } else if (oldType instanceof InputObjectTypeDefinition) {
+            diffInputFields(typeName, (InputObjectTypeDefinition) oldType, (InputObjectTypeDefinition) newType);
+        }
+    }
+
+    private void diffImplements(@NotNull String typeName, @NotNull ObjectTypeDefinition oldType, @NotNull ObjectTypeDefinition newType) {
+        final Set<String> oldInterfaces = getTypeNames(collect(myOldRegistry, oldType, ObjectTypeDefinition::getImplements));
+        final Set<String> newInterfaces = getTypeNames(collect(myNewRegistry, newType, ObjectTypeDefinition::getImplements));
+        for (String interfaceName : oldInterfaces) {
+            if (!newInterfaces.contains(interfaceName)) {
+                add(Criticality.BREAKING, typeName, "'" + typeName + "' no longer implements interface '" + interfaceName + "'");
+            }
+        }
+        for (String interfaceName : newInterfaces) {
+            if (!oldInterfaces.contains(interfaceName)) {
+                add(Criticality.DANGEROUS, typeName, "'" + typeName + "' now implements interface '" + interfaceName + "'");
+            }
+        }
+    }
+
+    private <T extends TypeDefinition> void diffFields(@NotNull String typeName,
+                                                       @NotNull T oldType,
+                                                       @NotNull T newType,
+                                                       @NotNull Function<T, List<FieldDefinition>> getFields) {
+        final Map<String, FieldDefinition> oldFields = byName(collect(myOldRegistry, oldType, getFields), FieldDefinition::getName);
+        final Map<String, FieldDefinition> newFields = byName(collect(myNewRegistry, newType, getFields), FieldDefinition::getName);
+        for (FieldDefinition oldField : oldFields.values()) {
+            final String path = typeName + "." + oldField.getName();
+            final FieldDefinition newField = newFields.get(oldField.getName());
+            if (newField == null) {
+                add(Criticality.BREAKING, path, "Field '" + path + "' was removed" + (isDeprecated(oldField) ? " (was deprecated)" : ""));
+                continue;
+            }
+            if (!isSafeOutputTypeChange(oldField.getType(), newField.getType())) {
+                add(Criticality.BREAKING, path, "Field '" + path + "' changed type from '" + print(oldField.getType()) + "' to '" + print(newField.getType()) + "'");
+            } else if (!print(oldField.getType()).equals(print(newField.getType()))) {
+                add(Criticality.SAFE, path, "Field '" + path + "' changed type from '" + print(oldField.getType()) + "' to '" + print(newField.getType()) + "'");
+            }
+            diffDeprecation("Field", path, oldField, newField);
+            diffArguments(path, oldField.getInputValueDefinitions(), newField.getInputValueDefinitions());
+        }
+        for (FieldDefinition newField : newFields.values()) {
+            if (!oldFields.containsKey(newField.getName())) {
+                final String path = typeName + "." + newField.getName();
+                add(Criticality.SAFE, path, "Field '" + path + "' was added");
+            }
+        }
+    }
+
+    private void diffArguments(@NotNull String ownerPath, @NotNull List<InputValueDefinition> oldArguments, @NotNull List<InputValueDefinition> newArguments) {
+        final Map<String, InputValueDefinition> oldArgumentsByName = byName(oldArguments, InputValueDefinition::getName);
+        final Map<String, InputValueDefinition> newArgumentsByName = byName(newArguments, InputValueDefinition::getName);
+        for (InputValueDefinition oldArgument : oldArgumentsByName.values()) {
+            final String path = ownerPath + "(" + oldArgument.getName() + ":)";
+            final InputValueDefinition newArgument = newArgumentsByName.get(oldArgument.getName());
+            if (newArgument == null) {
+                add(Criticality.BREAKING, path, "Argument '" + oldArgument.getName() + "' was removed from '" + ownerPath + "'");
+            } else {
+                diffInputValue("Argument", path, oldArgument, newArgument);
+            }
+        }
+        for (InputValueDefinition newArgument : newArgumentsByName.values()) {
+            if (!oldArgumentsByName.containsKey(newArgument.getName())) {
+                final String path = ownerPath + "(" + newArgument.getName() + ":)";
+                if (isRequired(newArgument)) {
+                    add(Criticality.BREAKING, path, "Required argument '" + newArgument.getName() + "' was added to '" + ownerPath + "'");
+                } else {
+                    add(Criticality.SAFE, path, "Optional argument '" + newArgument.getName() + "' was added to '" + ownerPath + "'");
+                }
+            }
+        }
+    }
+
+    private void diffInputFields(@NotNull String typeName, @NotNull InputObjectTypeDefinition oldType, @NotNull InputObjectTypeDefinition newType) {
+        final Map<String, InputValueDefinition> oldFields = byName(collect(myOldRegistry, oldType, InputObjectTypeDefinition::getInputValueDefinitions), InputValueDefinition::getName);
+        final Map<String, InputValueDefinition> newFields = byName(collect(myNewRegistry, newType, InputObjectTypeDefinition::getInputValueDefinitions), InputValueDefinition::getName);
+        for (InputValueDefinition oldField : oldFields.values()) {
+            final String path = typeName + "." + oldField.getName();
+            final InputValueDefinition newField = newFields.get(oldField.getName());
+            if (newField == null) {
+                add(Criticality.BREAKING, path, "Input field '" + path + "' was removed");
+            } else {
+                diffInputValue("Input field", path, oldField, newField);
+            }
+        }
+        for (InputValueDefinition newField : newFields.values()) {
+            if (!oldFields.containsKey(newField.getName())) {
+                final String path = typeName + "." + newField.getName();
+                if (isRequired(newField)) {
+                    add(Criticality.BREAKING, path, "Required input field '" + path + "' was added");
+                } else {
+                    add(Criticality.SAFE, path, "Optional input field '" + path + "' was added");
+                }
+            }
+        }
+    }
+
+    private void diffInputValue(@NotNull String kind, @NotNull String path, @NotNull InputValueDefinition oldValue, @NotNull InputValueDefinition newValue) {
+        final String oldType = print(oldValue.getType());
+        final String newType = print(newValue.getType());
+        if (!isSafeInputTypeChange(oldValue.getType(), newValue.getType())) {
+            add(Criticality.BREAKING, path, kind + " '" + path + "' changed type from '" + oldType + "' to '" + newType + "'");
+        } else if (!oldType.equals(newType)) {
+            add(Criticality.SAFE, path, kind + " '" + path + "' changed type from '" + oldType + "' to '" + newType + "'");
+        }
+        final String oldDefault = oldValue.getDefaultValue() != null ? print(oldValue.getDefaultValue()) : null;
+        final String newDefault = newValue.getDefaultValue() != null ? print(newValue.getDefaultValue()) : null;
+        if (!Objects.equals(oldDefault, newDefault)) {
+            add(Criticality.DANGEROUS, path, kind + " '" + path + "' changed default value from " + (oldDefault != null ? "'" + oldDefault + "'" : "none") +
+                " to " + (newDefault != null ? "'" + newDefault + "'" : "none"));
+        }
+    }
+
+    private void diffUnionMembers(@NotNull String typeName, @NotNull UnionTypeDefinition oldType, @NotNull UnionTypeDefinition newType) {
+        final Set<String> oldMembers = getTypeNames(collect(myOldRegistry, oldType, UnionTypeDefinition::getMemberTypes));
+        final Set<String> newMembers = getTypeNames(collect(myNewRegistry, newType, UnionTypeDefinition::getMemberTypes));
+        for (String member : oldMembers) {
+            if (!newMembers.contains(member)) {
+                add(Criticality.BREAKING, typeName, "'" + member + "' was removed from union '" + typeName + "'");
+            }
+        }
+        for (String member : newMembers) {
+            if (!oldMembers.contains(member)) {
+                add(Criticality.DANGEROUS, typeName, "'" + member + "' was added to union '" + typeName + "'");
+            }
+        }
+    }
+
+    private void diffEnumValues(@NotNull String typeName, @NotNull EnumTypeDefinition oldType, @NotNull EnumTypeDefinition newType) {
+        final Map<String, EnumValueDefinition> oldValues = byName(collect(myOldRegistry, oldType, EnumTypeDefinition::getEnumValueDefinitions), EnumValueDefinition::getName);
+        final Map<String, EnumValueDefinition> newValues = byName(collect(myNewRegistry, newType, EnumTypeDefinition::getEnumValueDefinitions), EnumValueDefinition::getName);
+        for (EnumValueDefinition oldValue : oldValues.values()) {
+            final String path = typeName + "." + oldValue.getName();
+            final EnumValueDefinition newValue = newValues.get(oldValue.getName());
+            if (newValue == null) {
+                add(Criticality.BREAKING, path, "Enum value '" + path + "' was removed");
+            } else {
+                diffDeprecation("Enum value", path, oldValue, newValue);
+            }
+        }
+        for (EnumValueDefinition newValue : newValues.values()) {
+            if (!oldValues.containsKey(newValue.getName())) {
+                // clients that switch over the values may not handle the new value
+                add(Criticality.DANGEROUS, typeName + "." + newValue.getName(), "Enum value '" + typeName + "." + newValue.getName() + "' was added");
+            }
+        }
+    }
+
+    private void diffDeprecation(@NotNull String kind, @NotNull String path, @NotNull DirectivesContainer<?> oldElement, @NotNull DirectivesContainer<?> newElement) {
+        final boolean wasDeprecated = isDeprecated(oldElement);
+        final boolean isDeprecated = isDeprecated(newElement);
+        if (!wasDeprecated && isDeprecated) {
+            add(Criticality.SAFE, path, kind + " '" + path + "' was deprecated");
+        } else if (wasDeprecated && !isDeprecated) {
+            add(Criticality.SAFE, path, kind + " '" + path + "' is no longer deprecated");
+        }
+    }
+
+    // ---- directives ----
+
+    private void diffDirectives() {
+        final Map<String, DirectiveDefinition> oldDirectives = myOldRegistry.getDirectiveDefinitions();
+        final Map<String, DirectiveDefinition> newDirectives = myNewRegistry.getDirectiveDefinitions();
+        for (DirectiveDefinition oldDirective : oldDirectives.values()) {
+            final String path = "@" + oldDirective.getName();
+            final DirectiveDefinition newDirective = newDirectives.get(oldDirective.getName());
+            if (newDirective == null) {
+                add(Criticality.BREAKING, path, "Directive '" + path + "' was removed");
+                continue;
+            }
+            if (AstPrinter.printAst(oldDirective).equals(AstPrinter.printAst(newDirective))) {
+                continue;
+            }
+            final Set<String> newLocations = getLocationNames(newDirective);
+            for (String location : getLocationNames(oldDirective)) {
+                if (!newLocations.contains(location)) {
+                    add(Criticality.BREAKING, path, "Location " + location + " was removed from directive '" + path + "'");
+                }
+            }
+            diffArguments(path, oldDirective.getInputValueDefinitions(), newDirective.getInputValueDefinitions());
+        }
+        for (DirectiveDefinition newDirective : newDirectives.values()) {
+            if (!oldDirectives.containsKey(newDirective.getName())) {
+                add(Criticality.SAFE, "@" + newDirective.getName(), "Directive '@" + newDirective.getName() + "' was added");
+            }
+        }
+    }
+
+    @NotNull
+    private static Set<String> getLocationNames(@NotNull DirectiveDefinition directive) {
+        final Set<String> locations = new LinkedHashSet<>();
+        for (DirectiveLocation location : directive.getDirectiveLocations()) {
+            locations.add(location.getName());
+        }
+        return locations;
+    }
+
+    // ---- types of fields and input values ----
+
+    /**
+     * Gets whether operations that select a field of the old type are still valid for the new type, e.g. when a field becomes non-null
+     */
+    private static boolean isSafeOutputTypeChange(@NotNull Type oldType, @NotNull Type newType) {
+        if (oldType instanceof NonNullType) {
+            return newType instanceof NonNullType && isSafeOutputTypeChange(((NonNullType) oldType).getType(), ((NonNullType) newType).getType());
+        }
+        if (newType instanceof NonNullType) {
+            return isSafeOutputTypeChange(oldType, ((NonNullType) newType).getType());
+        }
+        if (oldType instanceof ListType) {
+            return newType instanceof ListType && isSafeOutputTypeChange(((ListType) oldType).getType(), ((ListType) newType).getType());
+        }
+        return oldType instanceof TypeName && newType instanceof TypeName && ((TypeName) oldType).getName().equals(((TypeName) newType).getName());
+    }
+
+    /**
+     * Gets whether the values that were accepted by the old type are still accepted by the new type, e.g. when an argument becomes nullable
+     */
+    private static boolean isSafeInputTypeChange(@NotNull Type oldType, @NotNull Type newType) {
+        if (newType instanceof NonNullType) {
+            return oldType instanceof NonNullType && isSafeInputTypeChange(((NonNullType) oldType).getType(), ((NonNullType) newType).getType());
+        }
+        if (oldType instanceof NonNullType) {
+            return isSafeInputTypeChange(((NonNullType) oldType).getType(), newType);
+        }
+        if (oldType instanceof ListType) {
+            return newType instanceof ListType && isSafeInputTypeChange(((ListType) oldType).getType(), ((ListType) newType).getType());
+        }
+        return oldType instanceof TypeName && newType instanceof TypeName && ((TypeName) oldType).getName().equals(((TypeName) newType).getName());
+    }
+
+    private static boolean isRequired(@NotNull InputValueDefinition inputValue) {
+        return inputValue.getType() instanceof NonNullType && inputValue.getDefaultValue() == null;
+    }
+
+    private static boolean isDeprecated(@NotNull DirectivesContainer<?> element) {
+        for (Directive directive : element.getDirectives()) {
+            if (DEPRECATED.equals(directive.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ---- utils ----
+
+    /**
+     * Collects the members of a type and of its extensions
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    private static <T extends TypeDefinition, M> List<M> collect(@NotNull TypeDefinitionRegistry registry,
+                                                                 @NotNull T type,
+                                                                 @NotNull Function<T, List<M>> getMembers) {
+        final List<M> members = Lists.newArrayList(getMembers.apply(type));
+        for (TypeDefinition extension : getExtensions(registry, type)) {
+            members.addAll(getMembers.apply((T) extension));
+        }
+        return members;
+    }
+
+    @NotNull
+    private static <T> Map<String, T> byName(@NotNull List<T> elements, @NotNull Function<T, String> getName) {
+        final Map<String, T> byName = new LinkedHashMap<>();
+        for (T element : elements) {
+            byName.putIfAbsent(getName.apply(element), element);
+        }
+        return byName;
+    }
+
+    @NotNull
+    private static Set<String> getTypeNames(@NotNull List<Type> types) {
+        final Set<String> names = new LinkedHashSet<>();
+        for (Type type : types) {
+            if (type instanceof TypeName) {
+                names.add(((TypeName) type).getName());
+            }
+        }
+        return names;
+    }
+
+    @NotNull
+    private static String getKind(@NotNull TypeDefinition type) {
+        if (type instanceof ObjectTypeDefinition) {
+            return "Type";
+        } else if (type instanceof InterfaceTypeDefinition) {
+            return "Interface";
+        } else if (type instanceof UnionTypeDefinition) {
+            return "Union";
+        } else if (type instanceof EnumTypeDefinition) {
+            return "Enum";
+        } else if (type instanceof InputObjectTypeDefinition) {
+            return "Input type";
+        } else if (type instanceof ScalarTypeDefinition) {
+            return "Scalar";
+        }
+        return "Type";
+    }
+
+    @NotNull
+    private static String print(@Nullable Node node) {
+        return node != null ? AstPrinter.printAst(node) : "";
+    }
+
+    private void add(@NotNull Criticality criticality, @NotNull String path, @NotNull String message) {
+        myChanges.add(new GraphQLSchemaChange(criticality, path, message));
+    }
+}
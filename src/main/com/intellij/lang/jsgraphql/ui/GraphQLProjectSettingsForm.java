@@ -31,6 +31,12 @@ public class GraphQLProjectSettingsForm {
     JPanel relayModernPanel;
     JCheckBox enableRelayModernCheckBox;
 
+    // query execution
+    private JPanel queryExecutionPanel;
+    private JCheckBox enableMinifiedQueryExecution;
+    private JCheckBox enableAutomaticPersistedQueries;
+    private JCheckBox enableQueryResponseCache;
+
     private GraphQLSettings mySettings;
 
     GraphQLProjectSettingsForm initialize(GraphQLSettings mySettings) {
@@ -38,6 +44,7 @@ public class GraphQLProjectSettingsForm {
         this.mySettings = mySettings;
         introspectionPanel.setBorder(IdeBorderFactory.createTitledBorder("GraphQL Introspection"));
         relayModernPanel.setBorder(IdeBorderFactory.createTitledBorder("GraphQL Frameworks"));
+        queryExecutionPanel.setBorder(IdeBorderFactory.createTitledBorder("GraphQL Query Execution"));
 
         return this;
     }
@@ -62,12 +69,18 @@ public class GraphQLProjectSettingsForm {
         mySettings.setIntrospectionQuery(introspectionQueryTextField.getText());
         mySettings.setEnableRelayModernFrameworkSupport(enableRelayModernCheckBox.isSelected());
         mySettings.setEnableIntrospectionDefaultValues(enableIntrospectionDefaultValues.isSelected());
+        mySettings.setEnableMinifiedQueryExecution(enableMinifiedQueryExecution.isSelected());
+        mySettings.setEnableAutomaticPersistedQueries(enableAutomaticPersistedQueries.isSelected());
+        mySettings.setEnableQueryResponseCache(enableQueryResponseCache.isSelected());
     }
 
     void reset() {
         introspectionQueryTextField.setText(mySettings.getIntrospectionQuery());
         enableIntrospectionDefaultValues.setSelected(mySettings.isEnableIntrospectionDefaultValues());
         enableRelayModernCheckBox.setSelected(mySettings.isEnableRelayModernFrameworkSupport());
+        enableMinifiedQueryExecution.setSelected(mySettings.isEnableMinifiedQueryExecution());
+        enableAutomaticPersistedQueries.setSelected(mySettings.isEnableAutomaticPersistedQueries());
+        enableQueryResponseCache.setSelected(mySettings.isEnableQueryResponseCache());
     }
 
     boolean isModified() {
@@ -80,6 +93,15 @@ public class GraphQLProjectSettingsForm {
         if (mySettings.isEnableIntrospectionDefaultValues() != enableIntrospectionDefaultValues.isSelected()) {
             return true;
         }
+        if (mySettings.isEnableMinifiedQueryExecution() != enableMinifiedQueryExecution.isSelected()) {
+            return true;
+        }
+        if (mySettings.isEnableAutomaticPersistedQueries() != enableAutomaticPersistedQueries.isSelected()) {
+            return true;
+        }
+        if (mySettings.isEnableQueryResponseCache() != enableQueryResponseCache.isSelected()) {
+            return true;
+        }
         return false;
     }
 
@@ -99,9 +121,9 @@ public class GraphQLProjectSettingsForm {
      */
     private void $$$setupUI$$$() {
         rootPanel = new JPanel();
-        rootPanel.setLayout(new GridLayoutManager(3, 1, new Insets(0, 0, 0, 0), -1, -1));
+        rootPanel.setLayout(new GridLayoutManager(4, 1, new Insets(0, 0, 0, 0), -1, -1));
         final Spacer spacer1 = new Spacer();
-        rootPanel.add(spacer1, new GridConstraints(2, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_VERTICAL, 1, GridConstraints.SIZEPOLICY_WANT_GROW, null, null, null, 0, false));
+        rootPanel.add(spacer1, new GridConstraints(3, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_VERTICAL, 1, GridConstraints.SIZEPOLICY_WANT_GROW, null, null, null, 0, false));
         introspectionPanel = new JPanel();
         introspectionPanel.setLayout(new GridLayoutManager(3, 1, new Insets(0, 0, 0, 0), -1, -1));
         rootPanel.add(introspectionPanel, new GridConstraints(0, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, null, null, null, 0, false));
@@ -126,6 +148,24 @@ public class GraphQLProjectSettingsForm {
         enableRelayModernCheckBox.setText("Enable Relay Modern support");
         enableRelayModernCheckBox.setToolTipText("Adds Relay Modern directives to schema discovery and filters  non-spec errors such as fragment arguments");
         relayModernPanel.add(enableRelayModernCheckBox, new GridConstraints(0, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        queryExecutionPanel = new JPanel();
+        queryExecutionPanel.setLayout(new GridLayoutManager(3, 1, new Insets(0, 0, 0, 0), -1, -1));
+        rootPanel.add(queryExecutionPanel, new GridConstraints(2, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, null, null, null, 0, false));
+        enableMinifiedQueryExecution = new JCheckBox();
+        enableMinifiedQueryExecution.setEnabled(true);
+        enableMinifiedQueryExecution.setText("Send only the executed operation and its fragments as a minified query");
+        enableMinifiedQueryExecution.setToolTipText("Removes other definitions, comments and insignificant whitespace from the query instead of replacing them with blank lines. Error locations in the response are translated back to the editor.");
+        queryExecutionPanel.add(enableMinifiedQueryExecution, new GridConstraints(0, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        enableAutomaticPersistedQueries = new JCheckBox();
+        enableAutomaticPersistedQueries.setEnabled(true);
+        enableAutomaticPersistedQueries.setText("Use automatic persisted queries");
+        enableAutomaticPersistedQueries.setToolTipText("Sends the SHA-256 hash of the query first, and only sends the full query if the server responds with PersistedQueryNotFound");
+        queryExecutionPanel.add(enableAutomaticPersistedQueries, new GridConstraints(1, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        enableQueryResponseCache = new JCheckBox();
+        enableQueryResponseCache.setEnabled(true);
+        enableQueryResponseCache.setText("Cache query responses for 5 minutes");
+        enableQueryResponseCache.setToolTipText("Re-running an unchanged query with the same endpoint, variables and headers shows the cached response instead of sending the request again. Mutations and subscriptions are never cached.");
+        queryExecutionPanel.add(enableQueryResponseCache, new GridConstraints(2, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
     }
 
     /**
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.utils;
+
+import com.intellij.lang.jsgraphql.psi.GraphQLQuotedString;
+import com.intellij.psi.PsiComment;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.PsiWhiteSpace;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Prints GraphQL definitions without comments, insignificant whitespace and commas, e.g. to send smaller queries to a server
+ * or to get a stable text for hashing operations regardless of their formatting.
+ */
+public final class GraphQLMinifyUtil {
+
+    private GraphQLMinifyUtil() {
+    }
+
+    /**
+     * Gets the minified text of the specified element
+     */
+    @NotNull
+    public static String minify(@NotNull PsiElement element) {
+        final StringBuilder text = new StringBuilder(element.getTextLength());
+        processTokens(element, token -> appendToken(text, token.getText()));
+        return text.toString();
+    }
+
+    /**
+     * Processes the significant tokens of the specified element in document order.
+     * Strings are processed as a single token since their whitespace is significant.
+     */
+    public static void processTokens(@NotNull PsiElement element, @NotNull Consumer<PsiElement> consumer) {
+        element.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (element instanceof PsiWhiteSpace || element instanceof PsiComment) {
+                    return;
+                }
+                if (element instanceof GraphQLQuotedString || element.getFirstChild() == null) {
+                    if (element.getTextLength() > 0) {
+                        consumer.accept(element);
+                    }
+                    return;
+                }
+                super.visitElement(element);
+            }
+        });
+    }
+
+    /**
+     * Appends a token, separated by a space from the previous token only if they would otherwise lex as a single token
+     *
+     * @return the offset of the token in the text
+     */
+    public static int appendToken(@NotNull StringBuilder text, @NotNull String token) {
+        if (text.length() > 0 && !token.isEmpty()) {
+            final char previous = text.charAt(text.length() - 1);
+            final char next = token.charAt(0);
+            if ((isNameChar(previous) && isNameChar(next)) || (previous == '"' && next == '"') || (previous == '.' && next == '.')) {
+                text.append(' ');
+            }
+        }
+        final int offset = text.length();
+        text.append(token);
+        return offset;
+    }
+
+    private static boolean isNameChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+}
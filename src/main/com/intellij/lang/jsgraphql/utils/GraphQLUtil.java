@@ -7,8 +7,15 @@
  */
 package com.intellij.lang.jsgraphql.utils;
 
+import com.intellij.lang.jsgraphql.schema.GraphQLStringInterner;
+import graphql.language.Description;
+import graphql.language.Directive;
 import graphql.language.Document;
+import graphql.language.EnumValueDefinition;
+import graphql.language.FieldDefinition;
+import graphql.language.InputValueDefinition;
 import graphql.language.SourceLocation;
+import graphql.language.TypeName;
 import graphql.parser.GraphqlAntlrToLanguage;
 import graphql.parser.MultiSourceReader;
 import graphql.parser.antlr.GraphqlLexer;
@@ -20,6 +27,7 @@ import graphql.schema.GraphQLUnmodifiedType;
 import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -77,6 +85,15 @@ public final class GraphQLUtil {
      * @param firstLineColumnDelta the column delta for the first line
      */
     public static Document parseDocument(String input, String sourceName, int lineDelta, int firstLineColumnDelta) {
+        return parseDocument(input, sourceName, lineDelta, firstLineColumnDelta, null);
+    }
+
+    /**
+     * Parses GraphQL string input into a graphql-java Document, sharing the names of fields, arguments, enum values, directives and
+     * type references as well as descriptions using the specified interner.
+     * @see #parseDocument(String, String, int, int)
+     */
+    public static Document parseDocument(String input, String sourceName, int lineDelta, int firstLineColumnDelta, @Nullable GraphQLStringInterner interner) {
 
         CharStream charStream;
         if(sourceName == null) {
@@ -110,6 +127,45 @@ public final class GraphQLUtil {
             protected SourceLocation getSourceLocation(Token token) {
                 return createSourceLocationFromDelta(token, lineDelta, firstLineColumnDelta);
             }
+
+            @Override
+            protected TypeName createTypeName(GraphqlParser.TypeNameContext ctx) {
+                final TypeName typeName = super.createTypeName(ctx);
+                return interner != null ? typeName.transform(builder -> builder.name(interner.intern(typeName.getName()))) : typeName;
+            }
+
+            @Override
+            protected FieldDefinition createFieldDefinition(GraphqlParser.FieldDefinitionContext ctx) {
+                final FieldDefinition fieldDefinition = super.createFieldDefinition(ctx);
+                return interner != null ? fieldDefinition.transform(builder -> builder.name(interner.intern(fieldDefinition.getName()))) : fieldDefinition;
+            }
+
+            @Override
+            protected InputValueDefinition createInputValueDefinition(GraphqlParser.InputValueDefinitionContext ctx) {
+                final InputValueDefinition inputValueDefinition = super.createInputValueDefinition(ctx);
+                return interner != null ? inputValueDefinition.transform(builder -> builder.name(interner.intern(inputValueDefinition.getName()))) : inputValueDefinition;
+            }
+
+            @Override
+            protected EnumValueDefinition createEnumValueDefinition(GraphqlParser.EnumValueDefinitionContext ctx) {
+                final EnumValueDefinition enumValueDefinition = super.createEnumValueDefinition(ctx);
+                return interner != null ? enumValueDefinition.transform(builder -> builder.name(interner.intern(enumValueDefinition.getName()))) : enumValueDefinition;
+            }
+
+            @Override
+            protected Directive createDirective(GraphqlParser.DirectiveContext ctx) {
+                final Directive directive = super.createDirective(ctx);
+                return interner != null ? directive.transform(builder -> builder.name(interner.intern(directive.getName()))) : directive;
+            }
+
+            @Override
+            protected Description newDescription(GraphqlParser.DescriptionContext descriptionCtx) {
+                final Description description = super.newDescription(descriptionCtx);
+                if (interner == null || description == null) {
+                    return description;
+                }
+                return new Description(interner.intern(description.getContent()), description.getSourceLocation(), description.isMultiLine());
+            }
         };
         Document doc = antlrToLanguage.createDocument(documentContext);
 
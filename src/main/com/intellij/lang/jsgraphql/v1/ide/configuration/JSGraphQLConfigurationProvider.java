@@ -72,7 +72,7 @@ public class JSGraphQLConfigurationProvider {
         for (JSGraphQLEndpointTypeResult<JSGraphQLEndpointAnnotationDefinition> languageAnnotation : languageAnnotations) {
             final JSGraphQLSchemaEndpointAnnotation annotationConfig = new JSGraphQLSchemaEndpointAnnotation();
             annotationConfig.name = languageAnnotation.name;
-            final JSGraphQLEndpointArgumentsDefinition argumentsDefinition = languageAnnotation.element.getArgumentsDefinition();
+            final JSGraphQLEndpointArgumentsDefinition argumentsDefinition = languageAnnotation.element != null ? languageAnnotation.element.getArgumentsDefinition() : null;
             if (argumentsDefinition != null && argumentsDefinition.getInputValueDefinitions() != null) {
                 for (JSGraphQLEndpointInputValueDefinition argument : argumentsDefinition.getInputValueDefinitions().getInputValueDefinitionList()) {
                     final JSGraphQLSchemaEndpointAnnotationArgument argumentConfig = new JSGraphQLSchemaEndpointAnnotationArgument();
@@ -12,8 +12,18 @@ public class JSGraphQLQueryContext {
     public String query;
     public Runnable onError;
 
+    /**
+     * Maps error locations in the query back to the editor when the query isn't sent with line-preserving whitespace, or null
+     */
+    public JSGraphQLQuerySourceMap sourceMap;
+
     public JSGraphQLQueryContext(String query, Runnable onError) {
+        this(query, onError, null);
+    }
+
+    public JSGraphQLQueryContext(String query, Runnable onError, JSGraphQLQuerySourceMap sourceMap) {
         this.query = query;
         this.onError = onError;
+        this.sourceMap = sourceMap;
     }
 }
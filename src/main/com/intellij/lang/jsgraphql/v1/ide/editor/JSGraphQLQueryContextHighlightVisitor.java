@@ -22,11 +22,14 @@ import com.intellij.codeInsight.hint.HintUtil;
 import com.intellij.ide.util.PropertiesComponent;
 import com.intellij.lang.annotation.Annotation;
 import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.lang.jsgraphql.GraphQLSettings;
 import com.intellij.lang.jsgraphql.psi.*;
+import com.intellij.lang.jsgraphql.utils.GraphQLMinifyUtil;
 import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationType;
 import com.intellij.notification.Notifications;
 import com.intellij.openapi.editor.Caret;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.ScrollType;
 import com.intellij.openapi.editor.colors.EditorColors;
@@ -259,12 +262,16 @@ public class JSGraphQLQueryContextHighlightVisitor implements HighlightVisitor,
                 final CharSequence editorBuffer = editor.getDocument().getCharsSequence();
                 final int editorLength = psiFile.getTextLength();
 
+                // minified queries only contain the executed text, so server error locations are translated using a source map
+                final boolean minify = GraphQLSettings.getSettings(editor.getProject()).isEnableMinifiedQueryExecution();
+                final JSGraphQLQuerySourceMap sourceMap = minify ? new JSGraphQLQuerySourceMap() : null;
+
                 // if there's a selection we send that to the server, with an error callback that hints
                 // that placing the caret inside an operation will include any used fragments
                 if (hasSelection) {
 
-                    // only send the selection, replacing everything else with line-space preserving whitespace
-                    final StringBuilder query = new StringBuilder(editorLength);
+                    // only send the selection, replacing everything else with line-space preserving whitespace unless minified
+                    final StringBuilder query = new StringBuilder(minify ? 0 : editorLength);
                     final Stream<Caret> carets = editor.getCaretModel().getAllCarets().stream();
                     final Collection<TextRange> selectedRanges = carets
                             .filter(Caret::hasSelection)
@@ -272,25 +279,27 @@ public class JSGraphQLQueryContextHighlightVisitor implements HighlightVisitor,
                             .sorted(Comparator.comparingInt(TextRange::getStartOffset))
                             .collect(Collectors.toList());
 
-                    for (int i = 0; i < editorLength; i++) {
-                        final char c = editorBuffer.charAt(i);
-                        if (c == '\n') {
-                            // add new-line to preserve query line numbers for errors etc.
-                            query.append(c);
-                        } else {
-                            // non-line wrap so add as-is if selected, or as blank text if not selected
-                            boolean selected = false;
-                            for (TextRange selectedRange : selectedRanges) {
-                                if (selectedRange.contains(i)) {
-                                    query.append(c);
-                                    selected = true;
-                                    break;
-                                }
-                            }
-                            if (!selected) {
-                                query.append(' ');
+                    int offset = 0;
+                    for (TextRange selectedRange : selectedRanges) {
+                        final int startOffset = Math.max(offset, selectedRange.getStartOffset());
+                        final int endOffset = Math.min(editorLength, selectedRange.getEndOffset());
+                        if (startOffset >= endOffset) {
+                            // overlaps the previous selection
+                            continue;
+                        }
+                        if (sourceMap != null) {
+                            if (query.length() > 0) {
+                                query.append('\n');
                             }
+                            sourceMap.addSegment(query.length(), editor.getDocument(), startOffset, null);
+                        } else {
+                            appendLinePreservingWhitespace(query, editorBuffer, offset, startOffset);
                         }
+                        query.append(editorBuffer, startOffset, endOffset);
+                        offset = endOffset;
+                    }
+                    if (sourceMap == null) {
+                        appendLinePreservingWhitespace(query, editorBuffer, offset, editorLength);
                     }
 
                     // indicate in the editor which text wasn't used
@@ -336,7 +345,7 @@ public class JSGraphQLQueryContextHighlightVisitor implements HighlightVisitor,
                                 }
                         );
                         Notifications.Bus.notify(notification, editor.getProject());
-                    });
+                    }, sourceMap);
 
 
                 }
@@ -349,11 +358,11 @@ public class JSGraphQLQueryContextHighlightVisitor implements HighlightVisitor,
                     findFragmentsInsideOperation(operationAtCursor, foundFragments, null);
                     Set<PsiElement> queryElements = Sets.newHashSet(foundFragments.values());
                     queryElements.add(operationAtCursor);
-                    final StringBuilder query = new StringBuilder(editorLength);
+                    final StringBuilder query = new StringBuilder(minify ? 0 : editorLength);
                     final TextAttributes unusedTextAttributes = getUnusedTextAttributes();
                     for (PsiElement psiElement : psiFile.getChildren()) {
                         if (psiElement instanceof PsiWhiteSpace) {
-                            if (!queryElements.isEmpty()) {
+                            if (!queryElements.isEmpty() && sourceMap == null) {
                                 query.append(psiElement.getText());
                             }
                         } else {
@@ -368,20 +377,15 @@ public class JSGraphQLQueryContextHighlightVisitor implements HighlightVisitor,
                                 if (fragmentDefinition != null) {
                                     queryElements.remove(fragmentDefinition);
                                 }
-                                query.append(editorBuffer.subSequence(textRange.getStartOffset(), textRange.getEndOffset()));
+                                if (sourceMap != null) {
+                                    appendMinified(query, sourceMap, psiElement, null);
+                                } else {
+                                    query.append(editorBuffer.subSequence(textRange.getStartOffset(), textRange.getEndOffset()));
+                                }
                             } else {
-                                if (!queryElements.isEmpty()) {
+                                if (!queryElements.isEmpty() && sourceMap == null) {
                                     // element is not part of the query context so add it as new-lined whitespace
-                                    for (int i = textRange.getStartOffset(); i < textRange.getEndOffset(); i++) {
-                                        final char c = editorBuffer.charAt(i);
-                                        if (c == '\n') {
-                                            // add new-line to preserve query line numbers for errors etc.
-                                            query.append(c);
-                                        } else {
-                                            // non-line wrap so add as blank text
-                                            query.append(' ');
-                                        }
-                                    }
+                                    appendLinePreservingWhitespace(query, editorBuffer, textRange.getStartOffset(), textRange.getEndOffset());
                                 }
                                 // tone down to indicate the text wasn't included
                                 highlightUnusedRange(editor, unusedTextAttributes, textRange);
@@ -391,9 +395,14 @@ public class JSGraphQLQueryContextHighlightVisitor implements HighlightVisitor,
 
                     // include fragments from other PsiFiles
                     for (PsiElement queryElement : queryElements) {
-                        query.append("\n\n# ---- fragment automatically included from \"");
-                        query.append(GraphQLPsiUtil.getFileName(queryElement.getContainingFile())).append("\" ----\n");
-                        query.append(queryElement.getText());
+                        final String fileName = GraphQLPsiUtil.getFileName(queryElement.getContainingFile());
+                        if (sourceMap != null) {
+                            appendMinified(query, sourceMap, queryElement, fileName);
+                        } else {
+                            query.append("\n\n# ---- fragment automatically included from \"");
+                            query.append(fileName).append("\" ----\n");
+                            query.append(queryElement.getText());
+                        }
                     }
 
                     if (operationAtCursor.getNameIdentifier() != null) {
@@ -403,7 +412,7 @@ public class JSGraphQLQueryContextHighlightVisitor implements HighlightVisitor,
                         // anonymous operation
                         showQueryContextHint(editor, "Executed anonymous " + getOperationKind(operationAtCursor));
                     }
-                    return new JSGraphQLQueryContext(query.toString(), null);
+                    return new JSGraphQLQueryContext(query.toString(), null, sourceMap);
                 }
             }
 
@@ -417,6 +426,33 @@ public class JSGraphQLQueryContextHighlightVisitor implements HighlightVisitor,
         return new JSGraphQLQueryContext(editor.getDocument().getText(), null);
     }
 
+    /**
+     * Appends the specified range of the editor text as spaces, keeping the new-lines to preserve query line numbers for errors etc.
+     */
+    private static void appendLinePreservingWhitespace(StringBuilder query, CharSequence editorBuffer, int startOffset, int endOffset) {
+        for (int i = startOffset; i < endOffset; i++) {
+            query.append(editorBuffer.charAt(i) == '\n' ? '\n' : ' ');
+        }
+    }
+
+    /**
+     * Appends the tokens of an operation or fragment definition without comments and insignificant whitespace and commas.
+     * Each token is recorded in the source map so server error locations can be translated back to the source.
+     *
+     * @param fileName the file name to report for error locations, or null if the definition is in the executed editor
+     */
+    private static void appendMinified(StringBuilder query, JSGraphQLQuerySourceMap sourceMap, PsiElement definition, String fileName) {
+        final Document document = PsiDocumentManager.getInstance(definition.getProject()).getDocument(definition.getContainingFile());
+        if (document == null) {
+            GraphQLMinifyUtil.appendToken(query, GraphQLMinifyUtil.minify(definition));
+            return;
+        }
+        GraphQLMinifyUtil.processTokens(definition, token -> {
+            final int queryOffset = GraphQLMinifyUtil.appendToken(query, token.getText());
+            sourceMap.addSegment(queryOffset, document, token.getTextRange().getStartOffset(), fileName);
+        });
+    }
+
     /**
      * Uses a range highlighter to show a range of unused text as dimmed
      */
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.v1.ide.editor;
+
+import com.google.common.collect.Lists;
+import com.google.gson.*;
+import com.intellij.openapi.editor.Document;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Maps offsets in a query that was rewritten before it was sent to the server, e.g. the minified operation and its
+ * fragments, back to the lines and columns in the files the query was assembled from.
+ * Line and column numbers are captured when the query is built, so the map stays valid while the editor is changed during execution.
+ */
+public class JSGraphQLQuerySourceMap {
+
+    private final List<Segment> mySegments = Lists.newArrayList();
+
+    /**
+     * Records that the text from the specified offset in the query onwards was copied verbatim from the source offset in the document
+     *
+     * @param queryOffset  the offset in the query where the copied text starts
+     * @param document     the document the text was copied from
+     * @param sourceOffset the offset in the document where the copied text starts
+     * @param fileName     the name of the file to report for this text, or null if it was copied from the executed editor
+     */
+    void addSegment(int queryOffset, @NotNull Document document, int sourceOffset, @Nullable String fileName) {
+        final int line = document.getLineNumber(sourceOffset);
+        addSegment(queryOffset, line, sourceOffset - document.getLineStartOffset(line), fileName);
+    }
+
+    /**
+     * Records that the text from the specified offset in the query onwards was copied verbatim from the 0-based line and column in the source
+     */
+    void addSegment(int queryOffset, int line, int column, @Nullable String fileName) {
+        mySegments.add(new Segment(queryOffset, line, column, fileName));
+    }
+
+    /**
+     * Rewrites the "line" and "column" of the error locations in a GraphQL response to point at the source of the query.
+     * Locations in fragments from other files get an additional "file" property.
+     *
+     * @param query        the query that was sent to the server
+     * @param responseJson the response from the server
+     * @return the response with updated error locations, or the unchanged response if it has none or isn't valid JSON
+     */
+    @NotNull
+    public String remapErrorLocations(@NotNull String query, @NotNull String responseJson) {
+        if (mySegments.isEmpty() || !responseJson.contains("\"locations\"")) {
+            return responseJson;
+        }
+        final JsonElement response;
+        try {
+            response = new JsonParser().parse(responseJson);
+        } catch (JsonParseException e) {
+            return responseJson;
+        }
+        if (!response.isJsonObject() || !response.getAsJsonObject().has("errors") || !response.getAsJsonObject().get("errors").isJsonArray()) {
+            return responseJson;
+        }
+        final List<Integer> queryLineStarts = getLineStartOffsets(query);
+        boolean changed = false;
+        for (JsonElement error : response.getAsJsonObject().getAsJsonArray("errors")) {
+            if (!error.isJsonObject() || !error.getAsJsonObject().has("locations") || !error.getAsJsonObject().get("locations").isJsonArray()) {
+                continue;
+            }
+            for (JsonElement location : error.getAsJsonObject().getAsJsonArray("locations")) {
+                if (location.isJsonObject() && remapLocation(location.getAsJsonObject(), query, queryLineStarts)) {
+                    changed = true;
+                }
+            }
+        }
+        return changed ? new GsonBuilder().disableHtmlEscaping().create().toJson(response) : responseJson;
+    }
+
+    private boolean remapLocation(@NotNull JsonObject location, @NotNull String query, @NotNull List<Integer> queryLineStarts) {
+        final JsonElement lineElement = location.get("line");
+        final JsonElement columnElement = location.get("column");
+        if (!isNumber(lineElement) || !isNumber(columnElement)) {
+            return false;
+        }
+        // server locations are 1-based
+        final int queryLine = lineElement.getAsInt() - 1;
+        final int queryColumn = columnElement.getAsInt() - 1;
+        if (queryLine < 0 || queryLine >= queryLineStarts.size() || queryColumn < 0) {
+            return false;
+        }
+        final int queryOffset = Math.min(queryLineStarts.get(queryLine) + queryColumn, query.length());
+        final Segment segment = findSegment(queryOffset);
+        if (segment == null) {
+            return false;
+        }
+
+        // the segment text is a verbatim copy of the source, so walk it to account for line breaks in e.g. block strings
+        int line = segment.myLine;
+        int column = segment.myColumn;
+        for (int i = segment.myQueryOffset; i < queryOffset; i++) {
+            if (query.charAt(i) == '\n') {
+                line++;
+                column = 0;
+            } else {
+                column++;
+            }
+        }
+        location.addProperty("line", line + 1);
+        location.addProperty("column", column + 1);
+        if (segment.myFileName != null) {
+            location.addProperty("file", segment.myFileName);
+        }
+        return true;
+    }
+
+    @Nullable
+    private Segment findSegment(int queryOffset) {
+        int low = 0;
+        int high = mySegments.size() - 1;
+        Segment found = null;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final Segment segment = mySegments.get(mid);
+            if (segment.myQueryOffset <= queryOffset) {
+                found = segment;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    @NotNull
+    private static List<Integer> getLineStartOffsets(@NotNull String text) {
+        final List<Integer> lineStarts = Lists.newArrayList(0);
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lineStarts.add(i + 1);
+            }
+        }
+        return lineStarts;
+    }
+
+    private static boolean isNumber(@Nullable JsonElement element) {
+        return element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber();
+    }
+
+    private static final class Segment {
+
+        private final int myQueryOffset;
+        private final int myLine;
+        private final int myColumn;
+        private final String myFileName;
+
+        Segment(int queryOffset, int line, int column, @Nullable String fileName) {
+            myQueryOffset = queryOffset;
+            myLine = line;
+            myColumn = column;
+            myFileName = fileName;
+        }
+    }
+}
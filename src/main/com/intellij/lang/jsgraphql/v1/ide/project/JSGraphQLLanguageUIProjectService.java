@@ -12,11 +12,15 @@ import com.intellij.codeInsight.CodeSmellInfo;
 import com.intellij.codeInsight.hint.HintManager;
 import com.intellij.codeInsight.hint.HintManagerImpl;
 import com.intellij.codeInsight.hint.HintUtil;
+import com.intellij.diff.DiffContentFactory;
+import com.intellij.diff.DiffManager;
+import com.intellij.diff.requests.SimpleDiffRequest;
 import com.intellij.icons.AllIcons;
 import com.intellij.ide.util.PropertiesComponent;
 import com.intellij.json.JsonFileType;
 import com.intellij.lang.jsgraphql.GraphQLFileType;
 import com.intellij.lang.jsgraphql.GraphQLParserDefinition;
+import com.intellij.lang.jsgraphql.GraphQLSettings;
 import com.intellij.lang.jsgraphql.icons.JSGraphQLIcons;
 import com.intellij.lang.jsgraphql.ide.actions.GraphQLEditConfigAction;
 import com.intellij.lang.jsgraphql.ide.editor.GraphQLIntrospectionService;
@@ -51,6 +55,7 @@ import com.intellij.openapi.startup.StartupManager;
 import com.intellij.openapi.ui.ComboBox;
 import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vcs.CodeSmellDetector;
 import com.intellij.openapi.vfs.VirtualFile;
@@ -69,6 +74,7 @@ import com.intellij.ui.content.impl.ContentImpl;
 import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.messages.MessageBusConnection;
 import com.intellij.util.ui.UIUtil;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.StopWatch;
 import org.apache.http.Header;
@@ -78,6 +84,7 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.util.EntityUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -87,9 +94,11 @@ import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Provides the project-specific GraphQL tool window, including errors view, console, and query result editor.
@@ -122,6 +131,11 @@ public class JSGraphQLLanguageUIProjectService implements Disposable, FileEditor
 
     private static final String FILE_URL_PROPERTY = "fileUrl";
 
+    private static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+    private static final String PERSISTED_QUERY_NOT_FOUND_CODE = "PERSISTED_QUERY_NOT_FOUND";
+    private static final String PERSISTED_QUERY_NOT_SUPPORTED = "PersistedQueryNotSupported";
+    private static final String PERSISTED_QUERY_NOT_SUPPORTED_CODE = "PERSISTED_QUERY_NOT_SUPPORTED";
+
     private final JSGraphQLLanguageToolWindowManager myToolWindowManager;
     private boolean myToolWindowManagerInitialized = false;
 
@@ -130,6 +144,12 @@ public class JSGraphQLLanguageUIProjectService implements Disposable, FileEditor
 
     private final Object myLock = new Object();
 
+    private final JSGraphQLQueryResponseCache myResponseCache = new JSGraphQLQueryResponseCache();
+    // endpoints that responded that they don't support persisted queries, which are sent the full query for the rest of the session
+    private final Set<String> myPersistedQueriesNotSupportedUrls = ContainerUtil.newConcurrentSet();
+    private volatile String myLastResponseKey;
+    private volatile String myLastResponse;
+
     private FileEditor fileEditor;
     private JBLabel queryResultLabel;
     private JBLabel querySuccessLabel;
@@ -375,15 +395,32 @@ public class JSGraphQLLanguageUIProjectService implements Disposable, FileEditor
                     hintManager.showEditorHint(lightweightHint, editor, hintPosition, 0, 10000, false, HintManager.UNDER);
                     return;
                 }
-                String requestJson = createQueryJsonSerializer().toJson(requestData);
+                final Gson querySerializer = createQueryJsonSerializer();
                 final String url = endpoint.getUrl();
+                final Object variables = requestData.get("variables");
+                String requestJson = querySerializer.toJson(requestData);
+                String persistedQueryRequestJson = null;
+                String persistedQueryRegisterRequestJson = null;
+                if (GraphQLSettings.getSettings(myProject).isEnableAutomaticPersistedQueries() && !myPersistedQueriesNotSupportedUrls.contains(StringUtil.notNullize(url))) {
+                    // try the hash first, and keep the full query with the hash for when the server doesn't know it yet
+                    requestData.put("extensions", createPersistedQueryExtensions(context.query));
+                    persistedQueryRegisterRequestJson = querySerializer.toJson(requestData);
+                    final Map<String, Object> persistedQueryRequestData = new HashMap<>(requestData);
+                    persistedQueryRequestData.remove("query");
+                    persistedQueryRequestJson = querySerializer.toJson(persistedQueryRequestData);
+                }
+                final String cacheKey = JSGraphQLQueryResponseCache.createKey(
+                    StringUtil.notNullize(url), context.query, variables != null ? querySerializer.toJson(variables) : null, endpoint.getHeaders()
+                );
                 try {
                     final HttpPost request = GraphQLIntrospectionService.createRequest(endpoint, url, requestJson);
+                    final HttpPost persistedQueryRequest = persistedQueryRequestJson != null ? GraphQLIntrospectionService.createRequest(endpoint, url, persistedQueryRequestJson) : null;
+                    final HttpPost persistedQueryRegisterRequest = persistedQueryRegisterRequestJson != null ? GraphQLIntrospectionService.createRequest(endpoint, url, persistedQueryRegisterRequestJson) : null;
                     final Task.Backgroundable task = new Task.Backgroundable(myProject, "Executing GraphQL", false) {
                         @Override
                         public void run(@NotNull ProgressIndicator indicator) {
                             indicator.setIndeterminate(true);
-                            runQuery(editor, virtualFile, context, url, request);
+                            runQuery(editor, virtualFile, context, url, request, persistedQueryRequest, persistedQueryRegisterRequest, cacheKey);
                         }
                     };
                     ProgressManager.getInstance().run(task);
@@ -395,62 +432,61 @@ public class JSGraphQLLanguageUIProjectService implements Disposable, FileEditor
         }
     }
 
-    private void runQuery(Editor editor, VirtualFile virtualFile, JSGraphQLQueryContext context, String url, HttpPost request) {
+    private void runQuery(Editor editor,
+                          VirtualFile virtualFile,
+                          JSGraphQLQueryContext context,
+                          String url,
+                          HttpPost request,
+                          @Nullable HttpPost persistedQueryRequest,
+                          @Nullable HttpPost persistedQueryRegisterRequest,
+                          @NotNull String cacheKey) {
+        final boolean cacheEnabled = GraphQLSettings.getSettings(myProject).isEnableQueryResponseCache();
+        final boolean cacheable = cacheEnabled && JSGraphQLQueryResponseCache.isCacheable(context.query);
+        final JSGraphQLQueryResponseCache.Entry cachedResponse = cacheable ? myResponseCache.get(cacheKey) : null;
+        if (cachedResponse != null) {
+            final long age = (System.currentTimeMillis() - cachedResponse.getCreatedAt()) / 1000;
+            showQueryResponse(virtualFile, context, cacheKey, cachedResponse.getResponse(), cachedResponse.getContentType(), "cached " + age + " s ago");
+            return;
+        }
+
         GraphQLIntrospectionService introspectionService = GraphQLIntrospectionService.getInstance(myProject);
         try {
             try (final CloseableHttpClient httpClient = introspectionService.createHttpClient()) {
                 editor.putUserData(JS_GRAPH_QL_EDITOR_QUERYING, true);
 
-                String responseJson;
-                Header contentType;
+                Pair<String, Header> response;
+                boolean persistedQueryHit = false;
                 StopWatch sw = new StopWatch();
                 sw.start();
-                try (final CloseableHttpResponse response = httpClient.execute(request)) {
-                    responseJson = StringUtil.notNullize(EntityUtils.toString(response.getEntity()));
-                    contentType = response.getFirstHeader("Content-Type");
+                try {
+                    if (persistedQueryRequest != null && persistedQueryRegisterRequest != null && !myPersistedQueriesNotSupportedUrls.contains(StringUtil.notNullize(url))) {
+                        response = executeRequest(httpClient, persistedQueryRequest);
+                        if (isPersistedQueryError(response.first, PERSISTED_QUERY_NOT_SUPPORTED, PERSISTED_QUERY_NOT_SUPPORTED_CODE)) {
+                            // the hash won't ever be known, so later runs skip it, and the full query is sent without the hash that the server rejects
+                            myPersistedQueriesNotSupportedUrls.add(StringUtil.notNullize(url));
+                            response = executeRequest(httpClient, request);
+                        } else if (isPersistedQueryError(response.first, PERSISTED_QUERY_NOT_FOUND, PERSISTED_QUERY_NOT_FOUND_CODE)) {
+                            // the server hasn't seen the hash before, so send the full query which it registers under the hash
+                            response = executeRequest(httpClient, persistedQueryRegisterRequest);
+                        } else {
+                            persistedQueryHit = true;
+                        }
+                    } else {
+                        response = executeRequest(httpClient, request);
+                    }
                 } finally {
                     sw.stop();
                 }
 
-                final boolean reformatJson = contentType != null && contentType.getValue() != null && contentType.getValue().startsWith("application/json");
-                final Integer errorCount = getErrorCount(responseJson);
-                if (fileEditor instanceof TextEditor) {
-                    final TextEditor textEditor = (TextEditor) fileEditor;
-                    UIUtil.invokeLaterIfNeeded(() -> {
-                        updateQueryResultEditor(responseJson, textEditor, reformatJson);
-                        final StringBuilder queryResultText = new StringBuilder(virtualFile.getName()).
-                            append(": ").
-                            append(sw.getTime()).
-                            append(" ms execution time, ").
-                            append(bytesToDisplayString(responseJson.length())).
-                            append(" response");
-
-                        if (errorCount != null && errorCount > 0) {
-                            queryResultText.append(", ").append(errorCount).append(" error").append(errorCount > 1 ? "s" : "");
-                            if (context.onError != null) {
-                                context.onError.run();
-                            }
-                        }
-
-                        queryResultLabel.setText(queryResultText.toString());
-                        queryResultLabel.putClientProperty(FILE_URL_PROPERTY, virtualFile.getUrl());
-                        if (!queryResultLabel.isVisible()) {
-                            queryResultLabel.setVisible(true);
-                        }
-
-                        querySuccessLabel.setVisible(errorCount != null);
-                        if (querySuccessLabel.isVisible()) {
-                            if (errorCount == 0) {
-                                querySuccessLabel.setBorder(BorderFactory.createEmptyBorder(2, 8, 0, 0));
-                                querySuccessLabel.setIcon(AllIcons.General.InspectionsOK);
-                            } else {
-                                querySuccessLabel.setBorder(BorderFactory.createEmptyBorder(2, 12, 0, 4));
-                                querySuccessLabel.setIcon(AllIcons.Ide.ErrorPoint);
-                            }
-                        }
-                        showQueryResultEditor(textEditor);
-                    });
+                final String contentType = response.second != null ? response.second.getValue() : null;
+                final String responseJson = context.sourceMap != null ? context.sourceMap.remapErrorLocations(context.query, response.first) : response.first;
+                if (cacheEnabled) {
+                    // responses with errors are only kept to compare them with the next run
+                    final Integer errorCount = getErrorCount(responseJson);
+                    myResponseCache.put(cacheKey, responseJson, contentType, cacheable && errorCount != null && errorCount == 0);
                 }
+                showQueryResponse(virtualFile, context, cacheKey, responseJson, contentType,
+                    sw.getTime() + " ms execution time" + (persistedQueryHit ? " (persisted query)" : ""));
             } finally {
                 editor.putUserData(JS_GRAPH_QL_EDITOR_QUERYING, null);
             }
@@ -459,6 +495,143 @@ public class JSGraphQLLanguageUIProjectService implements Disposable, FileEditor
         }
     }
 
+    private void showQueryResponse(@NotNull VirtualFile virtualFile,
+                                   @NotNull JSGraphQLQueryContext context,
+                                   @NotNull String cacheKey,
+                                   @NotNull String responseJson,
+                                   @Nullable String contentType,
+                                   @NotNull String timing) {
+        myLastResponseKey = cacheKey;
+        myLastResponse = responseJson;
+        final boolean reformatJson = contentType != null && contentType.startsWith("application/json");
+        final Integer errorCount = getErrorCount(responseJson);
+        if (fileEditor instanceof TextEditor) {
+            final TextEditor textEditor = (TextEditor) fileEditor;
+            UIUtil.invokeLaterIfNeeded(() -> {
+                updateQueryResultEditor(responseJson, textEditor, reformatJson);
+                final StringBuilder queryResultText = new StringBuilder(virtualFile.getName()).
+                    append(": ").
+                    append(timing).
+                    append(", ").
+                    append(bytesToDisplayString(responseJson.length())).
+                    append(" response");
+
+                if (errorCount != null && errorCount > 0) {
+                    queryResultText.append(", ").append(errorCount).append(" error").append(errorCount > 1 ? "s" : "");
+                    if (context.onError != null) {
+                        context.onError.run();
+                    }
+                }
+
+                queryResultLabel.setText(queryResultText.toString());
+                queryResultLabel.putClientProperty(FILE_URL_PROPERTY, virtualFile.getUrl());
+                if (!queryResultLabel.isVisible()) {
+                    queryResultLabel.setVisible(true);
+                }
+
+                querySuccessLabel.setVisible(errorCount != null);
+                if (querySuccessLabel.isVisible()) {
+                    if (errorCount == 0) {
+                        querySuccessLabel.setBorder(BorderFactory.createEmptyBorder(2, 8, 0, 0));
+                        querySuccessLabel.setIcon(AllIcons.General.InspectionsOK);
+                    } else {
+                        querySuccessLabel.setBorder(BorderFactory.createEmptyBorder(2, 12, 0, 4));
+                        querySuccessLabel.setIcon(AllIcons.Ide.ErrorPoint);
+                    }
+                }
+                showQueryResultEditor(textEditor);
+            });
+        }
+    }
+
+    /**
+     * Opens the data of the latest response as normalized entities, i.e. objects with an id are listed once by type and id
+     */
+    private void showNormalizedEntities() {
+        final String response = myLastResponse;
+        final JsonObject entities = response != null ? JSGraphQLQueryResponseCache.normalizeEntities(response) : null;
+        if (entities == null) {
+            return;
+        }
+        final String entitiesJson = new GsonBuilder().setPrettyPrinting().serializeNulls().create().toJson(entities);
+        final LightVirtualFile entitiesFile = new LightVirtualFile("GraphQL.entities.json", JsonFileType.INSTANCE, entitiesJson);
+        FileEditorManager.getInstance(myProject).openFile(entitiesFile, true);
+    }
+
+    /**
+     * Shows the differences between the normalized entities of the latest response and the previous response to the same request
+     */
+    private void compareWithPreviousResponse() {
+        final String key = myLastResponseKey;
+        final JSGraphQLQueryResponseCache.Entry entry = key != null ? myResponseCache.getLatest(key) : null;
+        if (entry == null || entry.getPreviousResponse() == null) {
+            return;
+        }
+        final Gson gson = new GsonBuilder().setPrettyPrinting().serializeNulls().create();
+        final DiffContentFactory contentFactory = DiffContentFactory.getInstance();
+        final SimpleDiffRequest diffRequest = new SimpleDiffRequest(
+            "GraphQL Normalized Entities",
+            contentFactory.create(myProject, toEntitiesJson(gson, entry.getPreviousResponse()), JsonFileType.INSTANCE),
+            contentFactory.create(myProject, toEntitiesJson(gson, entry.getResponse()), JsonFileType.INSTANCE),
+            "Previous response",
+            "Latest response"
+        );
+        DiffManager.getInstance().showDiff(myProject, diffRequest);
+    }
+
+    @NotNull
+    private static String toEntitiesJson(@NotNull Gson gson, @NotNull String response) {
+        // responses without data, e.g. only errors, are compared as is
+        final JsonObject entities = JSGraphQLQueryResponseCache.normalizeEntities(response);
+        return entities != null ? gson.toJson(entities) : response;
+    }
+
+    @NotNull
+    private static Pair<String, Header> executeRequest(@NotNull CloseableHttpClient httpClient, @NotNull HttpPost request) throws IOException {
+        try (final CloseableHttpResponse response = httpClient.execute(request)) {
+            return Pair.create(StringUtil.notNullize(EntityUtils.toString(response.getEntity())), response.getFirstHeader("Content-Type"));
+        }
+    }
+
+    /**
+     * Creates the request extensions for Apollo-style automatic persisted queries, which identify the query by its SHA-256 hash
+     */
+    @NotNull
+    private static Map<String, Object> createPersistedQueryExtensions(@NotNull String query) {
+        final Map<String, Object> persistedQuery = new HashMap<>();
+        persistedQuery.put("version", 1);
+        persistedQuery.put("sha256Hash", DigestUtils.sha256Hex(query));
+        return Collections.singletonMap("persistedQuery", persistedQuery);
+    }
+
+    /**
+     * Whether the response contains the persisted query error with the specified message or extensions code,
+     * e.g. that the server doesn't know the hash of a persisted query, or doesn't support persisted queries at all
+     */
+    private static boolean isPersistedQueryError(@NotNull String responseJson, @NotNull String errorMessage, @NotNull String errorCode) {
+        if (!responseJson.contains(errorMessage) && !responseJson.contains(errorCode)) {
+            return false;
+        }
+        try {
+            final Map res = new Gson().fromJson(responseJson, Map.class);
+            final Object errors = res != null ? res.get("errors") : null;
+            if (errors instanceof Collection) {
+                for (Object error : (Collection) errors) {
+                    if (error instanceof Map) {
+                        final Object message = ((Map) error).get("message");
+                        final Object extensions = ((Map) error).get("extensions");
+                        final Object code = extensions instanceof Map ? ((Map) extensions).get("code") : null;
+                        if (errorMessage.equals(message) || errorCode.equals(code)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        } catch (JsonSyntaxException ignored) {
+        }
+        return false;
+    }
+
     @NotNull
     private static Gson createQueryJsonSerializer() {
         return new GsonBuilder()
@@ -601,6 +774,7 @@ public class JSGraphQLLanguageUIProjectService implements Disposable, FileEditor
                 }
             });
             header.add(queryResultLabel, BorderLayout.CENTER);
+            header.add(createToolbar(createResponseActions()), BorderLayout.EAST);
 
             // finally set the header as permanent such that it's restored after searches
             editor.setHeaderComponent(header);
@@ -614,6 +788,47 @@ public class JSGraphQLLanguageUIProjectService implements Disposable, FileEditor
         Disposer.register(content, fileEditor);
     }
 
+    @NotNull
+    private ActionGroup createResponseActions() {
+        final DefaultActionGroup responseActions = new DefaultActionGroup();
+        responseActions.add(new AnAction("Show Normalized Entities", "Opens the response data with the objects that have an id listed once by type and id", AllIcons.Nodes.DataTables) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                showNormalizedEntities();
+            }
+
+            @Override
+            public void update(@NotNull AnActionEvent e) {
+                e.getPresentation().setEnabled(myLastResponse != null);
+            }
+        });
+        responseActions.add(new AnAction("Compare With Previous Response", "Shows the differences between the normalized entities of this and the previous response to the same request", AllIcons.Actions.Diff) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                compareWithPreviousResponse();
+            }
+
+            @Override
+            public void update(@NotNull AnActionEvent e) {
+                final String key = myLastResponseKey;
+                final JSGraphQLQueryResponseCache.Entry entry = key != null ? myResponseCache.getLatest(key) : null;
+                e.getPresentation().setEnabled(entry != null && entry.getPreviousResponse() != null);
+            }
+        });
+        responseActions.add(new AnAction("Clear Response Cache", "Removes the cached query responses so the next run is sent to the server", AllIcons.Actions.GC) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                myResponseCache.clear();
+            }
+
+            @Override
+            public void update(@NotNull AnActionEvent e) {
+                e.getPresentation().setEnabled(myResponseCache.size() > 0);
+            }
+        });
+        return responseActions;
+    }
+
     private void initToolWindow() {
         if (this.myToolWindowManager != null && !this.myProject.isDisposed()) {
             StartupManager.getInstance(this.myProject).runWhenProjectIsInitialized(() -> ApplicationManager.getApplication().invokeLater(() -> {
@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.v1.ide.project;
+
+import com.google.gson.*;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Local cache of query console responses, so re-running an unchanged query doesn't hit the server again.
+ * <p>
+ * Responses are keyed by the endpoint URL, the query with insignificant whitespace and comments removed, the variables and the
+ * request headers. Only queries are cached, never mutations or subscriptions. Entries expire after a fixed time, and the least
+ * recently used entries are evicted when the cache holds too many responses or too much response text.
+ * <p>
+ * Each entry also keeps the response it replaced, so the normalized entities of two runs of the same request can be compared.
+ */
+public class JSGraphQLQueryResponseCache {
+
+    static final long DEFAULT_TIME_TO_LIVE_MILLIS = 5 * 60 * 1000;
+    static final int DEFAULT_MAX_ENTRIES = 50;
+    static final long DEFAULT_MAX_TOTAL_LENGTH = 10_000_000;
+
+    private static final String TYPENAME = "__typename";
+    private static final String ROOT_KEY = "ROOT";
+
+    private final long myTimeToLiveMillis;
+    private final int myMaxEntries;
+    private final long myMaxTotalLength;
+    private final LongSupplier myClock;
+
+    // access order, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> myEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long myTotalLength;
+
+    public JSGraphQLQueryResponseCache() {
+        this(DEFAULT_TIME_TO_LIVE_MILLIS, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_TOTAL_LENGTH, System::currentTimeMillis);
+    }
+
+    JSGraphQLQueryResponseCache(long timeToLiveMillis, int maxEntries, long maxTotalLength, @NotNull LongSupplier clock) {
+        myTimeToLiveMillis = timeToLiveMillis;
+        myMaxEntries = maxEntries;
+        myMaxTotalLength = maxTotalLength;
+        myClock = clock;
+    }
+
+    /**
+     * Creates the cache key of a request. Header values are part of the key, but only as a hash, so credentials aren't kept in memory.
+     *
+     * @param url       the endpoint URL
+     * @param query     the query text that is sent to the server
+     * @param variables the variables JSON, or null if the request has no variables
+     * @param headers   the request headers configured for the endpoint
+     */
+    @NotNull
+    public static String createKey(@NotNull String url, @NotNull String query, @Nullable String variables, @Nullable Map<String, Object> headers) {
+        final StringBuilder key = new StringBuilder(url).append('\0').append(normalizeQuery(query)).append('\0');
+        if (variables != null) {
+            try {
+                key.append(toCanonicalJson(new JsonParser().parse(variables)));
+            } catch (JsonParseException e) {
+                key.append(variables);
+            }
+        }
+        if (headers != null) {
+            for (Map.Entry<String, Object> header : new TreeMap<>(headers).entrySet()) {
+                key.append('\0').append(header.getKey()).append(':').append(header.getValue());
+            }
+        }
+        return DigestUtils.sha256Hex(key.toString());
+    }
+
+    /**
+     * Gets whether a query only contains query operations and fragments, i.e. whether its response can be reused
+     */
+    public static boolean isCacheable(@NotNull String query) {
+        final String normalizedQuery = normalizeQuery(query);
+        int depth = 0;
+        int tokenStart = -1;
+        for (int i = 0; i <= normalizedQuery.length(); i++) {
+            final char c = i < normalizedQuery.length() ? normalizedQuery.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c) || c == '_') {
+                if (tokenStart == -1) {
+                    tokenStart = i;
+                }
+                continue;
+            }
+            if (tokenStart != -1 && depth == 0) {
+                final String token = normalizedQuery.substring(tokenStart, i);
+                if ("mutation".equals(token) || "subscription".equals(token)) {
+                    return false;
+                }
+            }
+            tokenStart = -1;
+            if (c == '"') {
+                // skip strings so braces in argument values aren't counted
+                i = skipString(normalizedQuery, i) - 1;
+            } else if (c == '{' || c == '(' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ')' || c == ']') {
+                depth--;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes comments and insignificant whitespace, so reformatting a query doesn't change its cache key
+     */
+    @NotNull
+    static String normalizeQuery(@NotNull String query) {
+        final StringBuilder result = new StringBuilder(query.length());
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < query.length()) {
+            final char c = query.charAt(i);
+            if (c == '#') {
+                while (i < query.length() && query.charAt(i) != '\n' && query.charAt(i) != '\r') {
+                    i++;
+                }
+                pendingSpace = true;
+            } else if (Character.isWhitespace(c) || c == ',') {
+                pendingSpace = true;
+                i++;
+            } else {
+                if (pendingSpace && result.length() > 0 && isNameChar(result.charAt(result.length() - 1)) && (isNameChar(c) || c == '$' || c == '"')) {
+                    result.append(' ');
+                }
+                pendingSpace = false;
+                if (c == '"') {
+                    final int end = skipString(query, i);
+                    result.append(query, i, end);
+                    i = end;
+                } else {
+                    result.append(c);
+                    i++;
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    /**
+     * Gets the offset after the string or block string that starts at the specified offset
+     */
+    private static int skipString(@NotNull String text, int start) {
+        if (text.startsWith("\"\"\"", start)) {
+            final int end = text.indexOf("\"\"\"", start + 3);
+            return end == -1 ? text.length() : end + 3;
+        }
+        int i = start + 1;
+        while (i < text.length()) {
+            final char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"' || c == '\n') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return text.length();
+    }
+
+    /**
+     * Gets a response that hasn't expired yet
+     */
+    @Nullable
+    public synchronized Entry get(@NotNull String key) {
+        final Entry entry = myEntries.get(key);
+        if (entry == null || !entry.isCached() || myClock.getAsLong() - entry.myCreatedAt > myTimeToLiveMillis) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Gets the most recent response of a request, including expired responses and responses that can't be reused
+     */
+    @Nullable
+    public synchronized Entry getLatest(@NotNull String key) {
+        return myEntries.get(key);
+    }
+
+    /**
+     * Adds the response of a request, replacing the previous response
+     *
+     * @param cached whether the response can be returned by {@link #get(String)}, or is only kept to compare it with the next run
+     */
+    @NotNull
+    public synchronized Entry put(@NotNull String key, @NotNull String response, @Nullable String contentType, boolean cached) {
+        final Entry previous = myEntries.remove(key);
+        if (previous != null) {
+            myTotalLength -= previous.getLength();
+        }
+        final Entry entry = new Entry(response, contentType, previous != null ? previous.myResponse : null, myClock.getAsLong(), cached);
+        myEntries.put(key, entry);
+        myTotalLength += entry.getLength();
+
+        final Iterator<Entry> leastRecentlyUsed = myEntries.values().iterator();
+        while ((myEntries.size() > myMaxEntries || myTotalLength > myMaxTotalLength) && leastRecentlyUsed.hasNext()) {
+            final Entry evicted = leastRecentlyUsed.next();
+            if (evicted == entry) {
+                break;
+            }
+            leastRecentlyUsed.remove();
+            myTotalLength -= evicted.getLength();
+        }
+        return entry;
+    }
+
+    public synchronized void clear() {
+        myEntries.clear();
+        myTotalLength = 0;
+    }
+
+    public synchronized int size() {
+        return myEntries.size();
+    }
+
+    /**
+     * Normalizes the data of a GraphQL response into a flat map of entities, similar to the normalized caches of GraphQL clients.
+     * <p>
+     * Objects with an "id" are stored once under "Typename:id", merging the fields selected in different places of the response,
+     * and are replaced by a {"__ref": "Typename:id"} where they occur. The remaining data is stored under "ROOT".
+     * Entities are sorted by key, so the normalized responses of two runs can be compared as text.
+     *
+     * @return the entities, or null if the response has no data
+     */
+    @Nullable
+    public static JsonObject normalizeEntities(@NotNull String responseJson) {
+        final JsonElement response;
+        try {
+            response = new JsonParser().parse(responseJson);
+        } catch (JsonParseException e) {
+            return null;
+        }
+        if (!response.isJsonObject() || !response.getAsJsonObject().has("data") || !response.getAsJsonObject().get("data").isJsonObject()) {
+            return null;
+        }
+        final Map<String, JsonObject> entities = new TreeMap<>();
+        final JsonElement root = normalize(response.getAsJsonObject().get("data"), entities);
+        entities.put(ROOT_KEY, root.getAsJsonObject());
+        final JsonObject result = new JsonObject();
+        entities.forEach(result::add);
+        return result;
+    }
+
+    @NotNull
+    private static JsonElement normalize(@NotNull JsonElement element, @NotNull Map<String, JsonObject> entities) {
+        if (element.isJsonArray()) {
+            final JsonArray array = new JsonArray();
+            for (JsonElement item : element.getAsJsonArray()) {
+                array.add(normalize(item, entities));
+            }
+            return array;
+        }
+        if (!element.isJsonObject()) {
+            return element;
+        }
+        final JsonObject object = new JsonObject();
+        for (Map.Entry<String, JsonElement> field : element.getAsJsonObject().entrySet()) {
+            object.add(field.getKey(), normalize(field.getValue(), entities));
+        }
+        final String entityKey = getEntityKey(object);
+        if (entityKey == null) {
+            return object;
+        }
+        final JsonObject entity = entities.computeIfAbsent(entityKey, k -> new JsonObject());
+        for (Map.Entry<String, JsonElement> field : object.entrySet()) {
+            entity.add(field.getKey(), field.getValue());
+        }
+        final JsonObject reference = new JsonObject();
+        reference.addProperty("__ref", entityKey);
+        return reference;
+    }
+
+    @Nullable
+    private static String getEntityKey(@NotNull JsonObject object) {
+        final JsonElement id = object.get("id");
+        if (id == null || !id.isJsonPrimitive()) {
+            return null;
+        }
+        final JsonElement typename = object.get(TYPENAME);
+        final String typenamePrefix = typename != null && typename.isJsonPrimitive() ? typename.getAsString() : "Unknown";
+        return typenamePrefix + ":" + id.getAsString();
+    }
+
+    /**
+     * Serializes JSON with the object members sorted by name
+     */
+    @NotNull
+    private static String toCanonicalJson(@NotNull JsonElement element) {
+        return sortMembers(element).toString();
+    }
+
+    @NotNull
+    private static JsonElement sortMembers(@NotNull JsonElement element) {
+        if (element.isJsonArray()) {
+            final JsonArray array = new JsonArray();
+            for (JsonElement item : element.getAsJsonArray()) {
+                array.add(sortMembers(item));
+            }
+            return array;
+        }
+        if (element.isJsonObject()) {
+            final JsonObject object = new JsonObject();
+            final Map<String, JsonElement> members = new TreeMap<>();
+            element.getAsJsonObject().entrySet().forEach(member -> members.put(member.getKey(), member.getValue()));
+            members.forEach((name, value) -> object.add(name, sortMembers(value)));
+            return object;
+        }
+        return element;
+    }
+
+    public static final class Entry {
+
+        private final String myResponse;
+        private final String myContentType;
+        private final String myPreviousResponse;
+        private final long myCreatedAt;
+        private final boolean myCached;
+
+        Entry(@NotNull String response, @Nullable String contentType, @Nullable String previousResponse, long createdAt, boolean cached) {
+            myResponse = response;
+            myContentType = contentType;
+            myPreviousResponse = previousResponse;
+            myCreatedAt = createdAt;
+            myCached = cached;
+        }
+
+        @NotNull
+        public String getResponse() {
+            return myResponse;
+        }
+
+        @Nullable
+        public String getContentType() {
+            return myContentType;
+        }
+
+        /**
+         * Gets the response of the previous run of the same request, if it was still in the cache
+         */
+        @Nullable
+        public String getPreviousResponse() {
+            return myPreviousResponse;
+        }
+
+        public long getCreatedAt() {
+            return myCreatedAt;
+        }
+
+        boolean isCached() {
+            return myCached;
+        }
+
+        private long getLength() {
+            return myResponse.length() + (myPreviousResponse != null ? myPreviousResponse.length() : 0);
+        }
+    }
+}
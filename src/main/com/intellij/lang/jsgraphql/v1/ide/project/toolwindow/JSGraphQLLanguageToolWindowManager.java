@@ -7,6 +7,7 @@
  */
 package com.intellij.lang.jsgraphql.v1.ide.project.toolwindow;
 
+import com.intellij.lang.jsgraphql.ide.project.schemastatus.GraphQLSchemaImpactPanel;
 import com.intellij.lang.jsgraphql.ide.project.schemastatus.GraphQLSchemasPanel;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.actionSystem.AnAction;
@@ -75,6 +76,11 @@ public class JSGraphQLLanguageToolWindowManager implements Disposable {
             contentRef.set(schemasContent);
             myToolWindow.getContentManager().addContent(contentRef.get(), 0);
 
+            final GraphQLSchemaImpactPanel impactPanel = new GraphQLSchemaImpactPanel(myProject);
+            final ContentImpl impactContent = new ContentImpl(impactPanel, "Schema Impact", false);
+            impactContent.setCloseable(false);
+            impactContent.setDisposer(impactPanel);
+            myToolWindow.getContentManager().addContent(impactContent, 1);
         }
     }
 
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.endpoint.ide.project.indexing;
+
+import com.google.common.collect.Sets;
+import com.intellij.lang.jsgraphql.endpoint.psi.JSGraphQLEndpointInterfaceTypeDefinition;
+import com.intellij.lang.jsgraphql.endpoint.psi.JSGraphQLEndpointNamedTypeDefinition;
+import com.intellij.lang.jsgraphql.endpoint.psi.JSGraphQLEndpointPsiUtil;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.intellij.util.indexing.FileBasedIndex;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class JSGraphQLEndpointDefinitionNameIndexTest extends BasePlatformTestCase {
+
+    private PsiFile myMainFile;
+
+    private PsiFile myTypesFile;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        myMainFile = myFixture.addFileToProject("main.graphqle", "type Query {}\ninterface Node {}");
+        myTypesFile = myFixture.addFileToProject("types.graphqle", "type User {}\ninterface Named {}\nenum Color {\n    RED, GREEN\n}");
+    }
+
+    public void testDefinitionsAcrossFiles() {
+        assertEquals(Collections.singletonList(JSGraphQLEndpointDefinitionNameIndex.DefinitionKind.OBJECT_TYPE), getKinds("Query"));
+        assertEquals(Collections.singletonList(JSGraphQLEndpointDefinitionNameIndex.DefinitionKind.OBJECT_TYPE), getKinds("User"));
+        assertEquals(Collections.singletonList(JSGraphQLEndpointDefinitionNameIndex.DefinitionKind.ENUM_TYPE), getKinds("Color"));
+        assertEquals(Collections.singleton("main.graphqle"), getFileNames("Node"));
+        assertEquals(Collections.singleton("types.graphqle"), getFileNames("Named"));
+
+        // the types that can be auto-imported from other files are found using the index
+        final Collection<JSGraphQLEndpointInterfaceTypeDefinition> interfaces = JSGraphQLEndpointPsiUtil.getKnownDefinitions(
+            myMainFile, JSGraphQLEndpointInterfaceTypeDefinition.class, true, null);
+        assertEquals(Sets.newHashSet("Node", "Named"), getNames(interfaces));
+        assertEquals(Collections.singleton("Node"), getNames(JSGraphQLEndpointPsiUtil.getKnownDefinitions(
+            myMainFile, JSGraphQLEndpointInterfaceTypeDefinition.class, false, null)));
+    }
+
+    public void testRenamedDefinition() {
+        setText(myTypesFile, "type Person {}\ninterface Named {}\nenum Color {\n    RED, GREEN\n}");
+
+        assertEmpty(getFileNames("User"));
+        assertEquals(Collections.singleton("types.graphqle"), getFileNames("Person"));
+        assertEquals(Collections.singleton("types.graphqle"), getFileNames("Named"));
+    }
+
+    public void testDeletedFile() {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> myTypesFile.delete());
+
+        assertEmpty(getFileNames("User"));
+        assertEmpty(getFileNames("Color"));
+        assertEquals(Collections.singleton("main.graphqle"), getFileNames("Node"));
+        assertEquals(Collections.singleton("Node"), getNames(JSGraphQLEndpointPsiUtil.getKnownDefinitions(
+            myMainFile, JSGraphQLEndpointInterfaceTypeDefinition.class, true, null)));
+    }
+
+    private Collection<JSGraphQLEndpointDefinitionNameIndex.DefinitionKind> getKinds(String name) {
+        return FileBasedIndex.getInstance().getValues(JSGraphQLEndpointDefinitionNameIndex.NAME, name, GlobalSearchScope.projectScope(getProject()));
+    }
+
+    private Set<String> getFileNames(String name) {
+        return FileBasedIndex.getInstance().getContainingFiles(JSGraphQLEndpointDefinitionNameIndex.NAME, name, GlobalSearchScope.projectScope(getProject()))
+            .stream()
+            .map(VirtualFile::getName)
+            .collect(Collectors.toSet());
+    }
+
+    private static Set<String> getNames(Collection<? extends JSGraphQLEndpointNamedTypeDefinition> definitions) {
+        return definitions.stream().map(definition -> definition.getNamedTypeDef().getText()).collect(Collectors.toSet());
+    }
+
+    private void setText(PsiFile file, String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            final Document document = documentManager.getDocument(file);
+            assertNotNull(document);
+            document.setText(text);
+            documentManager.commitDocument(document);
+        });
+    }
+}
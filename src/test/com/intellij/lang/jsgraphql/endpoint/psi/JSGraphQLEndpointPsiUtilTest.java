@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.endpoint.psi;
+
+import com.google.common.collect.Sets;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class JSGraphQLEndpointPsiUtilTest extends BasePlatformTestCase {
+
+    private PsiFile myMainFile;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        myMainFile = myFixture.addFileToProject("main.graphqle", "import \"types\"\n\ntype Query {}");
+        myFixture.addFileToProject(GraphQLConfigManager.GRAPHQLCONFIG, "{\"extensions\": {\"endpoint-language\": {\"entry\": \"main.graphqle\"}}}");
+        // use the synchronous method of building the configuration for the unit test
+        GraphQLConfigManager.getService(getProject()).doBuildConfigurationModel(null);
+    }
+
+    public void testImportedFileChanges() {
+        final PsiFile typesFile = myFixture.addFileToProject("types.graphqle", "type User {}");
+        assertEquals(Collections.singleton("types.graphqle"), getImportedFileNames(myMainFile));
+        assertEquals(Sets.newHashSet("Query", "User"), getKnownDefinitionNames(myMainFile));
+
+        // the imported files stay the same, and their definitions are read from the current PSI
+        setText(typesFile, "type User {}\ntype Role {}");
+        assertEquals(Sets.newHashSet("Query", "User", "Role"), getKnownDefinitionNames(myMainFile));
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> typesFile.delete());
+        assertEmpty(getImportedFileNames(myMainFile));
+        assertEquals(Collections.singleton("Query"), getKnownDefinitionNames(myMainFile));
+
+        myFixture.addFileToProject("types.graphqle", "type Person {}");
+        assertEquals("a file that is created for an unresolved import is picked up", Collections.singleton("types.graphqle"), getImportedFileNames(myMainFile));
+        assertEquals(Sets.newHashSet("Query", "Person"), getKnownDefinitionNames(myMainFile));
+
+        myFixture.addFileToProject("other.graphqle", "type Other {}");
+        setText(myMainFile, "import \"other\"\n\ntype Query {}");
+        assertEquals(Collections.singleton("other.graphqle"), getImportedFileNames(myMainFile));
+        assertEquals(Sets.newHashSet("Query", "Other"), getKnownDefinitionNames(myMainFile));
+    }
+
+    public void testImportCycle() {
+        final PsiFile typesFile = myFixture.addFileToProject("types.graphqle", "import \"main\"\n\ntype User {}");
+
+        // imports aren't followed transitively, so a cycle just makes the files import each other
+        assertEquals(Collections.singleton("types.graphqle"), getImportedFileNames(myMainFile));
+        assertEquals(Collections.singleton("main.graphqle"), getImportedFileNames(typesFile));
+        assertEquals(Sets.newHashSet("Query", "User"), getKnownDefinitionNames(myMainFile));
+        assertEquals(Sets.newHashSet("Query", "User"), getKnownDefinitionNames(typesFile));
+    }
+
+    public void testSelfImport() {
+        setText(myMainFile, "import \"main\"\n\ntype Query {}");
+        assertEquals(Collections.singleton("main.graphqle"), getImportedFileNames(myMainFile));
+        assertEquals(Collections.singleton("Query"), getKnownDefinitionNames(myMainFile));
+    }
+
+    private static Set<String> getImportedFileNames(PsiFile file) {
+        return JSGraphQLEndpointPsiUtil.getImportedFiles(file).stream().map(PsiFile::getName).collect(Collectors.toSet());
+    }
+
+    private static Set<String> getKnownDefinitionNames(PsiFile file) {
+        final Collection<JSGraphQLEndpointNamedTypeDefinition> definitions = JSGraphQLEndpointPsiUtil.getKnownDefinitions(
+            file, JSGraphQLEndpointNamedTypeDefinition.class, false, null);
+        return definitions.stream().map(definition -> definition.getNamedTypeDef().getText()).collect(Collectors.toSet());
+    }
+
+    private void setText(PsiFile file, String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            final Document document = documentManager.getDocument(file);
+            assertNotNull(document);
+            document.setText(text);
+            documentManager.commitDocument(document);
+        });
+    }
+}
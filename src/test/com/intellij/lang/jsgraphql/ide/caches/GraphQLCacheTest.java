@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.caches;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GraphQLCacheTest {
+
+    @Test
+    public void processCanceledExceptionPropagatesUnwrapped() {
+        final GraphQLCache<String, String> cache = GraphQLCaches.create("GraphQLCacheTest.cancel", 10);
+        final ProcessCanceledException canceled = new ProcessCanceledException();
+        try {
+            cache.computeIfAbsent("key", key -> {
+                throw canceled;
+            });
+            Assert.fail("expected the loader exception");
+        } catch (ProcessCanceledException e) {
+            Assert.assertSame(canceled, e);
+        }
+        Assert.assertEquals("nothing is cached for a cancelled load", 0, cache.size());
+        Assert.assertEquals("value", cache.computeIfAbsent("key", key -> "value"));
+    }
+
+    @Test
+    public void loaderExceptionsAreUnwrapped() {
+        final GraphQLCache<String, String> cache = GraphQLCaches.create("GraphQLCacheTest.exceptions", 10);
+        final IllegalStateException exception = new IllegalStateException();
+        try {
+            cache.computeIfAbsent("key", key -> {
+                throw exception;
+            });
+            Assert.fail("expected the loader exception");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(exception, e);
+        }
+
+        final AssertionError error = new AssertionError();
+        try {
+            cache.computeIfAbsent("key", key -> {
+                throw error;
+            });
+            Assert.fail("expected the loader error");
+        } catch (AssertionError e) {
+            Assert.assertSame(error, e);
+        }
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedAtMaximumSize() {
+        final GraphQLCache<String, String> cache = GraphQLCaches.create("GraphQLCacheTest.eviction", 3);
+        final AtomicInteger loads = new AtomicInteger();
+        cache.computeIfAbsent("a", key -> key + loads.incrementAndGet());
+        cache.computeIfAbsent("b", key -> key + loads.incrementAndGet());
+        cache.computeIfAbsent("c", key -> key + loads.incrementAndGet());
+        Assert.assertEquals("a1", cache.computeIfAbsent("a", key -> key + loads.incrementAndGet()));
+
+        cache.computeIfAbsent("d", key -> key + loads.incrementAndGet());
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(1, cache.getStats().evictionCount());
+        Assert.assertEquals("a1", cache.computeIfAbsent("a", key -> key + loads.incrementAndGet()));
+        Assert.assertEquals("the least recently used entry was evicted", "b5", cache.computeIfAbsent("b", key -> key + loads.incrementAndGet()));
+    }
+
+    @Test
+    public void statisticsAreCombinedByName() {
+        final GraphQLCache<String, String> first = GraphQLCaches.create("GraphQLCacheTest.statistics", 10);
+        final GraphQLCache<String, String> second = GraphQLCaches.create("GraphQLCacheTest.statistics", 10);
+        first.computeIfAbsent("key", key -> "value");
+        first.computeIfAbsent("key", key -> "other");
+        second.computeIfAbsent("key", key -> "value");
+
+        final GraphQLCacheStatistics statistics = getStatistics("GraphQLCacheTest.statistics");
+        Assert.assertEquals(2, statistics.getInstances());
+        Assert.assertEquals(2, statistics.getSize());
+        Assert.assertEquals(20, statistics.getMaximumSize());
+        Assert.assertEquals(1, statistics.getStats().hitCount());
+        Assert.assertEquals(2, statistics.getStats().missCount());
+        Assert.assertTrue(statistics.getDescription(), statistics.getDescription().startsWith("hit rate 33.3% (1 hit, 2 misses, 0 evictions), 2/20 entries in 2 caches"));
+        Assert.assertTrue(GraphQLCaches.formatStatistics().contains("GraphQLCacheTest.statistics: " + statistics.getDescription() + "\n"));
+    }
+
+    private static GraphQLCacheStatistics getStatistics(String name) {
+        final List<GraphQLCacheStatistics> statistics = GraphQLCaches.getStatistics();
+        for (GraphQLCacheStatistics cacheStatistics : statistics) {
+            if (cacheStatistics.getName().equals(name)) {
+                return cacheStatistics;
+            }
+        }
+        throw new AssertionError("no statistics for " + name);
+    }
+}
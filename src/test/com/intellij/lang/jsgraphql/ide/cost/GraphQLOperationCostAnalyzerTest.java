@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.cost;
+
+import com.google.common.collect.Lists;
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.model.GraphQLConfigCost;
+import com.intellij.lang.jsgraphql.psi.GraphQLOperationDefinition;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.List;
+
+public class GraphQLOperationCostAnalyzerTest extends BasePlatformTestCase {
+
+    private static final String SCHEMA = "directive @cost(complexity: Int, multipliers: [String]) on FIELD_DEFINITION\n" +
+        "type Query {\n" +
+        "  user: User\n" +
+        "  users(first: Int): [User]\n" +
+        "  search(count: Int, first: Int): [User] @cost(complexity: 5, multipliers: [\"count\"])\n" +
+        "}\n" +
+        "type User { id: ID name: String friends(first: Int): [User] }\n";
+
+    public void testListMultipliers() {
+        configure(SCHEMA, null);
+        assertEquals("depth 2, breadth 2, cost 30", getCost("query { users(first: 10) { id name } }"));
+        assertEquals("nested lists multiply", "depth 3, breadth 1, cost 110", getCost("query { users(first: 10) { friends(first: 5) { id } } }"));
+        assertEquals("lists without a size use the default list size", "depth 2, breadth 1, cost 2", getCost("query { users { id } }"));
+        assertEquals("the cost directive declares the cost and the multipliers", "depth 2, breadth 1, cost 18", getCost("query { search(count: 3, first: 100) { id } }"));
+        assertEquals("variables use their default value", "depth 2, breadth 1, cost 8", getCost("query Q($n: Int = 4) { users(first: $n) { id } }"));
+        assertEquals("variables without a default value use the default list size", "depth 2, breadth 1, cost 2", getCost("query Q($n: Int) { users(first: $n) { id } }"));
+    }
+
+    public void testFragments() {
+        configure(SCHEMA, null);
+        assertEquals("depth 3, breadth 2, cost 8", getCost("query { user { ...UserFields } }\n" +
+            "fragment UserFields on User { id friends(first: 2) { id name } }"));
+        assertEquals("fragments are multiplied by the list they're spread in", "depth 3, breadth 2, cost 32", getCost("query { user { ...UserFields } users(first: 3) { ...UserFields } }\n" +
+            "fragment UserFields on User { id friends(first: 2) { id name } }"));
+        assertEquals("inline fragments count towards the breadth of the enclosing selection", "depth 3, breadth 3, cost 7", getCost("query { user { id ... on User { name friends(first: 2) { id } } } }"));
+        assertEquals("fragment cycles stop the analysis", "depth 2, breadth 1, cost 2", getCost("query { user { ...A } }\n" +
+            "fragment A on User { id ...B }\nfragment B on User { ...A }"));
+    }
+
+    public void testLimits() {
+        configure(SCHEMA, "{\"maxDepth\": 2, \"maxCost\": 20, \"defaultListSize\": 10}");
+        myFixture.enableInspections(GraphQLOperationCostInspection.class);
+        myFixture.configureByText("operations.graphql", "query Big { users { friends { id } } }\nquery Small { user { id } }");
+        assertEquals("depth 3, breadth 1, cost 210", getCost(getOperations().get(0)));
+
+        final List<String> problems = Lists.newArrayList();
+        for (HighlightInfo info : myFixture.doHighlighting()) {
+            if (info.getDescription() != null && info.getDescription().contains("budget")) {
+                problems.add(info.getText() + ": " + info.getDescription());
+            }
+        }
+        problems.sort(String::compareTo);
+        assertEquals(Lists.newArrayList(
+            "Big: Estimated operation cost 210 exceeds the budget of 20",
+            "Big: Operation depth 3 exceeds the budget of 2"
+        ), problems);
+    }
+
+    public void testDefaultConfigurationIsNotShared() {
+        configure(SCHEMA, null);
+        final GraphQLConfigManager configManager = GraphQLConfigManager.getService(getProject());
+        final GraphQLConfigCost configuration = configManager.getCostConfiguration(null);
+        configuration.maxCost = 1;
+        configuration.listSizeArguments.clear();
+        final GraphQLConfigCost otherConfiguration = configManager.getCostConfiguration(null);
+        assertNull(otherConfiguration.maxCost);
+        assertFalse(otherConfiguration.hasBudgets());
+        assertEquals(Lists.newArrayList("first", "last", "limit"), otherConfiguration.listSizeArguments);
+    }
+
+    private void configure(String schema, String costExtension) {
+        myFixture.addFileToProject("schema.graphql", schema);
+        if (costExtension != null) {
+            myFixture.addFileToProject(".graphqlconfig", "{\"schemaPath\": \"schema.graphql\", \"extensions\": {\"cost\": " + costExtension + "}}");
+        }
+        // use the synchronous method of building the configuration for the unit test
+        GraphQLConfigManager.getService(getProject()).doBuildConfigurationModel(null);
+    }
+
+    private String getCost(String text) {
+        final PsiFile file = myFixture.configureByText("operation.graphql", text);
+        return getCost(PsiTreeUtil.getChildrenOfTypeAsList(file, GraphQLOperationDefinition.class).get(0));
+    }
+
+    private static String getCost(GraphQLOperationDefinition operation) {
+        final GraphQLOperationCost cost = GraphQLOperationCostAnalyzer.getCost(operation);
+        assertNotNull(cost);
+        return cost.getDescription();
+    }
+
+    private List<GraphQLOperationDefinition> getOperations() {
+        return PsiTreeUtil.getChildrenOfTypeAsList(myFixture.getFile(), GraphQLOperationDefinition.class);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.persistedqueries;
+
+import com.google.common.collect.Lists;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper.ConfigProject;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+public class GraphQLPersistedQueryManifestServiceTest extends BasePlatformTestCase {
+
+    private static final String SCHEMA = "type Query { user: User }\ntype Mutation { rename(name: String): User }\n" +
+        "type User { id: ID name: String friends: [User] }\n";
+
+    public void testTransitiveFragments() {
+        addFile("schema.graphql", SCHEMA);
+        addFile("operations.graphql", "query Friends {\n  user { ...WithFriends }\n}\n" +
+            "fragment WithFriends on User { ...Name friends { ...Name } }\n" +
+            "fragment Name on User { name }\n" +
+            "fragment Unused on User { id }\n");
+        final GraphQLPersistedQueryManifest manifest = generate();
+        assertEmpty(manifest.getProblems());
+        assertSize(1, manifest.getOperations());
+
+        final GraphQLPersistedQueryManifest.Operation operation = manifest.getOperations().get(0);
+        assertEquals("Friends", operation.getName());
+        assertEquals("query", operation.getType());
+        // the operation is followed by the fragments it uses, directly or through other fragments, sorted by name
+        final String document = "query Friends{user{...WithFriends}}\n" +
+            "fragment Name on User{name}\n" +
+            "fragment WithFriends on User{...Name friends{...Name}}";
+        assertEquals(document, operation.getDocument());
+        assertEquals(DigestUtils.sha256Hex(document), operation.getSha256());
+    }
+
+    public void testDuplicateNames() {
+        addFile("schema.graphql", SCHEMA);
+        addFile("a.graphql", "query User { user { ...Fields } }\nfragment Fields on User { id }\n");
+        addFile("b.graphql", "query User { user { name } }\nfragment Fields on User { name }\n");
+        final GraphQLPersistedQueryManifest manifest = generate();
+
+        // the first declaration by path is used
+        assertSize(1, manifest.getOperations());
+        assertEquals("query User{user{...Fields}}\nfragment Fields on User{id}", manifest.getOperations().get(0).getDocument());
+        assertSize(2, manifest.getProblems());
+        assertProblem(manifest, "Skipped duplicate operation 'User' in ", "b.graphql, first declared in ", "a.graphql");
+        assertProblem(manifest, "Ignored duplicate fragment 'Fields' in ", "b.graphql, first declared in ", "a.graphql");
+    }
+
+    public void testUnknownFragment() {
+        addFile("schema.graphql", SCHEMA);
+        addFile("operations.graphql", "query Known { user { ...Known } }\n" +
+            "query Unknown { user { ...Known ...Indirect } }\n" +
+            "fragment Known on User { id }\n" +
+            "fragment Indirect on User { ...Missing }\n");
+        final GraphQLPersistedQueryManifest manifest = generate();
+        assertEquals(Lists.newArrayList("Known"), getOperationNames(manifest));
+        assertSize(1, manifest.getProblems());
+        assertProblem(manifest, "Skipped operation 'Unknown' in ", "operations.graphql which uses the unknown fragment 'Missing'");
+    }
+
+    public void testAnonymousOperations() {
+        addFile("schema.graphql", SCHEMA);
+        addFile("operations.graphql", "{ user { id } }\nmutation { rename(name: \"a\") { id } }\nquery Named { user { id } }\n");
+        final GraphQLPersistedQueryManifest manifest = generate();
+        assertEquals(Lists.newArrayList("Named"), getOperationNames(manifest));
+        assertSize(2, manifest.getProblems());
+        assertProblem(manifest, "Skipped anonymous query in ", "operations.graphql");
+        assertProblem(manifest, "Skipped anonymous mutation in ", "operations.graphql");
+    }
+
+    public void testStableAcrossRuns() {
+        addFile("schema.graphql", SCHEMA);
+        final PsiFile operations = addFile("operations.graphql", "query Zeta { user { id } }\nmutation Alpha { rename(name: \"a\") { id } }\n");
+        addFile("more.graphql", "query Middle { user { ...Fields } }\nfragment Fields on User { id name }\n");
+        final GraphQLPersistedQueryManifest manifest = generate();
+        assertEquals("operations are sorted by name", Lists.newArrayList("Alpha", "Middle", "Zeta"), getOperationNames(manifest));
+        assertEquals(manifest.toJson(), generate().toJson());
+
+        // formatting and comments don't change the hashes
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            final Document document = documentManager.getDocument(operations);
+            assertNotNull(document);
+            document.setText("# the operations\nquery Zeta {\n  user {\n    id\n  }\n}\n\nmutation Alpha {\n  rename(name: \"a\") { id }\n}\n");
+            documentManager.commitDocument(document);
+        });
+        assertEquals(manifest.toJson(), generate().toJson());
+    }
+
+    public void testConfigProjectNames() {
+        addFile("apps/web/graphql/.graphqlconfig", "{\"schemaPath\": \"schema.graphql\"}");
+        addFile("apps/web/graphql/schema.graphql", SCHEMA);
+        addFile("libs/web/graphql/.graphqlconfig", "{\"projects\": {\"admin\": {\"schemaPath\": \"schema.graphql\"}}}");
+        addFile("libs/web/graphql/schema.graphql", SCHEMA);
+        final List<ConfigProject> configProjects = getConfigProjects();
+        final List<String> names = Lists.newArrayList();
+        configProjects.forEach(configProject -> names.add(configProject.getName()));
+        assertEquals("configs in directories with the same name are told apart", Lists.newArrayList("apps/web/graphql", "libs/web/graphql/admin"), names);
+
+        final Map<ConfigProject, String> outputFiles = GraphQLPersistedQueryManifestStarter.getOutputFiles(configProjects, Paths.get("/out"));
+        assertNotNull(outputFiles);
+        assertEquals(Paths.get("/out", "persisted-query-manifest.apps.web.graphql.json").toString(), outputFiles.get(configProjects.get(0)));
+        assertEquals(Paths.get("/out", "persisted-query-manifest.libs.web.graphql.admin.json").toString(), outputFiles.get(configProjects.get(1)));
+    }
+
+    public void testOutputFileCollision() {
+        addFile("a/b.c/.graphqlconfig", "{\"schemaPath\": \"schema.graphql\"}");
+        addFile("a/b.c/schema.graphql", SCHEMA);
+        addFile("a.b/c/.graphqlconfig", "{\"schemaPath\": \"schema.graphql\"}");
+        addFile("a.b/c/schema.graphql", SCHEMA);
+        final List<ConfigProject> configProjects = getConfigProjects();
+        assertSize(2, configProjects);
+        assertNull("both manifests would be written to persisted-query-manifest.a.b.c.json",
+            GraphQLPersistedQueryManifestStarter.getOutputFiles(configProjects, Paths.get("/out")));
+        assertNotNull("the manifests are written next to their configs", GraphQLPersistedQueryManifestStarter.getOutputFiles(configProjects, null));
+    }
+
+    private PsiFile addFile(String path, String text) {
+        return myFixture.addFileToProject(path, text);
+    }
+
+    private List<ConfigProject> getConfigProjects() {
+        // use the synchronous method of building the configuration for the unit test
+        GraphQLConfigManager.getService(getProject()).doBuildConfigurationModel(null);
+        return GraphQLConfigProjectHelper.getInstance(getProject()).getConfigProjects();
+    }
+
+    private GraphQLPersistedQueryManifest generate() {
+        final List<ConfigProject> configProjects = getConfigProjects();
+        assertSize(1, configProjects);
+        return GraphQLPersistedQueryManifestService.getInstance(getProject()).generate(configProjects.get(0));
+    }
+
+    private static List<String> getOperationNames(GraphQLPersistedQueryManifest manifest) {
+        final List<String> names = Lists.newArrayList();
+        manifest.getOperations().forEach(operation -> names.add(operation.getName()));
+        return names;
+    }
+
+    private static void assertProblem(GraphQLPersistedQueryManifest manifest, String... parts) {
+        for (String problem : manifest.getProblems()) {
+            int index = 0;
+            for (String part : parts) {
+                index = problem.indexOf(part, index);
+                if (index == -1) {
+                    break;
+                }
+                index += part.length();
+            }
+            if (index != -1) {
+                return;
+            }
+        }
+        fail("No problem matching " + String.join("...", parts) + " in " + manifest.getProblems());
+    }
+}
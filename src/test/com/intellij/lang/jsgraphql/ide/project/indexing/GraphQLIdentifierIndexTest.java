@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.project.indexing;
+
+import com.google.common.collect.Sets;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.intellij.util.indexing.FileBasedIndex;
+
+import java.util.Collection;
+import java.util.Set;
+
+public class GraphQLIdentifierIndexTest extends BasePlatformTestCase {
+
+    @Override
+    protected String getTestDataPath() {
+        return "test-resources/testData/graphql/introspection";
+    }
+
+    public void testIndexesIntrospectionResult() {
+        myFixture.copyFileToProject("schema.json");
+        myFixture.addFileToProject("topLevelSchema.json", "{\"__schema\": {\"types\": [{\"kind\": \"OBJECT\", \"name\": \"TopLevelType\"}]}}");
+        assertEquals(Sets.newHashSet("schema.json"), getFileNames("Query"));
+        assertEquals(Sets.newHashSet("schema.json"), getFileNames("posts"));
+        assertEquals(Sets.newHashSet("topLevelSchema.json"), getFileNames("TopLevelType"));
+    }
+
+    public void testSkipsOtherJson() {
+        myFixture.copyFileToProject("schemaWithErrors.json");
+        myFixture.addFileToProject("package.json", "{\"name\": \"NotAType\", \"version\": \"1.0.0\"}");
+        myFixture.addFileToProject("nestedSchema.json", "{\"result\": {\"__schema\": {\"types\": [{\"name\": \"NestedType\"}]}}}");
+        assertEmpty(getFileNames("NotAType"));
+        assertEmpty(getFileNames("NestedType"));
+        assertEmpty(getFileNames("Error"));
+    }
+
+    public void testInvalidIntrospectionResult() {
+        // truncated in the middle of the types, so only the names before the error are indexed
+        myFixture.addFileToProject("truncated.json", "{\"data\": {\"__schema\": {\"types\": [{\"name\": \"Complete\"}, {\"name\": \"Truncated\", \"fields\": [{\"na");
+        myFixture.addFileToProject("invalid.json", "{\"__schema\": {\"types\": [{\"name\": \"Invalid\"} ] ] } }");
+        assertEquals(Sets.newHashSet("truncated.json"), getFileNames("Complete"));
+        assertEquals(Sets.newHashSet("truncated.json"), getFileNames("Truncated"));
+        assertEquals(Sets.newHashSet("invalid.json"), getFileNames("Invalid"));
+    }
+
+    public void testNestedJson() {
+        assertEquals(Sets.newHashSet("Nested", "Deepest"), GraphQLIdentifierIndex.getIntrospectionIdentifiers(createNestedJson(200)).keySet());
+    }
+
+    public void testDeeplyNestedJson() {
+        // the reader may stop at a nesting limit, but the names before it are indexed without overflowing the stack
+        final String json = createNestedJson(100_000);
+        assertTrue(GraphQLIdentifierIndex.getIntrospectionIdentifiers(json).containsKey("Nested"));
+        // the unterminated nesting of an invalid file is read up to the end of the file
+        assertEquals(Sets.newHashSet("Nested"), GraphQLIdentifierIndex.getIntrospectionIdentifiers(json.substring(0, json.length() / 2)).keySet());
+    }
+
+    private static String createNestedJson(int depth) {
+        final StringBuilder json = new StringBuilder("{\"__schema\": {\"types\": [{\"name\": \"Nested\"}], \"deep\": ");
+        for (int i = 0; i < depth; i++) {
+            json.append(i % 2 == 0 ? "[" : "{\"a\": ");
+        }
+        json.append("{\"name\": \"Deepest\"}");
+        for (int i = depth - 1; i >= 0; i--) {
+            json.append(i % 2 == 0 ? "]" : "}");
+        }
+        return json.append("}}").toString();
+    }
+
+    private Set<String> getFileNames(String identifier) {
+        final Collection<VirtualFile> files = FileBasedIndex.getInstance().getContainingFiles(
+            GraphQLIdentifierIndex.NAME, identifier, GlobalSearchScope.projectScope(getProject()));
+        final Set<String> fileNames = Sets.newHashSet();
+        files.forEach(file -> fileNames.add(file.getName()));
+        return fileNames;
+    }
+}
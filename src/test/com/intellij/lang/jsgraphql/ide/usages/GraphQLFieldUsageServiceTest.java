@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.usages;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.ide.project.indexing.GraphQLFieldUsageIndex;
+import com.intellij.lang.jsgraphql.psi.GraphQLField;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.intellij.util.indexing.FileBasedIndex;
+import graphql.schema.GraphQLSchema;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class GraphQLFieldUsageServiceTest extends BasePlatformTestCase {
+
+    private static final String SCHEMA = "type Query { user: User users: [User] }\n" +
+        "interface Node { id: ID }\n" +
+        "type User implements Node { id: ID name: String email: String phone: String }\n";
+
+    private static final String OPERATIONS = "query One { user { ...UserFields } }\n" +
+        "query Many { users { email: name } }\n" +
+        "fragment UserFields on User { id }\n";
+
+    private PsiFile mySchemaFile;
+
+    private PsiFile myOperationsFile;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        mySchemaFile = myFixture.addFileToProject("schema.graphql", SCHEMA);
+        myOperationsFile = myFixture.addFileToProject("operations.graphql", OPERATIONS);
+        // use the synchronous method of building the configuration for the unit test
+        GraphQLConfigManager.getService(getProject()).doBuildConfigurationModel(null);
+    }
+
+    public void testIndexesSelectedFieldNames() {
+        final FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+        final GlobalSearchScope scope = GlobalSearchScope.projectScope(getProject());
+        assertEquals(Lists.newArrayList(1), fileBasedIndex.getValues(GraphQLFieldUsageIndex.NAME, "user", scope));
+        assertEquals(Lists.newArrayList(1), fileBasedIndex.getValues(GraphQLFieldUsageIndex.NAME, "name", scope));
+        // aliases aren't field names, and the field definitions in the schema aren't selections
+        assertEmpty(fileBasedIndex.getValues(GraphQLFieldUsageIndex.NAME, "email", scope));
+        assertEmpty(fileBasedIndex.getValues(GraphQLFieldUsageIndex.NAME, "phone", scope));
+        assertEquals(Sets.newHashSet(myOperationsFile.getVirtualFile()),
+            Sets.newHashSet(fileBasedIndex.getContainingFiles(GraphQLFieldUsageIndex.NAME, "id", scope)));
+    }
+
+    public void testFieldUsagesByCoordinate() {
+        final Map<String, List<GraphQLField>> usages = GraphQLFieldUsageService.getInstance(getProject()).getFieldUsages(myOperationsFile);
+        assertEquals(Sets.newHashSet("Query.user", "Query.users", "User.id", "User.name"), usages.keySet());
+        assertEquals("name", usages.get("User.name").get(0).getName());
+    }
+
+    public void testFindUsages() {
+        final GraphQLSchema schema = GraphQLSchemaProvider.getInstance(getProject()).getTolerantSchema(mySchemaFile);
+        assertNotNull(schema);
+        final GlobalSearchScope scope = GlobalSearchScope.projectScope(getProject());
+        final GraphQLFieldUsageService usageService = GraphQLFieldUsageService.getInstance(getProject());
+
+        // selected in a fragment
+        assertSize(1, usageService.findUsages(schema, "User", "id", scope));
+        // selected on an implementation of the interface
+        assertSize(1, usageService.findUsages(schema, "Node", "id", scope));
+        // selected with an alias
+        assertSize(1, usageService.findUsages(schema, "User", "name", scope));
+        // only used as an alias
+        assertEmpty(usageService.findUsages(schema, "User", "email", scope));
+        assertEmpty(usageService.findUsages(schema, "User", "phone", scope));
+    }
+
+    public void testUnusedFieldInspection() {
+        assertEquals(Lists.newArrayList("User.email", "User.phone"), getUnusedFields());
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            final Document document = documentManager.getDocument(myOperationsFile);
+            assertNotNull(document);
+            document.setText(OPERATIONS.replace("fragment UserFields on User { id }", "fragment UserFields on User { id phone }"));
+            documentManager.commitDocument(document);
+        });
+        assertEquals(Lists.newArrayList("User.email"), getUnusedFields());
+    }
+
+    private List<String> getUnusedFields() {
+        myFixture.enableInspections(GraphQLUnusedFieldInspection.class);
+        myFixture.configureFromExistingVirtualFile(mySchemaFile.getVirtualFile());
+        final List<String> unusedFields = Lists.newArrayList();
+        for (HighlightInfo info : myFixture.doHighlighting()) {
+            final String description = info.getDescription();
+            if (description != null && description.endsWith("is not selected by any operation or fragment")) {
+                unusedFields.add(description.substring(description.indexOf('\'') + 1, description.lastIndexOf('\'')));
+            }
+        }
+        unusedFields.sort(String::compareTo);
+        return unusedFields;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.validation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.lang.annotation.Annotator;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.psi.GraphQLField;
+import com.intellij.lang.jsgraphql.psi.GraphQLOperationDefinition;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class GraphQLBatchValidatorTest extends BasePlatformTestCase {
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        myFixture.addFileToProject("schema.graphql", "type Query { user: User }\ntype User { id: ID name: String }\n");
+        myFixture.addFileToProject("valid.graphql", "query Valid { user { id name } }\n");
+        myFixture.addFileToProject("unknownField.graphql", "query Valid2 {\n  user { nam }\n}\n");
+        myFixture.addFileToProject("syntaxError.graphql", "query Broken { user { id }\n");
+        // use the synchronous method of building the configuration for the unit test
+        GraphQLConfigManager.getService(getProject()).doBuildConfigurationModel(null);
+    }
+
+    public void testValidatesAllFiles() throws InterruptedException {
+        final Map<String, List<GraphQLBatchValidator.Problem>> problemsByFile = Maps.newConcurrentMap();
+        final GraphQLBatchValidator.Summary summary = new GraphQLBatchValidator(getProject(), 2).validate(result -> {
+            final String fileName = result.getPath().substring(result.getPath().lastIndexOf('/') + 1);
+            assertNull("each file is validated once", problemsByFile.put(fileName, result.getProblems()));
+        });
+
+        assertEquals(4, summary.getFileCount());
+        assertEquals(4, problemsByFile.size());
+        assertEmpty(problemsByFile.get("schema.graphql"));
+        assertEmpty(problemsByFile.get("valid.graphql"));
+
+        final List<GraphQLBatchValidator.Problem> unknownField = problemsByFile.get("unknownField.graphql");
+        assertNotEmpty(unknownField);
+        final GraphQLBatchValidator.Problem problem = unknownField.get(0);
+        assertTrue(problem.isError());
+        assertEquals(2, problem.getLine());
+        assertEquals(10, problem.getColumn());
+        assertTrue(problem.getMessage(), problem.getMessage().startsWith("Unknown field \"nam\""));
+
+        final List<GraphQLBatchValidator.Problem> syntaxError = problemsByFile.get("syntaxError.graphql");
+        assertNotEmpty(syntaxError);
+        assertTrue(syntaxError.get(0).isError());
+
+        int errorCount = 0;
+        int warningCount = 0;
+        for (List<GraphQLBatchValidator.Problem> problems : problemsByFile.values()) {
+            for (GraphQLBatchValidator.Problem fileProblem : problems) {
+                if (fileProblem.isError()) {
+                    errorCount++;
+                } else {
+                    warningCount++;
+                }
+            }
+        }
+        assertEquals(errorCount, summary.getErrorCount());
+        assertEquals(warningCount, summary.getWarningCount());
+    }
+
+    public void testCollectsBuiltAnnotations() throws InterruptedException {
+        final Annotator builderAnnotator = (element, holder) -> {
+            if (element instanceof GraphQLField && "name".equals(((GraphQLField) element).getName())) {
+                holder.newAnnotation(HighlightSeverity.WARNING, "Built warning")
+                    .range(((GraphQLField) element).getNameIdentifier())
+                    .tooltip("<html>Built warning</html>")
+                    .highlightType(ProblemHighlightType.LIKE_DEPRECATED)
+                    .needsUpdateOnTyping()
+                    .create();
+                holder.newSilentAnnotation(HighlightSeverity.ERROR).create();
+            } else if (element instanceof GraphQLOperationDefinition) {
+                // the range defaults to the annotated element
+                holder.newAnnotation(HighlightSeverity.ERROR, "Built error").create();
+            }
+        };
+        final Map<String, List<GraphQLBatchValidator.Problem>> problemsByFile = Maps.newConcurrentMap();
+        new GraphQLBatchValidator(getProject(), 1, Lists.<Supplier<Annotator>>newArrayList(() -> builderAnnotator)).validate(result -> {
+            final String fileName = result.getPath().substring(result.getPath().lastIndexOf('/') + 1);
+            problemsByFile.put(fileName, result.getProblems());
+        });
+
+        final List<String> problems = Lists.newArrayList();
+        for (GraphQLBatchValidator.Problem problem : problemsByFile.get("valid.graphql")) {
+            problems.add(problem.getLine() + ":" + problem.getColumn() + " " + (problem.isError() ? "error" : "warning") + " " + problem.getMessage());
+        }
+        assertEquals(Lists.newArrayList("1:1 error Built error", "1:25 warning Built warning"), problems);
+    }
+
+    public void testParsesThreadCount() {
+        final GraphQLBatchValidationStarter starter = new GraphQLBatchValidationStarter();
+        assertTrue(starter.isHeadless());
+        assertTrue(starter.parseOptions(new String[0]));
+        assertTrue(starter.parseOptions(new String[]{"--threads", "3"}));
+        assertEquals(3, starter.getThreadCount());
+        assertFalse(starter.parseOptions(new String[]{"--threads"}));
+        assertFalse(starter.parseOptions(new String[]{"--threads", "0"}));
+        assertFalse(starter.parseOptions(new String[]{"--unknown"}));
+    }
+}
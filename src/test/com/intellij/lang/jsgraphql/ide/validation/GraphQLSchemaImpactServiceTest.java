@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.validation;
+
+import com.google.common.collect.Sets;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper;
+import com.intellij.lang.jsgraphql.schema.diff.GraphQLSchemaChange;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.List;
+import java.util.Set;
+
+public class GraphQLSchemaImpactServiceTest extends BasePlatformTestCase {
+
+    private static final String SCHEMA = "type Query { user: User }\n" +
+        "type User { id: ID name: String role: Role }\n" +
+        "enum Role { ADMIN USER }\n";
+
+    private PsiFile mySchemaFile;
+    private GraphQLSchemaImpactService myImpactService;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        mySchemaFile = myFixture.addFileToProject("schema.graphql", SCHEMA);
+        myFixture.addFileToProject("queries.graphql", "query UserName { user { id name } }\nquery UserRole { user { role } }\n");
+        // use the synchronous method of building the configuration for the unit test
+        GraphQLConfigManager.getService(getProject()).doBuildConfigurationModel(null);
+        myImpactService = GraphQLSchemaImpactService.getInstance(getProject());
+        // the first analysis takes the snapshot that the changes are compared with
+        myImpactService.analyzeNow();
+        assertEmpty(myImpactService.getImpacts());
+    }
+
+    public void testRemovedFieldBreaksOperation() {
+        setSchema(SCHEMA.replace(" name: String", ""));
+        final GraphQLSchemaImpactService.Impact impact = getSingleImpact();
+        assertEquals(GraphQLConfigProjectHelper.DEFAULT_SCOPE_NAME, impact.getScopeName());
+        assertEquals(GraphQLSchemaChange.Criticality.BREAKING, impact.getChanges().get(0).getCriticality());
+        assertEquals(1, impact.getBrokenDefinitions().size());
+        final GraphQLSchemaImpactService.BrokenDefinition brokenDefinition = impact.getBrokenDefinitions().get(0);
+        assertEquals("UserName", brokenDefinition.getName());
+        assertEquals("queries.graphql", brokenDefinition.getFileName());
+        assertEquals(0, brokenDefinition.getLine());
+        assertEquals(1, brokenDefinition.getErrors().size());
+        assertEquals("name", brokenDefinition.getErrors().get(0).getElement().getElement().getText());
+    }
+
+    public void testRemovedFieldReportsOnlyFilesUsingIt() {
+        myFixture.addFileToProject("profile.graphql", "query Profile { user { name role } }\n");
+        myFixture.addFileToProject("ids.graphql", "query UserId { user { id } }\n");
+        myFixture.addFileToProject("team.graphql", "query TeamName { team { name } }\n");
+        final String schema = SCHEMA.replace("user: User", "user: User team: Team") + "type Team { name: String }\n";
+        setSchema(schema);
+        assertEmpty(myImpactService.getImpacts());
+
+        setSchema(schema.replace(" name: String role", " role"));
+        final GraphQLSchemaImpactService.Impact impact = getSingleImpact();
+        assertEquals("only the operations that select User.name are re-validated", 2, impact.getAffectedDefinitionCount());
+        final Set<String> brokenDefinitions = Sets.newHashSet();
+        for (GraphQLSchemaImpactService.BrokenDefinition brokenDefinition : impact.getBrokenDefinitions()) {
+            brokenDefinitions.add(brokenDefinition.getFileName() + ":" + brokenDefinition.getName());
+        }
+        assertEquals(Sets.newHashSet("queries.graphql:UserName", "profile.graphql:Profile"), brokenDefinitions);
+    }
+
+    public void testRevertedChangeClearsImpact() {
+        setSchema(SCHEMA.replace(" name: String", ""));
+        assertSize(1, getSingleImpact().getBrokenDefinitions());
+
+        setSchema(SCHEMA);
+        assertEmpty(myImpactService.getImpacts());
+    }
+
+    public void testUnrelatedChangeKeepsImpact() {
+        setSchema(SCHEMA.replace(" name: String", ""));
+        assertSize(1, getSingleImpact().getBrokenDefinitions());
+
+        // the removed field is still missing, so the operation is still broken
+        setSchema(SCHEMA.replace(" name: String", "") + "type Unrelated { id: ID }\n");
+        assertSize(1, getSingleImpact().getBrokenDefinitions());
+        assertEquals("UserName", getSingleImpact().getBrokenDefinitions().get(0).getName());
+    }
+
+    public void testDangerousChangeBreaksNothing() {
+        setSchema(SCHEMA.replace("ADMIN USER", "ADMIN USER GUEST"));
+        final GraphQLSchemaImpactService.Impact impact = getSingleImpact();
+        assertEquals(GraphQLSchemaChange.Criticality.DANGEROUS, impact.getChanges().get(0).getCriticality());
+        assertEquals("the operation which selects the enum is re-validated", 1, impact.getAffectedDefinitionCount());
+        assertEmpty(impact.getBrokenDefinitions());
+
+        // a safe change in the same scope supersedes the report of the previous change
+        setSchema(SCHEMA.replace("ADMIN USER", "ADMIN USER GUEST").replace("type User {", "type User { email: String"));
+        assertEmpty(myImpactService.getImpacts());
+    }
+
+    private GraphQLSchemaImpactService.Impact getSingleImpact() {
+        final List<GraphQLSchemaImpactService.Impact> impacts = myImpactService.getImpacts();
+        assertSize(1, impacts);
+        return impacts.get(0);
+    }
+
+    private void setSchema(String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            final Document document = documentManager.getDocument(mySchemaFile);
+            assertNotNull(document);
+            document.setText(text);
+            documentManager.commitDocument(document);
+        });
+        myImpactService.analyzeNow();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.ide.validation;
+
+import com.google.common.collect.Lists;
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.Comparator;
+import java.util.List;
+
+public class GraphQLSchemaValidationAnnotatorTest extends BasePlatformTestCase {
+
+    private static final String OPERATIONS = "query MissingArgument { user { id } }\n" +
+        "query MissingSelection { users }\n" +
+        "query Valid { users { id } }\n" +
+        "query WithFragment { users { ...UserFields } }\n" +
+        "fragment UserFields on User { id name }\n";
+
+    private PsiFile mySchemaFile;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        mySchemaFile = myFixture.addFileToProject("schema.graphql", "type Query { user(id: ID!): User users: [User] }\n" +
+            "type User { id: ID name: String friends: [User] }\n");
+        // use the synchronous method of building the configuration for the unit test
+        GraphQLConfigManager.getService(getProject()).doBuildConfigurationModel(null);
+    }
+
+    public void testMultipleOperations() {
+        myFixture.configureByText("operations.graphql", OPERATIONS);
+        assertEquals(Lists.newArrayList(
+            error("user", OPERATIONS.indexOf("user {"), "Missing field argument"),
+            error("users", OPERATIONS.indexOf("users }"), "Sub selection required")
+        ), getErrors());
+    }
+
+    public void testEditedOperationIsRevalidated() {
+        myFixture.configureByText("operations.graphql", OPERATIONS);
+        assertSize(2, getErrors());
+
+        // fixing an operation drops its error, and the unchanged operations keep theirs
+        String text = setText(OPERATIONS.replace("user { id }", "user(id: 1) { id }"));
+        assertEquals(Lists.newArrayList(error("users", text.indexOf("users }"), "Sub selection required")), getErrors());
+
+        // breaking a valid operation reports its error
+        text = setText(text.replace("query Valid { users { id } }", "query Valid { users { friends } }"));
+        assertEquals(Lists.newArrayList(
+            error("users", text.indexOf("users }"), "Sub selection required"),
+            error("friends", text.indexOf("friends"), "Sub selection required")
+        ), getErrors());
+    }
+
+    public void testEditedFragmentRevalidatesOperation() {
+        myFixture.configureByText("operations.graphql", OPERATIONS);
+        assertSize(2, getErrors());
+
+        // the fragment is validated as part of the operation that spreads it, and its error is reported once
+        final String text = setText(OPERATIONS.replace("fragment UserFields on User { id name }", "fragment UserFields on User { id friends }"));
+        assertEquals(Lists.newArrayList(
+            error("user", text.indexOf("user {"), "Missing field argument"),
+            error("users", text.indexOf("users }"), "Sub selection required"),
+            error("friends", text.indexOf("friends"), "Sub selection required")
+        ), getErrors());
+    }
+
+    public void testMovedOperationsKeepErrorLocations() {
+        myFixture.configureByText("operations.graphql", OPERATIONS);
+        assertSize(2, getErrors());
+
+        // the units are unchanged, so their cached errors are reused and shifted to the new positions
+        final String text = setText("query Added {\n  users { id }\n}\n\n" + OPERATIONS.replace("\nquery MissingSelection", "\n\n    query MissingSelection"));
+        assertEquals(Lists.newArrayList(
+            error("user", text.indexOf("user {"), "Missing field argument"),
+            error("users", text.indexOf("users }"), "Sub selection required")
+        ), getErrors());
+    }
+
+    public void testSchemaChangeRevalidatesUnchangedOperations() {
+        myFixture.configureByText("operations.graphql", OPERATIONS);
+        assertSize(2, getErrors());
+
+        // the operations are unchanged, but the cached errors were validated against the previous schema
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            final Document document = documentManager.getDocument(mySchemaFile);
+            assertNotNull(document);
+            document.setText(document.getText().replace("user(id: ID!)", "user(id: ID)"));
+            documentManager.commitDocument(document);
+        });
+        assertEquals(Lists.newArrayList(error("users", OPERATIONS.indexOf("users }"), "Sub selection required")), getErrors());
+    }
+
+    public void testAnonymousOperationWithNamedOperations() {
+        final String text = "query Named { users { id } }\n{ users { id } }\nquery Other { users { id } }\n";
+        myFixture.configureByText("operations.graphql", text);
+        assertEquals(Lists.newArrayList(error("{", text.indexOf("\n{") + 1, "Anonymous operation with other operations")), getErrors());
+
+        // a lone anonymous operation is valid
+        setText("{ users { id } }\n");
+        assertEmpty(getErrors());
+    }
+
+    private String setText(String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            myFixture.getEditor().getDocument().setText(text);
+            PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+        });
+        return text;
+    }
+
+    private List<String> getErrors() {
+        final List<HighlightInfo> highlighting = Lists.newArrayList(myFixture.doHighlighting(HighlightSeverity.ERROR));
+        highlighting.sort(Comparator.comparingInt(HighlightInfo::getStartOffset));
+        final List<String> errors = Lists.newArrayList();
+        for (HighlightInfo info : highlighting) {
+            final String description = info.getDescription();
+            // keep the start of the message, which doesn't depend on the graphql-java version
+            final String[] messages = {"Missing field argument", "Sub selection required", "Anonymous operation with other operations"};
+            String message = description;
+            for (String expected : messages) {
+                if (description != null && description.contains(expected)) {
+                    message = expected;
+                }
+            }
+            errors.add(error(info.getText(), info.getStartOffset(), message));
+        }
+        return errors;
+    }
+
+    private static String error(String text, int offset, String message) {
+        return text + "@" + offset + ": " + message;
+    }
+}
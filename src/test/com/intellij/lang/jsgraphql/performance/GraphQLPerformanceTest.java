@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.performance;
+
+import com.google.gson.Gson;
+import com.intellij.codeInsight.completion.CompletionType;
+import com.intellij.codeInsight.lookup.LookupManager;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.psi.GraphQLFragmentDefinition;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaChangeListener;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
+import com.intellij.lang.jsgraphql.schema.GraphQLValidatedSchema;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.impl.source.resolve.ResolveCache;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.intellij.util.ThrowableRunnable;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.introspection.IntrospectionQuery;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Timing and allocation budgets for the editor features on a generated project with thousands of schema files,
+ * a JSON introspection result, GraphQL in TypeScript tagged templates, and a .graphqlconfig with several projects.
+ * <p>
+ * These tests are excluded from the regular test task and run using "./gradlew performanceTest".
+ * The timing budgets are scaled to the speed of the machine by {@link PlatformTestUtil#startPerformanceTest}.
+ */
+public class GraphQLPerformanceTest extends BasePlatformTestCase {
+
+    private static final int SCHEMA_FILES_PER_PROJECT = 1000;
+    private static final int TYPESCRIPT_FILES = 100;
+    private static final int FRAGMENT_FILES = 100;
+
+    private static final String[] PROJECTS = {"app", "admin"};
+
+    private static final String CARET = "<caret>";
+    private static final String OPERATION = "query Operation {\n" +
+        "  remoteVersion\n" +
+        "  type1 {\n" +
+        "    ...Type1Fields\n" +
+        "    next { id name next { id <caret> } }\n" +
+        "    items(first: 10) { id name }\n" +
+        "  }\n" +
+        "}\n";
+
+    private PsiFile myOperationFile;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        myFixture.addFileToProject(".graphqlconfig", "{\n" +
+            "  \"projects\": {\n" +
+            "    \"app\": {\"schemaPath\": \"app/introspection.json\", \"includes\": [\"app/**\"]},\n" +
+            "    \"admin\": {\"schemaPath\": \"admin/introspection.json\", \"includes\": [\"admin/**\"]}\n" +
+            "  }\n" +
+            "}");
+        final String introspectionJson = createIntrospectionJson();
+        for (String project : PROJECTS) {
+            myFixture.addFileToProject(project + "/introspection.json", introspectionJson);
+            for (int i = 0; i < SCHEMA_FILES_PER_PROJECT; i++) {
+                myFixture.addFileToProject(project + "/schema/Type" + i + ".graphql", createSchemaFile(i));
+            }
+            for (int i = 0; i < FRAGMENT_FILES; i++) {
+                myFixture.addFileToProject(project + "/fragments/Type" + i + "Fields.graphql",
+                    "fragment Type" + i + "Fields on Type" + i + " {\n  id\n  name\n}\n");
+            }
+        }
+        for (int i = 0; i < TYPESCRIPT_FILES; i++) {
+            myFixture.addFileToProject("app/src/component" + i + ".ts", "import gql from 'graphql-tag';\n\n" +
+                "export const QUERY_" + i + " = gql`\n" +
+                "  query Component" + i + " {\n" +
+                "    type" + i + " {\n      ...Type" + i + "Fields\n      next { id }\n    }\n" +
+                "  }\n" +
+                "`;\n");
+        }
+        myOperationFile = myFixture.addFileToProject("app/src/Operation.graphql", OPERATION.replace(CARET, ""));
+        myFixture.configureFromExistingVirtualFile(myOperationFile.getVirtualFile());
+        myFixture.getEditor().getCaretModel().moveToOffset(OPERATION.indexOf(CARET));
+
+        // use the synchronous method of building the configuration for the unit test
+        GraphQLConfigManager.getService(getProject()).doBuildConfigurationModel(null);
+
+        final GraphQLValidatedSchema schema = GraphQLSchemaProvider.getInstance(getProject()).getValidatedSchema(myOperationFile);
+        assertFalse("The generated schema should be valid: " + schema.getErrors(), schema.isErrorsPresent());
+    }
+
+    public void testHighlightingOperation() {
+        PlatformTestUtil.startPerformanceTest("highlighting an operation after a schema change", 3000, () -> {
+            myFixture.doHighlighting();
+        }).setup(this::signalSchemaChanged).attempts(5).assertTiming();
+        assertAllocationBudget("highlighting an operation after a schema change", 1024, () -> {
+            signalSchemaChanged();
+            myFixture.doHighlighting();
+        });
+    }
+
+    public void testCompletingField() {
+        PlatformTestUtil.startPerformanceTest("completing a field", 1000, () -> {
+            myFixture.complete(CompletionType.BASIC, 1);
+            final List<String> completions = myFixture.getLookupElementStrings();
+            assertNotNull(completions);
+            assertTrue("Expected the fields of Type3", completions.contains("field0"));
+        }).setup(() -> {
+            // the lookup of the previous attempt would otherwise be reused
+            LookupManager.getInstance(getProject()).hideActiveLookup();
+            signalSchemaChanged();
+        }).attempts(5).assertTiming();
+    }
+
+    public void testResolvingFragmentSpread() {
+        final int offset = myOperationFile.getText().indexOf("Type1Fields") + 1;
+        PlatformTestUtil.startPerformanceTest("resolving a fragment spread", 500, () -> {
+            final PsiReference reference = myFixture.getFile().findReferenceAt(offset);
+            assertNotNull(reference);
+            final PsiElement resolved = reference.resolve();
+            assertNotNull("The fragment spread should resolve", resolved);
+            assertNotNull(PsiTreeUtil.getParentOfType(resolved, GraphQLFragmentDefinition.class, false));
+        }).setup(() -> {
+            signalSchemaChanged();
+            ResolveCache.getInstance(getProject()).clearCache(true);
+        }).attempts(10).assertTiming();
+    }
+
+    public void testRebuildingSchemaAfterEdit() {
+        final PsiFile schemaFile = myFixture.addFileToProject("app/schema/Edited.graphql", "type Edited {\n  id: ID!\n}\n");
+        final Document document = PsiDocumentManager.getInstance(getProject()).getDocument(schemaFile);
+        assertNotNull(document);
+        PlatformTestUtil.startPerformanceTest("rebuilding the schema after an edit", 2000, () -> {
+            final GraphQLValidatedSchema schema = GraphQLSchemaProvider.getInstance(getProject()).getValidatedSchema(myOperationFile);
+            assertNotNull(schema.getSchema().getType("Edited"));
+        }).setup(() -> {
+            // editing a type definition is a schema change, so the next schema request rebuilds
+            WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+                document.insertString(document.getTextLength(), "\nextend type Edited {\n  field" + document.getLineCount() + ": String\n}\n");
+                PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+            });
+        }).attempts(10).assertTiming();
+        assertAllocationBudget("rebuilding the schema after an edit", 256, () -> {
+            WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+                document.insertString(document.getTextLength(), "\nextend type Edited {\n  lastField: String\n}\n");
+                PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+            });
+            GraphQLSchemaProvider.getInstance(getProject()).getValidatedSchema(myOperationFile);
+        });
+    }
+
+    private void signalSchemaChanged() {
+        getProject().getMessageBus().syncPublisher(GraphQLSchemaChangeListener.TOPIC).onGraphQLSchemaChanged(null);
+    }
+
+    /**
+     * Asserts the number of bytes allocated by the test thread, which includes the schema build unless the files are parsed concurrently
+     */
+    private static <E extends Throwable> void assertAllocationBudget(String what, int maxMegabytes, ThrowableRunnable<E> runnable) throws E {
+        final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        runnable.run();
+        final long allocatedMegabytes = (threadMXBean.getThreadAllocatedBytes(threadId) - before) / (1024 * 1024);
+        assertTrue(what + " allocated " + allocatedMegabytes + " MB, budget is " + maxMegabytes + " MB", allocatedMegabytes <= maxMegabytes);
+    }
+
+    private static String createSchemaFile(int index) {
+        final int next = (index + 1) % SCHEMA_FILES_PER_PROJECT;
+        final int item = (index * 7 + 3) % SCHEMA_FILES_PER_PROJECT;
+        return "\"\"\"\nGenerated type " + index + "\n\"\"\"\n" +
+            "type Type" + index + " {\n" +
+            "  id: ID!\n" +
+            "  name: String\n" +
+            "  field0: Int\n" +
+            "  field1: [String!]\n" +
+            "  next: Type" + next + "\n" +
+            "  items(first: Int, after: String): [Type" + item + "!]\n" +
+            "}\n\n" +
+            "extend type Query {\n" +
+            "  type" + index + ": Type" + index + "\n" +
+            "}\n";
+    }
+
+    private static String createIntrospectionJson() {
+        final String sdl = "type Query {\n  remoteVersion: String\n  remoteStatus: RemoteStatus\n}\n\n" +
+            "enum RemoteStatus {\n  UP\n  DOWN\n}\n";
+        final ExecutionResult result = GraphQL.newGraphQL(UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().parse(sdl)))
+            .build().execute(IntrospectionQuery.INTROSPECTION_QUERY);
+        return new Gson().toJson(result.getData());
+    }
+}
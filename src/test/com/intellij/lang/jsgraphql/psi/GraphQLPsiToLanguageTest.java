@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi;
+
+import com.intellij.lang.injection.InjectedLanguageManager;
+import com.intellij.lang.jsgraphql.utils.GraphQLUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import graphql.language.*;
+import graphql.schema.idl.errors.SchemaProblem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class GraphQLPsiToLanguageTest extends BasePlatformTestCase {
+
+    private static final String SOURCE_NAME = "test.graphql";
+
+    public void testTypeSystemDefinitions() {
+        doTest("schema @link(url: \"https://example.com\") { query: Query mutation: Mutation }\n" +
+            "\n" +
+            "# comment as fallback description\n" +
+            "type Query implements Node & Entity @key(fields: \"id\") {\n" +
+            "  \"field description\"\n" +
+            "  node(id: ID!, first: Int = 10, filter: Filter = {name: \"a\", tags: [\"x\", \"y\"], nested: {flag: true}}): Node @deprecated(reason: \"no\")\n" +
+            "  items(order: Order = ASC, ratio: Float = 1.5e3, empty: String = null): [[Item!]]!\n" +
+            "}\n" +
+            "\n" +
+            "\"\"\"\n" +
+            "  Block description\n" +
+            "    with \\\"\"\" indentation\n" +
+            "\"\"\"\n" +
+            "interface Node implements Entity { id: ID! }\n" +
+            "interface Entity { id: ID! }\n" +
+            "union Item = Query | Other\n" +
+            "enum Order { \"ascending\" ASC DESC @deprecated }\n" +
+            "input Filter { name: String = \"\\u00e9\\n\\t\" tags: [String!] nested: Nested }\n" +
+            "input Nested { flag: Boolean }\n" +
+            "scalar Date @specifiedBy(url: \"https://tools.ietf.org/html/rfc3339\")\n" +
+            "directive @key(fields: String!) on OBJECT | INTERFACE\n" +
+            "extend schema { subscription: Subscription }\n" +
+            "extend type Query { extra: Int }\n" +
+            "extend interface Node @key(fields: \"id\")\n" +
+            "extend union Item = Third\n" +
+            "extend enum Order { RANDOM }\n" +
+            "extend input Filter { limit: Int }\n" +
+            "extend scalar Date @key(fields: \"\")\n");
+    }
+
+    public void testExecutableDefinitions() {
+        doTest("query Users($first: Int = 10, $filter: Filter!, $ids: [ID!] = [\"1\", \"2\"]) @live {\n" +
+            "  all: users(first: $first, filter: $filter, ids: $ids) {\n" +
+            "    ...UserFields @include(if: true)\n" +
+            "    ... on Admin { level }\n" +
+            "    ... @skip(if: false) { id }\n" +
+            "    description(format: \"\"\"\n" +
+            "      multi\n" +
+            "      line\n" +
+            "    \"\"\")\n" +
+            "  }\n" +
+            "}\n" +
+            "\n" +
+            "{ viewer { id } }\n" +
+            "\n" +
+            "mutation { addUser(input: {name: \"a\\\"b\", roles: [ADMIN, USER], score: -1.25}) { id } }\n" +
+            "subscription OnUser { userAdded { id } }\n" +
+            "\n" +
+            "fragment UserFields on User { id name }\n");
+    }
+
+    public void testRelativeLocations() {
+        myFixture.configureByText(SOURCE_NAME, "type A { a: Int }\n\n  type B {\n    b: Int\n  }\n");
+        final GraphQLObjectTypeDefinition definition = PsiTreeUtil.findChildrenOfType(myFixture.getFile(), GraphQLObjectTypeDefinition.class)
+            .stream().filter(d -> "B".equals(d.getTypeNameDefinition().getName())).findFirst().orElseThrow(IllegalStateException::new);
+        final ObjectTypeDefinition converted = (ObjectTypeDefinition) GraphQLPsiToLanguage.relativeTo(definition, "0").createDefinition(definition);
+        assertNotNull(converted);
+        assertLocation(1, 1, "0", converted.getSourceLocation());
+        assertLocation(2, 5, "0", converted.getFieldDefinitions().get(0).getSourceLocation());
+    }
+
+    public void testInvalidEscapeIsSyntaxError() {
+        myFixture.configureByText(SOURCE_NAME, "type Query { a(x: String = \"a\\qb\"): Int }");
+        try {
+            convert(myFixture.getFile());
+            fail("Expected a syntax error for the invalid escape");
+        } catch (SchemaProblem e) {
+            assertLocation(1, 28, SOURCE_NAME, e.getErrors().get(0).getLocations().get(0));
+        }
+    }
+
+    public void testSyntaxError() {
+        myFixture.configureByText(SOURCE_NAME, "type Query {\n  a: \n}");
+        try {
+            convert(myFixture.getFile());
+            fail("Expected a syntax error");
+        } catch (SchemaProblem e) {
+            assertEquals(1, e.getErrors().size());
+        }
+    }
+
+    public void testInjectedEscapedDelimitingQuotes() {
+        myFixture.configureByText("query.js", "const typeDefs = gql`\n  type Query { a(x: String = \"a\\`b\"): Int }\n`;");
+        final PsiElement injected = InjectedLanguageManager.getInstance(getProject()).findInjectedElementAt(
+            myFixture.getFile(), myFixture.getFile().getText().indexOf("Query"));
+        assertNotNull(injected);
+        final Document document = convert(injected.getContainingFile());
+        final ObjectTypeDefinition query = (ObjectTypeDefinition) document.getDefinitions().get(0);
+        final Value<?> defaultValue = query.getFieldDefinitions().get(0).getInputValueDefinitions().get(0).getDefaultValue();
+        assertEquals("a `b", ((StringValue) defaultValue).getValue());
+        // the injection starts on the first line of the host
+        assertLocation(2, 3, SOURCE_NAME, query.getSourceLocation());
+    }
+
+    private void doTest(String text) {
+        myFixture.configureByText(SOURCE_NAME, text);
+        final Document expected = GraphQLUtil.parseDocument(text, SOURCE_NAME, 0, 0);
+        final Document actual = convert(myFixture.getFile());
+        assertEquals(AstPrinter.printAst(expected), AstPrinter.printAst(actual));
+        assertEquals(getLocations(expected), getLocations(actual));
+        assertEquals(getDescriptions(expected), getDescriptions(actual));
+    }
+
+    private static Document convert(PsiFile psiFile) {
+        final GraphQLDefinition[] definitions = PsiTreeUtil.getChildrenOfType(psiFile, GraphQLDefinition.class);
+        assertNotNull(definitions);
+        return GraphQLPsiToLanguage.forFile(psiFile, SOURCE_NAME).createDocument(Arrays.asList(definitions));
+    }
+
+    private static List<String> getLocations(Node<?> root) {
+        final List<String> locations = new ArrayList<>();
+        collect(root, node -> {
+            final SourceLocation location = node.getSourceLocation();
+            if (location != null) {
+                locations.add(node.getClass().getSimpleName() + " " + location.getLine() + ":" + location.getColumn() + " " + location.getSourceName());
+            }
+        });
+        return locations;
+    }
+
+    private static List<String> getDescriptions(Node<?> root) {
+        final List<String> descriptions = new ArrayList<>();
+        collect(root, node -> {
+            if (node instanceof AbstractDescribedNode) {
+                final Description description = ((AbstractDescribedNode<?>) node).getDescription();
+                if (description != null) {
+                    descriptions.add(description.getContent() + " " + description.isMultiLine());
+                }
+            }
+        });
+        return descriptions;
+    }
+
+    private static void collect(Node<?> node, Consumer<Node<?>> consumer) {
+        consumer.accept(node);
+        for (Node<?> child : node.getChildren()) {
+            collect(child, consumer);
+        }
+    }
+
+    private static void assertLocation(int line, int column, String sourceName, SourceLocation location) {
+        assertEquals(line, location.getLine());
+        assertEquals(column, location.getColumn());
+        assertEquals(sourceName, location.getSourceName());
+    }
+}
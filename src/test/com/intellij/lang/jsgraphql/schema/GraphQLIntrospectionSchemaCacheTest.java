@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import com.google.common.collect.Lists;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiNamedElement;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.List;
+
+public class GraphQLIntrospectionSchemaCacheTest extends BasePlatformTestCase {
+
+    private static final String UNCONFIGURED_JSON = "{\"__schema\": {\"types\": [{\"kind\": \"SCALAR\", \"name\": \"Unconfigured\"}]}}";
+
+    @Override
+    protected String getTestDataPath() {
+        return "test-resources/testData/graphql/introspection";
+    }
+
+    public void testSDLFileIsCachedUntilJsonChanges() {
+        final PsiFile jsonFile = myFixture.getPsiManager().findFile(myFixture.copyFileToProject("schema.json"));
+        assertNotNull(jsonFile);
+        final GraphQLFile sdlFile = GraphQLIntrospectionSchemaCache.getSDLFile(jsonFile);
+        assertNotNull(sdlFile);
+        assertTrue(sdlFile.getText().contains("posts"));
+        assertSame(sdlFile, GraphQLIntrospectionSchemaCache.getSDLFile(jsonFile));
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            final Document document = documentManager.getDocument(jsonFile);
+            assertNotNull(document);
+            document.setText(document.getText().replace("\"posts\"", "\"articles\""));
+            documentManager.commitDocument(document);
+        });
+        final GraphQLFile changedSDLFile = GraphQLIntrospectionSchemaCache.getSDLFile(jsonFile);
+        assertNotNull(changedSDLFile);
+        assertNotSame(sdlFile, changedSDLFile);
+        assertTrue(changedSDLFile.getText().contains("articles"));
+        assertFalse(changedSDLFile.getText().contains("posts"));
+    }
+
+    public void testSearchesConfiguredIntrospectionFile() {
+        myFixture.addFileToProject(".graphqlconfig", "{\"schemaPath\": \"schema.json\"}");
+        myFixture.copyFileToProject("schema.json");
+        myFixture.addFileToProject("unconfigured.json", UNCONFIGURED_JSON);
+        final PsiFile queryFile = myFixture.addFileToProject("query.graphql", "query { posts { id } }");
+        // use the synchronous method of building the configuration for the unit test
+        GraphQLConfigManager.getService(getProject()).doBuildConfigurationModel(null);
+
+        // the field definition in the SDL of the introspection result is found, as well as the field in the query
+        assertTrue(findElementsWithWord(queryFile, "posts").stream().anyMatch(
+            element -> Boolean.TRUE.equals(element.getContainingFile().getUserData(GraphQLSchemaKeys.IS_GRAPHQL_INTROSPECTION_SDL))));
+        assertEmpty(findElementsWithWord(queryFile, "Unconfigured"));
+    }
+
+    public void testSkipsIntrospectionFilesWithoutConfiguration() {
+        myFixture.addFileToProject("unconfigured.json", UNCONFIGURED_JSON);
+        final PsiFile queryFile = myFixture.addFileToProject("query.graphql", "query { field }");
+        GraphQLConfigManager.getService(getProject()).doBuildConfigurationModel(null);
+
+        assertEmpty(findElementsWithWord(queryFile, "Unconfigured"));
+    }
+
+    private List<PsiNamedElement> findElementsWithWord(PsiFile scopedFile, String word) {
+        final List<PsiNamedElement> elements = Lists.newArrayList();
+        GraphQLPsiSearchHelper.getInstance(getProject()).processElementsWithWord(scopedFile, word, element -> {
+            if (!element.getContainingFile().getName().contains("specification")) {
+                elements.add(element);
+            }
+            return true;
+        });
+        return elements;
+    }
+}
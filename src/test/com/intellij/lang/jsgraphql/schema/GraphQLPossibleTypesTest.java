@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import com.google.common.collect.Sets;
+import graphql.schema.idl.SchemaParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class GraphQLPossibleTypesTest {
+
+    private static final String SCHEMA = "interface Node { id: ID! }\n" +
+        "interface Resource implements Node { id: ID! url: String }\n" +
+        "type User implements Node { id: ID! }\n" +
+        "type Page implements Resource & Node { id: ID! url: String }\n" +
+        "type Image implements Resource & Node { id: ID! url: String }\n" +
+        "type Comment { text: String }\n" +
+        "union SearchResult = User | Page\n" +
+        "union Attachment = Image\n" +
+        "extend type Comment implements Node { id: ID! }\n";
+
+    private final GraphQLPossibleTypes myPossibleTypes = new GraphQLPossibleTypes(new SchemaParser().parse(SCHEMA));
+
+    @Test
+    public void collectsPossibleTypes() {
+        Assert.assertEquals(Sets.newHashSet("User", "Page", "Image", "Comment"), Sets.newHashSet(myPossibleTypes.getPossibleTypes("Node")));
+        Assert.assertEquals(Sets.newHashSet("Page", "Image"), Sets.newHashSet(myPossibleTypes.getPossibleTypes("Resource")));
+        Assert.assertEquals(Sets.newHashSet("User", "Page"), Sets.newHashSet(myPossibleTypes.getPossibleTypes("SearchResult")));
+        Assert.assertEquals(Collections.singletonList("User"), myPossibleTypes.getPossibleTypes("User"));
+        Assert.assertEquals(Collections.emptyList(), myPossibleTypes.getPossibleTypes("Unknown"));
+    }
+
+    @Test
+    public void collectsSupertypes() {
+        Assert.assertEquals(Sets.newHashSet("Node", "Resource"), Sets.newHashSet(myPossibleTypes.getSupertypes("Page")));
+        Assert.assertEquals(Collections.singletonList("Node"), myPossibleTypes.getSupertypes("Resource"));
+        Assert.assertEquals(Collections.singletonList("Node"), myPossibleTypes.getSupertypes("Comment"));
+    }
+
+    @Test
+    public void checksFragmentSpreads() {
+        Assert.assertTrue(myPossibleTypes.isPossibleSpread("User", "User"));
+        Assert.assertTrue("object in interface scope", myPossibleTypes.isPossibleSpread("Page", "Node"));
+        Assert.assertTrue("interface in object scope", myPossibleTypes.isPossibleSpread("Node", "Image"));
+        Assert.assertTrue("union member", myPossibleTypes.isPossibleSpread("Page", "SearchResult"));
+        Assert.assertTrue("interface of a union member", myPossibleTypes.isPossibleSpread("Resource", "SearchResult"));
+        Assert.assertTrue("union overlapping an interface", myPossibleTypes.isPossibleSpread("Attachment", "Resource"));
+        Assert.assertFalse(myPossibleTypes.isPossibleSpread("Comment", "Resource"));
+        Assert.assertFalse(myPossibleTypes.isPossibleSpread("Attachment", "SearchResult"));
+        Assert.assertFalse(myPossibleTypes.isPossibleSpread("Unknown", "Node"));
+    }
+}
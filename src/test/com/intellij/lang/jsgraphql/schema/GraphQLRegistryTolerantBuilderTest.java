@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import graphql.language.AstPrinter;
+import graphql.language.Node;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class GraphQLRegistryTolerantBuilderTest {
+
+    private final GraphQLRegistryTolerantBuilder myBuilder = new GraphQLRegistryTolerantBuilder();
+    private final Map<String, List<TypeDefinitionRegistry>> mySources = new LinkedHashMap<>();
+    private final List<String> myOrder = new ArrayList<>();
+
+    @Test
+    public void incrementalBuildsMatchFullBuilds() {
+        setSource("query", "type Query { a: Int }");
+        setSource("user", "type User { id: ID }\nextend type Query { user: User }");
+        setSource("schema", "schema { query: Query }\ndirective @cached on FIELD_DEFINITION");
+        setSource("shared", "type User { name: String }\nenum Role { ADMIN }");
+        // the same source merged twice, e.g. a file included by two globs
+        myOrder.addAll(Arrays.asList("query", "user", "shared", "schema", "shared"));
+        assertSameAsFullBuild();
+
+        // edit a source
+        setSource("user", "type User { id: ID! email: String }\nextend type Query { user(id: ID!): User }");
+        assertSameAsFullBuild();
+
+        // edit a repeated source
+        setSource("shared", "type User { name: String }\nenum Role { ADMIN USER }\nextend enum Role { GUEST }");
+        assertSameAsFullBuild();
+
+        // add a source
+        setSource("post", "type Post { title: String }\nextend type Query { posts: [Post] }\nextend type User { posts: [Post] }");
+        myOrder.add(3, "post");
+        assertSameAsFullBuild();
+
+        // remove a source and one of the repeated merges
+        myOrder.remove("schema");
+        myOrder.remove("shared");
+        assertSameAsFullBuild();
+
+        // repeat another source with different registries per merge
+        mySources.put("post", Arrays.asList(
+            new SchemaParser().parse("type Post { title: String }"),
+            new SchemaParser().parse("extend type Post { body: String }")
+        ));
+        myOrder.add("post");
+        assertSameAsFullBuild();
+
+        // change the order
+        Collections.reverse(myOrder);
+        assertSameAsFullBuild();
+    }
+
+    @Test
+    public void reusesRepeatedSources() {
+        setSource("query", "type Query { a: Int }");
+        setSource("shared", "type User { name: String }\nextend type Query { user: User }");
+        setSource("other", "type Other { id: ID }");
+        myOrder.addAll(Arrays.asList("query", "shared", "other", "shared"));
+        final TypeDefinitionRegistry first = build(myBuilder);
+
+        setSource("other", "type Other { id: ID! }");
+        final TypeDefinitionRegistry second = build(myBuilder);
+        Assert.assertSame(first.getType("Query").orElse(null), second.getType("Query").orElse(null));
+        Assert.assertSame(first.getType("User").orElse(null), second.getType("User").orElse(null));
+        Assert.assertNotSame(first.getType("Other").orElse(null), second.getType("Other").orElse(null));
+    }
+
+    private void setSource(String name, String sdl) {
+        mySources.put(name, Collections.singletonList(new SchemaParser().parse(sdl)));
+    }
+
+    private void assertSameAsFullBuild() {
+        Assert.assertEquals(print(build(new GraphQLRegistryTolerantBuilder())), print(build(myBuilder)));
+    }
+
+    private TypeDefinitionRegistry build(GraphQLRegistryTolerantBuilder builder) {
+        for (String source : myOrder) {
+            builder.mergeSource(source, mySources.get(source));
+        }
+        final TypeDefinitionRegistry registry = builder.build();
+        Assert.assertEquals(Collections.emptyList(), builder.getErrors());
+        return registry;
+    }
+
+    private static String print(TypeDefinitionRegistry registry) {
+        final List<Node<?>> nodes = new ArrayList<>();
+        registry.schemaDefinition().ifPresent(nodes::add);
+        nodes.addAll(registry.getSchemaExtensionDefinitions());
+        nodes.addAll(registry.types().values());
+        nodes.addAll(registry.getDirectiveDefinitions().values());
+        nodes.addAll(registry.scalars().values());
+        registry.objectTypeExtensions().values().forEach(nodes::addAll);
+        registry.interfaceTypeExtensions().values().forEach(nodes::addAll);
+        registry.unionTypeExtensions().values().forEach(nodes::addAll);
+        registry.enumTypeExtensions().values().forEach(nodes::addAll);
+        registry.scalarTypeExtensions().values().forEach(nodes::addAll);
+        registry.inputObjectTypeExtensions().values().forEach(nodes::addAll);
+        return nodes.stream().map(AstPrinter::printAst).sorted().collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigManager;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+
+public class GraphQLSchemaChangeListenerTest extends BasePlatformTestCase {
+
+    private static final String ENDPOINT = "type Query {\n  main: MainType\n}\n\n" +
+        "type MainType {\n  name: String\n}\n\n" +
+        "# a note about the schema\n";
+
+    private PsiFile myEndpointFile;
+
+    private PsiFile myQueryFile;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        myEndpointFile = myFixture.addFileToProject("main.graphqle", ENDPOINT);
+        myQueryFile = myFixture.addFileToProject("query.graphql", "query { main { name } }");
+        myFixture.addFileToProject(GraphQLConfigManager.GRAPHQLCONFIG, "{\"extensions\": {\"endpoint-language\": {\"entry\": \"main.graphqle\"}}}");
+        // use the synchronous method of building the configuration for the unit test
+        GraphQLConfigManager.getService(getProject()).doBuildConfigurationModel(null);
+    }
+
+    public void testEndpointEditsWithoutSignatureChangeSkipRebuild() {
+        // the signature of a file is recorded on its first edit, which is assumed to change the schema
+        setEndpointText(ENDPOINT.replace("name: String", "name: String\n  other: String"));
+        setEndpointText(ENDPOINT);
+        final GraphQLSchema schema = getSchema();
+        final long modificationCount = getSchemaModificationCount();
+
+        // whitespace
+        setEndpointText(ENDPOINT.replace("  name: String", "    name:   String\n"));
+        assertEquals(modificationCount, getSchemaModificationCount());
+
+        // a comment that isn't documentation of a type or a field
+        setEndpointText(ENDPOINT.replace("# a note about the schema", "# another note about the schema"));
+        assertEquals(modificationCount, getSchemaModificationCount());
+        assertSame(schema, getSchema());
+    }
+
+    public void testEndpointEditsWithSignatureChangeTriggerRebuild() {
+        setEndpointText(ENDPOINT + "\n");
+        long modificationCount = getSchemaModificationCount();
+        final GraphQLSchema schema = getSchema();
+        assertNull(getMainType(schema).getFieldDefinition("email"));
+
+        // a new field
+        setEndpointText(ENDPOINT.replace("name: String", "name: String\n  email: String"));
+        assertTrue(getSchemaModificationCount() > modificationCount);
+        final GraphQLSchema changedSchema = getSchema();
+        assertNotSame(schema, changedSchema);
+        assertNotNull(getMainType(changedSchema).getFieldDefinition("email"));
+
+        // documentation becomes the description of the field
+        modificationCount = getSchemaModificationCount();
+        setEndpointText(ENDPOINT.replace("  name: String", "  # The name of the main type\n  name: String"));
+        assertTrue(getSchemaModificationCount() > modificationCount);
+        assertEquals("The name of the main type", getMainType(getSchema()).getFieldDefinition("name").getDescription().trim());
+
+        // a blank line turns the documentation into a plain comment
+        modificationCount = getSchemaModificationCount();
+        setEndpointText(ENDPOINT.replace("  name: String", "  # The name of the main type\n\n  name: String"));
+        assertTrue(getSchemaModificationCount() > modificationCount);
+    }
+
+    private void setEndpointText(String text) {
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            final PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+            final Document document = documentManager.getDocument(myEndpointFile);
+            assertNotNull(document);
+            document.setText(text);
+            documentManager.commitDocument(document);
+        });
+    }
+
+    private long getSchemaModificationCount() {
+        return GraphQLSchemaChangeListener.getService(getProject()).getSchemaModificationTracker().getModificationCount();
+    }
+
+    private GraphQLSchema getSchema() {
+        final GraphQLSchema schema = GraphQLSchemaProvider.getInstance(getProject()).getTolerantSchema(myQueryFile);
+        assertNotNull(schema);
+        return schema;
+    }
+
+    private static GraphQLObjectType getMainType(GraphQLSchema schema) {
+        final GraphQLObjectType mainType = schema.getObjectType("MainType");
+        assertNotNull(mainType);
+        return mainType;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.intellij.lang.jsgraphql.ide.project.GraphQLPsiSearchHelper;
+import com.intellij.lang.jsgraphql.ide.project.graphqlconfig.GraphQLConfigProjectHelper;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.concurrent.TimeUnit;
+
+public class GraphQLSchemaMetricsTest extends BasePlatformTestCase {
+
+    private GraphQLSchemaMetrics myMetrics;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        myMetrics = new GraphQLSchemaMetrics(getProject());
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        try {
+            myMetrics.dispose();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testTimersAggregatePerScope() {
+        final GraphQLSchemaMetrics.ScopeMetrics metrics = myMetrics.getScopeMetrics("b");
+        assertSame(metrics, myMetrics.getScopeMetrics("b"));
+        assertNull("an operation that hasn't run has no description", metrics.getTimer(GraphQLSchemaMetrics.Timer.PARSE).getDescription());
+
+        final long now = System.nanoTime();
+        metrics.record(GraphQLSchemaMetrics.Timer.PARSE, now - TimeUnit.MILLISECONDS.toNanos(30));
+        metrics.record(GraphQLSchemaMetrics.Timer.PARSE, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(10));
+
+        final GraphQLSchemaMetrics.TimerMetric parse = metrics.getTimer(GraphQLSchemaMetrics.Timer.PARSE);
+        assertEquals(2, parse.getCount());
+        assertTrue(parse.getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(parse.getLastNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(parse.getLastNanos() < parse.getMaxNanos());
+        assertEquals(parse.getTotalNanos() - parse.getLastNanos(), parse.getMaxNanos());
+        assertTrue(parse.getDescription().startsWith("2 times, last "));
+        assertEquals(0, metrics.getTimer(GraphQLSchemaMetrics.Timer.MERGE).getCount());
+
+        myMetrics.getScopeMetrics("a").recordSources(3, 12);
+        assertEquals(2, myMetrics.getAllScopeMetrics().size());
+        assertEquals("the scopes are sorted by name", "a", myMetrics.getAllScopeMetrics().get(0).getScopeName());
+    }
+
+    public void testJsonExport() {
+        final GraphQLSchemaMetrics.ScopeMetrics metrics = myMetrics.getScopeMetrics("scope");
+        metrics.recordSources(3, 12);
+        metrics.record(GraphQLSchemaMetrics.Timer.REGISTRY_BUILD, System.nanoTime());
+
+        final JsonObject root = new JsonParser().parse(myMetrics.toJson()).getAsJsonObject();
+        final JsonArray scopes = root.getAsJsonArray("scopes");
+        assertEquals(1, scopes.size());
+        final JsonObject scope = scopes.get(0).getAsJsonObject();
+        assertEquals("scope", scope.get("name").getAsString());
+        assertEquals(3, scope.get("files").getAsInt());
+        assertEquals(12, scope.get("definitions").getAsInt());
+        assertEquals(1, scope.getAsJsonObject("registryBuild").get("count").getAsInt());
+        assertEquals(0, scope.getAsJsonObject("validation").get("count").getAsInt());
+        assertEquals(0, scope.getAsJsonObject("strings").get("replaced").getAsInt());
+        assertTrue(root.has("caches"));
+        assertTrue(root.getAsJsonObject("strings").has("shared"));
+    }
+
+    public void testScopeNameOfDefaultSchema() {
+        final GraphQLPsiSearchHelper searchHelper = GraphQLPsiSearchHelper.getInstance(getProject());
+        assertEquals(GraphQLConfigProjectHelper.DEFAULT_SCOPE_NAME, searchHelper.getSchemaScopeName(searchHelper.getDefaultProjectFile()));
+    }
+}
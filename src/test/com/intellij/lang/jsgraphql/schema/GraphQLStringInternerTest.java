@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GraphQLStringInternerTest {
+
+    @Test
+    public void sharesEqualStrings() {
+        final GraphQLStringInterner interner = new GraphQLStringInterner();
+        final String name = new String("createdAt");
+        Assert.assertSame(name, interner.intern(name));
+        Assert.assertSame(name, interner.intern(name));
+        Assert.assertSame(name, interner.intern(new String("createdAt")));
+        Assert.assertNull(interner.intern(null));
+        Assert.assertEquals("copies don't add shared strings", 1, interner.getSharedCount());
+    }
+
+    @Test
+    public void countsReplacedCopies() {
+        final GraphQLStringInterner interner = new GraphQLStringInterner();
+        final String name = new String("createdAt");
+        final GraphQLStringInterner.Savings firstFile = new GraphQLStringInterner.Savings();
+        Assert.assertSame(name, interner.withSavings(firstFile).intern(name));
+        Assert.assertSame(name, interner.withSavings(firstFile).intern(name));
+        Assert.assertEquals("neither the first instance nor the shared instance is a copy", 0, firstFile.getReplacedCount());
+        Assert.assertEquals(0, firstFile.getSavedBytes());
+
+        final GraphQLStringInterner.Savings secondFile = new GraphQLStringInterner.Savings();
+        final GraphQLStringInterner secondInterner = interner.withSavings(secondFile);
+        Assert.assertSame("the strings are shared with the other interners", name, secondInterner.intern(new String("createdAt")));
+        Assert.assertSame(name, secondInterner.intern(new String("createdAt")));
+        Assert.assertEquals(2, secondFile.getReplacedCount());
+        Assert.assertEquals(2 * GraphQLStringInterner.estimateSize(name), secondFile.getSavedBytes());
+        Assert.assertEquals(1, interner.getSharedCount());
+
+        final GraphQLStringInterner.Savings schema = new GraphQLStringInterner.Savings();
+        schema.add(firstFile);
+        schema.add(secondFile);
+        Assert.assertEquals(2, schema.getReplacedCount());
+        Assert.assertEquals(2 * GraphQLStringInterner.estimateSize(name), schema.getSavedBytes());
+    }
+
+    @Test
+    public void estimatesCompactStringSize() {
+        Assert.assertEquals(24 + 16, GraphQLStringInterner.estimateSize(""));
+        Assert.assertEquals(24 + 32, GraphQLStringInterner.estimateSize("createdAt"));
+        Assert.assertEquals(24 + 24, GraphQLStringInterner.estimateSize("\u00e9t\u00e9"));
+        Assert.assertEquals(24 + 24, GraphQLStringInterner.estimateSize("\u65e5\u672c"));
+    }
+}
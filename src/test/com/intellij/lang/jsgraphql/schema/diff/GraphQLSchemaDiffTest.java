@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.schema.diff;
+
+import graphql.schema.idl.SchemaParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class GraphQLSchemaDiffTest {
+
+    @Test
+    public void unchangedSchemaHasNoChanges() {
+        final String schema = "type Query { users(first: Int = 10): [User!]! }\ntype User { id: ID! name: String }";
+        Assert.assertTrue(diff(schema, schema).isEmpty());
+    }
+
+    @Test
+    public void classifiesFieldChanges() {
+        final List<String> changes = diff(
+            "type Query { user(id: ID!): User }\ntype User { id: ID! name: String email: String }",
+            "type Query { user(id: ID!, active: Boolean!): User! }\ntype User { id: ID! name: String! @deprecated age: Int }"
+        );
+        Assert.assertEquals(
+            "Breaking: Required argument 'active' was added to 'Query.user'\n" +
+                "Breaking: Field 'User.email' was removed\n" +
+                "Safe: Field 'Query.user' changed type from 'User' to 'User!'\n" +
+                "Safe: Field 'User.age' was added\n" +
+                "Safe: Field 'User.name' changed type from 'String' to 'String!'\n" +
+                "Safe: Field 'User.name' was deprecated",
+            String.join("\n", changes)
+        );
+    }
+
+    @Test
+    public void classifiesInputAndEnumChanges() {
+        final List<String> changes = diff(
+            "type Query { a(filter: Filter): Int }\ninput Filter { name: String limit: Int = 10 }\nenum Role { ADMIN USER }",
+            "type Query { a(filter: Filter): Int }\ninput Filter { name: String! limit: Int = 20 }\nenum Role { ADMIN USER GUEST }"
+        );
+        Assert.assertEquals(
+            "Breaking: Input field 'Filter.name' changed type from 'String' to 'String!'\n" +
+                "Dangerous: Input field 'Filter.limit' changed default value from '10' to '20'\n" +
+                "Dangerous: Enum value 'Role.GUEST' was added",
+            String.join("\n", changes)
+        );
+    }
+
+    @Test
+    public void includesTypeExtensions() {
+        final List<String> changes = diff(
+            "type Query { a: Int }\nextend type Query { b: Int }",
+            "type Query { a: Int }"
+        );
+        Assert.assertEquals("Breaking: Field 'Query.b' was removed", String.join("\n", changes));
+    }
+
+    @Test
+    public void summary() {
+        final List<GraphQLSchemaChange> changes = GraphQLSchemaDiff.diff(
+            new SchemaParser().parse("type Query { a: Int b: Int }"),
+            new SchemaParser().parse("type Query { a: Int c: Int d: Int }")
+        );
+        Assert.assertEquals("1 breaking and 2 safe changes", GraphQLSchemaDiff.getSummary(changes));
+    }
+
+    private static List<String> diff(String oldSchema, String newSchema) {
+        final SchemaParser schemaParser = new SchemaParser();
+        return GraphQLSchemaDiff.diff(schemaParser.parse(oldSchema), schemaParser.parse(newSchema)).stream()
+            .map(GraphQLSchemaChange::toString)
+            .collect(Collectors.toList());
+    }
+}
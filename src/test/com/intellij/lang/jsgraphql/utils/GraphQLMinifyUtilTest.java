@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.utils;
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+public class GraphQLMinifyUtilTest extends BasePlatformTestCase {
+
+    public void testAppendToken() {
+        assertEquals("query User", append("query", "User"));
+        assertEquals("User($", append("User(", "$"));
+        assertEquals("id:ID!", append("id:", "ID!"));
+        assertEquals("...Fields", append("...", "Fields"));
+        assertEquals("... ...", append("...", "..."));
+        assertEquals("\"a\" \"b\"", append("\"a\"", "\"b\""));
+        assertEquals("10 20", append("10", "20"));
+        assertEquals("name", append("", "name"));
+        assertEquals("name", append("name", ""));
+    }
+
+    public void testAppendTokenOffset() {
+        final StringBuilder text = new StringBuilder("query");
+        assertEquals(6, GraphQLMinifyUtil.appendToken(text, "User"));
+        assertEquals(10, GraphQLMinifyUtil.appendToken(text, "{"));
+        assertEquals("query User{", text.toString());
+    }
+
+    public void testMinify() {
+        myFixture.configureByText("query.graphql", "# the user\n" +
+            "query User($id: ID!, $first: Int = 10) {\n" +
+            "  user(id: $id) {\n" +
+            "    ...UserFields # inline comment\n" +
+            "    friends(first: $first, filter: {names: [\"a  b\", \"c\"]}) @include(if: true) { id }\n" +
+            "    bio(format: \"\"\"\n  keep  this\n\"\"\")\n" +
+            "  }\n" +
+            "}");
+        assertEquals("query User($id:ID!$first:Int=10){user(id:$id){...UserFields " +
+                "friends(first:$first filter:{names:[\"a  b\" \"c\"]})@include(if:true){id}bio(format:\"\"\"\n  keep  this\n\"\"\")}}",
+            GraphQLMinifyUtil.minify(myFixture.getFile()));
+    }
+
+    private static String append(String text, String token) {
+        final StringBuilder builder = new StringBuilder(text);
+        GraphQLMinifyUtil.appendToken(builder, token);
+        return builder.toString();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.v1.ide.editor;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JSGraphQLQuerySourceMapTest {
+
+    private static final String QUERY = "query User{user{...Fields}}\nfragment Fields on User{id}";
+
+    @Test
+    public void remapsLocationsToTheSegmentSource() {
+        final JSGraphQLQuerySourceMap sourceMap = new JSGraphQLQuerySourceMap();
+        // "query" at line 3 column 1, "user" at line 4 column 3 of the editor
+        sourceMap.addSegment(0, 2, 0, null);
+        sourceMap.addSegment(11, 3, 2, null);
+        // the fragment was included from another file
+        sourceMap.addSegment(28, 9, 4, "fragments.graphql");
+
+        final JsonObject response = remap(sourceMap, "{\"errors\":[{\"message\":\"a\",\"locations\":[{\"line\":1,\"column\":13},{\"line\":2,\"column\":25}]}]}");
+        final JsonObject userLocation = getLocation(response, 0);
+        Assert.assertEquals(4, userLocation.get("line").getAsInt());
+        Assert.assertEquals(4, userLocation.get("column").getAsInt());
+        Assert.assertFalse(userLocation.has("file"));
+
+        final JsonObject idLocation = getLocation(response, 1);
+        Assert.assertEquals(10, idLocation.get("line").getAsInt());
+        Assert.assertEquals(29, idLocation.get("column").getAsInt());
+        Assert.assertEquals("fragments.graphql", idLocation.get("file").getAsString());
+    }
+
+    @Test
+    public void followsLineBreaksInsideSegments() {
+        final String query = "{a(text:\"\"\"x\ny\"\"\")}";
+        final JSGraphQLQuerySourceMap sourceMap = new JSGraphQLQuerySourceMap();
+        sourceMap.addSegment(0, 0, 0, null);
+        sourceMap.addSegment(8, 5, 10, null);
+        // the second line of the block string, after the verbatim copied line break
+        final JsonObject location = getLocation(new JsonParser().parse(sourceMap.remapErrorLocations(query,
+            "{\"errors\":[{\"locations\":[{\"line\":2,\"column\":2}]}]}")).getAsJsonObject(), 0);
+        Assert.assertEquals(7, location.get("line").getAsInt());
+        Assert.assertEquals(2, location.get("column").getAsInt());
+    }
+
+    @Test
+    public void keepsResponsesWithoutLocations() {
+        final JSGraphQLQuerySourceMap sourceMap = new JSGraphQLQuerySourceMap();
+        sourceMap.addSegment(0, 2, 0, null);
+        final String data = "{\"data\":{\"user\":{\"id\":1}}}";
+        Assert.assertSame(data, sourceMap.remapErrorLocations(QUERY, data));
+        final String invalid = "{\"errors\":[{\"locations\":";
+        Assert.assertSame(invalid, sourceMap.remapErrorLocations(QUERY, invalid));
+        final String outOfRange = "{\"errors\":[{\"locations\":[{\"line\":5,\"column\":1},{\"line\":\"1\",\"column\":1}]}]}";
+        Assert.assertSame(outOfRange, sourceMap.remapErrorLocations(QUERY, outOfRange));
+    }
+
+    @Test
+    public void emptySourceMapKeepsResponse() {
+        final String response = "{\"errors\":[{\"locations\":[{\"line\":1,\"column\":1}]}]}";
+        Assert.assertSame(response, new JSGraphQLQuerySourceMap().remapErrorLocations(QUERY, response));
+    }
+
+    private static JsonObject remap(JSGraphQLQuerySourceMap sourceMap, String response) {
+        return new JsonParser().parse(sourceMap.remapErrorLocations(QUERY, response)).getAsJsonObject();
+    }
+
+    private static JsonObject getLocation(JsonObject response, int index) {
+        return response.getAsJsonArray("errors").get(0).getAsJsonObject().getAsJsonArray("locations").get(index).getAsJsonObject();
+    }
+}
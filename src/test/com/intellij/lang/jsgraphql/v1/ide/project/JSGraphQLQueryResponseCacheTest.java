@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.v1.ide.project;
+
+import com.google.gson.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class JSGraphQLQueryResponseCacheTest {
+
+    private static final String URL = "http://localhost/graphql";
+
+    @Test
+    public void keyIgnoresFormattingAndVariableOrder() {
+        final String key = JSGraphQLQueryResponseCache.createKey(URL, "query User($id: ID!) {\n  user(id: $id) { id name }\n}", "{\"id\": 1, \"x\": 2}", null);
+        Assert.assertEquals(key, JSGraphQLQueryResponseCache.createKey(URL, "# comment\nquery User($id:ID!){user(id:$id){id,name}}", "{\"x\":2,\"id\":1}", null));
+        Assert.assertNotEquals(key, JSGraphQLQueryResponseCache.createKey(URL, "query User($id: ID!) { user(id: $id) { id } }", "{\"id\": 1, \"x\": 2}", null));
+        Assert.assertNotEquals(key, JSGraphQLQueryResponseCache.createKey(URL, "query User($id: ID!) { user(id: $id) { id name } }", "{\"id\": 1, \"x\": 2}",
+            Collections.singletonMap("Authorization", "Bearer other")));
+    }
+
+    @Test
+    public void keepsWhitespaceInStrings() {
+        Assert.assertEquals("{search(text:\"a  b\"){id}}", JSGraphQLQueryResponseCache.normalizeQuery("{ search(text: \"a  b\") { id } }"));
+    }
+
+    @Test
+    public void onlyCachesQueries() {
+        Assert.assertTrue(JSGraphQLQueryResponseCache.isCacheable("{ mutation { id } }"));
+        Assert.assertTrue(JSGraphQLQueryResponseCache.isCacheable("query Q { ...F }\nfragment F on Mutation { id }"));
+        Assert.assertFalse(JSGraphQLQueryResponseCache.isCacheable("mutation M { addUser { id } }"));
+        Assert.assertFalse(JSGraphQLQueryResponseCache.isCacheable("subscription { userAdded { id } }"));
+    }
+
+    @Test
+    public void expiresAndEvictsEntries() {
+        final AtomicLong now = new AtomicLong();
+        final JSGraphQLQueryResponseCache cache = new JSGraphQLQueryResponseCache(1000, 2, 1000, now::get);
+        cache.put("a", "{\"data\":1}", null, true);
+        cache.put("b", "{\"data\":2}", null, false);
+        Assert.assertNotNull(cache.get("a"));
+        Assert.assertNull("responses that aren't cached are only kept for comparison", cache.get("b"));
+        Assert.assertNotNull(cache.getLatest("b"));
+
+        now.set(1001);
+        Assert.assertNull(cache.get("a"));
+
+        cache.put("a", "{\"data\":3}", null, true);
+        Assert.assertEquals("{\"data\":1}", cache.get("a").getPreviousResponse());
+
+        cache.put("c", "{\"data\":4}", null, true);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull("least recently used entry is evicted", cache.getLatest("b"));
+    }
+
+    @Test
+    public void normalizesEntities() {
+        final JsonObject entities = JSGraphQLQueryResponseCache.normalizeEntities(
+            "{\"data\":{\"viewer\":{\"__typename\":\"User\",\"id\":\"1\",\"name\":\"A\"}," +
+                "\"users\":[{\"__typename\":\"User\",\"id\":\"1\",\"email\":\"a@b\"},{\"__typename\":\"User\",\"id\":\"2\"}],\"count\":2}}"
+        );
+        Assert.assertNotNull(entities);
+        Assert.assertEquals(
+            "{\"ROOT\":{\"viewer\":{\"__ref\":\"User:1\"},\"users\":[{\"__ref\":\"User:1\"},{\"__ref\":\"User:2\"}],\"count\":2}," +
+                "\"User:1\":{\"__typename\":\"User\",\"id\":\"1\",\"name\":\"A\",\"email\":\"a@b\"}," +
+                "\"User:2\":{\"__typename\":\"User\",\"id\":\"2\"}}",
+            entities.toString()
+        );
+        Assert.assertNull(JSGraphQLQueryResponseCache.normalizeEntities("{\"errors\":[]}"));
+    }
+}